@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.core.dom.ast.ASTNodeProperty;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
@@ -26,13 +26,13 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
 import org.eclipse.cdt.core.dom.ast.IASTWhileStatement;
 
-public class AssignmentInConditionChecker extends AbstractIndexAstChecker {
+public class AssignmentInConditionChecker extends AbstractAstVisitorChecker {
 	private static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.AssignmentInConditionProblem"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// traverse the ast using the visitor pattern.
-		ast.accept(new CheckCodeVisitor());
+		return new CheckCodeVisitor();
 	}
 
 	class CheckCodeVisitor extends ASTVisitor {
@@ -10,20 +10,20 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTCastExpression;
 import org.eclipse.cdt.core.dom.ast.IASTExpression;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 
-public class CStyleCastChecker extends AbstractIndexAstChecker {
+public class CStyleCastChecker extends AbstractAstVisitorChecker {
 	public static final String ERR_ID = "org.eclipse.cdt.codan.internal.checkers.CStyleCastProblem"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		if (ast.getLinkage().getLinkageID() == ILinkage.CPP_LINKAGE_ID) {
-			ast.accept(new ASTVisitor() {
+			return new ASTVisitor() {
 				{
 					shouldVisitExpressions = true;
 				}
@@ -36,7 +36,8 @@ public class CStyleCastChecker extends AbstractIndexAstChecker {
 					}
 					return PROCESS_CONTINUE;
 				}
-			});
+			};
 		}
+		return null;
 	}
 }
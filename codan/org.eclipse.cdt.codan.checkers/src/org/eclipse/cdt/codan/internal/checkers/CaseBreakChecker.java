@@ -20,7 +20,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.cdt.codan.checkers.CodanCheckersActivator;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtils;
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.codan.core.model.ICheckerWithPreferences;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
@@ -47,7 +47,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.parser.StandardAttributes;
 import org.eclipse.cdt.core.parser.util.AttributeUtil;
 
-public class CaseBreakChecker extends AbstractIndexAstChecker implements ICheckerWithPreferences {
+public class CaseBreakChecker extends AbstractAstVisitorChecker implements ICheckerWithPreferences {
 	public static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.CaseBreakProblem"; //$NON-NLS-1$
 	public static final String PARAM_LAST_CASE = "last_case_param"; //$NON-NLS-1$
 	public static final String PARAM_EMPTY_CASE = "empty_case_param"; //$NON-NLS-1$
@@ -281,7 +281,7 @@ public class CaseBreakChecker extends AbstractIndexAstChecker implements IChecke
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		fCheckLastCase = (Boolean) getPreference(getProblemById(ER_ID, getFile()), PARAM_LAST_CASE);
 		fCheckEmptyCase = (Boolean) getPreference(getProblemById(ER_ID, getFile()), PARAM_EMPTY_CASE);
 		fNoBreakComment = (String) getPreference(getProblemById(ER_ID, getFile()), PARAM_NO_BREAK_COMMENT);
@@ -292,7 +292,6 @@ public class CaseBreakChecker extends AbstractIndexAstChecker implements IChecke
 			CodanCheckersActivator.log(e);
 			fNoBreakRegex = null;
 		}
-		SwitchFindingVisitor visitor = new SwitchFindingVisitor();
-		ast.accept(visitor);
+		return new SwitchFindingVisitor();
 	}
 }
@@ -20,7 +20,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.Stack;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.codan.core.model.IProblemWorkingCopy;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
@@ -69,13 +69,13 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
  *
  * @author Anton Gorenkov
  */
-public class ClassMembersInitializationChecker extends AbstractIndexAstChecker {
+public class ClassMembersInitializationChecker extends AbstractAstVisitorChecker {
 	public static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.ClassMembersInitialization"; //$NON-NLS-1$
 	public static final String PARAM_SKIP = "skip"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new OnEachClass());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new OnEachClass();
 	}
 
 	class OnEachClass extends ASTVisitor {
@@ -11,13 +11,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTSimpleDeclSpecifier;
 
-public class DecltypeAutoChecker extends AbstractIndexAstChecker {
+public class DecltypeAutoChecker extends AbstractAstVisitorChecker {
 	public static final String ERR_ID = "org.eclipse.cdt.codan.internal.checkers.DecltypeAutoProblem"; //$NON-NLS-1$
 
 	@Override
@@ -26,8 +26,8 @@ public class DecltypeAutoChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new ASTVisitor() {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new ASTVisitor() {
 			{
 				shouldVisitDeclSpecifiers = true;
 			}
@@ -44,6 +44,6 @@ public class DecltypeAutoChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 }
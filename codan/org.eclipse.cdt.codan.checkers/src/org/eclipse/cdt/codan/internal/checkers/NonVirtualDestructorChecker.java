@@ -18,7 +18,7 @@ package org.eclipse.cdt.codan.internal.checkers;
 
 import java.util.HashSet;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -41,16 +41,16 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
  * @author Alena Laskavaia
  */
 @SuppressWarnings("restriction")
-public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
+public class NonVirtualDestructorChecker extends AbstractAstVisitorChecker {
 	public static final String PROBLEM_ID = "org.eclipse.cdt.codan.internal.checkers.NonVirtualDestructorProblem"; //$NON-NLS-1$
 
 	// Prevent stack overflow in case: class A: public A {};
 	private static HashSet<ICPPClassType> checkedClassTypes = new HashSet<>();
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// Traverse the AST using the visitor pattern.
-		ast.accept(new OnEachClass());
+		return new OnEachClass();
 	}
 
 	private static ICPPMethod getDestructor(ICPPClassType classType) {
@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTReturnStatement;
@@ -21,7 +21,7 @@ import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
 
-public class ReturnStyleChecker extends AbstractIndexAstChecker {
+public class ReturnStyleChecker extends AbstractAstVisitorChecker {
 	public final String ERR_ID = "org.eclipse.cdt.codan.internal.checkers.ReturnStyleProblem"; //$NON-NLS-1$
 
 	@Override
@@ -30,8 +30,8 @@ public class ReturnStyleChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new ASTVisitor() {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new ASTVisitor() {
 			{
 				shouldVisitStatements = true;
 			}
@@ -55,6 +55,6 @@ public class ReturnStyleChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 }
@@ -14,7 +14,7 @@
 package org.eclipse.cdt.codan.internal.checkers;
 
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtils;
-import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
 import org.eclipse.cdt.codan.core.model.IProblemWorkingCopy;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
@@ -40,14 +40,14 @@ import org.eclipse.cdt.core.dom.ast.gnu.IGNUASTCompoundStatementExpression;
  *
  *
  */
-public class StatementHasNoEffectChecker extends AbstractIndexAstChecker {
+public class StatementHasNoEffectChecker extends AbstractAstVisitorChecker {
 	public static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.StatementHasNoEffectProblem"; //$NON-NLS-1$
 	public static final String PARAM_MACRO_ID = "macro"; //$NON-NLS-1$
 	public static final String PARAM_EXCEPT_ARG_LIST = "exceptions"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new CheckStmpVisitor());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new CheckStmpVisitor();
 	}
 
 	class CheckStmpVisitor extends ASTVisitor {
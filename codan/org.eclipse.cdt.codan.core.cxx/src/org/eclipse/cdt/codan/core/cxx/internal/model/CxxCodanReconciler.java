@@ -14,34 +14,223 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.internal.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.core.cxx.internal.model.IncrementalCheckScope.Problem;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.core.CCProjectNature;
 import org.eclipse.cdt.core.CProjectNature;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
 
 /**
+ * Runs the checkers on the ASTs of the reconciler of an editor. The checkers run in a job,
+ * such that the other reconciling listeners do not wait for them. The job of a file is canceled
+ * when the file is reconciled again.
+ *
  * @author Alena
  */
 public class CxxCodanReconciler {
+	/** The family of the jobs running the checkers */
+	public static final Object JOB_FAMILY = CxxCodanReconciler.class;
+	/** Delay of the checks, such that reconciles in quick succession are checked only once */
+	private static final long DELAY = 100;
+	/** Maximum number of files whose previous check is kept */
+	private static final int MAX_FILES = 16;
+
+	/**
+	 * The state of the checks of a file. Serves as the scheduling rule of the jobs of the file,
+	 * such that they do not run concurrently. The states of a file conflict with each other,
+	 * because a state may be dropped from {@link #states} while its job is still running.
+	 */
+	private static final class FileState implements ISchedulingRule {
+		final IResource resource;
+		Job job;
+		/** The contents of the file at the previous complete check, or {@code null} */
+		char[] source;
+		/** The last write access of the index at the previous complete check */
+		long lastWriteAccess;
+		/** The problems found by the previous complete check */
+		Map<String, List<Problem>> problems = Collections.emptyMap();
+
+		FileState(IResource resource) {
+			this.resource = resource;
+		}
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule instanceof FileState && ((FileState) rule).resource.equals(resource);
+		}
+	}
+
+	private final Map<IResource, FileState> states = new LinkedHashMap<IResource, FileState>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IResource, FileState> eldest) {
+			return size() > MAX_FILES;
+		}
+	};
 
 	public void reconciledAst(IASTTranslationUnit ast, IResource resource, IProgressMonitor monitor) {
-		if (ast == null)
+		reconciledAst(ast, resource, false, monitor);
+	}
+
+	/**
+	 * Schedules the checks of a reconciled AST.
+	 *
+	 * @param ast the AST of the file.
+	 * @param resource the file.
+	 * @param force {@code true} if the whole file has to be checked.
+	 * @param monitor the progress monitor of the reconciler.
+	 */
+	public void reconciledAst(IASTTranslationUnit ast, IResource resource, boolean force, IProgressMonitor monitor) {
+		if (ast == null || !(resource instanceof IFile))
 			return;
 		IProject project = resource.getProject();
 		if (project == null)
 			return;
 		try {
 			if (project.hasNature(CProjectNature.C_NATURE_ID) || project.hasNature(CCProjectNature.CC_NATURE_ID)) {
-				CodanRuntime.getInstance().getBuilder().processResource(resource, monitor,
-						CheckerLaunchMode.RUN_AS_YOU_TYPE, ast);
+				schedule(ast, resource, force);
 			}
 		} catch (CoreException e) {
 			// ignore
 		}
 	}
+
+	private void schedule(IASTTranslationUnit ast, IResource resource, boolean force) {
+		IIndex index = ast.getIndex();
+		long lastWriteAccess = index != null ? index.getLastWriteAccess() : 0;
+		FileState state;
+		Job job;
+		synchronized (states) {
+			state = states.get(resource);
+			if (state == null) {
+				state = new FileState(resource);
+				states.put(resource, state);
+			}
+			if (state.job != null) {
+				state.job.cancel();
+			}
+			final FileState fileState = state;
+			job = new Job(NLS.bind(Messages.CxxCodanReconciler_job_name, resource.getName())) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					return check(ast, resource, force, lastWriteAccess, fileState, monitor);
+				}
+
+				@Override
+				public boolean belongsTo(Object family) {
+					return family == JOB_FAMILY;
+				}
+			};
+			job.setSystem(true);
+			job.setPriority(Job.DECORATE);
+			job.setRule(state);
+			state.job = job;
+		}
+		job.schedule(DELAY);
+	}
+
+	private static IStatus check(IASTTranslationUnit ast, IResource resource, boolean force, long lastWriteAccess,
+			FileState state, IProgressMonitor monitor) {
+		if (monitor.isCanceled())
+			return Status.CANCEL_STATUS;
+		IIndex index = ast.getIndex();
+		try {
+			if (index != null)
+				index.acquireReadLock();
+		} catch (InterruptedException e) {
+			return Status.CANCEL_STATUS;
+		}
+		try {
+			// Bindings of the AST may refer to the index, it cannot be used after the index changed.
+			// The file is reconciled again in this case.
+			if (index != null && index.getLastWriteAccess() != lastWriteAccess)
+				return Status.CANCEL_STATUS;
+			if (!beginExclusiveAccess(ast, monitor))
+				return Status.CANCEL_STATUS;
+			try {
+				CPPSemantics.pushLookupPoint(ast);
+				try {
+					runCheckers(ast, resource, force, lastWriteAccess, state, monitor);
+				} finally {
+					CPPSemantics.popLookupPoint();
+				}
+			} finally {
+				((ASTTranslationUnit) ast).endExclusiveAccess();
+			}
+		} finally {
+			if (index != null)
+				index.releaseReadLock();
+		}
+		return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+	}
+
+	/**
+	 * Waits for the exclusive access to a shared AST, the same way as the AST provider of the editor.
+	 */
+	private static boolean beginExclusiveAccess(IASTTranslationUnit ast, IProgressMonitor monitor) {
+		if (!(ast instanceof ASTTranslationUnit))
+			return false;
+		try {
+			while (!((ASTTranslationUnit) ast).tryBeginExclusiveAccess(50)) {
+				if (monitor.isCanceled())
+					return false;
+			}
+			return true;
+		} catch (InterruptedException e) {
+			return false;
+		}
+	}
+
+	private static void runCheckers(IASTTranslationUnit ast, IResource resource, boolean force, long lastWriteAccess,
+			FileState state, IProgressMonitor monitor) {
+		char[] source = ast.getRawSignature().toCharArray();
+		IncrementalCheckScope scope;
+		if (force || state.source == null || state.lastWriteAccess != lastWriteAccess) {
+			scope = IncrementalCheckScope.createFull((IFile) resource, ast);
+		} else {
+			scope = IncrementalCheckScope.create((IFile) resource, ast, state.source, source, state.problems);
+		}
+		// The next check has to check the whole file unless this one completes.
+		state.source = null;
+		state.problems = Collections.emptyMap();
+		scope.begin();
+		try {
+			CodanRuntime.getInstance().getBuilder().processResource(resource, monitor, CheckerLaunchMode.RUN_AS_YOU_TYPE,
+					ast);
+		} catch (RuntimeException e) {
+			Activator.log(e);
+			return;
+		} finally {
+			scope.end();
+		}
+		if (!monitor.isCanceled()) {
+			state.source = source;
+			state.lastWriteAccess = lastWriteAccess;
+			state.problems = scope.getProblems();
+		}
+	}
 }
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.internal.core.IContentKeyProvider;
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Computes the key of a translation unit from the contents hashes the index stores for
+ * the file and for the files it includes, and from the build settings of the file.
+ * No key is computed while the index is not up to date for any of these files.
+ */
+public class CxxContentKeyProvider implements IContentKeyProvider {
+	@Override
+	public String getContentKey(IFile file) {
+		ICElement celement = CoreModel.getDefault().create(file);
+		if (!(celement instanceof ITranslationUnit))
+			return null;
+		ITranslationUnit tu = (ITranslationUnit) celement;
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		try {
+			IIndex index = CCorePlugin.getIndexManager().getIndex(tu.getCProject());
+			index.acquireReadLock();
+			try {
+				if (!index.isFullyInitialized())
+					return null;
+				IIndexFile[] files = index.getFiles(IndexLocationFactory.getWorkspaceIFL(file));
+				if (files.length == 0)
+					return null;
+				Set<IIndexFile> visited = new HashSet<>();
+				Deque<IIndexFile> queue = new ArrayDeque<>();
+				for (IIndexFile indexFile : files) {
+					if (visited.add(indexFile))
+						queue.add(indexFile);
+				}
+				while (!queue.isEmpty()) {
+					IIndexFile indexFile = queue.remove();
+					if (!update(digest, indexFile))
+						return null;
+					for (IIndexInclude include : indexFile.getIncludes()) {
+						update(digest, include.getFullName());
+						update(digest, String.valueOf(include.isResolved()));
+						IIndexFile included = index.resolveInclude(include);
+						if (included != null && visited.add(included)) {
+							queue.add(included);
+						}
+					}
+				}
+			} finally {
+				index.releaseReadLock();
+			}
+			IScannerInfo scannerInfo = tu.getScannerInfo(true);
+			if (scannerInfo != null) {
+				update(digest, scannerInfo);
+			}
+		} catch (CoreException e) {
+			Activator.log(e);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		StringBuilder buf = new StringBuilder();
+		for (byte b : digest.digest()) {
+			buf.append(Character.forDigit((b >> 4) & 0xF, 16));
+			buf.append(Character.forDigit(b & 0xF, 16));
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Adds the contents hash of an index file to the digest.
+	 *
+	 * @return {@code false} if the file was modified after it was indexed.
+	 */
+	private static boolean update(MessageDigest digest, IIndexFile indexFile) throws CoreException {
+		IIndexFileLocation location = indexFile.getLocation();
+		if (indexFile.getTimestamp() != getLastModified(location))
+			return false;
+		update(digest, location.getURI().toString());
+		update(digest, String.valueOf(indexFile.getLinkageID()));
+		update(digest, String.valueOf(indexFile.getContentsHash()));
+		return true;
+	}
+
+	private static void update(MessageDigest digest, IScannerInfo scannerInfo) {
+		Map<String, String> symbols = scannerInfo.getDefinedSymbols();
+		if (symbols != null) {
+			for (Map.Entry<String, String> entry : new TreeMap<>(symbols).entrySet()) {
+				update(digest, entry.getKey());
+				update(digest, String.valueOf(entry.getValue()));
+			}
+		}
+		update(digest, scannerInfo.getIncludePaths());
+		if (scannerInfo instanceof IExtendedScannerInfo) {
+			IExtendedScannerInfo extendedInfo = (IExtendedScannerInfo) scannerInfo;
+			update(digest, extendedInfo.getLocalIncludePath());
+			update(digest, extendedInfo.getIncludeFiles());
+			update(digest, extendedInfo.getMacroFiles());
+		}
+	}
+
+	private static void update(MessageDigest digest, String[] values) {
+		if (values != null) {
+			update(digest, String.valueOf(values.length));
+			for (String value : values) {
+				update(digest, value);
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Returns the modification time of a file the same way the indexer does.
+	 */
+	private static long getLastModified(IIndexFileLocation location) {
+		String fullPath = location.getFullPath();
+		if (fullPath != null) {
+			IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(new Path(fullPath));
+			return resource != null ? resource.getLocalTimeStamp() : 0;
+		}
+		IPath path = IndexLocationFactory.getAbsolutePath(location);
+		return path != null ? path.toFile().lastModified() : 0;
+	}
+}
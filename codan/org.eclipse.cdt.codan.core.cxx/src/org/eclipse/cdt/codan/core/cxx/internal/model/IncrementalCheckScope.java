@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.model.AbstractChecker;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * The part of a file checked while typing in an editor. When the edit since the previous check
+ * of the file lies within a function body, checkers working on function level only check the
+ * functions containing the edit. The problems they found in the other functions during the
+ * previous check are reported again, moved by the length of the edit.
+ */
+public final class IncrementalCheckScope {
+	/**
+	 * A problem reported by a checker.
+	 */
+	public static final class Problem {
+		final String id;
+		final int start;
+		final int end;
+		final int line;
+		final Object[] args;
+
+		Problem(String id, int start, int end, int line, Object[] args) {
+			this.id = id;
+			this.start = start;
+			this.end = end;
+			this.line = line;
+			this.args = args;
+		}
+	}
+
+	private static final ThreadLocal<IncrementalCheckScope> current = new ThreadLocal<>();
+
+	private final IFile file;
+	private final IASTTranslationUnit ast;
+	/** The functions containing the edit, or {@code null} if the whole file is checked */
+	private final Set<IASTFunctionDefinition> changed;
+	private final int editOffset;
+	private final int previousEditEnd;
+	private final int editEnd;
+	/** The first line of the edit */
+	private final int editLine;
+	/** The last line of the edit in the previous contents of the file */
+	private final int previousEditEndLine;
+	private final int lineDelta;
+	/** The problems of the previous check by checker */
+	private final Map<String, List<Problem>> previousProblems;
+	/** The problems of this check by checker */
+	private final Map<String, List<Problem>> problems = new HashMap<>();
+
+	private IncrementalCheckScope(IFile file, IASTTranslationUnit ast, Set<IASTFunctionDefinition> changed,
+			int editOffset, int previousEditEnd, int editEnd, int editLine, int previousEditEndLine, int lineDelta,
+			Map<String, List<Problem>> previousProblems) {
+		this.file = file;
+		this.ast = ast;
+		this.changed = changed;
+		this.editOffset = editOffset;
+		this.previousEditEnd = previousEditEnd;
+		this.editEnd = editEnd;
+		this.editLine = editLine;
+		this.previousEditEndLine = previousEditEndLine;
+		this.lineDelta = lineDelta;
+		this.previousProblems = previousProblems;
+	}
+
+	/**
+	 * Creates a scope checking the whole file.
+	 */
+	public static IncrementalCheckScope createFull(IFile file, IASTTranslationUnit ast) {
+		return new IncrementalCheckScope(file, ast, null, 0, 0, 0, 0, 0, 0, Collections.emptyMap());
+	}
+
+	/**
+	 * Creates the scope for checking a new version of a file.
+	 *
+	 * @param file the file.
+	 * @param ast the ast of the new version of the file.
+	 * @param previousSource the contents of the file at the previous check.
+	 * @param source the contents of the file.
+	 * @param previousProblems the problems of the previous check.
+	 * @return the scope, checking the whole file if the edit is not within a function body.
+	 */
+	public static IncrementalCheckScope create(IFile file, IASTTranslationUnit ast, char[] previousSource, char[] source,
+			Map<String, List<Problem>> previousProblems) {
+		int maxCommon = Math.min(previousSource.length, source.length);
+		int prefix = 0;
+		while (prefix < maxCommon && previousSource[prefix] == source[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxCommon - prefix
+				&& previousSource[previousSource.length - 1 - suffix] == source[source.length - 1 - suffix]) {
+			suffix++;
+		}
+		int previousEditEnd = previousSource.length - suffix;
+		int editEnd = source.length - suffix;
+		Set<IASTFunctionDefinition> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (prefix < previousEditEnd || prefix < editEnd) {
+			if (!collectChangedFunctions(ast, prefix, editEnd, changed))
+				return createFull(file, ast);
+		}
+		int editLine = countLines(previousSource, 0, prefix) + 1;
+		int previousLines = countLines(previousSource, prefix, previousEditEnd);
+		int lineDelta = countLines(source, prefix, editEnd) - previousLines;
+		return new IncrementalCheckScope(file, ast, changed, prefix, previousEditEnd, editEnd, editLine,
+				editLine + previousLines, lineDelta, previousProblems);
+	}
+
+	/**
+	 * Collects the function definitions containing the edit.
+	 *
+	 * @return {@code true} if the edit lies within the body of a function.
+	 */
+	private static boolean collectChangedFunctions(IASTTranslationUnit ast, int offset, int end,
+			Set<IASTFunctionDefinition> changed) {
+		boolean[] withinBody = { false };
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				IASTFileLocation loc = declaration.getFileLocation();
+				if (loc == null || !ast.getFilePath().equals(loc.getFileName()))
+					return PROCESS_SKIP;
+				if (end < loc.getNodeOffset() || offset > loc.getNodeOffset() + loc.getNodeLength())
+					return PROCESS_SKIP;
+				if (declaration instanceof IASTFunctionDefinition) {
+					IASTFunctionDefinition function = (IASTFunctionDefinition) declaration;
+					changed.add(function);
+					IASTStatement body = function.getBody();
+					IASTFileLocation bodyLoc = body != null ? body.getFileLocation() : null;
+					// The edit must not touch the braces of the body.
+					if (bodyLoc != null && bodyLoc.getNodeOffset() < offset
+							&& end < bodyLoc.getNodeOffset() + bodyLoc.getNodeLength() - 1) {
+						withinBody[0] = true;
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		return withinBody[0];
+	}
+
+	private static int countLines(char[] source, int start, int end) {
+		int lines = 0;
+		for (int i = start; i < end; i++) {
+			if (source[i] == '\n')
+				lines++;
+		}
+		return lines;
+	}
+
+	/**
+	 * Makes this scope the one of the checks run by the current thread.
+	 */
+	void begin() {
+		current.set(this);
+	}
+
+	/**
+	 * Ends the checks run by the current thread in this scope.
+	 */
+	void end() {
+		current.remove();
+	}
+
+	/**
+	 * @return the problems reported by the checkers during the checks in this scope.
+	 */
+	public Map<String, List<Problem>> getProblems() {
+		return problems;
+	}
+
+	/**
+	 * Returns the scope of the checks of an AST run by the current thread.
+	 *
+	 * @param ast the AST being checked.
+	 * @return the scope, or {@code null} if the AST is not checked while typing.
+	 */
+	public static IncrementalCheckScope get(IASTTranslationUnit ast) {
+		IncrementalCheckScope scope = current.get();
+		return scope != null && scope.ast == ast ? scope : null;
+	}
+
+	/**
+	 * Returns the scope of the checks of a file run by the current thread.
+	 *
+	 * @param file the file being checked.
+	 * @return the scope, or {@code null} if the file is not checked while typing.
+	 */
+	public static IncrementalCheckScope get(IResource file) {
+		IncrementalCheckScope scope = current.get();
+		return scope != null && scope.file.equals(file) ? scope : null;
+	}
+
+	/**
+	 * @param function a function definition of the AST.
+	 * @return {@code true} if the function has to be checked.
+	 */
+	public boolean isChanged(IASTFunctionDefinition function) {
+		return changed == null || changed.contains(function);
+	}
+
+	/**
+	 * Records a problem reported by a checker.
+	 *
+	 * @param checker the checker.
+	 * @param id the id of the problem.
+	 * @param loc the location of the problem.
+	 * @param args the arguments of the problem.
+	 */
+	public void problemReported(AbstractChecker checker, String id, IProblemLocation loc, Object[] args) {
+		if (!file.equals(loc.getFile()))
+			return;
+		String key = checker.getClass().getName();
+		List<Problem> list = problems.get(key);
+		if (list == null) {
+			list = new ArrayList<>();
+			problems.put(key, list);
+		}
+		list.add(new Problem(id, loc.getStartingChar(), loc.getEndingChar(), loc.getLineNumber(), args));
+	}
+
+	/**
+	 * Reports the problems a checker found during the previous check in the functions that
+	 * are not checked again, moved to their current location. Problems overlapping the edit
+	 * are dropped.
+	 *
+	 * @param checker the checker.
+	 */
+	public void reportPreviousProblems(AbstractChecker checker) {
+		if (changed == null)
+			return;
+		List<Problem> list = previousProblems.get(checker.getClass().getName());
+		if (list == null)
+			return;
+		List<IASTFileLocation> changedLocations = new ArrayList<>(changed.size());
+		for (IASTFunctionDefinition function : changed) {
+			changedLocations.add(function.getFileLocation());
+		}
+		problems: for (Problem problem : list) {
+			int start = problem.start;
+			int end = problem.end;
+			int line = problem.line;
+			if (start < 0) {
+				// The problem is located by its line only.
+				if (line > previousEditEndLine) {
+					line += lineDelta;
+				} else if (line >= editLine) {
+					continue; // On a line of the edit
+				}
+				for (IASTFileLocation loc : changedLocations) {
+					if (line >= loc.getStartingLineNumber() && line <= loc.getEndingLineNumber())
+						continue problems;
+				}
+			} else {
+				if (start >= previousEditEnd) {
+					start += editEnd - previousEditEnd;
+					end += editEnd - previousEditEnd;
+					line += lineDelta;
+				} else if (end > editOffset) {
+					continue; // Overlaps the edit
+				}
+				for (IASTFileLocation loc : changedLocations) {
+					if (start < loc.getNodeOffset() + loc.getNodeLength() && end > loc.getNodeOffset())
+						continue problems;
+				}
+			}
+			IProblemLocationFactory factory = CodanRuntime.getInstance().getProblemLocationFactory();
+			IProblemLocation loc = start < 0 ? factory.createProblemLocation(file, line)
+					: factory.createProblemLocation(file, start, end, line);
+			try {
+				checker.reportProblem(problem.id, loc, problem.args);
+			} catch (IllegalArgumentException e) {
+				// The problem is no longer registered.
+			}
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.VariableAccesses.Access;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowAnalysis;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowResult;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+
+/**
+ * Live variables of a function. A fact is a variable whose current value may be read later.
+ * Only a write replacing the value of a variable ends its liveness.
+ */
+public class LiveVariables extends DataFlowAnalysis {
+	private final VariableAccesses accesses;
+	private final Map<IBasicBlock, BitSet> use = new IdentityHashMap<>();
+	private final Map<IBasicBlock, BitSet> def = new IdentityHashMap<>();
+
+	/**
+	 * @param graph the control flow graph of the function.
+	 * @param accesses the accesses of the variables of the function.
+	 */
+	public LiveVariables(IControlFlowGraph graph, VariableAccesses accesses) {
+		super(false, true);
+		this.accesses = accesses;
+		for (IBasicBlock block : graph.getNodes()) {
+			BitSet blockUse = new BitSet();
+			BitSet blockDef = new BitSet();
+			for (Access access : accesses.getAccesses(block)) {
+				int v = access.getVariable();
+				if (access.isRead() && !blockDef.get(v))
+					blockUse.set(v);
+				if (access.isWrite())
+					blockDef.set(v);
+			}
+			if (!blockUse.isEmpty())
+				use.put(block, blockUse);
+			if (!blockDef.isEmpty())
+				def.put(block, blockDef);
+		}
+	}
+
+	@Override
+	protected int getFactCount() {
+		return accesses.getVariableCount();
+	}
+
+	@Override
+	protected void transfer(IBasicBlock block, BitSet facts) {
+		BitSet blockDef = def.get(block);
+		if (blockDef != null)
+			facts.andNot(blockDef);
+		BitSet blockUse = use.get(block);
+		if (blockUse != null)
+			facts.or(blockUse);
+	}
+
+	/**
+	 * Returns the variables live after an access, e.g. to find out whether the value written
+	 * by the access is ever read.
+	 *
+	 * @param result the solution of this analysis.
+	 * @param block the block of the access.
+	 * @param access the access.
+	 * @return the variables live after the access.
+	 */
+	public BitSet getLiveAfter(DataFlowResult result, IBasicBlock block, Access access) {
+		BitSet facts = result.getFactsAfter(block);
+		if (facts == null)
+			return new BitSet();
+		Access[] blockAccesses = accesses.getAccesses(block);
+		for (int i = blockAccesses.length; --i >= 0;) {
+			Access a = blockAccesses[i];
+			if (a == access)
+				break;
+			if (a.isWrite())
+				facts.clear(a.getVariable());
+			if (a.isRead())
+				facts.set(a.getVariable());
+		}
+		return facts;
+	}
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.VariableAccesses.Access;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowAnalysis;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowResult;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IBranchNode;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
+import org.eclipse.cdt.core.dom.ast.IASTCastExpression;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTEqualsInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.dom.ast.IASTInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTInitializerClause;
+import org.eclipse.cdt.core.dom.ast.IASTInitializerList;
+import org.eclipse.cdt.core.dom.ast.IASTLiteralExpression;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IQualifierType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTRangeBasedForStatement;
+
+/**
+ * Pointer variables of a function that may be null. A fact is a pointer variable that may
+ * hold a null pointer constant assigned to it, or that a condition compared to null.
+ * <p>
+ * The analysis is optimistic: parameters, and pointers written in any other way, are assumed
+ * not to be null. Pointers whose address is taken are not tracked.
+ * </p>
+ */
+public class PossiblyNullPointers extends DataFlowAnalysis {
+	private final VariableAccesses accesses;
+	private final BitSet pointers = new BitSet();
+	private final Map<IBasicBlock, BitSet> gen = new IdentityHashMap<>();
+	private final Map<IBasicBlock, BitSet> kill = new IdentityHashMap<>();
+
+	/**
+	 * @param graph the control flow graph of the function.
+	 * @param accesses the accesses of the variables of the function.
+	 */
+	public PossiblyNullPointers(IControlFlowGraph graph, VariableAccesses accesses) {
+		super(true, true);
+		this.accesses = accesses;
+		for (int v = 0; v < accesses.getVariableCount(); v++) {
+			if (!accesses.isAddressTaken(v) && isPointer(accesses.getVariable(v).getType())) {
+				pointers.set(v);
+			}
+		}
+		for (IBasicBlock block : graph.getNodes()) {
+			BitSet blockGen = new BitSet();
+			BitSet blockKill = new BitSet();
+			apply(block, null, blockGen, blockKill);
+			if (!blockKill.isEmpty())
+				kill.put(block, blockKill);
+			if (!blockGen.isEmpty())
+				gen.put(block, blockGen);
+		}
+	}
+
+	@Override
+	protected int getFactCount() {
+		return accesses.getVariableCount();
+	}
+
+	@Override
+	protected void transfer(IBasicBlock block, BitSet facts) {
+		BitSet blockKill = kill.get(block);
+		if (blockKill != null)
+			facts.andNot(blockKill);
+		BitSet blockGen = gen.get(block);
+		if (blockGen != null)
+			facts.or(blockGen);
+	}
+
+	/**
+	 * Checks whether a pointer variable may be null when it is accessed.
+	 *
+	 * @param result the solution of this analysis.
+	 * @param block the block of the access.
+	 * @param access the access.
+	 * @return {@code true} if the variable may be null before the access.
+	 */
+	public boolean isPossiblyNull(DataFlowResult result, IBasicBlock block, Access access) {
+		BitSet facts = result.getFactsBefore(block);
+		if (facts == null)
+			return false;
+		apply(block, access, facts, null);
+		return facts.get(access.getVariable());
+	}
+
+	/**
+	 * Applies the effect of a block up to an access. The variables that may become null are
+	 * added to {@code facts}, the other variables written are removed from it and added to
+	 * {@code written}.
+	 */
+	private void apply(IBasicBlock block, Access stop, BitSet facts, BitSet written) {
+		if (block instanceof IBranchNode) {
+			refine((IBranchNode) block, facts, written);
+		}
+		for (Access access : accesses.getAccesses(block)) {
+			if (access == stop)
+				break;
+			int v = access.getVariable();
+			if (!pointers.get(v) || !(access.isWrite() || access.isMayWrite()))
+				continue;
+			if (access.isWrite() && isNull(getAssignedValue(access))) {
+				facts.set(v);
+			} else {
+				facts.clear(v);
+			}
+			if (written != null)
+				written.set(v);
+		}
+	}
+
+	/**
+	 * Applies what the condition of a decision tells about the pointers on one of its branches.
+	 */
+	private void refine(IBranchNode branch, BitSet facts, BitSet written) {
+		boolean truth;
+		if (IBranchNode.THEN.equals(branch.getLabel())) {
+			truth = true;
+		} else if (IBranchNode.ELSE.equals(branch.getLabel())) {
+			truth = false;
+		} else {
+			return;
+		}
+		IBasicBlock[] incoming = branch.getIncomingNodes();
+		if (incoming.length == 0 || !(incoming[0] instanceof ICfgData))
+			return;
+		Object condition = ((ICfgData) incoming[0]).getData();
+		if (condition instanceof IASTNode
+				&& !(((IASTNode) condition).getParent() instanceof ICPPASTRangeBasedForStatement)) {
+			refine((IASTNode) condition, truth, facts, written);
+		}
+	}
+
+	private void refine(IASTNode condition, boolean truth, BitSet facts, BitSet written) {
+		condition = strip(condition);
+		if (condition instanceof IASTIdExpression) {
+			int v = accesses.indexOf(((IASTIdExpression) condition).getName().resolveBinding());
+			if (v >= 0 && pointers.get(v)) {
+				facts.set(v, !truth);
+				if (written != null)
+					written.set(v);
+			}
+		} else if (condition instanceof IASTUnaryExpression) {
+			IASTUnaryExpression unary = (IASTUnaryExpression) condition;
+			if (unary.getOperator() == IASTUnaryExpression.op_not)
+				refine(unary.getOperand(), !truth, facts, written);
+		} else if (condition instanceof IASTBinaryExpression) {
+			IASTBinaryExpression binary = (IASTBinaryExpression) condition;
+			switch (binary.getOperator()) {
+			case IASTBinaryExpression.op_logicalAnd:
+				if (truth) {
+					refine(binary.getOperand1(), true, facts, written);
+					refine(binary.getOperand2(), true, facts, written);
+				}
+				break;
+			case IASTBinaryExpression.op_logicalOr:
+				if (!truth) {
+					refine(binary.getOperand1(), false, facts, written);
+					refine(binary.getOperand2(), false, facts, written);
+				}
+				break;
+			case IASTBinaryExpression.op_equals:
+			case IASTBinaryExpression.op_notequals:
+				boolean equals = binary.getOperator() == IASTBinaryExpression.op_equals;
+				if (isNull(binary.getOperand2())) {
+					refine(binary.getOperand1(), equals != truth, facts, written);
+				} else if (isNull(binary.getOperand1())) {
+					refine(binary.getOperand2(), equals != truth, facts, written);
+				}
+				break;
+			}
+		}
+	}
+
+	private static IASTInitializerClause getAssignedValue(Access access) {
+		IASTNode parent = access.getName().getParent();
+		if (parent instanceof IASTDeclarator) {
+			IASTInitializer initializer = ((IASTDeclarator) parent).getInitializer();
+			if (initializer instanceof IASTEqualsInitializer)
+				return ((IASTEqualsInitializer) initializer).getInitializerClause();
+			if (initializer instanceof IASTInitializerList) {
+				IASTInitializerClause[] clauses = ((IASTInitializerList) initializer).getClauses();
+				// A pointer initialized with empty braces is null.
+				return clauses.length == 0 ? (IASTInitializerList) initializer
+						: clauses.length == 1 ? clauses[0] : null;
+			}
+			return null;
+		}
+		IASTNode expr = parent.getParent();
+		if (expr instanceof IASTBinaryExpression
+				&& ((IASTBinaryExpression) expr).getOperator() == IASTBinaryExpression.op_assign)
+			return ((IASTBinaryExpression) expr).getOperand2();
+		return null;
+	}
+
+	/**
+	 * Checks whether an expression is a null pointer constant.
+	 */
+	private static boolean isNull(IASTNode node) {
+		node = strip(node);
+		if (node instanceof IASTInitializerList)
+			return ((IASTInitializerList) node).getClauses().length == 0;
+		if (!(node instanceof IASTLiteralExpression))
+			return false;
+		IASTLiteralExpression literal = (IASTLiteralExpression) node;
+		switch (literal.getKind()) {
+		case IASTLiteralExpression.lk_nullptr:
+			return true;
+		case IASTLiteralExpression.lk_integer_constant:
+			char[] value = literal.getValue();
+			int end = value.length;
+			while (end > 0 && "uUlL".indexOf(value[end - 1]) >= 0) { //$NON-NLS-1$
+				end--;
+			}
+			if (end == 0)
+				return false;
+			for (int i = 0; i < end; i++) {
+				if (value[i] != '0')
+					return false;
+			}
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Strips the parentheses and casts around an expression.
+	 */
+	private static IASTNode strip(IASTNode node) {
+		while (true) {
+			if (node instanceof IASTUnaryExpression
+					&& ((IASTUnaryExpression) node).getOperator() == IASTUnaryExpression.op_bracketedPrimary) {
+				node = ((IASTUnaryExpression) node).getOperand();
+			} else if (node instanceof IASTCastExpression) {
+				node = ((IASTCastExpression) node).getOperand();
+			} else {
+				return node;
+			}
+		}
+	}
+
+	private static boolean isPointer(IType type) {
+		while (type instanceof ITypedef || type instanceof IQualifierType) {
+			type = type instanceof ITypedef ? ((ITypedef) type).getType() : ((IQualifierType) type).getType();
+		}
+		return type instanceof IPointerType;
+	}
+}
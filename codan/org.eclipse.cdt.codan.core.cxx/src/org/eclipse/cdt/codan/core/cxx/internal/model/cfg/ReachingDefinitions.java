@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.VariableAccesses.Access;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowAnalysis;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowResult;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+
+/**
+ * Reaching definitions of the variables of a function. A fact is a definition, i.e. a write
+ * of a variable, or the value of a parameter on entry of the function. A write that may
+ * modify a variable adds a definition without removing the other ones.
+ */
+public class ReachingDefinitions extends DataFlowAnalysis {
+	private final VariableAccesses accesses;
+	/** The variable of each definition */
+	private final List<Integer> variables = new ArrayList<>();
+	/** The access of each definition, {@code null} for the parameters on entry of the function */
+	private final List<Access> definitions = new ArrayList<>();
+	private final Map<Access, Integer> index = new IdentityHashMap<>();
+	/** The definitions of each variable */
+	private final BitSet[] definitionsOf;
+	private final Map<IBasicBlock, BitSet> gen = new IdentityHashMap<>();
+	private final Map<IBasicBlock, BitSet> kill = new IdentityHashMap<>();
+	private final BitSet entry = new BitSet();
+
+	/**
+	 * @param graph the control flow graph of the function.
+	 * @param accesses the accesses of the variables of the function.
+	 */
+	public ReachingDefinitions(IControlFlowGraph graph, VariableAccesses accesses) {
+		super(true, true);
+		this.accesses = accesses;
+		definitionsOf = new BitSet[accesses.getVariableCount()];
+		for (int i = 0; i < definitionsOf.length; i++) {
+			definitionsOf[i] = new BitSet();
+		}
+		BitSet parameters = accesses.getParameters();
+		for (int v = parameters.nextSetBit(0); v >= 0; v = parameters.nextSetBit(v + 1)) {
+			entry.set(addDefinition(v, null));
+		}
+		for (IBasicBlock block : graph.getNodes()) {
+			for (Access access : accesses.getAccesses(block)) {
+				if (access.isWrite() || access.isMayWrite()) {
+					index.put(access, addDefinition(access.getVariable(), access));
+				}
+			}
+		}
+		for (IBasicBlock block : graph.getNodes()) {
+			BitSet blockGen = new BitSet();
+			BitSet blockKill = new BitSet();
+			for (Access access : accesses.getAccesses(block)) {
+				Integer d = index.get(access);
+				if (d == null)
+					continue;
+				if (access.isWrite()) {
+					BitSet killed = definitionsOf[access.getVariable()];
+					blockGen.andNot(killed);
+					blockKill.or(killed);
+				}
+				blockGen.set(d);
+			}
+			if (!blockKill.isEmpty())
+				kill.put(block, blockKill);
+			if (!blockGen.isEmpty())
+				gen.put(block, blockGen);
+		}
+	}
+
+	private int addDefinition(int variable, Access access) {
+		int d = definitions.size();
+		variables.add(variable);
+		definitions.add(access);
+		definitionsOf[variable].set(d);
+		return d;
+	}
+
+	@Override
+	protected int getFactCount() {
+		return definitions.size();
+	}
+
+	@Override
+	protected BitSet getBoundaryFacts() {
+		return (BitSet) entry.clone();
+	}
+
+	@Override
+	protected void transfer(IBasicBlock block, BitSet facts) {
+		BitSet blockKill = kill.get(block);
+		if (blockKill != null)
+			facts.andNot(blockKill);
+		BitSet blockGen = gen.get(block);
+		if (blockGen != null)
+			facts.or(blockGen);
+	}
+
+	/**
+	 * @param definition a definition.
+	 * @return the index of the variable defined by the definition.
+	 */
+	public int getVariable(int definition) {
+		return variables.get(definition);
+	}
+
+	/**
+	 * @param definition a definition.
+	 * @return the write of the definition, or {@code null} if the definition is the value
+	 *     of a parameter on entry of the function.
+	 */
+	public Access getDefinition(int definition) {
+		return definitions.get(definition);
+	}
+
+	/**
+	 * Returns the definitions of a variable reaching an access of the variable.
+	 *
+	 * @param result the solution of this analysis.
+	 * @param block the block of the access.
+	 * @param access the access.
+	 * @return the definitions reaching the access.
+	 */
+	public BitSet getReachingDefinitions(DataFlowResult result, IBasicBlock block, Access access) {
+		BitSet facts = result.getFactsBefore(block);
+		if (facts == null)
+			return new BitSet();
+		for (Access a : accesses.getAccesses(block)) {
+			if (a == access)
+				break;
+			Integer d = index.get(a);
+			if (d == null)
+				continue;
+			if (a.isWrite())
+				facts.andNot(definitionsOf[a.getVariable()]);
+			facts.set(d);
+		}
+		facts.and(definitionsOf[access.getVariable()]);
+		return facts;
+	}
+}
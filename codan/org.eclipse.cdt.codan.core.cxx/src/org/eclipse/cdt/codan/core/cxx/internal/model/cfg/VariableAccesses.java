@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IField;
+import org.eclipse.cdt.core.dom.ast.IParameter;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTLambdaExpression;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTryBlockStatement;
+import org.eclipse.cdt.internal.core.dom.parser.c.CVariableReadWriteFlags;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVariableReadWriteFlags;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
+
+/**
+ * Reads and writes of the local variables and parameters of a function by the blocks of its
+ * control flow graph. Static and extern local variables, and the variables of lambda
+ * expressions are not tracked.
+ * <p>
+ * A write is strong if it replaces the value of the variable: an assignment to the variable,
+ * an increment or decrement, or the declaration of the variable. Other writes, e.g. to a field
+ * of the variable, through a non-const reference, or in a lambda, may modify the variable.
+ * </p>
+ */
+public class VariableAccesses {
+	/** The variable is read */
+	public static final int READ = 0x1;
+	/** The value of the variable is replaced */
+	public static final int WRITE = 0x2;
+	/** The variable may be modified */
+	public static final int MAY_WRITE = 0x4;
+
+	/**
+	 * Access of a variable by a block.
+	 */
+	public static final class Access {
+		private final int variable;
+		private final int flags;
+		private final IASTName name;
+
+		Access(int variable, int flags, IASTName name) {
+			this.variable = variable;
+			this.flags = flags;
+			this.name = name;
+		}
+
+		/**
+		 * @return the index of the variable.
+		 */
+		public int getVariable() {
+			return variable;
+		}
+
+		/**
+		 * @return a combination of {@link #READ}, {@link #WRITE} and {@link #MAY_WRITE}.
+		 */
+		public int getFlags() {
+			return flags;
+		}
+
+		public boolean isRead() {
+			return (flags & READ) != 0;
+		}
+
+		public boolean isWrite() {
+			return (flags & WRITE) != 0;
+		}
+
+		public boolean isMayWrite() {
+			return (flags & MAY_WRITE) != 0;
+		}
+
+		/**
+		 * @return the name of the variable in the AST.
+		 */
+		public IASTName getName() {
+			return name;
+		}
+	}
+
+	private static final Access[] NO_ACCESSES = {};
+
+	private final List<IVariable> variables = new ArrayList<>();
+	private final Map<IBinding, Integer> index = new HashMap<>();
+	private final BitSet parameters = new BitSet();
+	private final BitSet addressTaken = new BitSet();
+	private final Map<IBasicBlock, Access[]> accesses = new IdentityHashMap<>();
+
+	private VariableAccesses() {
+	}
+
+	/**
+	 * Computes the accesses of the variables of a function.
+	 *
+	 * @param function the function definition.
+	 * @param graph the control flow graph of the function.
+	 * @return the accesses.
+	 */
+	public static VariableAccesses compute(IASTFunctionDefinition function, IControlFlowGraph graph) {
+		VariableAccesses result = new VariableAccesses();
+		result.collectVariables(function);
+		boolean cpp = function.getTranslationUnit() instanceof ICPPASTTranslationUnit;
+		for (IBasicBlock block : graph.getNodes()) {
+			if (!(block instanceof ICfgData))
+				continue;
+			Object data = ((ICfgData) block).getData();
+			// The decision node of a try block holds the whole statement, its body has blocks of its own.
+			if (data instanceof IASTNode && !(data instanceof ICPPASTTryBlockStatement)) {
+				List<Access> list = result.collectAccesses((IASTNode) data, cpp);
+				if (!list.isEmpty()) {
+					result.accesses.put(block, list.toArray(new Access[list.size()]));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of tracked variables.
+	 */
+	public int getVariableCount() {
+		return variables.size();
+	}
+
+	/**
+	 * @param variable the index of a variable.
+	 * @return the variable.
+	 */
+	public IVariable getVariable(int variable) {
+		return variables.get(variable);
+	}
+
+	/**
+	 * @param binding a binding.
+	 * @return the index of the variable, or -1 if the binding is not a tracked variable.
+	 */
+	public int indexOf(IBinding binding) {
+		Integer i = index.get(binding);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @return the indexes of the parameters of the function.
+	 */
+	public BitSet getParameters() {
+		return (BitSet) parameters.clone();
+	}
+
+	/**
+	 * @param variable the index of a variable.
+	 * @return {@code true} if the address of the variable is taken, such that it may be
+	 *     accessed without being named.
+	 */
+	public boolean isAddressTaken(int variable) {
+		return addressTaken.get(variable);
+	}
+
+	/**
+	 * @param block a block of the graph.
+	 * @return the accesses of the block in the order in which they take effect.
+	 */
+	public Access[] getAccesses(IBasicBlock block) {
+		Access[] result = accesses.get(block);
+		return result == null ? NO_ACCESSES : result;
+	}
+
+	private void collectVariables(IASTFunctionDefinition function) {
+		function.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				if (name.isDeclaration() && !isInLambda(name)) {
+					IBinding binding = name.resolveBinding();
+					if (binding instanceof IVariable && !(binding instanceof IField) && !index.containsKey(binding)) {
+						IVariable variable = (IVariable) binding;
+						if (binding instanceof IParameter) {
+							parameters.set(variables.size());
+						} else if (variable.isStatic() || variable.isExtern()) {
+							return PROCESS_CONTINUE;
+						}
+						index.put(binding, variables.size());
+						variables.add(variable);
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+	}
+
+	private List<Access> collectAccesses(IASTNode node, boolean cpp) {
+		List<Access> list = new ArrayList<>();
+		if (variables.isEmpty())
+			return list;
+		// A variable is assigned after the value assigned to it has been evaluated.
+		Map<IASTNode, Access> pendingWrites = new IdentityHashMap<>();
+		node.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+				shouldVisitDeclarators = true;
+				shouldVisitExpressions = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				int variable = indexOf(name.resolveBinding());
+				if (variable >= 0) {
+					IASTNode parent = name.getParent();
+					int flags = getFlags(name, cpp);
+					if (flags == WRITE) {
+						pendingWrites.put(parent instanceof IASTDeclarator ? parent : parent.getParent(),
+								new Access(variable, flags, name));
+					} else if (flags != 0) {
+						list.add(new Access(variable, flags, name));
+					}
+					if (parent instanceof IASTIdExpression && parent.getParent() instanceof IASTUnaryExpression
+							&& ((IASTUnaryExpression) parent.getParent()).getOperator() == IASTUnaryExpression.op_amper) {
+						addressTaken.set(variable);
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+
+			@Override
+			public int leave(IASTDeclarator declarator) {
+				addPendingWrite(declarator);
+				return PROCESS_CONTINUE;
+			}
+
+			@Override
+			public int leave(IASTExpression expression) {
+				addPendingWrite(expression);
+				return PROCESS_CONTINUE;
+			}
+
+			private void addPendingWrite(IASTNode node) {
+				if (!pendingWrites.isEmpty()) {
+					Access access = pendingWrites.remove(node);
+					if (access != null)
+						list.add(access);
+				}
+			}
+		});
+		return list;
+	}
+
+	private static int getFlags(IASTName name, boolean cpp) {
+		IASTNode parent = name.getParent();
+		if (parent instanceof IASTDeclarator) {
+			return ((IASTDeclarator) parent).getName() == name ? WRITE : 0;
+		}
+		if (parent instanceof IASTIdExpression && !isInLambda(parent)) {
+			IASTNode expr = parent.getParent();
+			if (expr instanceof IASTBinaryExpression && ((IASTBinaryExpression) expr).getOperand1() == parent) {
+				switch (((IASTBinaryExpression) expr).getOperator()) {
+				case IASTBinaryExpression.op_assign:
+					return WRITE;
+				case IASTBinaryExpression.op_multiplyAssign:
+				case IASTBinaryExpression.op_divideAssign:
+				case IASTBinaryExpression.op_moduloAssign:
+				case IASTBinaryExpression.op_plusAssign:
+				case IASTBinaryExpression.op_minusAssign:
+				case IASTBinaryExpression.op_shiftLeftAssign:
+				case IASTBinaryExpression.op_shiftRightAssign:
+				case IASTBinaryExpression.op_binaryAndAssign:
+				case IASTBinaryExpression.op_binaryXorAssign:
+				case IASTBinaryExpression.op_binaryOrAssign:
+					return READ | WRITE;
+				}
+			} else if (expr instanceof IASTUnaryExpression) {
+				switch (((IASTUnaryExpression) expr).getOperator()) {
+				case IASTUnaryExpression.op_prefixIncr:
+				case IASTUnaryExpression.op_prefixDecr:
+				case IASTUnaryExpression.op_postFixIncr:
+				case IASTUnaryExpression.op_postFixDecr:
+					return READ | WRITE;
+				}
+			}
+		}
+		int rw = cpp ? CPPVariableReadWriteFlags.getReadWriteFlags(name)
+				: CVariableReadWriteFlags.getReadWriteFlags(name);
+		int flags = 0;
+		if ((rw & PDOMName.READ_ACCESS) != 0)
+			flags |= READ;
+		if ((rw & PDOMName.WRITE_ACCESS) != 0)
+			flags |= MAY_WRITE;
+		return flags;
+	}
+
+	private static boolean isInLambda(IASTNode node) {
+		for (IASTNode n = node.getParent(); n != null && !(n instanceof IASTFunctionDefinition); n = n.getParent()) {
+			if (n instanceof ICPPASTLambdaExpression)
+				return true;
+		}
+		return false;
+	}
+}
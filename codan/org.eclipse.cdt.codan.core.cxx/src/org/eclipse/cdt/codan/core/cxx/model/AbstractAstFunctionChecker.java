@@ -13,20 +13,34 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
+import org.eclipse.cdt.codan.core.cxx.internal.model.IncrementalCheckScope;
 import org.eclipse.cdt.codan.core.model.ICheckerWithPreferences;
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 
 /**
- * Abstract class for checkers that do all the work on function definition level
+ * Abstract class for checkers that do all the work on function definition level.
+ * <p>
+ * While typing in an editor, only the functions containing the edit are processed again, if the
+ * edit lies within a function body. The problems found in the other functions are kept.
+ * </p>
  */
-public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker implements ICheckerWithPreferences {
+public abstract class AbstractAstFunctionChecker extends AbstractAstVisitorChecker implements ICheckerWithPreferences {
+	/**
+	 * @since 3.5
+	 */
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		final IncrementalCheckScope scope = IncrementalCheckScope.get(ast);
+		if (scope != null) {
+			scope.reportPreviousProblems(this);
+		}
 		// traverse the ast using the visitor pattern.
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{
 				shouldVisitDeclarations = true;
 			}
@@ -34,13 +48,28 @@ public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker
 			@Override
 			public int visit(IASTDeclaration element) {
 				if (element instanceof IASTFunctionDefinition) {
-					processFunction((IASTFunctionDefinition) element);
+					IASTFunctionDefinition function = (IASTFunctionDefinition) element;
+					if (scope != null && !scope.isChanged(function))
+						return PROCESS_SKIP;
+					processFunction(function);
 				}
 				// visit all nodes to support inner functions within class definitions
 				// and gcc extensions
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
+	}
+
+	/**
+	 * @since 3.5
+	 */
+	@Override
+	public void reportProblem(IProblem problem, IProblemLocation loc, Object... args) {
+		IncrementalCheckScope scope = IncrementalCheckScope.get(loc.getFile());
+		if (scope != null) {
+			scope.problemReported(this, problem.getId(), loc, args);
+		}
+		super.reportProblem(problem, loc, args);
 	}
 
 	/**
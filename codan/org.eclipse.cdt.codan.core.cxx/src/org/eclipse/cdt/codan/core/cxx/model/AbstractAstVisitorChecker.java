@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IGroupableChecker;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Checker that does all the work in a single visitor of the AST. The kinds of nodes the
+ * checker is interested in are declared by the <code>shouldVisit...</code> fields of the
+ * visitor.
+ * <p>
+ * When run by the framework, the visitors of all enabled checkers of this kind are combined,
+ * such that the AST is traversed only once. Each node is passed to the visitors interested in
+ * it, in the order of the checkers. The results of the visit methods are honored for each
+ * visitor separately.
+ * </p>
+ * <p>
+ * Visitors that visit ambiguous nodes, inactive nodes, tokens or implicit name alternates,
+ * or that do not parse deferred function bodies, traverse the AST on their own. Checkers
+ * overriding {@link #processAst(IASTTranslationUnit)}, {@link #processModel(Object, ICheckerInvocationContext)}
+ * or one of the <code>processResource</code> methods are not combined with the other checkers,
+ * they are run by calling these methods.
+ * </p>
+ *
+ * Clients may extend this class.
+ *
+ * @since 3.5
+ */
+public abstract class AbstractAstVisitorChecker extends AbstractIndexAstChecker implements IGroupableChecker {
+	/** Whether the checkers of a class can be run by {@link AstVisitorCheckerGroup} */
+	private static final Map<Class<?>, Boolean> groupable = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates the visitor that checks the given AST.
+	 *
+	 * @param ast the AST to check.
+	 * @return the visitor, or {@code null} if there is nothing to check.
+	 */
+	protected abstract ASTVisitor createVisitor(IASTTranslationUnit ast);
+
+	@Override
+	public void processAst(IASTTranslationUnit ast) {
+		ASTVisitor visitor = createVisitor(ast);
+		if (visitor != null) {
+			ast.accept(visitor);
+		}
+	}
+
+	@Override
+	public ICheckerGroup getCheckerGroup() {
+		return groupable.computeIfAbsent(getClass(), AbstractAstVisitorChecker::isGroupable)
+				? AstVisitorCheckerGroup.INSTANCE
+				: null;
+	}
+
+	/**
+	 * Checks whether a checker class does all its work in {@link #createVisitor(IASTTranslationUnit)},
+	 * i.e. it does not override the methods running the checker on its own.
+	 */
+	private static boolean isGroupable(Class<?> checkerClass) {
+		for (Class<?> c = checkerClass; c != AbstractAstVisitorChecker.class; c = c.getSuperclass()) {
+			if (declares(c, "processAst", IASTTranslationUnit.class) //$NON-NLS-1$
+					|| declares(c, "processModel", Object.class, ICheckerInvocationContext.class) //$NON-NLS-1$
+					|| declares(c, "processResource", IResource.class) //$NON-NLS-1$
+					|| declares(c, "processResource", IResource.class, ICheckerInvocationContext.class)) { //$NON-NLS-1$
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean declares(Class<?> c, String name, Class<?>... parameterTypes) {
+		try {
+			c.getDeclaredMethod(name, parameterTypes);
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+}
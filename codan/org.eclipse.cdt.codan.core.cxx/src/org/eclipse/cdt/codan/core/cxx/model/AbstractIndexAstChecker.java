@@ -65,18 +65,9 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 	}
 
 	private void processFile(IFile file) throws OperationCanceledException {
-		ICheckerInvocationContext context = getContext();
-		synchronized (context) {
-			modelCache = context.get(CxxModelsCache.class);
-			if (modelCache == null) {
-				ICElement celement = CoreModel.getDefault().create(file);
-				if (!(celement instanceof ITranslationUnit)) {
-					return;
-				}
-				modelCache = new CxxModelsCache((ITranslationUnit) celement);
-				context.add(modelCache);
-			}
-		}
+		modelCache = getModelCache(file, getContext());
+		if (modelCache == null)
+			return;
 		try {
 			// Run the checker only if the index is fully initialized. Otherwise it may produce
 			// false positives.
@@ -95,6 +86,53 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 		}
 	}
 
+	/**
+	 * Returns the models cache of the given file shared by the checkers of an invocation,
+	 * or {@code null} if the file is not a translation unit.
+	 */
+	static CxxModelsCache getModelCache(IFile file, ICheckerInvocationContext context) {
+		synchronized (context) {
+			CxxModelsCache cache = context.get(CxxModelsCache.class);
+			if (cache == null) {
+				ICElement celement = CoreModel.getDefault().create(file);
+				if (!(celement instanceof ITranslationUnit)) {
+					return null;
+				}
+				cache = new CxxModelsCache((ITranslationUnit) celement);
+				context.add(cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Returns the models cache of the given ast shared by the checkers of an invocation.
+	 */
+	static CxxModelsCache getModelCache(IASTTranslationUnit ast, ICheckerInvocationContext context) {
+		synchronized (context) {
+			CxxModelsCache cache = context.get(CxxModelsCache.class);
+			if (cache == null) {
+				cache = new CxxModelsCache(ast);
+				context.add(cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Prepares the checker for processing an ast outside of {@link #processResource(IResource)}
+	 * and {@link #processModel(Object, ICheckerInvocationContext)}.
+	 */
+	void beginProcessing(ICheckerInvocationContext context, CxxModelsCache cache) {
+		setContext(context);
+		modelCache = cache;
+	}
+
+	void endProcessing() {
+		modelCache = null;
+		setContext(null);
+	}
+
 	@Override
 	public synchronized void processModel(Object model, ICheckerInvocationContext context) {
 		if (model instanceof IASTTranslationUnit) {
@@ -104,13 +142,7 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 			if (ast.isBasedOnIncompleteIndex())
 				return;
 			setContext(context);
-			synchronized (context) {
-				modelCache = context.get(CxxModelsCache.class);
-				if (modelCache == null) {
-					modelCache = new CxxModelsCache(ast);
-					context.add(modelCache);
-				}
-			}
+			modelCache = getModelCache(ast, context);
 			CPPSemantics.pushLookupPoint(ast);
 			try {
 				processAst(ast);
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.internal.core.CheckersTimeStats;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs the checkers extending {@link AbstractAstVisitorChecker} with a single traversal of
+ * the AST.
+ */
+final class AstVisitorCheckerGroup implements ICheckerGroup {
+	static final AstVisitorCheckerGroup INSTANCE = new AstVisitorCheckerGroup();
+
+	private AstVisitorCheckerGroup() {
+	}
+
+	@Override
+	public void prepare(IResource resource, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException {
+		if (!(resource instanceof IFile))
+			return;
+		CxxModelsCache modelCache = AbstractIndexAstChecker.getModelCache((IFile) resource, context);
+		if (modelCache == null)
+			return;
+		try {
+			// Parse the file before the locks of the checkers are taken. The AST is shared with
+			// the other checkers of the file through the model cache.
+			if (modelCache.getIndex().isFullyInitialized()) {
+				modelCache.getAST();
+			}
+		} catch (CoreException e) {
+			Activator.log(e);
+		}
+	}
+
+	@Override
+	public void processResource(IResource resource, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException {
+		if (!(resource instanceof IFile))
+			return;
+		List<AbstractAstVisitorChecker> members = new ArrayList<>(checkers.size());
+		for (IChecker checker : checkers) {
+			AbstractAstVisitorChecker member = (AbstractAstVisitorChecker) checker;
+			if (member.shouldProduceProblems(resource)) {
+				members.add(member);
+			}
+		}
+		if (members.isEmpty())
+			return;
+		CxxModelsCache modelCache = AbstractIndexAstChecker.getModelCache((IFile) resource, context);
+		if (modelCache == null)
+			return;
+		try {
+			// Run the checkers only if the index is fully initialized. Otherwise they may produce
+			// false positives.
+			if (modelCache.getIndex().isFullyInitialized()) {
+				IASTTranslationUnit ast = modelCache.getAST();
+				if (ast != null) {
+					synchronized (ast) {
+						processAst(ast, members, context, modelCache);
+					}
+				}
+			}
+		} catch (CoreException e) {
+			Activator.log(e);
+		}
+	}
+
+	@Override
+	public void processModel(Object model, List<IChecker> checkers, ICheckerInvocationContext context) {
+		if (!(model instanceof IASTTranslationUnit))
+			return;
+		IASTTranslationUnit ast = (IASTTranslationUnit) model;
+		// Run the checkers only if the index was fully initialized when the file was parsed.
+		// Otherwise they may produce false positives.
+		if (ast.isBasedOnIncompleteIndex())
+			return;
+		List<AbstractAstVisitorChecker> members = new ArrayList<>(checkers.size());
+		for (IChecker checker : checkers) {
+			members.add((AbstractAstVisitorChecker) checker);
+		}
+		CxxModelsCache modelCache = AbstractIndexAstChecker.getModelCache(ast, context);
+		CPPSemantics.pushLookupPoint(ast);
+		try {
+			processAst(ast, members, context, modelCache);
+		} finally {
+			CPPSemantics.popLookupPoint();
+		}
+	}
+
+	private static void processAst(IASTTranslationUnit ast, List<AbstractAstVisitorChecker> checkers,
+			ICheckerInvocationContext context, CxxModelsCache modelCache) {
+		CheckersTimeStats stats = CheckersTimeStats.getInstance();
+		boolean timed = stats.isEnabled();
+		FusedASTVisitor fused = new FusedASTVisitor(timed);
+		try {
+			for (AbstractAstVisitorChecker checker : checkers) {
+				checker.beginProcessing(context, modelCache);
+				String id = checker.getClass().getName();
+				long start = timed ? System.nanoTime() : 0;
+				ASTVisitor visitor = null;
+				try {
+					visitor = checker.createVisitor(ast);
+					if (visitor != null && !FusedASTVisitor.canBeFused(visitor)) {
+						ast.accept(visitor);
+						visitor = null;
+					}
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					Activator.log(e);
+					visitor = null;
+				}
+				long elapsed = timed ? System.nanoTime() - start : 0;
+				if (visitor != null) {
+					fused.add(id, visitor, elapsed);
+				} else if (timed) {
+					stats.checkerAddTime(id, elapsed);
+				}
+			}
+			if (!fused.isEmpty()) {
+				ast.accept(fused);
+			}
+		} finally {
+			for (AbstractAstVisitorChecker checker : checkers) {
+				checker.endProcessing();
+			}
+			if (timed) {
+				fused.reportTimes(stats);
+			}
+		}
+	}
+}
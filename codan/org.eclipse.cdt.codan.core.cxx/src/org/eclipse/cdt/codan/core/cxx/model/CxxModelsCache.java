@@ -14,7 +14,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
-import java.util.WeakHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.cdt.codan.core.cxx.internal.model.CodanCommentMap;
 import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
@@ -39,19 +40,28 @@ public class CxxModelsCache implements ICodanDisposable {
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
+	/** Maximum number of control flow graphs kept for the checkers of a file */
+	private static final int MAX_CFG_CACHE_SIZE = 64;
 
 	private final IFile file;
 	private final ITranslationUnit tu;
 	private IASTTranslationUnit ast;
 	private IIndex index;
-	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
+	private final Map<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
 	private ICodanCommentMap commentMap;
 	private boolean disposed;
 
 	CxxModelsCache(ITranslationUnit tu) {
 		this.tu = tu;
 		this.file = tu != null ? (IFile) tu.getResource() : null;
-		cfgmap = new WeakHashMap<>(0);
+		// The checkers of a file visit its functions in the same order, one checker after another,
+		// or all checkers at once. The least recently used graph is dropped.
+		cfgmap = new LinkedHashMap<IASTFunctionDefinition, IControlFlowGraph>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IASTFunctionDefinition, IControlFlowGraph> eldest) {
+				return size() > MAX_CFG_CACHE_SIZE;
+			}
+		};
 	}
 
 	CxxModelsCache(IASTTranslationUnit ast) {
@@ -87,10 +97,6 @@ public class CxxModelsCache implements ICodanDisposable {
 		if (cfg != null)
 			return cfg;
 		cfg = CxxControlFlowGraph.build(func);
-		// TODO(Alena Laskavaia): Change to LRU.
-		if (cfgmap.size() > 20) { // if too many function better drop the cache
-			cfgmap.clear();
-		}
 		cfgmap.put(func, cfg);
 		return cfg;
 	}
@@ -0,0 +1,473 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntBiFunction;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.internal.core.CheckersTimeStats;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTArrayModifier;
+import org.eclipse.cdt.core.dom.ast.IASTAttribute;
+import org.eclipse.cdt.core.dom.ast.IASTAttributeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTEnumerationSpecifier.IASTEnumerator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTImplicitDestructorName;
+import org.eclipse.cdt.core.dom.ast.IASTImplicitName;
+import org.eclipse.cdt.core.dom.ast.IASTInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTParameterDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTPointerOperator;
+import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IASTTypeId;
+import org.eclipse.cdt.core.dom.ast.c.ICASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCapture;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier.ICPPASTBaseSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDecltypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Passes the nodes of a single traversal of the AST to several visitors. A visitor receives
+ * the same calls as in a traversal of its own: only the kinds of nodes it asked for, and none
+ * of the nodes below a node it skipped. A visitor that aborts or throws an exception does not
+ * receive further nodes.
+ */
+final class FusedASTVisitor extends ASTVisitor {
+	private static final class Member {
+		final String fId;
+		final ASTVisitor fVisitor;
+		/** The node whose subtree is skipped by the visitor, or {@code null}. */
+		IASTNode fSkipped;
+		boolean fDone;
+		long fNanos;
+
+		Member(String id, ASTVisitor visitor, long nanos) {
+			fId = id;
+			fVisitor = visitor;
+			fNanos = nanos;
+		}
+	}
+
+	private final List<Member> fMembers = new ArrayList<>();
+	private final boolean fTimed;
+	private int fActive;
+
+	FusedASTVisitor(boolean timed) {
+		fTimed = timed;
+	}
+
+	/**
+	 * Returns whether the given visitor can be part of a fused traversal. Visitors that
+	 * change which nodes are traversed, rather than which of them are passed to the visitor,
+	 * must traverse the AST on their own.
+	 */
+	static boolean canBeFused(ASTVisitor visitor) {
+		return !visitor.includeInactiveNodes && !visitor.shouldVisitAmbiguousNodes && !visitor.shouldVisitTokens
+				&& !visitor.shouldVisitImplicitNameAlternates && !(visitor instanceof IDeferredBodyVisitor);
+	}
+
+	/**
+	 * Adds a visitor to the traversal.
+	 *
+	 * @param id the id of the checker the visitor belongs to.
+	 * @param visitor the visitor, see {@link #canBeFused(ASTVisitor)}.
+	 * @param nanos the time already spent by the checker.
+	 */
+	void add(String id, ASTVisitor visitor, long nanos) {
+		fMembers.add(new Member(id, visitor, nanos));
+		fActive++;
+		shouldVisitTranslationUnit |= visitor.shouldVisitTranslationUnit;
+		shouldVisitDeclarations |= visitor.shouldVisitDeclarations;
+		shouldVisitInitializers |= visitor.shouldVisitInitializers;
+		shouldVisitParameterDeclarations |= visitor.shouldVisitParameterDeclarations;
+		shouldVisitDeclarators |= visitor.shouldVisitDeclarators;
+		shouldVisitDeclSpecifiers |= visitor.shouldVisitDeclSpecifiers;
+		shouldVisitArrayModifiers |= visitor.shouldVisitArrayModifiers;
+		shouldVisitPointerOperators |= visitor.shouldVisitPointerOperators;
+		shouldVisitAttributes |= visitor.shouldVisitAttributes;
+		shouldVisitExpressions |= visitor.shouldVisitExpressions;
+		shouldVisitStatements |= visitor.shouldVisitStatements;
+		shouldVisitTypeIds |= visitor.shouldVisitTypeIds;
+		shouldVisitEnumerators |= visitor.shouldVisitEnumerators;
+		shouldVisitProblems |= visitor.shouldVisitProblems;
+		shouldVisitBaseSpecifiers |= visitor.shouldVisitBaseSpecifiers;
+		shouldVisitNamespaces |= visitor.shouldVisitNamespaces;
+		shouldVisitTemplateParameters |= visitor.shouldVisitTemplateParameters;
+		shouldVisitCaptures |= visitor.shouldVisitCaptures;
+		shouldVisitDesignators |= visitor.shouldVisitDesignators;
+		shouldVisitVirtSpecifiers |= visitor.shouldVisitVirtSpecifiers;
+		shouldVisitDecltypeSpecifiers |= visitor.shouldVisitDecltypeSpecifiers;
+		shouldVisitNames |= visitor.shouldVisitNames;
+		shouldVisitImplicitNames |= visitor.shouldVisitImplicitNames;
+		shouldVisitImplicitDestructorNames |= visitor.shouldVisitImplicitDestructorNames;
+	}
+
+	boolean isEmpty() {
+		return fMembers.isEmpty();
+	}
+
+	void reportTimes(CheckersTimeStats stats) {
+		for (Member member : fMembers) {
+			stats.checkerAddTime(member.fId, member.fNanos);
+		}
+	}
+
+	private static boolean wantsName(ASTVisitor visitor, IASTName name) {
+		if (!visitor.shouldVisitNames)
+			return false;
+		if (name instanceof IASTImplicitDestructorName)
+			return visitor.shouldVisitImplicitDestructorNames;
+		if (name instanceof IASTImplicitName)
+			return visitor.shouldVisitImplicitNames;
+		return true;
+	}
+
+	private <T extends IASTNode> int dispatchVisit(T node, BiPredicate<ASTVisitor, ? super T> wants,
+			ToIntBiFunction<ASTVisitor, T> visit) {
+		boolean proceed = false;
+		for (Member member : fMembers) {
+			if (member.fDone || member.fSkipped != null)
+				continue;
+			if (!wants.test(member.fVisitor, node)) {
+				// The visitor may be interested in the children of the node.
+				proceed = true;
+				continue;
+			}
+			switch (call(member, node, visit)) {
+			case PROCESS_SKIP:
+				member.fSkipped = node;
+				break;
+			case PROCESS_ABORT:
+				break;
+			default:
+				proceed = true;
+				break;
+			}
+		}
+		if (fActive == 0)
+			return PROCESS_ABORT;
+		if (!proceed) {
+			// None of the visitors is interested in the subtree, leave is not called for the node.
+			for (Member member : fMembers) {
+				if (member.fSkipped == node) {
+					member.fSkipped = null;
+				}
+			}
+			return PROCESS_SKIP;
+		}
+		return PROCESS_CONTINUE;
+	}
+
+	private <T extends IASTNode> int dispatchLeave(T node, BiPredicate<ASTVisitor, ? super T> wants,
+			ToIntBiFunction<ASTVisitor, T> leave) {
+		for (Member member : fMembers) {
+			if (member.fDone)
+				continue;
+			if (member.fSkipped != null) {
+				if (member.fSkipped == node) {
+					member.fSkipped = null;
+				}
+				continue;
+			}
+			if (wants.test(member.fVisitor, node)) {
+				call(member, node, leave);
+			}
+		}
+		return fActive == 0 ? PROCESS_ABORT : PROCESS_CONTINUE;
+	}
+
+	private <T extends IASTNode> int call(Member member, T node, ToIntBiFunction<ASTVisitor, T> method) {
+		long start = fTimed ? System.nanoTime() : 0;
+		int result;
+		try {
+			result = method.applyAsInt(member.fVisitor, node);
+		} catch (OperationCanceledException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			Activator.log(e);
+			result = PROCESS_ABORT;
+		} finally {
+			if (fTimed) {
+				member.fNanos += System.nanoTime() - start;
+			}
+		}
+		if (result == PROCESS_ABORT) {
+			member.fDone = true;
+			fActive--;
+		}
+		return result;
+	}
+
+	@Override
+	public int visit(IASTTranslationUnit tu) {
+		return dispatchVisit(tu, (v, n) -> v.shouldVisitTranslationUnit, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTTranslationUnit tu) {
+		return dispatchLeave(tu, (v, n) -> v.shouldVisitTranslationUnit, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTName name) {
+		return dispatchVisit(name, FusedASTVisitor::wantsName, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTName name) {
+		return dispatchLeave(name, FusedASTVisitor::wantsName, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTDeclaration declaration) {
+		return dispatchVisit(declaration, (v, n) -> v.shouldVisitDeclarations, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTDeclaration declaration) {
+		return dispatchLeave(declaration, (v, n) -> v.shouldVisitDeclarations, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTInitializer initializer) {
+		return dispatchVisit(initializer, (v, n) -> v.shouldVisitInitializers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTInitializer initializer) {
+		return dispatchLeave(initializer, (v, n) -> v.shouldVisitInitializers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTParameterDeclaration parameterDeclaration) {
+		return dispatchVisit(parameterDeclaration, (v, n) -> v.shouldVisitParameterDeclarations, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTParameterDeclaration parameterDeclaration) {
+		return dispatchLeave(parameterDeclaration, (v, n) -> v.shouldVisitParameterDeclarations, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTDeclarator declarator) {
+		return dispatchVisit(declarator, (v, n) -> v.shouldVisitDeclarators, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTDeclarator declarator) {
+		return dispatchLeave(declarator, (v, n) -> v.shouldVisitDeclarators, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTDeclSpecifier declSpec) {
+		return dispatchVisit(declSpec, (v, n) -> v.shouldVisitDeclSpecifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTDeclSpecifier declSpec) {
+		return dispatchLeave(declSpec, (v, n) -> v.shouldVisitDeclSpecifiers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTArrayModifier arrayModifier) {
+		return dispatchVisit(arrayModifier, (v, n) -> v.shouldVisitArrayModifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTArrayModifier arrayModifier) {
+		return dispatchLeave(arrayModifier, (v, n) -> v.shouldVisitArrayModifiers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTPointerOperator ptrOperator) {
+		return dispatchVisit(ptrOperator, (v, n) -> v.shouldVisitPointerOperators, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTPointerOperator ptrOperator) {
+		return dispatchLeave(ptrOperator, (v, n) -> v.shouldVisitPointerOperators, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTAttribute attribute) {
+		return dispatchVisit(attribute, (v, n) -> v.shouldVisitAttributes, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTAttribute attribute) {
+		return dispatchLeave(attribute, (v, n) -> v.shouldVisitAttributes, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTAttributeSpecifier specifier) {
+		return dispatchVisit(specifier, (v, n) -> v.shouldVisitAttributes, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTAttributeSpecifier specifier) {
+		return dispatchLeave(specifier, (v, n) -> v.shouldVisitAttributes, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTExpression expression) {
+		return dispatchVisit(expression, (v, n) -> v.shouldVisitExpressions, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTExpression expression) {
+		return dispatchLeave(expression, (v, n) -> v.shouldVisitExpressions, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTStatement statement) {
+		return dispatchVisit(statement, (v, n) -> v.shouldVisitStatements, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTStatement statement) {
+		return dispatchLeave(statement, (v, n) -> v.shouldVisitStatements, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTTypeId typeId) {
+		return dispatchVisit(typeId, (v, n) -> v.shouldVisitTypeIds, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTTypeId typeId) {
+		return dispatchLeave(typeId, (v, n) -> v.shouldVisitTypeIds, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTEnumerator enumerator) {
+		return dispatchVisit(enumerator, (v, n) -> v.shouldVisitEnumerators, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTEnumerator enumerator) {
+		return dispatchLeave(enumerator, (v, n) -> v.shouldVisitEnumerators, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(IASTProblem problem) {
+		return dispatchVisit(problem, (v, n) -> v.shouldVisitProblems, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(IASTProblem problem) {
+		return dispatchLeave(problem, (v, n) -> v.shouldVisitProblems, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTBaseSpecifier baseSpecifier) {
+		return dispatchVisit(baseSpecifier, (v, n) -> v.shouldVisitBaseSpecifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTBaseSpecifier baseSpecifier) {
+		return dispatchLeave(baseSpecifier, (v, n) -> v.shouldVisitBaseSpecifiers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return dispatchVisit(namespaceDefinition, (v, n) -> v.shouldVisitNamespaces, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return dispatchLeave(namespaceDefinition, (v, n) -> v.shouldVisitNamespaces, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTTemplateParameter templateParameter) {
+		return dispatchVisit(templateParameter, (v, n) -> v.shouldVisitTemplateParameters, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTTemplateParameter templateParameter) {
+		return dispatchLeave(templateParameter, (v, n) -> v.shouldVisitTemplateParameters, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTCapture capture) {
+		return dispatchVisit(capture, (v, n) -> v.shouldVisitCaptures, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTCapture capture) {
+		return dispatchLeave(capture, (v, n) -> v.shouldVisitCaptures, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICASTDesignator designator) {
+		return dispatchVisit(designator, (v, n) -> v.shouldVisitDesignators, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICASTDesignator designator) {
+		return dispatchLeave(designator, (v, n) -> v.shouldVisitDesignators, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTDesignator designator) {
+		return dispatchVisit(designator, (v, n) -> v.shouldVisitDesignators, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTDesignator designator) {
+		return dispatchLeave(designator, (v, n) -> v.shouldVisitDesignators, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTVirtSpecifier virtSpecifier) {
+		return dispatchVisit(virtSpecifier, (v, n) -> v.shouldVisitVirtSpecifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTVirtSpecifier virtSpecifier) {
+		return dispatchLeave(virtSpecifier, (v, n) -> v.shouldVisitVirtSpecifiers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTClassVirtSpecifier classVirtSpecifier) {
+		return dispatchVisit(classVirtSpecifier, (v, n) -> v.shouldVisitVirtSpecifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTClassVirtSpecifier classVirtSpecifier) {
+		return dispatchLeave(classVirtSpecifier, (v, n) -> v.shouldVisitVirtSpecifiers, (v, n) -> v.leave(n));
+	}
+
+	@Override
+	public int visit(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return dispatchVisit(decltypeSpecifier, (v, n) -> v.shouldVisitDecltypeSpecifiers, (v, n) -> v.visit(n));
+	}
+
+	@Override
+	public int leave(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return dispatchLeave(decltypeSpecifier, (v, n) -> v.shouldVisitDecltypeSpecifiers, (v, n) -> v.leave(n));
+	}
+}
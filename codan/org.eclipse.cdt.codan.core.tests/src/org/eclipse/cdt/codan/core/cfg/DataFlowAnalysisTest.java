@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cfg;
+
+import java.util.BitSet;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ControlFlowGraphBuilder;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.LiveVariables;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.PossiblyNullPointers;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ReachingDefinitions;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.VariableAccesses;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.VariableAccesses.Access;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.cfg.DataFlowResult;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+
+/**
+ * Tests for the data flow analyses over a control flow graph
+ */
+public class DataFlowAnalysisTest extends CodanFastCxxAstTestCase {
+	private String code;
+	private IControlFlowGraph graph;
+	private VariableAccesses accesses;
+	private IBasicBlock block;
+
+	@Override
+	public IChecker getChecker() {
+		return null;
+	}
+
+	private void build(String code) {
+		this.code = code;
+		parse(code, ParserLanguage.CPP, true);
+		IASTFunctionDefinition function = null;
+		for (IASTDeclaration declaration : tu.getDeclarations()) {
+			if (declaration instanceof IASTFunctionDefinition)
+				function = (IASTFunctionDefinition) declaration;
+		}
+		assertNotNull(function);
+		graph = new ControlFlowGraphBuilder().build(function);
+		accesses = VariableAccesses.compute(function, graph);
+	}
+
+	/**
+	 * Returns the access of a variable at the given occurrence of a piece of code, and sets
+	 * {@link #block} to its block.
+	 */
+	private Access access(String context, String variable) {
+		int offset = code.indexOf(context);
+		assertTrue(context, offset >= 0);
+		offset += context.indexOf(variable);
+		for (IBasicBlock b : graph.getNodes()) {
+			for (Access access : accesses.getAccesses(b)) {
+				if (access.getName().getFileLocation().getNodeOffset() == offset) {
+					block = b;
+					return access;
+				}
+			}
+		}
+		fail("No access of " + variable + " in " + context);
+		return null;
+	}
+
+	private BitSet reaching(ReachingDefinitions analysis, DataFlowResult result, String context, String variable) {
+		Access access = access(context, variable);
+		return analysis.getReachingDefinitions(result, block, access);
+	}
+
+	//	int f(int c) {
+	//	  int x = 1;
+	//	  if (c)
+	//	    x = 2;
+	//	  else
+	//	    x = 3;
+	//	  return x;
+	//	}
+	public void testReachingDefinitions_ifElse() {
+		build(getAboveComment());
+		ReachingDefinitions analysis = new ReachingDefinitions(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		BitSet definitions = reaching(analysis, result, "return x", "x");
+		assertEquals(2, definitions.cardinality());
+		for (int d = definitions.nextSetBit(0); d >= 0; d = definitions.nextSetBit(d + 1)) {
+			assertTrue(analysis.getDefinition(d).isWrite());
+			assertFalse(code.indexOf("x = 1") == analysis.getDefinition(d).getName().getFileLocation().getNodeOffset());
+		}
+	}
+
+	//	int f(int n) {
+	//	  int s = 0;
+	//	  while (n--)
+	//	    s = s + n;
+	//	  return s;
+	//	}
+	public void testReachingDefinitions_loop() {
+		build(getAboveComment());
+		ReachingDefinitions analysis = new ReachingDefinitions(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		assertEquals(2, reaching(analysis, result, "return s", "s").cardinality());
+		assertEquals(2, reaching(analysis, result, "s + n", "s").cardinality());
+		// The decrement in the loop condition replaces the parameter on entry.
+		assertEquals(1, reaching(analysis, result, "s + n", "n").cardinality());
+	}
+
+	//	int f(int a) {
+	//	  return a;
+	//	}
+	public void testReachingDefinitions_parameter() {
+		build(getAboveComment());
+		ReachingDefinitions analysis = new ReachingDefinitions(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		BitSet definitions = reaching(analysis, result, "return a", "a");
+		assertEquals(1, definitions.cardinality());
+		assertNull(analysis.getDefinition(definitions.nextSetBit(0)));
+	}
+
+	//	struct S { int m; };
+	//	int f(S t) {
+	//	  S s = t;
+	//	  s.m = 1;
+	//	  return s.m;
+	//	}
+	public void testReachingDefinitions_partialWrite() {
+		build(getAboveComment());
+		ReachingDefinitions analysis = new ReachingDefinitions(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		assertEquals(2, reaching(analysis, result, "return s", "s").cardinality());
+	}
+
+	//	int f() {
+	//	  int x = 1;
+	//	  x = 2;
+	//	  x = x + 1;
+	//	  return x;
+	//	}
+	public void testLiveVariables() {
+		build(getAboveComment());
+		LiveVariables analysis = new LiveVariables(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		Access first = access("x = 1", "x");
+		assertFalse(analysis.getLiveAfter(result, block, first).get(first.getVariable()));
+		Access second = access("x = 2", "x");
+		assertTrue(analysis.getLiveAfter(result, block, second).get(second.getVariable()));
+		Access third = access("x = x + 1", "x");
+		assertTrue(analysis.getLiveAfter(result, block, third).get(third.getVariable()));
+	}
+
+	//	int f(int n) {
+	//	  int x = 0;
+	//	  for (int i = 0; i < n; i++)
+	//	    x = i;
+	//	  return 0;
+	//	}
+	public void testLiveVariables_loop() {
+		build(getAboveComment());
+		LiveVariables analysis = new LiveVariables(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		Access x = access("x = i", "x");
+		assertFalse(analysis.getLiveAfter(result, block, x).get(x.getVariable()));
+		Access i = access("i++", "i");
+		assertTrue(analysis.getLiveAfter(result, block, i).get(i.getVariable()));
+	}
+
+	//	void f(int* p, int c) {
+	//	  int* q = nullptr;
+	//	  if (c)
+	//	    q = p;
+	//	  *q = 1;
+	//	  if (q)
+	//	    *q = 2;
+	//	  if (q != 0)
+	//	    return;
+	//	  *q = 3;
+	//	  *p = 4;
+	//	}
+	public void testPossiblyNullPointers() {
+		build(getAboveComment());
+		PossiblyNullPointers analysis = new PossiblyNullPointers(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		assertTrue(isPossiblyNull(analysis, result, "*q = 1", "q"));
+		assertFalse(isPossiblyNull(analysis, result, "*q = 2", "q"));
+		assertTrue(isPossiblyNull(analysis, result, "*q = 3", "q"));
+		assertFalse(isPossiblyNull(analysis, result, "*p = 4", "p"));
+	}
+
+	private boolean isPossiblyNull(PossiblyNullPointers analysis, DataFlowResult result, String context,
+			String variable) {
+		Access access = access(context, variable);
+		return analysis.isPossiblyNull(result, block, access);
+	}
+
+	// Functions much larger than the recursion depth of the thread are analyzed.
+	public void testLargeFunction() {
+		StringBuilder buf = new StringBuilder("int f(int n) {\n  int x = 0;\n");
+		for (int i = 0; i < 5000; i++) {
+			buf.append("  if (n > ").append(i).append(") x = x + n;\n");
+		}
+		buf.append("  return x;\n}\n");
+		build(buf.toString());
+		ReachingDefinitions analysis = new ReachingDefinitions(graph, accesses);
+		DataFlowResult result = analysis.solve(graph);
+		assertEquals(5001, reaching(analysis, result, "return x", "x").cardinality());
+	}
+}
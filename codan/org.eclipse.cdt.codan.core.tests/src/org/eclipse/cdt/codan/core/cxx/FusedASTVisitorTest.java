@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.codan.internal.core.CheckerInvocationContext;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+
+/**
+ * Tests for running the visitors of several checkers in a single traversal of the AST.
+ * Each visitor has to receive the same calls as in a traversal of its own.
+ */
+public class FusedASTVisitorTest extends CodanFastCxxAstTestCase {
+	private static final int DECLARATIONS = 1;
+	private static final int STATEMENTS = 2;
+	private static final int NAMES = 4;
+
+	/**
+	 * Records the calls of its visitor. The visitor skips or aborts at the nodes whose code
+	 * starts with the given prefixes.
+	 */
+	private static class RecordingChecker extends AbstractAstVisitorChecker {
+		final List<String> calls = new ArrayList<>();
+		private final int kinds;
+		private final String skip;
+		private final String abort;
+
+		RecordingChecker(int kinds, String skip, String abort) {
+			this.kinds = kinds;
+			this.skip = skip;
+			this.abort = abort;
+		}
+
+		@Override
+		protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+			return new ASTVisitor() {
+				{
+					shouldVisitDeclarations = (kinds & DECLARATIONS) != 0;
+					shouldVisitStatements = (kinds & STATEMENTS) != 0;
+					shouldVisitNames = (kinds & NAMES) != 0;
+				}
+
+				@Override
+				public int visit(IASTDeclaration declaration) {
+					return record("visit", declaration);
+				}
+
+				@Override
+				public int leave(IASTDeclaration declaration) {
+					return record("leave", declaration);
+				}
+
+				@Override
+				public int visit(IASTStatement statement) {
+					return record("visit", statement);
+				}
+
+				@Override
+				public int leave(IASTStatement statement) {
+					return record("leave", statement);
+				}
+
+				@Override
+				public int visit(IASTName name) {
+					return record("visit", name);
+				}
+
+				@Override
+				public int leave(IASTName name) {
+					return record("leave", name);
+				}
+			};
+		}
+
+		private int record(String call, IASTNode node) {
+			String code = node.getRawSignature();
+			calls.add(call + " " + code);
+			if (call.equals("visit")) {
+				if (skip != null && code.startsWith(skip))
+					return ASTVisitor.PROCESS_SKIP;
+				if (abort != null && code.startsWith(abort))
+					return ASTVisitor.PROCESS_ABORT;
+			}
+			return ASTVisitor.PROCESS_CONTINUE;
+		}
+
+		List<String> runAlone(IASTTranslationUnit ast) {
+			calls.clear();
+			ast.accept(createVisitor(ast));
+			List<String> result = new ArrayList<>(calls);
+			calls.clear();
+			return result;
+		}
+	}
+
+	private static class OverridingChecker extends RecordingChecker {
+		OverridingChecker() {
+			super(NAMES, null, null);
+		}
+
+		@Override
+		public void processAst(IASTTranslationUnit ast) {
+			super.processAst(ast);
+		}
+	}
+
+	@Override
+	public IChecker getChecker() {
+		return null; // not testing checker
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	/**
+	 * Runs the checkers together and checks that each visitor received the same calls as
+	 * when it traverses the AST on its own.
+	 */
+	private void checkFused(IASTTranslationUnit ast, RecordingChecker... checkers) {
+		List<List<String>> expected = new ArrayList<>();
+		for (RecordingChecker checker : checkers) {
+			expected.add(checker.runAlone(ast));
+		}
+		ICheckerInvocationContext context = new CheckerInvocationContext(null);
+		try {
+			checkers[0].getCheckerGroup().processModel(ast, Arrays.asList((IChecker[]) checkers), context);
+		} finally {
+			context.dispose();
+		}
+		for (int i = 0; i < checkers.length; i++) {
+			assertEquals("Checker " + i, expected.get(i), checkers[i].calls);
+		}
+	}
+
+	private static boolean hasCall(RecordingChecker checker, String prefix) {
+		for (String call : checker.calls) {
+			if (call.startsWith(prefix))
+				return true;
+		}
+		return false;
+	}
+
+	//	int f(int a) {
+	//	  int x = a;
+	//	  if (a) {
+	//	    return x;
+	//	  }
+	//	  return 0;
+	//	}
+	//	int g(int b) {
+	//	  return b;
+	//	}
+	public void testSkipOfOneVisitor() {
+		IASTTranslationUnit ast = parse(getAboveComment());
+		RecordingChecker skipping = new RecordingChecker(STATEMENTS, "if", null);
+		RecordingChecker declarations = new RecordingChecker(DECLARATIONS, "int f", null);
+		RecordingChecker all = new RecordingChecker(STATEMENTS | NAMES, null, null);
+		checkFused(ast, skipping, declarations, all);
+		assertTrue(hasCall(skipping, "visit if (a)"));
+		assertFalse(hasCall(skipping, "leave if (a)"));
+		assertFalse(skipping.calls.contains("visit return x;"));
+		assertTrue(skipping.calls.contains("visit return b;"));
+		assertFalse(declarations.calls.contains("visit int x = a;"));
+		assertTrue(all.calls.contains("visit return x;"));
+		assertTrue(all.calls.contains("visit x"));
+	}
+
+	//	int f(int a) {
+	//	  int x = a;
+	//	  if (a) {
+	//	    return x;
+	//	  }
+	//	  return 0;
+	//	}
+	//	int g(int b) {
+	//	  return b;
+	//	}
+	public void testAbortOfOneVisitor() {
+		IASTTranslationUnit ast = parse(getAboveComment());
+		RecordingChecker aborting = new RecordingChecker(STATEMENTS | NAMES, null, "x");
+		RecordingChecker declarations = new RecordingChecker(DECLARATIONS, null, "int g");
+		RecordingChecker all = new RecordingChecker(DECLARATIONS | STATEMENTS | NAMES, null, null);
+		checkFused(ast, aborting, declarations, all);
+		assertEquals("visit x", aborting.calls.get(aborting.calls.size() - 1));
+		assertFalse(aborting.calls.contains("visit return b;"));
+		assertFalse(hasCall(declarations, "leave int g"));
+		assertTrue(all.calls.contains("visit return b;"));
+		assertTrue(hasCall(all, "leave int g"));
+	}
+
+	//	int f(int a) {
+	//	  return a;
+	//	}
+	public void testAllVisitorsAbort() {
+		IASTTranslationUnit ast = parse(getAboveComment());
+		RecordingChecker first = new RecordingChecker(DECLARATIONS, null, "int f");
+		RecordingChecker second = new RecordingChecker(NAMES, null, "f");
+		checkFused(ast, first, second);
+		assertEquals(1, first.calls.size());
+		assertEquals(1, second.calls.size());
+	}
+
+	public void testCheckersOverridingProcessingAreNotGrouped() {
+		assertNotNull(new RecordingChecker(NAMES, null, null).getCheckerGroup());
+		assertNull(new OverridingChecker().getCheckerGroup());
+	}
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.Collections;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.IncrementalCheckScope;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+
+/**
+ * Tests for the functions checked again after an edit
+ */
+public class IncrementalCheckScopeTest extends CodanFastCxxAstTestCase {
+	private static final String PREVIOUS = "int f(int a) {\n  return a;\n}\nint g(int b) {\n  return b;\n}\n";
+
+	@Override
+	public IChecker getChecker() {
+		return null; // not testing checker
+	}
+
+	private IncrementalCheckScope scope(String source) {
+		parse(source);
+		return IncrementalCheckScope.create(null, tu, PREVIOUS.toCharArray(), source.toCharArray(),
+				Collections.emptyMap());
+	}
+
+	private IASTFunctionDefinition function(int index) {
+		int i = 0;
+		for (IASTDeclaration declaration : tu.getDeclarations()) {
+			if (declaration instanceof IASTFunctionDefinition && i++ == index)
+				return (IASTFunctionDefinition) declaration;
+		}
+		fail("No function " + index);
+		return null;
+	}
+
+	public void testEditWithinBody() {
+		IncrementalCheckScope scope = scope(PREVIOUS.replace("return b;", "b++;\n  return b;"));
+		assertFalse(scope.isChanged(function(0)));
+		assertTrue(scope.isChanged(function(1)));
+	}
+
+	public void testEditOutsideBodies() {
+		IncrementalCheckScope scope = scope(PREVIOUS.replace("int g(int b)", "int g(int b, int c)"));
+		assertTrue(scope.isChanged(function(0)));
+		assertTrue(scope.isChanged(function(1)));
+	}
+
+	public void testEditBetweenFunctions() {
+		IncrementalCheckScope scope = scope(PREVIOUS.replace("}\nint g", "}\n\nint g"));
+		assertTrue(scope.isChanged(function(0)));
+		assertTrue(scope.isChanged(function(1)));
+	}
+
+	public void testNoEdit() {
+		IncrementalCheckScope scope = scope(PREVIOUS);
+		assertFalse(scope.isChanged(function(0)));
+		assertFalse(scope.isChanged(function(1)));
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal.checkers;
+
+import org.eclipse.cdt.codan.core.cxx.model.AbstractAstVisitorChecker;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.CStyleCastChecker;
+import org.eclipse.cdt.codan.internal.checkers.GotoStatementChecker;
+import org.eclipse.cdt.codan.internal.checkers.ReturnChecker;
+import org.eclipse.cdt.codan.internal.checkers.StatementHasNoEffectChecker;
+
+/**
+ * Tests for running several checkers extending {@link AbstractAstVisitorChecker} in a single
+ * traversal of the AST.
+ */
+public class AstVisitorCheckerGroupTest extends CheckerTestCase {
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(StatementHasNoEffectChecker.ER_ID, GotoStatementChecker.ERR_ID, CStyleCastChecker.ERR_ID,
+				ReturnChecker.RET_NO_VALUE_ID);
+	}
+
+	//int foo(int a) {
+	//  a;
+	//  goto end;
+	//end:
+	//  if (a)
+	//    return;
+	//  return (int) 1.0;
+	//}
+	public void testAllCheckersReport_Cpp() throws Exception {
+		loadCodeAndRunCpp(getAboveComment());
+		checkErrorLine(2, StatementHasNoEffectChecker.ER_ID);
+		checkErrorLine(3, GotoStatementChecker.ERR_ID);
+		checkErrorLine(6, ReturnChecker.RET_NO_VALUE_ID);
+		checkErrorLine(7, CStyleCastChecker.ERR_ID);
+	}
+
+	//int foo(int a) {
+	//  a;
+	//  goto end;
+	//end:
+	//  if (a)
+	//    return;
+	//  return (int) 1.0;
+	//}
+	public void testCheckerWithoutVisitor_C() throws Exception {
+		loadCodeAndRunC(getAboveComment());
+		checkErrorLine(2, StatementHasNoEffectChecker.ER_ID);
+		checkErrorLine(3, GotoStatementChecker.ERR_ID);
+		checkErrorLine(6, ReturnChecker.RET_NO_VALUE_ID);
+		checkNoErrorsOfKind(CStyleCastChecker.ERR_ID);
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal.checkers;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.model.CodanSeverity;
+import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.GotoStatementChecker;
+import org.eclipse.cdt.codan.internal.core.CodanResultCache;
+import org.eclipse.cdt.codan.internal.core.model.CodanProblem;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Tests for restoring the problems of unchanged files from the {@link CodanResultCache}.
+ */
+public class CodanResultCacheTest extends CheckerTestCase {
+	private CodanResultCache cache;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(GotoStatementChecker.ERR_ID);
+		cache = CodanResultCache.getInstance();
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	/**
+	 * Loads the code, indexes it, since the key of a file is computed from the index, and runs
+	 * the checkers.
+	 */
+	private void loadIndexAndRun(String code) throws Exception {
+		loadcode(code);
+		indexFiles();
+		runCodan();
+	}
+
+	private void deleteMarkers() throws Exception {
+		currentIFile.deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true, IResource.DEPTH_ZERO);
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testProblemsOfUnchangedFileAreRestored() throws Exception {
+		loadIndexAndRun(getAboveComment());
+		checkErrorLine(2, GotoStatementChecker.ERR_ID);
+		assertTrue(cache.hasEntry(currentIFile));
+		int restored = cache.getRestoredCount();
+		deleteMarkers();
+		runCodan();
+		assertEquals(restored + 1, cache.getRestoredCount());
+		checkErrorLine(2, GotoStatementChecker.ERR_ID);
+		assertEquals(1, markers.length);
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+
+	//void foo() {
+	//
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testChangedFileIsAnalyzed() throws Exception {
+		StringBuilder[] contents = getContents(2);
+		loadIndexAndRun(contents[0].toString());
+		checkErrorLine(2, GotoStatementChecker.ERR_ID);
+		int restored = cache.getRestoredCount();
+		currentIFile.setContents(new ByteArrayInputStream(contents[1].toString().getBytes()), true, false, null);
+		waitForIndexer(cproject);
+		runCodan();
+		assertEquals(restored, cache.getRestoredCount());
+		checkErrorLine(3, GotoStatementChecker.ERR_ID);
+		assertEquals(1, markers.length);
+	}
+
+	//@file:jump.h
+	//#define JUMP goto end
+
+	//#include "jump.h"
+	//void foo() {
+	//  JUMP;
+	//end:
+	//  return;
+	//}
+
+	//@file:jump.h
+	//#define JUMP
+	public void testEditOfIncludedHeaderInvalidatesEntry() throws Exception {
+		StringBuilder[] contents = getContents(3);
+		IFile header = cproject.getProject().getFile(loadcode(contents[0].toString()).getName());
+		loadIndexAndRun(contents[1].toString());
+		checkErrorLine(3, GotoStatementChecker.ERR_ID);
+		int restored = cache.getRestoredCount();
+		String headerCode = contents[2].toString();
+		headerCode = headerCode.substring(headerCode.indexOf('\n') + 1);
+		header.setContents(new ByteArrayInputStream(headerCode.getBytes()), true, false, null);
+		waitForIndexer(cproject);
+		runCodan();
+		assertEquals(restored, cache.getRestoredCount());
+		checkNoErrorsOfKind(GotoStatementChecker.ERR_ID);
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testProblemPreferenceChangeInvalidatesEntry() throws Exception {
+		loadIndexAndRun(getAboveComment());
+		IMarker marker = checkErrorLine(2, GotoStatementChecker.ERR_ID);
+		assertEquals(IMarker.SEVERITY_WARNING, marker.getAttribute(IMarker.SEVERITY, -1));
+		int restored = cache.getRestoredCount();
+		IProblemProfile profile = CodanRuntime.getInstance().getCheckersRegistry().getWorkspaceProfile();
+		CodanProblem problem = (CodanProblem) profile.findProblem(GotoStatementChecker.ERR_ID);
+		CodanSeverity severity = problem.getSeverity();
+		problem.setSeverity(CodanSeverity.Error);
+		try {
+			CodanRuntime.getInstance().getCheckersRegistry().updateProfile(cproject.getProject(), profile);
+			runCodan();
+			assertEquals(restored, cache.getRestoredCount());
+			marker = checkErrorLine(2, GotoStatementChecker.ERR_ID);
+			assertEquals(IMarker.SEVERITY_ERROR, marker.getAttribute(IMarker.SEVERITY, -1));
+		} finally {
+			problem.setSeverity(severity);
+			CodanRuntime.getInstance().getCheckersRegistry().updateProfile(cproject.getProject(), profile);
+		}
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testEntryOfDeletedFileIsDeleted() throws Exception {
+		loadIndexAndRun(getAboveComment());
+		IFile file = currentIFile;
+		assertTrue(cache.hasEntry(file));
+		file.delete(true, null);
+		assertFalse(cache.hasEntry(file));
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testEntryOfMovedFileIsDeleted() throws Exception {
+		loadIndexAndRun(getAboveComment());
+		IFile file = currentIFile;
+		assertTrue(cache.hasEntry(file));
+		file.move(file.getFullPath().removeLastSegments(1).append("moved.cpp"), true, null);
+		assertFalse(cache.hasEntry(file));
+	}
+}
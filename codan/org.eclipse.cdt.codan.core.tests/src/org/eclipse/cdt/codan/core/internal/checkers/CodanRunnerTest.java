@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal.checkers;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.GotoStatementChecker;
+import org.eclipse.cdt.codan.internal.core.CodanRunner;
+import org.eclipse.cdt.codan.internal.core.model.CodanMarkerProblemReporter;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Tests for analyzing the files of a project in parallel with {@link CodanRunner}.
+ */
+public class CodanRunnerTest extends CheckerTestCase {
+	private static final int FILES = 8;
+
+	/**
+	 * Cancels itself once the given amount of work is done.
+	 */
+	private static class CancelingMonitor extends NullProgressMonitor {
+		private int remaining;
+
+		CancelingMonitor(int work) {
+			remaining = work;
+			setCanceled(work <= 0);
+		}
+
+		@Override
+		public void worked(int work) {
+			remaining -= work;
+			if (remaining <= 0)
+				setCanceled(true);
+		}
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(GotoStatementChecker.ERR_ID);
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	/**
+	 * Loads files with a goto statement on a different line in each file.
+	 */
+	private void loadFiles() throws CoreException {
+		for (int i = 0; i < FILES; i++) {
+			StringBuilder code = new StringBuilder("void foo() {\n");
+			for (int j = 0; j < i; j++) {
+				code.append("  int a").append(j).append(" = 0;\n");
+			}
+			code.append("  goto end;\nend:\n  return;\n}\n");
+			loadcode(code.toString());
+		}
+	}
+
+	/**
+	 * Returns the code analysis markers of the project, each described by its file, line,
+	 * problem and message.
+	 */
+	private Set<String> getMarkers() throws CoreException {
+		Set<String> result = new TreeSet<>();
+		for (IMarker marker : cproject.getProject().findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE,
+				true, IResource.DEPTH_INFINITE)) {
+			result.add(marker.getResource().getName() + ':' + marker.getAttribute(IMarker.LINE_NUMBER, -1) + ':'
+					+ marker.getAttribute(ICodanProblemMarker.ID, "") + ':'
+					+ marker.getAttribute(IMarker.MESSAGE, ""));
+		}
+		return result;
+	}
+
+	private void deleteMarkers() throws CoreException {
+		cproject.getProject().deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_INFINITE);
+	}
+
+	private static int countContainers(IResource resource) throws CoreException {
+		if (!(resource instanceof IContainer))
+			return 0;
+		int count = 1;
+		for (IResource child : ((IContainer) resource).members()) {
+			count += countContainers(child);
+		}
+		return count;
+	}
+
+	public void testParallelRunReportsSameProblemsAsSerialRun() throws Exception {
+		loadFiles();
+		CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND,
+				new NullProgressMonitor());
+		Set<String> serial = getMarkers();
+		assertEquals(FILES, serial.size());
+		deleteMarkers();
+		CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 1,
+				new NullProgressMonitor());
+		assertEquals(serial, getMarkers());
+		deleteMarkers();
+		int analyzed = CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 4,
+				new NullProgressMonitor());
+		assertTrue(analyzed >= FILES);
+		assertEquals(serial, getMarkers());
+	}
+
+	public void testParallelRunUpdatesExistingMarkers() throws Exception {
+		loadFiles();
+		CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 4,
+				new NullProgressMonitor());
+		Set<String> first = getMarkers();
+		assertEquals(FILES, first.size());
+		CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 4,
+				new NullProgressMonitor());
+		assertEquals(first, getMarkers());
+	}
+
+	public void testCanceledRunReportsNoProblems() throws Exception {
+		loadFiles();
+		int analyzed = CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 4,
+				new CancelingMonitor(0));
+		assertEquals(0, analyzed);
+		assertTrue(getMarkers().isEmpty());
+	}
+
+	public void testRunStopsWhenCanceled() throws Exception {
+		loadFiles();
+		int containers = countContainers(cproject.getProject());
+		int analyzed = CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_DEMAND, 4,
+				new CancelingMonitor(containers + 2));
+		assertEquals(2, analyzed);
+		// Only the problems of the analyzed files are reported.
+		assertTrue(getMarkers().size() <= 2);
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testBatchDefersMarkersUntilFlushed() throws Exception {
+		loadcode(getAboveComment());
+		CodanMarkerProblemReporter.Batch batch = CodanMarkerProblemReporter.startBatch();
+		try {
+			CodanRunner.processResource(currentIFile, CheckerLaunchMode.RUN_ON_DEMAND, new NullProgressMonitor());
+		} finally {
+			batch.close();
+		}
+		assertTrue(getMarkers().isEmpty());
+		batch.flush();
+		assertEquals(1, getMarkers().size());
+		// The sessions are applied only once.
+		deleteMarkers();
+		batch.flush();
+		assertTrue(getMarkers().isEmpty());
+	}
+
+	//void foo() {
+	//  goto end;
+	//end:
+	//  return;
+	//}
+	public void testClosedBatchDoesNotCollectSessions() throws Exception {
+		loadcode(getAboveComment());
+		CodanMarkerProblemReporter.Batch batch = CodanMarkerProblemReporter.startBatch();
+		batch.close();
+		CodanRunner.processResource(currentIFile, CheckerLaunchMode.RUN_ON_DEMAND, new NullProgressMonitor());
+		assertEquals(1, getMarkers().size());
+	}
+}
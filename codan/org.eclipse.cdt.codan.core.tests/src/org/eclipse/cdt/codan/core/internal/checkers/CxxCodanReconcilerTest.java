@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal.checkers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.cxx.internal.model.CxxCodanReconciler;
+import org.eclipse.cdt.codan.core.cxx.internal.model.IncrementalCheckScope;
+import org.eclipse.cdt.codan.core.model.AbstractChecker;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.ReturnChecker;
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.model.IWorkingCopy;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Tests for the checks run by {@link CxxCodanReconciler} while typing, and for moving the
+ * problems of the functions that are not checked again.
+ */
+public class CxxCodanReconcilerTest extends CheckerTestCase {
+	private static final String PROBLEM_ID = "test.problem";
+
+	private static class RecordingChecker extends AbstractChecker {
+		final List<IProblemLocation> reported = new ArrayList<>();
+
+		@Override
+		public boolean processResource(IResource resource) {
+			return false;
+		}
+
+		@Override
+		public void reportProblem(String problemId, IProblemLocation loc, Object... args) {
+			reported.add(loc);
+		}
+	}
+
+	private final CxxCodanReconciler reconciler = new CxxCodanReconciler();
+	private IWorkingCopy workingCopy;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(ReturnChecker.RET_NO_VALUE_ID);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		if (workingCopy != null)
+			workingCopy.destroy();
+		super.tearDown();
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	private IASTTranslationUnit getAst(ITranslationUnit tu) throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(cproject);
+		index.acquireReadLock();
+		try {
+			return tu.getAST(index, ITranslationUnit.AST_SKIP_INDEXED_HEADERS);
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	private void reconcile(String code) throws Exception {
+		if (workingCopy == null)
+			workingCopy = ((ITranslationUnit) currentCElem).getWorkingCopy();
+		workingCopy.getBuffer().setContents(code);
+		reconciler.reconciledAst(getAst(workingCopy), currentIFile, new NullProgressMonitor());
+		Job.getJobManager().join(CxxCodanReconciler.JOB_FAMILY, null);
+		markers = currentIFile.findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_ZERO);
+	}
+
+	private IProblemLocation location(String code, String text, int line) {
+		int offset = code.indexOf(text);
+		assertTrue(text, offset >= 0);
+		return CodanRuntime.getInstance().getProblemLocationFactory().createProblemLocation(currentIFile, offset,
+				offset + text.length(), line);
+	}
+
+	private void assertReported(RecordingChecker checker, String code, String text, int line) {
+		int offset = text != null ? code.indexOf(text) : -1;
+		for (IProblemLocation loc : checker.reported) {
+			if (loc.getStartingChar() == offset && loc.getLineNumber() == line)
+				return;
+		}
+		fail("No problem at " + text + " on line " + line);
+	}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  return a;
+	//}
+	//int h() {
+	//  return;
+	//}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  a++;
+	//  a++;
+	//  return a;
+	//}
+	//int h() {
+	//  return;
+	//}
+	public void testProblemsOfOtherFunctionsAreMoved() throws Exception {
+		StringBuilder[] contents = getContents(2);
+		loadcode(contents[0].toString());
+		reconcile(contents[0].toString());
+		checkErrorLines(2, 8);
+		reconcile(contents[1].toString());
+		checkErrorLines(2, 10);
+	}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  return a;
+	//}
+	//int h() {
+	//  return;
+	//}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  return;
+	//}
+	//int h() {
+	//  return;
+	//}
+	public void testEditedFunctionIsChecked() throws Exception {
+		StringBuilder[] contents = getContents(2);
+		loadcode(contents[0].toString());
+		reconcile(contents[0].toString());
+		checkErrorLines(2, 8);
+		reconcile(contents[1].toString());
+		checkErrorLines(2, 5, 8);
+	}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  return;
+	//}
+
+	//int f() {
+	//  return;
+	//}
+	//int g(int a) {
+	//  return a;
+	//}
+	public void testFixedProblemIsRemoved() throws Exception {
+		StringBuilder[] contents = getContents(2);
+		loadcode(contents[0].toString());
+		reconcile(contents[0].toString());
+		checkErrorLines(2, 5);
+		reconcile(contents[1].toString());
+		checkErrorLines(2);
+	}
+
+	//int f() {
+	//  return 1;
+	//}
+	//int g(int a) {
+	//  return a;
+	//}
+	//int h() {
+	//  return 2;
+	//}
+
+	//int f() {
+	//  return 1;
+	//}
+	//int g(int a) {
+	//  a++;
+	//  a++;
+	//  return a;
+	//}
+	//int h() {
+	//  return 2;
+	//}
+	public void testPreviousProblems() throws Exception {
+		StringBuilder[] contents = getContents(2);
+		String previous = contents[0].toString();
+		String current = contents[1].toString();
+		loadcode(previous);
+		RecordingChecker checker = new RecordingChecker();
+		IncrementalCheckScope first = IncrementalCheckScope.createFull(currentIFile,
+				getAst((ITranslationUnit) currentCElem));
+		first.problemReported(checker, PROBLEM_ID, location(previous, "return 1;", 2), null);
+		first.problemReported(checker, PROBLEM_ID, location(previous, "return a;", 5), null);
+		first.problemReported(checker, PROBLEM_ID, location(previous, "return 2;", 8), null);
+		// Problems located by their line only
+		first.problemReported(checker, PROBLEM_ID,
+				CodanRuntime.getInstance().getProblemLocationFactory().createProblemLocation(currentIFile, 1), null);
+		first.problemReported(checker, PROBLEM_ID,
+				CodanRuntime.getInstance().getProblemLocationFactory().createProblemLocation(currentIFile, 5), null);
+		first.problemReported(checker, PROBLEM_ID,
+				CodanRuntime.getInstance().getProblemLocationFactory().createProblemLocation(currentIFile, 7), null);
+		// Problems of other files are not recorded.
+		first.problemReported(checker, PROBLEM_ID, CodanRuntime.getInstance().getProblemLocationFactory()
+				.createProblemLocation(cproject.getProject().getFile("other.cpp"), 1), null);
+
+		workingCopy = ((ITranslationUnit) currentCElem).getWorkingCopy();
+		workingCopy.getBuffer().setContents(current);
+		IncrementalCheckScope second = IncrementalCheckScope.create(currentIFile, getAst(workingCopy),
+				previous.toCharArray(), current.toCharArray(), first.getProblems());
+		second.reportPreviousProblems(checker);
+		assertEquals(4, checker.reported.size());
+		assertReported(checker, current, "return 1;", 2);
+		assertReported(checker, current, "return 2;", 10);
+		assertReported(checker, current, null, 1);
+		assertReported(checker, current, null, 9);
+	}
+}
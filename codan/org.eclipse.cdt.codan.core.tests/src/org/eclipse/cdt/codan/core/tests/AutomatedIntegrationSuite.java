@@ -17,12 +17,16 @@ package org.eclipse.cdt.codan.core.tests;
 import org.eclipse.cdt.codan.core.internal.checkers.AbstractClassInstantiationCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentInConditionCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentToItselfCheckerTest;
+import org.eclipse.cdt.codan.core.internal.checkers.AstVisitorCheckerGroupTest;
 import org.eclipse.cdt.codan.core.internal.checkers.CStyleCastCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.CaseBreakCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.CatchByReferenceTest;
 import org.eclipse.cdt.codan.core.internal.checkers.ClassMembersInitializationCheckerTest;
+import org.eclipse.cdt.codan.core.internal.checkers.CodanResultCacheTest;
+import org.eclipse.cdt.codan.core.internal.checkers.CodanRunnerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.CommentCheckerLineTests;
 import org.eclipse.cdt.codan.core.internal.checkers.CommentCheckerNestedTests;
+import org.eclipse.cdt.codan.core.internal.checkers.CxxCodanReconcilerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.DecltypeAutoCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.FormatStringCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.GotoStatementCheckerTest;
@@ -86,6 +90,10 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTestSuite(CommentCheckerLineTests.class);
 		suite.addTestSuite(CommentCheckerNestedTests.class);
 		suite.addTestSuite(GotoStatementCheckerTest.class);
+		suite.addTestSuite(AstVisitorCheckerGroupTest.class);
+		suite.addTestSuite(CodanResultCacheTest.class);
+		suite.addTestSuite(CodanRunnerTest.class);
+		suite.addTestSuite(CxxCodanReconcilerTest.class);
 		// framework
 		suite.addTest(CodanFastTestSuite.suite());
 		// quick fixes
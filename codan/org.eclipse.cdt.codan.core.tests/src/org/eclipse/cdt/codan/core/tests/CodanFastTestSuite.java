@@ -15,7 +15,10 @@
 package org.eclipse.cdt.codan.core.tests;
 
 import org.eclipse.cdt.codan.core.cfg.ControlFlowGraphTest;
+import org.eclipse.cdt.codan.core.cfg.DataFlowAnalysisTest;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtilsTest;
+import org.eclipse.cdt.codan.core.cxx.FusedASTVisitorTest;
+import org.eclipse.cdt.codan.core.cxx.IncrementalCheckScopeTest;
 import org.eclipse.cdt.codan.core.param.BasicProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.ListProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.MapProblemPreferenceTest;
@@ -46,7 +49,10 @@ public class CodanFastTestSuite extends TestSuite {
 		suite.addTestSuite(ListProblemPreferenceTest.class);
 		suite.addTestSuite(MapProblemPreferenceTest.class);
 		suite.addTestSuite(CxxAstUtilsTest.class);
+		suite.addTestSuite(IncrementalCheckScopeTest.class);
+		suite.addTestSuite(FusedASTVisitorTest.class);
 		suite.addTestSuite(ControlFlowGraphTest.class);
+		suite.addTestSuite(DataFlowAnalysisTest.class);
 		return suite;
 	}
 }
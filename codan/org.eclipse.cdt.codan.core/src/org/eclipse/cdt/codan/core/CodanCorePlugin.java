@@ -14,6 +14,7 @@
 package org.eclipse.cdt.codan.core;
 
 import org.eclipse.cdt.codan.internal.core.CheckersTimeStats;
+import org.eclipse.cdt.codan.internal.core.CodanResultCache;
 import org.eclipse.cdt.codan.internal.core.CodeAnalysisNature;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
@@ -66,6 +67,7 @@ public class CodanCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		CodanResultCache.shutdown();
 		plugin = null;
 		super.stop(context);
 	}
@@ -14,6 +14,7 @@
 package org.eclipse.cdt.codan.core.model;
 
 import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
+import org.eclipse.cdt.codan.internal.core.CodanResultCache;
 import org.eclipse.cdt.codan.internal.core.model.CodanProblemMarker;
 import org.eclipse.core.resources.IResource;
 
@@ -36,6 +37,7 @@ public abstract class AbstractProblemReporter implements IProblemReporter {
 		if (!problem.isEnabled())
 			return; // skip
 		ICodanProblemMarker codanProblemMarker = new CodanProblemMarker(problem, loc, args);
+		CodanResultCache.problemReported(codanProblemMarker);
 		reportProblem(codanProblemMarker);
 	}
 
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs several checkers together, e.g. in a single traversal of the model they check.
+ * The checkers of a group implement {@link IGroupableChecker} and return the same group.
+ * <p>
+ * The framework calls {@link IChecker#before(IResource)} and {@link IChecker#after(IResource)}
+ * for each of the checkers. The group is responsible for accounting the time spent by the
+ * individual checkers.
+ * </p>
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as part
+ * of a work in progress. There is no guarantee that this API will work or that
+ * it will remain the same.
+ * </p>
+ *
+ * @since 4.1
+ */
+public interface ICheckerGroup {
+	/**
+	 * Prepares the data the checkers of this group share with other checkers, e.g. a parsed
+	 * model of the resource, before any of the checkers of the resource are run. This method is
+	 * called without holding the locks of the checkers, such that resources processed in parallel
+	 * can be prepared at the same time.
+	 *
+	 * @param resource the resource to prepare.
+	 * @param checkers the enabled checkers of this group.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the resource.
+	 * @throws OperationCanceledException if the preparation was interrupted.
+	 */
+	default void prepare(IResource resource, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException {
+	}
+
+	/**
+	 * Runs the given checkers on a resource.
+	 *
+	 * @param resource the resource to run on.
+	 * @param checkers the enabled checkers of this group.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the resource.
+	 * @throws OperationCanceledException if the checkers were interrupted.
+	 */
+	void processResource(IResource resource, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException;
+
+	/**
+	 * Runs the given checkers on a model, when the user is typing.
+	 *
+	 * @param model the model to check.
+	 * @param checkers the enabled checkers of this group.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the model.
+	 */
+	void processModel(Object model, List<IChecker> checkers, ICheckerInvocationContext context);
+}
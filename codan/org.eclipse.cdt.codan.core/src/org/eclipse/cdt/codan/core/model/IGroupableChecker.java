@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+/**
+ * A checker that is run by the framework together with the other checkers of its group,
+ * rather than on its own.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as part
+ * of a work in progress. There is no guarantee that this API will work or that
+ * it will remain the same.
+ * </p>
+ *
+ * @since 4.1
+ */
+public interface IGroupableChecker extends IChecker {
+	/**
+	 * Returns the group that runs this checker. Checkers are run together when they return
+	 * the same group.
+	 *
+	 * @return the group, or {@code null} if the checker has to be run on its own.
+	 */
+	ICheckerGroup getCheckerGroup();
+}
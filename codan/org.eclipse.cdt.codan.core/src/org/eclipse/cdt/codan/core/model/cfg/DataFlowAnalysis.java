@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model.cfg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Iterative data flow analysis over the basic blocks of a control flow graph. The facts of
+ * the analysis are numbered, and a set of facts is represented by a bit set.
+ * <p>
+ * The analysis is solved with a worklist visiting the blocks in reverse postorder for forward
+ * analyses, and in postorder for backward analyses. A block is visited again only if the facts
+ * flowing into it changed, such that for the usual gen/kill analyses the number of visits of
+ * a block is bounded by the loop nesting depth of the function plus two.
+ * </p>
+ * Clients may extend this class.
+ *
+ * @since 4.1
+ */
+public abstract class DataFlowAnalysis {
+	private final boolean forward;
+	private final boolean union;
+
+	/**
+	 * @param forward {@code true} if facts flow in the direction of the control flow,
+	 * 		{@code false} if they flow in the opposite direction.
+	 * @param union {@code true} if the facts flowing into a block are the union of the facts
+	 * 		of its neighbors (a "may" analysis), {@code false} if they are the intersection
+	 * 		(a "must" analysis).
+	 */
+	protected DataFlowAnalysis(boolean forward, boolean union) {
+		this.forward = forward;
+		this.union = union;
+	}
+
+	/**
+	 * @return the number of facts of the analysis. The facts are numbered from zero.
+	 */
+	protected abstract int getFactCount();
+
+	/**
+	 * Returns the facts holding on entry of the start node of a forward analysis, or on exit
+	 * of the exit nodes of a backward analysis. By default no facts hold.
+	 *
+	 * @return a new set of facts.
+	 */
+	protected BitSet getBoundaryFacts() {
+		return new BitSet();
+	}
+
+	/**
+	 * Applies the effect of a block to a set of facts. For a forward analysis the facts
+	 * holding before the block are transformed into the ones holding after it, for a backward
+	 * analysis the facts holding after the block are transformed into the ones holding before it.
+	 *
+	 * @param block the block.
+	 * @param facts the facts to transform in place.
+	 */
+	protected abstract void transfer(IBasicBlock block, BitSet facts);
+
+	/**
+	 * Solves the analysis for the given graph.
+	 *
+	 * @param graph the control flow graph.
+	 * @return the facts holding before and after each block of the graph.
+	 */
+	public DataFlowResult solve(IControlFlowGraph graph) {
+		List<IBasicBlock> order = getOrder(graph);
+		if (!forward) {
+			// Postorder is a good approximation of the reverse postorder of the reversed graph.
+			Collections.reverse(order);
+		}
+		int size = order.size();
+		Map<IBasicBlock, Integer> index = new IdentityHashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			index.put(order.get(i), i);
+		}
+		// The facts flowing into and out of a block, in the direction of the analysis.
+		BitSet[] input = new BitSet[size];
+		BitSet[] output = new BitSet[size];
+		BitSet top = new BitSet();
+		if (!union) {
+			top.set(0, getFactCount());
+		}
+		for (int i = 0; i < size; i++) {
+			output[i] = (BitSet) top.clone();
+		}
+
+		BitSet pending = new BitSet(size);
+		pending.set(0, size);
+		int i = 0;
+		while ((i = pending.nextSetBit(i)) >= 0 || (i = pending.nextSetBit(0)) >= 0) {
+			pending.clear(i);
+			IBasicBlock block = order.get(i);
+			BitSet facts = null;
+			IBasicBlock[] previous = forward ? block.getIncomingNodes() : block.getOutgoingNodes();
+			if (isBoundary(graph, block)) {
+				facts = getBoundaryFacts();
+			} else {
+				for (IBasicBlock neighbor : previous) {
+					Integer n = index.get(neighbor);
+					if (n == null)
+						continue;
+					if (facts == null) {
+						facts = (BitSet) output[n].clone();
+					} else if (union) {
+						facts.or(output[n]);
+					} else {
+						facts.and(output[n]);
+					}
+				}
+				if (facts == null) {
+					// Unreachable blocks start from the boundary facts.
+					facts = getBoundaryFacts();
+				}
+			}
+			input[i] = facts;
+			BitSet result = (BitSet) facts.clone();
+			transfer(block, result);
+			if (!result.equals(output[i])) {
+				output[i] = result;
+				for (IBasicBlock neighbor : forward ? block.getOutgoingNodes() : block.getIncomingNodes()) {
+					Integer n = index.get(neighbor);
+					if (n != null)
+						pending.set(n);
+				}
+			}
+			i++;
+		}
+		return forward ? new DataFlowResult(index, input, output) : new DataFlowResult(index, output, input);
+	}
+
+	private boolean isBoundary(IControlFlowGraph graph, IBasicBlock block) {
+		if (forward)
+			return block == graph.getStartNode();
+		return block instanceof IExitNode;
+	}
+
+	/**
+	 * Returns the nodes of the graph in reverse postorder of a depth-first traversal from
+	 * the start node, followed by the nodes not reachable from the start node.
+	 */
+	private static List<IBasicBlock> getOrder(IControlFlowGraph graph) {
+		Collection<IBasicBlock> nodes = graph.getNodes();
+		Map<IBasicBlock, Boolean> visited = new IdentityHashMap<>(nodes.size() * 2);
+		List<IBasicBlock> postorder = new ArrayList<>(nodes.size());
+		postorder(graph.getStartNode(), visited, postorder);
+		List<IBasicBlock> order = new ArrayList<>(nodes.size());
+		for (int i = postorder.size(); --i >= 0;) {
+			order.add(postorder.get(i));
+		}
+		for (IBasicBlock node : nodes) {
+			if (!visited.containsKey(node)) {
+				List<IBasicBlock> dead = new ArrayList<>();
+				postorder(node, visited, dead);
+				for (int i = dead.size(); --i >= 0;) {
+					order.add(dead.get(i));
+				}
+			}
+		}
+		return order;
+	}
+
+	private static void postorder(IBasicBlock start, Map<IBasicBlock, Boolean> visited, List<IBasicBlock> result) {
+		if (start == null || visited.put(start, Boolean.TRUE) != null)
+			return;
+		Deque<IBasicBlock> blocks = new ArrayDeque<>();
+		Deque<Iterator<IBasicBlock>> successors = new ArrayDeque<>();
+		blocks.push(start);
+		successors.push(Arrays.asList(start.getOutgoingNodes()).iterator());
+		while (!blocks.isEmpty()) {
+			Iterator<IBasicBlock> it = successors.peek();
+			if (it.hasNext()) {
+				IBasicBlock next = it.next();
+				if (next != null && visited.put(next, Boolean.TRUE) == null) {
+					blocks.push(next);
+					successors.push(Arrays.asList(next.getOutgoingNodes()).iterator());
+				}
+			} else {
+				result.add(blocks.pop());
+				successors.pop();
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model.cfg;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Solution of a {@link DataFlowAnalysis}: the facts holding before and after each block of
+ * a control flow graph, in the order of execution.
+ *
+ * @noextend This class is not intended to be extended by clients.
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ * @since 4.1
+ */
+public final class DataFlowResult {
+	private final Map<IBasicBlock, Integer> index;
+	private final BitSet[] before;
+	private final BitSet[] after;
+
+	DataFlowResult(Map<IBasicBlock, Integer> index, BitSet[] before, BitSet[] after) {
+		this.index = index;
+		this.before = before;
+		this.after = after;
+	}
+
+	/**
+	 * @param block a block of the graph.
+	 * @return the facts holding before the block is executed, or {@code null} if the block
+	 *     is not part of the graph.
+	 */
+	public BitSet getFactsBefore(IBasicBlock block) {
+		Integer i = index.get(block);
+		return i == null ? null : (BitSet) before[i].clone();
+	}
+
+	/**
+	 * @param block a block of the graph.
+	 * @return the facts holding after the block is executed, or {@code null} if the block
+	 *     is not part of the graph.
+	 */
+	public BitSet getFactsAfter(IBasicBlock block) {
+		Integer i = index.get(block);
+		return i == null ? null : (BitSet) after[i].clone();
+	}
+}
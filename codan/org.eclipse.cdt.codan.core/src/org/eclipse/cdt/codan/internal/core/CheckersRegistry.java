@@ -328,12 +328,12 @@ public class CheckersRegistry implements Iterable<IChecker>, ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getDefaultProfile() {
+	public synchronized IProblemProfile getDefaultProfile() {
 		return profiles.get(DEFAULT);
 	}
 
 	@Override
-	public IProblemProfile getWorkspaceProfile() {
+	public synchronized IProblemProfile getWorkspaceProfile() {
 		IProblemProfile wp = profiles.get(ResourcesPlugin.getWorkspace());
 		if (wp == null) {
 			wp = (IProblemProfile) getDefaultProfile().clone();
@@ -350,7 +350,7 @@ public class CheckersRegistry implements Iterable<IChecker>, ICheckersRegistry {
 	}
 
 	@Override
-	public void updateProfile(IResource element, IProblemProfile profile) {
+	public synchronized void updateProfile(IResource element, IProblemProfile profile) {
 		// Updating profile can invalidate all cached profiles
 		IProblemProfile defaultProfile = getDefaultProfile();
 		profiles.clear();
@@ -360,7 +360,7 @@ public class CheckersRegistry implements Iterable<IChecker>, ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getResourceProfile(IResource element) {
+	public synchronized IProblemProfile getResourceProfile(IResource element) {
 		IProblemProfile prof = profiles.get(element);
 		if (prof == null) {
 			if (element instanceof IProject) {
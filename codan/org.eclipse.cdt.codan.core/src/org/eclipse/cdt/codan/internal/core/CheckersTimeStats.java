@@ -16,15 +16,18 @@ package org.eclipse.cdt.codan.internal.core;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Class to collect time states for checkers runs
+ * Class to collect time states for checkers runs. The stats may be collected from several
+ * threads. A checker run in parallel with itself should add its time with
+ * {@link #checkerAddTime(String, long)} rather than with start and stop.
  */
 public class CheckersTimeStats {
 	public static final String ALL = "ALL"; //$NON-NLS-1$
 	public static final String ELAPSED = "ELAPSED"; //$NON-NLS-1$
 	private static CheckersTimeStats instance = new CheckersTimeStats();
-	private boolean enableStats = false;
+	private volatile boolean enableStats = false;
 
 	/**
 	 * @return global instance of stats
@@ -34,29 +37,36 @@ public class CheckersTimeStats {
 	}
 
 	private static class TimeRecord {
+		/** Duration in nanoseconds */
 		private long duration;
 		private long current;
 		private int count;
 
 		public void start() {
-			current = System.currentTimeMillis();
+			current = System.nanoTime();
 		}
 
 		public void stop() {
-			count++;
-			duration += System.currentTimeMillis() - current;
+			add(System.nanoTime() - current);
 			current = 0;
 		}
 
+		public void add(long nanos) {
+			count++;
+			duration += nanos;
+		}
+
 		@Override
 		public String toString() {
-			return String.format("%4d %4d %4.2f", duration, count, count == 0 ? count : (duration / (float) count)); //$NON-NLS-1$
+			long millis = TimeUnit.NANOSECONDS.toMillis(duration);
+			return String.format("%4d %4d %4.2f", millis, count, count == 0 ? count : (millis / (float) count)); //$NON-NLS-1$
 		}
 
 		public String toString(long total) {
-			float ave = count == 0 ? count : (duration / (float) count);
+			long millis = TimeUnit.NANOSECONDS.toMillis(duration);
+			float ave = count == 0 ? count : (millis / (float) count);
 			float per = total == 0 ? 100f : (duration * 100 / (float) total);
-			return String.format("%4d %4d %4.2f %4.2f%%", duration, count, ave, per); //$NON-NLS-1$
+			return String.format("%4d %4d %4.2f %4.2f%%", millis, count, ave, per); //$NON-NLS-1$
 		}
 	}
 
@@ -90,7 +100,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStart(String id, String counter) {
+	public synchronized void checkerStart(String id, String counter) {
 		if (enableStats) {
 			TimeRecord record = getTimeRecord(getKey(id, counter));
 			record.start();
@@ -105,7 +115,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStop(String id, String counter) {
+	public synchronized void checkerStop(String id, String counter) {
 		if (enableStats) {
 			getTimeRecord(getKey(id, counter)).stop();
 		}
@@ -118,6 +128,19 @@ public class CheckersTimeStats {
 		checkerStop(id, ELAPSED);
 	}
 
+	/**
+	 * Adds the time spent by a checker that was not measured with start and stop, e.g. because
+	 * it was interleaved with the time spent by other checkers.
+	 *
+	 * @param id - checker id
+	 * @param nanos - elapsed time in nanoseconds
+	 */
+	public synchronized void checkerAddTime(String id, long nanos) {
+		if (enableStats) {
+			getTimeRecord(getKey(id, ELAPSED)).add(nanos);
+		}
+	}
+
 	/**
 	 * Print checker stats to stdout if tracing enabled
 	 */
@@ -130,10 +153,12 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void printStats() {
+	public synchronized void printStats() {
 		System.out.println("---"); //$NON-NLS-1$
 		String totalId = getKey(ALL, ELAPSED);
 		TimeRecord all = records.get(totalId);
+		if (all == null)
+			return;
 		for (Iterator<String> iterator = records.keySet().iterator(); iterator.hasNext();) {
 			String id = iterator.next();
 			if (id.equals(totalId))
@@ -147,7 +172,7 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		records.clear();
 	}
 
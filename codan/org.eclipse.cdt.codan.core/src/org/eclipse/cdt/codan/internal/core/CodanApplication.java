@@ -15,9 +15,11 @@ package org.eclipse.cdt.codan.internal.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.codan.core.CodanRuntime;
 import org.eclipse.cdt.codan.core.model.AbstractProblemReporter;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -38,6 +40,7 @@ public class CodanApplication implements IApplication {
 	private Collection<String> projects = new ArrayList<>();
 	private boolean verbose;
 	private boolean all;
+	private int threads = 1;
 
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
@@ -47,7 +50,6 @@ public class CodanApplication implements IApplication {
 			return EXIT_OK;
 		}
 		extractArguments(args);
-		CodanBuilder codanBuilder = new CodanBuilder();
 		CodanRuntime runtime = CodanRuntime.getInstance();
 		runtime.setProblemReporter(new AbstractProblemReporter() {
 			@Override
@@ -57,10 +59,14 @@ public class CodanApplication implements IApplication {
 						+ pm.createMessage());
 			}
 		});
+		CheckersTimeStats stats = CheckersTimeStats.getInstance();
+		stats.setEnabled(true);
+		long start = System.nanoTime();
+		int files = 0;
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
 		if (all) {
 			log(Messages.CodanApplication_LogRunWorkspace);
-			codanBuilder.processResource(root, new NullProgressMonitor());
+			files += process(root);
 		} else {
 			for (String project : projects) {
 				log(Messages.CodanApplication_LogRunProject + project);
@@ -70,12 +76,25 @@ public class CodanApplication implements IApplication {
 							NLS.bind(Messages.CodanApplication_Error_ProjectDoesNotExists, project));
 					continue;
 				}
-				codanBuilder.processResource(wProject, new NullProgressMonitor());
+				files += process(wProject);
 			}
 		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		System.out.println(NLS.bind(Messages.CodanApplication_LogThroughput, new Object[] { files, millis,
+				String.format("%.1f", millis == 0 ? 0 : files * 1000f / millis) })); //$NON-NLS-1$
+		stats.printStats();
 		return EXIT_OK;
 	}
 
+	/**
+	 * @param resource
+	 * @return the number of files analyzed
+	 */
+	private int process(IResource resource) {
+		return CodanRunner.processResource(resource, CheckerLaunchMode.RUN_ON_FULL_BUILD, threads,
+				new NullProgressMonitor());
+	}
+
 	/**
 	 * @param string
 	 */
@@ -94,6 +113,12 @@ public class CodanApplication implements IApplication {
 				verbose = true;
 			} else if (string.equals("-all")) { //$NON-NLS-1$
 				all = true;
+			} else if (string.equals("-threads") && i + 1 < args.length) { //$NON-NLS-1$
+				try {
+					threads = Math.max(Integer.parseInt(args[++i]), 1);
+				} catch (NumberFormatException e) {
+					System.err.println(Messages.CodanApplication_threads_option);
+				}
 			} else {
 				projects.add(string);
 			}
@@ -107,6 +132,7 @@ public class CodanApplication implements IApplication {
 		System.out.println(Messages.CodanApplication_Usage);
 		System.out.println(Messages.CodanApplication_Options);
 		System.out.println(Messages.CodanApplication_all_option);
+		System.out.println(Messages.CodanApplication_threads_option);
 		System.out.println(Messages.CodanApplication_verbose_option);
 	}
 
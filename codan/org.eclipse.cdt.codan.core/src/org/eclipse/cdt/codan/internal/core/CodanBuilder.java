@@ -18,6 +18,7 @@ import java.util.Map;
 
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.ICodanBuilder;
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
@@ -35,11 +36,14 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 	 */
 	public static final String BUILDER_ID = "org.eclipse.cdt.codan.core.codanBuilder"; //$NON-NLS-1$
 	private boolean enabled = true;
+	/** Number of threads analyzing the files of a full build or an on demand run in parallel */
+	private int threads = 1;
 
 	{
 		if (Boolean.valueOf(System.getProperty("codan.disabled"))) { //$NON-NLS-1$
 			enabled = false;
 		}
+		threads = Integer.getInteger("codan.threads", 1); //$NON-NLS-1$
 	}
 
 	private class CodanDeltaVisitor implements IResourceDeltaVisitor {
@@ -105,7 +109,12 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 	public void processResource(IResource resource, IProgressMonitor monitor, CheckerLaunchMode mode) {
 		if (!enabled)
 			return;
-		CodanRunner.processResource(resource, mode, monitor);
+		if (threads > 1 && resource instanceof IContainer
+				&& (mode == CheckerLaunchMode.RUN_ON_FULL_BUILD || mode == CheckerLaunchMode.RUN_ON_DEMAND)) {
+			CodanRunner.processResource(resource, mode, threads, monitor);
+		} else {
+			CodanRunner.processResource(resource, mode, monitor);
+		}
 	}
 
 	private void processResourceDelta(IResource resource, IProgressMonitor monitor) {
@@ -0,0 +1,463 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.CodanRuntime;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
+import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.model.IProblemReporterPersistent;
+import org.eclipse.cdt.codan.core.model.IProblemReporterSessionPersistent;
+import org.eclipse.cdt.codan.core.param.IProblemPreference;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Persistent cache of the problems found in files. The problems of a file are stored under
+ * a key computed from the contents of the file and of the files it depends on, the enabled
+ * checkers, their versions and the settings of their problems. When the key of a file did not
+ * change, the problems are restored without running the checkers.
+ * <p>
+ * The entry of a file is deleted when the file is deleted or moved. Entries of files deleted
+ * while the cache was not in use, and the least recently used entries beyond
+ * {@link #MAX_ENTRIES}, are deleted in the background when the cache is created.
+ * </p>
+ */
+public final class CodanResultCache {
+	private static final String CONTENT_KEY_EXTENSION_POINT_NAME = "contentKeyProvider"; //$NON-NLS-1$
+	private static final String CLASS_ATTR = "class"; //$NON-NLS-1$
+	private static final String DIRECTORY = "resultCache"; //$NON-NLS-1$
+	private static final String KEY = "key"; //$NON-NLS-1$
+	private static final String COUNT = "count"; //$NON-NLS-1$
+	private static final String PATH = "path"; //$NON-NLS-1$
+	/** Maximum number of entries kept by the clean up */
+	private static final int MAX_ENTRIES = 10000;
+	private static CodanResultCache instance;
+	/** The problems reported by the current thread while results are recorded. */
+	private static final ThreadLocal<List<ICodanProblemMarker>> recorded = new ThreadLocal<>();
+	private final List<IContentKeyProvider> providers = new ArrayList<>();
+	private final AtomicInteger restoredCount = new AtomicInteger();
+	private final IResourceChangeListener listener = this::resourceChanged;
+
+	private CodanResultCache() {
+		IExtensionPoint ep = Platform.getExtensionRegistry().getExtensionPoint(CodanCorePlugin.PLUGIN_ID,
+				CONTENT_KEY_EXTENSION_POINT_NAME);
+		if (ep == null)
+			return;
+		for (IConfigurationElement ce : ep.getConfigurationElements()) {
+			try {
+				providers.add((IContentKeyProvider) ce.createExecutableExtension(CLASS_ATTR));
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * @return the global instance of the cache
+	 */
+	public static synchronized CodanResultCache getInstance() {
+		if (instance == null) {
+			instance = new CodanResultCache();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance.listener,
+					IResourceChangeEvent.POST_CHANGE);
+			Job job = new Job(Messages.CodanResultCache_CleanUp) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					instance.cleanUp();
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.setPriority(Job.DECORATE);
+			job.schedule();
+		}
+		return instance;
+	}
+
+	/**
+	 * Stops deleting the entries of deleted files. Called when the plug-in is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance.listener);
+			instance = null;
+		}
+	}
+
+	/**
+	 * @return the number of files whose problems were restored since the cache was created.
+	 */
+	public int getRestoredCount() {
+		return restoredCount.get();
+	}
+
+	/**
+	 * Checks whether problems are stored for a file.
+	 *
+	 * @param file the file.
+	 * @return {@code true} if the cache has an entry for the file.
+	 */
+	public boolean hasEntry(IFile file) {
+		File entryFile = getEntryFile(file);
+		return entryFile != null && entryFile.isFile();
+	}
+
+	/**
+	 * Called by problem reporters for every problem reported.
+	 *
+	 * @param marker the problem reported.
+	 */
+	public static void problemReported(ICodanProblemMarker marker) {
+		List<ICodanProblemMarker> problems = recorded.get();
+		if (problems != null) {
+			problems.add(marker);
+		}
+	}
+
+	/**
+	 * Computes the key of a file.
+	 *
+	 * @param file the file to analyze.
+	 * @param checkers the checkers enabled for the file.
+	 * @return the key, or {@code null} if the results for the file cannot be cached.
+	 */
+	String computeKey(IFile file, List<IChecker> checkers) {
+		String contentKey = null;
+		for (IContentKeyProvider provider : providers) {
+			contentKey = provider.getContentKey(file);
+			if (contentKey != null)
+				break;
+		}
+		if (contentKey == null)
+			return null;
+		MessageDigest digest = createDigest();
+		update(digest, contentKey);
+		CheckersRegistry registry = CheckersRegistry.getInstance();
+		IProblemProfile profile = registry.getResourceProfile(file);
+		for (IChecker checker : checkers) {
+			update(digest, checker.getClass().getName());
+			Bundle bundle = FrameworkUtil.getBundle(checker.getClass());
+			if (bundle != null) {
+				update(digest, bundle.getVersion().toString());
+			}
+			for (IProblem refProblem : registry.getRefProblems(checker)) {
+				IProblem problem = profile.findProblem(refProblem.getId());
+				if (problem == null)
+					return null;
+				update(digest, problem.getId());
+				update(digest, String.valueOf(problem.isEnabled()));
+				update(digest, String.valueOf(problem.getSeverity()));
+				update(digest, String.valueOf(problem.getMessagePattern()));
+				IProblemPreference preference = problem.getPreference();
+				if (preference != null) {
+					update(digest, preference.exportValue());
+				}
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Reports the problems stored for a file, if its key did not change.
+	 *
+	 * @param file the file to restore the problems of.
+	 * @param key the current key of the file.
+	 * @param checkers the checkers enabled for the file.
+	 * @return {@code true} if the problems were restored, {@code false} if the file has to be analyzed.
+	 */
+	boolean restore(IFile file, String key, List<IChecker> checkers) {
+		File entryFile = getEntryFile(file);
+		Properties entry = read(entryFile);
+		if (entry == null || !key.equals(entry.getProperty(KEY)))
+			return false;
+		// The clean up keeps the most recently used entries.
+		entryFile.setLastModified(System.currentTimeMillis());
+		int count;
+		try {
+			count = Integer.parseInt(entry.getProperty(COUNT, "0")); //$NON-NLS-1$
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		CodanRuntime runtime = CodanRuntime.getInstance();
+		IProblemReporter reporter = runtime.getProblemReporter();
+		IProblemLocationFactory locationFactory = runtime.getProblemLocationFactory();
+		CheckersRegistry registry = CheckersRegistry.getInstance();
+		for (IChecker checker : checkers) {
+			IProblemReporter problemReporter = reporter;
+			// Report the problems the same way as the checker would, see AbstractChecker.
+			if (reporter instanceof IProblemReporterSessionPersistent) {
+				problemReporter = ((IProblemReporterSessionPersistent) reporter).createReporter(file, checker);
+				((IProblemReporterSessionPersistent) problemReporter).start();
+			} else if (reporter instanceof IProblemReporterPersistent) {
+				((IProblemReporterPersistent) reporter).deleteProblems(file, checker);
+			}
+			try {
+				Collection<IProblem> problems = registry.getRefProblems(checker);
+				for (int i = 0; i < count; i++) {
+					String prefix = "p" + i + "."; //$NON-NLS-1$ //$NON-NLS-2$
+					String id = entry.getProperty(prefix + "id"); //$NON-NLS-1$
+					if (!containsProblem(problems, id))
+						continue;
+					IProblemLocation loc = locationFactory.createProblemLocation(file,
+							getInt(entry, prefix + "start"), getInt(entry, prefix + "end"), //$NON-NLS-1$ //$NON-NLS-2$
+							getInt(entry, prefix + "line")); //$NON-NLS-1$
+					Object[] args = new Object[getInt(entry, prefix + "len")]; //$NON-NLS-1$
+					for (int j = 0; j < args.length; j++) {
+						args[j] = entry.getProperty(prefix + "a" + j); //$NON-NLS-1$
+					}
+					problemReporter.reportProblem(id, loc, args);
+				}
+			} finally {
+				if (problemReporter instanceof IProblemReporterSessionPersistent) {
+					((IProblemReporterSessionPersistent) problemReporter).done();
+				}
+			}
+		}
+		restoredCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Starts recording the problems reported by the current thread.
+	 */
+	void startRecording() {
+		recorded.set(new ArrayList<>());
+	}
+
+	/**
+	 * Stops recording the problems reported by the current thread and stores them.
+	 *
+	 * @param file the file the problems were found in.
+	 * @param key the key of the file, or {@code null} to discard the problems.
+	 */
+	void stopRecording(IFile file, String key) {
+		List<ICodanProblemMarker> problems = recorded.get();
+		recorded.remove();
+		if (problems == null || key == null)
+			return;
+		Properties entry = new Properties();
+		entry.setProperty(KEY, key);
+		entry.setProperty(PATH, file.getFullPath().toString());
+		entry.setProperty(COUNT, String.valueOf(problems.size()));
+		for (int i = 0; i < problems.size(); i++) {
+			ICodanProblemMarker problem = problems.get(i);
+			IProblemLocation loc = problem.getLocation();
+			// Problems in other files, e.g. in headers, are not restored.
+			if (!file.equals(loc.getFile())) {
+				delete(file);
+				return;
+			}
+			String prefix = "p" + i + "."; //$NON-NLS-1$ //$NON-NLS-2$
+			entry.setProperty(prefix + "id", problem.getProblem().getId()); //$NON-NLS-1$
+			entry.setProperty(prefix + "line", String.valueOf(loc.getLineNumber())); //$NON-NLS-1$
+			entry.setProperty(prefix + "start", String.valueOf(loc.getStartingChar())); //$NON-NLS-1$
+			entry.setProperty(prefix + "end", String.valueOf(loc.getEndingChar())); //$NON-NLS-1$
+			Object[] args = problem.getArgs();
+			int length = args == null ? 0 : args.length;
+			entry.setProperty(prefix + "len", String.valueOf(length)); //$NON-NLS-1$
+			for (int j = 0; j < length; j++) {
+				if (args[j] != null)
+					entry.setProperty(prefix + "a" + j, args[j].toString()); //$NON-NLS-1$
+			}
+		}
+		write(file, entry);
+	}
+
+	private static boolean containsProblem(Collection<IProblem> problems, String id) {
+		for (IProblem problem : problems) {
+			if (problem.getId().equals(id))
+				return true;
+		}
+		return false;
+	}
+
+	private static int getInt(Properties entry, String name) {
+		try {
+			return Integer.parseInt(entry.getProperty(name, "0")); //$NON-NLS-1$
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null)
+			return;
+		try {
+			delta.accept(child -> {
+				if (child.getKind() == IResourceDelta.REMOVED && child.getResource().getType() == IResource.FILE) {
+					delete((IFile) child.getResource());
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			CodanCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Deletes the entries of files that no longer exist, and the least recently used entries
+	 * beyond {@link #MAX_ENTRIES}. Entries of files in closed projects are kept.
+	 */
+	public void cleanUp() {
+		File directory = getDirectory();
+		File[] entryFiles = directory != null ? directory.listFiles() : null;
+		if (entryFiles == null)
+			return;
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		List<File> kept = new ArrayList<>(entryFiles.length);
+		for (File entryFile : entryFiles) {
+			if (!entryFile.isFile())
+				continue;
+			Properties entry = read(entryFile);
+			String path = entry != null ? entry.getProperty(PATH) : null;
+			boolean exists = false;
+			if (path != null) {
+				IFile file = root.getFile(new Path(path));
+				IProject project = file.getProject();
+				exists = project.exists() && (!project.isOpen() || file.exists());
+			}
+			if (exists) {
+				kept.add(entryFile);
+			} else {
+				entryFile.delete();
+			}
+		}
+		if (kept.size() > MAX_ENTRIES) {
+			kept.sort(Comparator.comparingLong(File::lastModified));
+			for (File entryFile : kept.subList(0, kept.size() - MAX_ENTRIES)) {
+				entryFile.delete();
+			}
+		}
+	}
+
+	private static Properties read(File entryFile) {
+		if (entryFile == null || !entryFile.isFile())
+			return null;
+		Properties entry = new Properties();
+		try (InputStream in = new FileInputStream(entryFile)) {
+			entry.load(in);
+		} catch (IOException e) {
+			return null;
+		}
+		return entry;
+	}
+
+	private static void write(IFile file, Properties entry) {
+		File entryFile = getEntryFile(file);
+		if (entryFile == null)
+			return;
+		try {
+			File dir = entryFile.getParentFile();
+			dir.mkdirs();
+			// Files analyzed in parallel must not see a partially written entry.
+			File tmp = File.createTempFile(entryFile.getName(), null, dir);
+			try {
+				try (OutputStream out = new FileOutputStream(tmp)) {
+					entry.store(out, null);
+				}
+				Files.move(tmp.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmp.delete();
+			}
+		} catch (IOException e) {
+			CodanCorePlugin.log(e);
+		}
+	}
+
+	private static void delete(IFile file) {
+		File entryFile = getEntryFile(file);
+		if (entryFile != null) {
+			entryFile.delete();
+		}
+	}
+
+	private static File getEntryFile(IFile file) {
+		File directory = getDirectory();
+		if (directory == null)
+			return null;
+		MessageDigest digest = createDigest();
+		update(digest, file.getFullPath().toString());
+		return new File(directory, toHex(digest.digest()));
+	}
+
+	private static File getDirectory() {
+		CodanCorePlugin plugin = CodanCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		return plugin.getStateLocation().append(DIRECTORY).toFile();
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-1.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder buf = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			buf.append(Character.forDigit((b >> 4) & 0xF, 16));
+			buf.append(Character.forDigit(b & 0xF, 16));
+		}
+		return buf.toString();
+	}
+}
@@ -14,15 +14,32 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IGroupableChecker;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.codan.internal.core.model.CodanMarkerProblemReporter;
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.osgi.util.NLS;
@@ -35,6 +52,9 @@ import org.eclipse.osgi.util.NLS;
  * CodanRuntime.getInstance().getBuilder()
  */
 public class CodanRunner {
+	/** Whether the problems of unchanged files are restored from the {@link CodanResultCache} */
+	private static final boolean RESULT_CACHE_ENABLED = !Boolean.getBoolean("codan.resultCache.disabled"); //$NON-NLS-1$
+
 	/** Do not instantiate. All methods are static */
 	private CodanRunner() {
 	}
@@ -62,6 +82,96 @@ public class CodanRunner {
 		processResource(resource, null, checkerLaunchMode, monitor);
 	}
 
+	/**
+	 * Runs all checkers on a given resource and its children, analyzing files in parallel.
+	 * Containers are analyzed by the calling thread, files by a pool of worker threads. Each file
+	 * gets its own invocation context, and thus its own models. The problems reported to a
+	 * {@link CodanMarkerProblemReporter} are collected by the workers and applied to the markers
+	 * by the calling thread.
+	 *
+	 * @param resource - the resource to run the checkers on, either IFile or IContainer
+	 * @param checkerLaunchMode - the checker launch mode, either
+	 *     {@link CheckerLaunchMode#RUN_ON_FULL_BUILD} or {@link CheckerLaunchMode#RUN_ON_DEMAND}
+	 * @param threads - the number of worker threads
+	 * @param monitor - the progress monitor
+	 * @return the number of files analyzed
+	 */
+	public static int processResource(IResource resource, CheckerLaunchMode checkerLaunchMode, int threads,
+			IProgressMonitor monitor) {
+		List<IResource> containers = new ArrayList<>();
+		List<IResource> files = new ArrayList<>();
+		collectResources(resource, containers, files);
+		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()),
+				containers.size() + files.size());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+			Thread thread = new Thread(runnable, "Code analysis worker"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Workers check the cancellation of their own monitor, since the progress monitor must
+		// only be used by the calling thread.
+		IProgressMonitor workerMonitor = new NullProgressMonitor();
+		try {
+			CompletionService<CodanMarkerProblemReporter.Batch> completion = new ExecutorCompletionService<>(
+					executor);
+			for (IResource file : files) {
+				completion.submit(() -> {
+					CodanMarkerProblemReporter.Batch batch = CodanMarkerProblemReporter.startBatch();
+					try {
+						runCheckers(file, null, checkerLaunchMode, workerMonitor);
+					} finally {
+						batch.close();
+					}
+					return batch;
+				});
+			}
+			for (IResource container : containers) {
+				if (monitor.isCanceled())
+					return 0;
+				runCheckers(container, null, checkerLaunchMode, new NullProgressMonitor());
+				monitor.worked(1);
+			}
+			int analyzed = 0;
+			while (analyzed < files.size()) {
+				Future<CodanMarkerProblemReporter.Batch> result = completion.poll(100, TimeUnit.MILLISECONDS);
+				if (monitor.isCanceled())
+					return analyzed;
+				if (result == null)
+					continue;
+				try {
+					result.get().flush();
+				} catch (ExecutionException e) {
+					CodanCorePlugin.log(e.getCause());
+				}
+				analyzed++;
+				monitor.worked(1);
+			}
+			return analyzed;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 0;
+		} finally {
+			workerMonitor.setCanceled(monitor.isCanceled() || Thread.currentThread().isInterrupted());
+			executor.shutdown();
+			monitor.done();
+		}
+	}
+
+	private static void collectResources(IResource resource, List<IResource> containers, List<IResource> files) {
+		if (resource instanceof IContainer) {
+			containers.add(resource);
+			try {
+				for (IResource child : ((IContainer) resource).members()) {
+					collectResources(child, containers, files);
+				}
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			}
+		} else {
+			files.add(resource);
+		}
+	}
+
 	private static void processResource(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
 			IProgressMonitor monitor) {
 		CheckersRegistry chegistry = CheckersRegistry.getInstance();
@@ -80,39 +190,8 @@ public class CodanRunner {
 		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()),
 				checkers * (1 + numChildren * childWeight));
 		try {
-			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
-			ICheckerInvocationContext context = new CheckerInvocationContext(resource);
-			try {
-				for (IChecker checker : chegistry) {
-					if (monitor.isCanceled())
-						return;
-					if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
-						synchronized (checker) {
-							try {
-								checker.before(resource);
-								CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
-								if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
-									((IRunnableInEditorChecker) checker).processModel(model, context);
-								} else {
-									checker.processResource(resource, context);
-								}
-							} catch (OperationCanceledException e) {
-								return;
-							} catch (Throwable e) {
-								CodanCorePlugin.log(e);
-							} finally {
-								CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
-								checker.after(resource);
-							}
-						}
-					}
-					monitor.worked(1);
-				}
-			} finally {
-				context.dispose();
-				CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
-				//CheckersTimeStats.getInstance().printStats();
-			}
+			if (!runCheckers(resource, model, checkerLaunchMode, monitor))
+				return;
 
 			if (children != null && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
 					|| checkerLaunchMode == CheckerLaunchMode.RUN_ON_DEMAND)) {
@@ -126,4 +205,168 @@ public class CodanRunner {
 			monitor.done();
 		}
 	}
+
+	/**
+	 * Runs the enabled checkers on a single resource, without its children.
+	 *
+	 * @return {@code false} if the checkers were canceled.
+	 */
+	private static boolean runCheckers(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
+			IProgressMonitor monitor) {
+		CheckersRegistry chegistry = CheckersRegistry.getInstance();
+		CheckersTimeStats stats = CheckersTimeStats.getInstance();
+		long start = System.nanoTime();
+		ICheckerInvocationContext context = new CheckerInvocationContext(resource);
+		try {
+			List<IChecker> all = new ArrayList<>();
+			List<IChecker> enabled = new ArrayList<>();
+			Map<ICheckerGroup, List<IChecker>> groups = new LinkedHashMap<>();
+			for (IChecker checker : chegistry) {
+				if (monitor.isCanceled())
+					return false;
+				if (!chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
+					monitor.worked(1);
+					continue;
+				}
+				all.add(checker);
+				ICheckerGroup group = checker instanceof IGroupableChecker
+						? ((IGroupableChecker) checker).getCheckerGroup()
+						: null;
+				if (group != null) {
+					// Checkers of a group are run together after the other checkers.
+					List<IChecker> members = groups.get(group);
+					if (members == null) {
+						members = new ArrayList<>();
+						groups.put(group, members);
+					}
+					members.add(checker);
+				} else {
+					enabled.add(checker);
+				}
+			}
+			if (all.isEmpty())
+				return true;
+
+			CodanResultCache cache = null;
+			String key = null;
+			if (checkerLaunchMode != CheckerLaunchMode.RUN_AS_YOU_TYPE && resource instanceof IFile
+					&& RESULT_CACHE_ENABLED) {
+				cache = CodanResultCache.getInstance();
+				key = cache.computeKey((IFile) resource, all);
+				if (key != null) {
+					if (cache.restore((IFile) resource, key, all)) {
+						monitor.worked(all.size());
+						return true;
+					}
+					cache.startRecording();
+				}
+			}
+			boolean completed = false;
+			try {
+				completed = runCheckers(resource, model, checkerLaunchMode, monitor, enabled, groups, context);
+				return completed;
+			} finally {
+				if (key != null) {
+					cache.stopRecording((IFile) resource, completed ? key : null);
+				}
+			}
+		} finally {
+			context.dispose();
+			stats.checkerAddTime(CheckersTimeStats.ALL, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Runs the given enabled checkers on a single resource.
+	 *
+	 * @return {@code false} if the checkers were canceled.
+	 */
+	private static boolean runCheckers(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
+			IProgressMonitor monitor, List<IChecker> enabled, Map<ICheckerGroup, List<IChecker>> groups,
+			ICheckerInvocationContext context) {
+		CheckersTimeStats stats = CheckersTimeStats.getInstance();
+		if (checkerLaunchMode != CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+			// Prepare outside of the locks of the checkers, such that resources processed
+			// in parallel do not wait for each other.
+			for (Map.Entry<ICheckerGroup, List<IChecker>> entry : groups.entrySet()) {
+				try {
+					entry.getKey().prepare(resource, entry.getValue(), context);
+				} catch (OperationCanceledException e) {
+					return false;
+				} catch (Throwable e) {
+					CodanCorePlugin.log(e);
+				}
+			}
+		}
+		for (IChecker checker : enabled) {
+			if (monitor.isCanceled())
+				return false;
+			synchronized (checker) {
+				long checkerStart = System.nanoTime();
+				try {
+					checker.before(resource);
+					if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+						((IRunnableInEditorChecker) checker).processModel(model, context);
+					} else {
+						checker.processResource(resource, context);
+					}
+				} catch (OperationCanceledException e) {
+					return false;
+				} catch (Throwable e) {
+					CodanCorePlugin.log(e);
+				} finally {
+					stats.checkerAddTime(checker.getClass().getName(), System.nanoTime() - checkerStart);
+					checker.after(resource);
+				}
+			}
+			monitor.worked(1);
+		}
+		for (Map.Entry<ICheckerGroup, List<IChecker>> entry : groups.entrySet()) {
+			if (monitor.isCanceled())
+				return false;
+			List<IChecker> members = entry.getValue();
+			if (!processGroup(entry.getKey(), members, 0, resource, model, checkerLaunchMode, context))
+				return false;
+			monitor.worked(members.size());
+		}
+		return !monitor.isCanceled();
+	}
+
+	/**
+	 * Runs the checkers of a group while holding the locks of all of them. The locks are
+	 * acquired in the order of the checkers registry, one per recursion level.
+	 *
+	 * @return {@code false} if the checkers were canceled.
+	 */
+	private static boolean processGroup(ICheckerGroup group, List<IChecker> checkers, int locked,
+			IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
+			ICheckerInvocationContext context) {
+		if (locked < checkers.size()) {
+			synchronized (checkers.get(locked)) {
+				return processGroup(group, checkers, locked + 1, resource, model, checkerLaunchMode, context);
+			}
+		}
+
+		int prepared = 0;
+		try {
+			for (IChecker checker : checkers) {
+				checker.before(resource);
+				prepared++;
+			}
+			if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+				group.processModel(model, checkers, context);
+			} else {
+				group.processResource(resource, checkers, context);
+			}
+		} catch (OperationCanceledException e) {
+			return false;
+		} catch (Throwable e) {
+			CodanCorePlugin.log(e);
+		} finally {
+			for (int i = 0; i < prepared; i++) {
+				checkers.get(i).after(resource);
+			}
+		}
+		return true;
+	}
 }
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Computes the keys under which the problems found in files are cached.
+ */
+public interface IContentKeyProvider {
+	/**
+	 * Returns a key of the contents of the given file and of everything else the result of
+	 * analyzing the file depends on, e.g. the included files and the build settings.
+	 * @param file the file to be analyzed.
+	 * @return the key, or {@code null} if the provider does not know the file, or if the
+	 *     dependencies of the file are not known yet.
+	 */
+	public String getContentKey(IFile file);
+}
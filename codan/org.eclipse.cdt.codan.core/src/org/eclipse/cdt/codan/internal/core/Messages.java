@@ -25,9 +25,12 @@ class Messages extends NLS {
 	public static String CodanApplication_Error_ProjectDoesNotExists;
 	public static String CodanApplication_LogRunProject;
 	public static String CodanApplication_LogRunWorkspace;
+	public static String CodanApplication_LogThroughput;
 	public static String CodanApplication_Options;
+	public static String CodanApplication_threads_option;
 	public static String CodanApplication_Usage;
 	public static String CodanApplication_verbose_option;
+	public static String CodanResultCache_CleanUp;
 	public static String CodanRunner_Code_analysis_on;
 
 	static {
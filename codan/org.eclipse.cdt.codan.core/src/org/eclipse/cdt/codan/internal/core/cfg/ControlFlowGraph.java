@@ -13,9 +13,11 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core.cfg;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -110,22 +112,36 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	}
 
 	private void getNodes(IBasicBlock start, Collection<IBasicBlock> result) {
-		if (start == null)
-			return; // huh
-		if (result.contains(start))
-			return;
-		result.add(start);
-		for (IBasicBlock bb : start.getOutgoingNodes()) {
-			getNodes(bb, result);
-		}
-		if (start instanceof IConnectorNode) {
-			// special case where connect can have some incoming branch nodes not in the graph
-			for (IBasicBlock bb : start.getIncomingNodes()) {
-				getNodes(bb, result);
+		// Iterative depth-first traversal, since functions may be too large for recursion.
+		Deque<IBasicBlock> stack = new ArrayDeque<>();
+		push(stack, start);
+		while (!stack.isEmpty()) {
+			IBasicBlock node = stack.pop();
+			if (result.contains(node))
+				continue;
+			result.add(node);
+			if (node instanceof IConnectorNode) {
+				// special case where connect can have some incoming branch nodes not in the graph
+				pushAll(stack, node.getIncomingNodes());
 			}
+			pushAll(stack, node.getOutgoingNodes());
+		}
+	}
+
+	/**
+	 * Pushes the nodes in reverse order, such that they are popped in their original order.
+	 */
+	private static void pushAll(Deque<IBasicBlock> stack, IBasicBlock[] nodes) {
+		for (int i = nodes.length; --i >= 0;) {
+			push(stack, nodes[i]);
 		}
 	}
 
+	private static void push(Deque<IBasicBlock> stack, IBasicBlock node) {
+		if (node != null) // huh
+			stack.push(node);
+	}
+
 	public Collection<IBasicBlock> getDeadNodes() {
 		Collection<IBasicBlock> result = new LinkedHashSet<>();
 		getDeadNodes(result);
@@ -143,22 +159,21 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	}
 
 	public void getDeadNodes(IBasicBlock start, Collection<IBasicBlock> result, Collection<IBasicBlock> liveNodes) {
-		if (start == null)
-			return; // huh
-		if (result.contains(start))
-			return;
-		if (liveNodes.contains(start))
-			return; // a live node is by definition not dead
-		result.add(start);
-		for (IBasicBlock bb : start.getOutgoingNodes()) {
-			getDeadNodes(bb, result, liveNodes);
-		}
-		if (start instanceof IConnectorNode) {
-			// Sometimes, a dead connector node can have incoming nodes that are not otherwise reachable
-			// from unconnected nodes (this happens for a branch node for a dead label).
-			for (IBasicBlock bb : start.getIncomingNodes()) {
-				getDeadNodes(bb, result, liveNodes);
+		Deque<IBasicBlock> stack = new ArrayDeque<>();
+		push(stack, start);
+		while (!stack.isEmpty()) {
+			IBasicBlock node = stack.pop();
+			if (result.contains(node))
+				continue;
+			if (liveNodes.contains(node))
+				continue; // a live node is by definition not dead
+			result.add(node);
+			if (node instanceof IConnectorNode) {
+				// Sometimes, a dead connector node can have incoming nodes that are not otherwise reachable
+				// from unconnected nodes (this happens for a branch node for a dead label).
+				pushAll(stack, node.getIncomingNodes());
 			}
+			pushAll(stack, node.getOutgoingNodes());
 		}
 	}
 }
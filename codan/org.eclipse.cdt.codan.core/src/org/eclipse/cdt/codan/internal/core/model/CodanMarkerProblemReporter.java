@@ -16,6 +16,7 @@ package org.eclipse.cdt.codan.internal.core.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.CodanRuntime;
@@ -43,6 +44,67 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 	private IResource resource;
 	private IChecker checker;
 	private ArrayList<ICodanProblemMarker> toAdd = new ArrayList<>();
+	/** The batch collecting the finished sessions of the current thread, if any. */
+	private static final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+
+	/**
+	 * Sessions finished while the batch was open on a thread. The markers of the sessions are
+	 * reconciled later, in a single workspace operation, by the thread calling {@link #flush()}.
+	 * This allows checkers to run in threads that must not wait for the workspace, e.g. while
+	 * another thread holds the workspace lock during a build.
+	 */
+	public static final class Batch {
+		private final List<CodanMarkerProblemReporter> sessions = new ArrayList<>();
+
+		private Batch() {
+		}
+
+		/**
+		 * Stops collecting sessions on the current thread.
+		 */
+		public void close() {
+			if (currentBatch.get() == this) {
+				currentBatch.remove();
+			}
+		}
+
+		/**
+		 * Reconciles the markers of the collected sessions.
+		 */
+		public void flush() {
+			if (sessions.isEmpty())
+				return;
+			try {
+				ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+					@Override
+					public void run(IProgressMonitor monitor) throws CoreException {
+						for (CodanMarkerProblemReporter session : sessions) {
+							session.reconcile();
+						}
+					}
+				}, null, IWorkspace.AVOID_UPDATE, null);
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			} finally {
+				for (CodanMarkerProblemReporter session : sessions) {
+					session.toAdd.clear();
+				}
+				sessions.clear();
+			}
+		}
+	}
+
+	/**
+	 * Starts collecting the sessions finished on the current thread, until the returned batch
+	 * is closed.
+	 *
+	 * @return the batch of the current thread.
+	 */
+	public static Batch startBatch() {
+		Batch batch = new Batch();
+		currentBatch.set(batch);
+		return batch;
+	}
 
 	/**
 	 * Create instance, which can be use as factory for
@@ -172,6 +234,11 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 	@Override
 	public void done() {
 		if (checker != null) {
+			Batch batch = currentBatch.get();
+			if (batch != null) {
+				batch.sessions.add(this);
+				return;
+			}
 			if (toAdd.isEmpty()) {
 				deleteProblems(false);
 			} else {
@@ -186,19 +253,7 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
 				@Override
 				public void run(IProgressMonitor monitor) throws CoreException {
-					Collection<IMarker> markers = findResourceMarkers(resource, checker);
-					for (IMarker m : markers) {
-						ICodanProblemMarker cm = similarMarker(m);
-						if (cm == null) {
-							m.delete();
-						} else {
-							updateMarker(m, cm);
-							toAdd.remove(cm);
-						}
-					}
-					for (ICodanProblemMarker cm : toAdd) {
-						cm.createMarker();
-					}
+					reconcile();
 				}
 			}, null, IWorkspace.AVOID_UPDATE, null);
 		} catch (CoreException e) {
@@ -206,6 +261,22 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 		}
 	}
 
+	private void reconcile() throws CoreException {
+		Collection<IMarker> markers = findResourceMarkers(resource, checker);
+		for (IMarker m : markers) {
+			ICodanProblemMarker cm = similarMarker(m);
+			if (cm == null) {
+				m.delete();
+			} else {
+				updateMarker(m, cm);
+				toAdd.remove(cm);
+			}
+		}
+		for (ICodanProblemMarker cm : toAdd) {
+			cm.createMarker();
+		}
+	}
+
 	/**
 	 * @param m
 	 * @param cm
@@ -57,7 +57,7 @@ public class CodanCReconciler implements ICReconcilingListener {
 		IProject project = resource.getProject();
 		IPreferenceStore store = CodanUIActivator.getDefault().getPreferenceStore(project);
 		if (store.getBoolean(PreferenceConstants.P_RUN_IN_EDITOR)) {
-			reconsiler.reconciledAst(ast, resource, progressMonitor);
+			reconsiler.reconciledAst(ast, resource, force, progressMonitor);
 		}
 	}
 }
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipse.cdt.internal.core.SourceFileCache;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test suite to test {@link SourceFileCache}.
+ */
+public class SourceFileCacheTest extends TestCase {
+	private File fDirectory;
+	private SourceFileCache fCache;
+
+	public static Test suite() {
+		return new TestSuite(SourceFileCacheTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fDirectory = Files.createTempDirectory("sourceFileCache").toFile();
+		fCache = new SourceFileCache(fDirectory, 2);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		File[] files = fDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		fDirectory.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Makes the entry look as if it was last used the given number of seconds ago.
+	 */
+	private void age(String buildId, int seconds) {
+		File file = new File(fDirectory, buildId);
+		assertTrue(file.setLastModified(System.currentTimeMillis() - seconds * 1000L));
+	}
+
+	public void testPutAndGet() throws Exception {
+		String[] files = { "/src/main.c", "/src/util.c" };
+		fCache.put("0a1b", files);
+		assertEquals(1, fCache.size());
+		assertTrue(Arrays.equals(files, fCache.get("0a1b")));
+	}
+
+	public void testMissingEntry() throws Exception {
+		assertNull(fCache.get("0a1b"));
+		fCache.put("0a1b", new String[] { "/src/main.c" });
+		assertNull(fCache.get("2c3d"));
+		fCache.remove("0a1b");
+		assertNull(fCache.get("0a1b"));
+	}
+
+	public void testReplaceEntry() throws Exception {
+		fCache.put("0a1b", new String[] { "/src/main.c" });
+		fCache.put("0a1b", new String[] { "/src/other.c" });
+		assertEquals(1, fCache.size());
+		assertEquals("/src/other.c", fCache.get("0a1b")[0]);
+	}
+
+	public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+		fCache.put("0a1b", new String[] { "/src/a.c" });
+		age("0a1b", 30);
+		fCache.put("2c3d", new String[] { "/src/b.c" });
+		age("2c3d", 20);
+		// Using the older entry makes the other one the least recently used.
+		assertNotNull(fCache.get("0a1b"));
+		fCache.put("4e5f", new String[] { "/src/c.c" });
+		assertEquals(2, fCache.size());
+		assertNotNull(fCache.get("0a1b"));
+		assertNull(fCache.get("2c3d"));
+		assertNotNull(fCache.get("4e5f"));
+	}
+}
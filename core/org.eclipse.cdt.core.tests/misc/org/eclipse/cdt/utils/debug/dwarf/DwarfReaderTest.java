@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.debug.dwarf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.internal.core.SourceFileCache;
+import org.eclipse.cdt.utils.debug.tools.DebugSymsRequestor;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for finding the source files of a binary with {@link DwarfReader}.
+ * <p>
+ * The binary in resources/dwarf is built from the sources next to it with the Makefile there.
+ * It has two compilation units with DWARF 4 debug info and a GNU build-id.
+ */
+public class DwarfReaderTest extends TestCase {
+	private static final String BINARY = "resources/dwarf/dwarf4_g";
+	private static final String BUILD_ID = "99c462e60bc26e8d058fbff8e28f7db659a6629a";
+
+	public static Test suite() {
+		return new TestSuite(DwarfReaderTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		SourceFileCache cache = SourceFileCache.getDefault();
+		if (cache != null) {
+			cache.remove(BUILD_ID);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		SourceFileCache cache = SourceFileCache.getDefault();
+		if (cache != null) {
+			cache.remove(BUILD_ID);
+		}
+		super.tearDown();
+	}
+
+	private static String source(String name) {
+		return new Path("/src").append(name).toOSString();
+	}
+
+	public void testSourceFiles() throws Exception {
+		Set<String> files = new HashSet<>(Arrays.asList(new DwarfReader(BINARY).getSourceFiles()));
+		Set<String> expected = new HashSet<>(
+				Arrays.asList(source("main.c"), source("util.c"), source("util.h")));
+		assertEquals(expected, files);
+	}
+
+	/**
+	 * Only the unit entries are decoded to find the source files, the remaining entries of each
+	 * unit are skipped. All units have to be found nevertheless.
+	 */
+	public void testSourceFilesContainAllUnits() throws Exception {
+		final List<String> units = new ArrayList<>();
+		new Dwarf(BINARY).parse(new DebugSymsRequestor() {
+			@Override
+			public void enterCompilationUnit(String name, long address) {
+				units.add(name);
+				super.enterCompilationUnit(name, address);
+			}
+		});
+		assertEquals(Arrays.asList("main.c", "util.c"), units);
+
+		List<String> files = Arrays.asList(new DwarfReader(BINARY).getSourceFiles());
+		for (String unit : units) {
+			assertTrue(unit, files.contains(source(unit)));
+		}
+	}
+
+	public void testSourceFilesAreCachedByBuildId() throws Exception {
+		SourceFileCache cache = SourceFileCache.getDefault();
+		assertNotNull(cache);
+		String[] files = new DwarfReader(BINARY).getSourceFiles();
+		assertTrue(Arrays.equals(files, cache.get(BUILD_ID)));
+
+		// The binary is not read again when it is opened with the same build-id.
+		String[] cached = { source("cached.c") };
+		cache.put(BUILD_ID, cached);
+		assertTrue(Arrays.equals(cached, new DwarfReader(BINARY).getSourceFiles()));
+	}
+}
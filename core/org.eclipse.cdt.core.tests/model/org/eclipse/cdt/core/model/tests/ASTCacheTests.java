@@ -148,6 +148,8 @@ public class ASTCacheTests extends BaseTestCase {
 		checkSingleThreadAccess();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
+		checkRecentASTs();
+		checkLargeASTIsEvicted();
 	}
 
 	private void checkActiveElement() throws Exception {
@@ -318,6 +320,80 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	private IASTTranslationUnit getAST(ASTCache cache, ITranslationUnit tUnit, boolean wait) {
+		final IASTTranslationUnit[] result = new IASTTranslationUnit[1];
+		cache.runOnAST(tUnit, wait, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				result[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		return result[0];
+	}
+
+	private void checkRecentASTs() throws Exception {
+		ASTCache cache = new ASTCache(1, Long.MAX_VALUE);
+		cache.setActiveElement(fTU1);
+		IASTTranslationUnit ast1 = getAST(cache, fTU1, true);
+		assertNotNull(ast1);
+
+		// The AST of the previously active element is kept.
+		cache.setActiveElement(fTU2);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		IASTTranslationUnit ast2 = getAST(cache, fTU2, true);
+		assertNotNull(ast2);
+		assertNotSame(ast1, ast2);
+
+		// Switching back does not require a new AST.
+		cache.setActiveElement(fTU1);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		assertSame(ast2, getAST(cache, fTU2, false));
+
+		// Only one AST besides the active one fits into the cache.
+		cache.setActiveElement(null);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		assertNull(getAST(cache, fTU2, false));
+
+		// A change of the contents invalidates the AST.
+		cache.aboutToBeReconciled(fTU1);
+		assertNull(getAST(cache, fTU1, false));
+
+		ASTCache.Statistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.fEvictions);
+		assertEquals(0, statistics.fRecentASTs);
+		cache.disposeAll();
+	}
+
+	private void checkLargeASTIsEvicted() throws Exception {
+		StringBuilder source = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			source.append("int f").append(i).append("(int a) { return a + ").append(i).append("; }\n");
+		}
+		IFile file = createFile(fProject.getProject(), "large.cpp", source.toString());
+		ITranslationUnit largeTU = (ITranslationUnit) CoreModel.getDefault().create(file);
+		assertNotNull(largeTU);
+
+		// The limit is in bytes, an AST needs a lot more bytes than it has characters of code.
+		ASTCache cache = new ASTCache(4, 10L * source.length());
+		cache.setActiveElement(fTU1);
+		IASTTranslationUnit ast1 = getAST(cache, fTU1, true);
+		assertNotNull(ast1);
+		cache.setActiveElement(largeTU);
+		assertNotNull(getAST(cache, largeTU, true));
+
+		// The small AST is kept, the large one is dropped when it is no longer active.
+		cache.setActiveElement(fTU2);
+		assertSame(ast1, getAST(cache, fTU1, false));
+		assertNull(getAST(cache, largeTU, false));
+
+		ASTCache.Statistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.fRecentASTs);
+		assertTrue(statistics.fRecentSize > SOURCE1.length());
+		assertTrue(statistics.fRecentSize <= 10L * source.length());
+		cache.disposeAll();
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
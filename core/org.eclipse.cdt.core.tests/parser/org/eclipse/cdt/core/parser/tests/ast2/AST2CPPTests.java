@@ -145,6 +145,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.SemanticQueries;
 import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTNameBase;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClassType;
@@ -13135,4 +13136,29 @@ public class AST2CPPTests extends AST2CPPTestBase {
 		parseAndCheckImplicitNameBindings();
 	}
 
+	//	typedef int T;
+	//	int x, y;
+	//	int f(int);
+	//	double f(double);
+	//	constexpr int c() { return 1; }
+	//	void g1() { T * p; x * y; f(1); f(1.0); }
+	//	void g2() { T * p; x * y; f(2); f(2.0); }
+	//	void g3() { T * p; x * y; f(3); f(c()); }
+	public void testParallelResolutionOfFunctionBodies() throws Exception {
+		ParallelResolution.setParallelism(4);
+		try {
+			BindingAssertionHelper bh = getAssertionHelper();
+			ICPPFunction fi = bh.assertNonProblem("f(int)", 1);
+			ICPPFunction fd = bh.assertNonProblem("f(double)", 1);
+			for (int i = 1; i <= 3; i++) {
+				bh.assertNonProblem("T * p; x * y; f(" + i, "p", ICPPVariable.class);
+				assertSame(fi, bh.assertNonProblem("f(" + i + ")", 1));
+			}
+			assertSame(fd, bh.assertNonProblem("f(1.0)", 1));
+			assertSame(fd, bh.assertNonProblem("f(2.0)", 1));
+			assertSame(fi, bh.assertNonProblem("f(c())", 1));
+		} finally {
+			ParallelResolution.setParallelism(1);
+		}
+	}
 }
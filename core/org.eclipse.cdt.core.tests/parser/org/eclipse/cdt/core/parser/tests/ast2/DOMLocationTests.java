@@ -70,10 +70,22 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNewExpression;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTQualifiedName;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.IProblem;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
 import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ANSICPPParserExtensionConfiguration;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
 import org.eclipse.cdt.internal.core.parser.ParserException;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
 
 import junit.framework.TestSuite;
 
@@ -833,4 +845,102 @@ public class DOMLocationTests extends AST2TestBase {
 
 		});
 	}
+
+	/**
+	 * Returns a parser for the new version of the code that may reuse the function bodies of the
+	 * ast for the previous version.
+	 */
+	private GNUCPPSourceParser createIncrementalParser(String code, String newCode) throws Exception {
+		IASTTranslationUnit tu = parse(code, ParserLanguage.CPP);
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(
+				createScanner(FileContent.create(TEST_CODE, newCode.toCharArray()), ParserLanguage.CPP,
+						ParserMode.COMPLETE_PARSE, createScannerInfo(false)),
+				ParserMode.COMPLETE_PARSE, NULL_LOG, new ANSICPPParserExtensionConfiguration(), null);
+		parser.setPreviousVersion(tu, new CharArray(code), new CharArray(newCode));
+		return parser;
+	}
+
+	// struct A { int m(); };
+	// int A::m() { return 1; }
+	// int f(int x) {
+	//   return x;
+	// }
+	// int g() { A a; return a.m() + f(2); }
+	public void testIncrementalReparse() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("return x;", "int y = x;\n  return x + y;");
+		GNUCPPSourceParser parser = createIncrementalParser(code, newCode);
+		IASTTranslationUnit newTu = parser.parse();
+		// The bodies of A::m() and g() are copied, the edited body of f() is parsed.
+		assertEquals(2, parser.getReusedFunctionBodyCount());
+		assertFalse(parser.needsFullParse());
+
+		IASTDeclaration[] declarations = newTu.getDeclarations();
+		assertEquals(4, declarations.length);
+		assertFileLocation(declarations[1], newCode, "int A::m() { return 1; }");
+		assertFileLocation(declarations[2], newCode, "int f(int x) {\n  int y = x;\n  return x + y;\n}");
+		IASTFunctionDefinition fdef = (IASTFunctionDefinition) declarations[3];
+		assertFileLocation(fdef, newCode, "int g() { A a; return a.m() + f(2); }");
+		assertFileLocation(fdef.getBody(), newCode, "{ A a; return a.m() + f(2); }");
+
+		IASTName name = newTu.getNodeSelector(null).findName(newCode.indexOf("m() + f"), 1);
+		assertNotNull(name);
+		assertTrue(name.resolveBinding() instanceof ICPPMethod);
+		name = newTu.getNodeSelector(null).findName(newCode.indexOf("f(2)"), 1);
+		assertNotNull(name);
+		assertTrue(name.resolveBinding() instanceof ICPPFunction);
+	}
+
+	// int g() { return 2; }
+	// constexpr int f(int x) {
+	//   return x;
+	// }
+	// int h() { return g(); }
+
+	// int g() { return 2; }
+	// auto f(int x) {
+	//   return x;
+	// }
+	// int h() { return g(); }
+
+	// int g() { return 2; }
+	// template<typename T> T f(T x) {
+	//   return x;
+	// }
+	// int h() { return g(); }
+	public void testNoReuseWhenEditedFunctionAffectsOtherCode() throws Exception {
+		for (CharSequence contents : getContents(3)) {
+			String code = contents.toString();
+			String newCode = code.replace("return x;", "return x + 1;");
+			GNUCPPSourceParser parser = createIncrementalParser(code, newCode);
+			parser.parse();
+			assertEquals(code, 0, parser.getReusedFunctionBodyCount());
+		}
+	}
+
+	// struct A { int m(); };
+	// int A::m() { return 1; }
+	// int f(int x) {
+	//   return x;
+	// }
+	// int g() { A a; return a.m() + f(2); }
+	public void testIncrementalReparseWithLanguage() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("return x;", "int y = x;\n  return x + y;");
+		FileContent content = FileContent.create(TEST_CODE, code.toCharArray());
+		FileContent newContent = FileContent.create(TEST_CODE, newCode.toCharArray());
+		IScannerInfo scannerInfo = new ScannerInfo();
+		IncludeFileContentProvider provider = IncludeFileContentProvider.getEmptyFilesProvider();
+		GPPLanguage language = GPPLanguage.getDefault();
+		IASTTranslationUnit tu = language.getASTTranslationUnit(content, scannerInfo, provider, null, 0,
+				new NullLogService());
+		IASTTranslationUnit newTu = language.getASTTranslationUnit(newContent, scannerInfo, provider, null, 0,
+				new NullLogService(), tu, content);
+
+		IASTDeclaration[] declarations = newTu.getDeclarations();
+		assertEquals(4, declarations.length);
+		assertFileLocation(declarations[2], newCode, "int f(int x) {\n  int y = x;\n  return x + y;\n}");
+		IASTFunctionDefinition fdef = (IASTFunctionDefinition) declarations[3];
+		assertFileLocation(fdef.getBody(), newCode, "{ A a; return a.m() + f(2); }");
+	}
 }
@@ -25,6 +25,7 @@ public class AllConstexprEvalTests {
 		suite.addTest(MemberVariableTests.SingleProject.suite());
 		suite.addTest(FunctionTests.NonIndexing.suite());
 		suite.addTest(FunctionTests.SingleProject.suite());
+		suite.addTest(ConstexprEvaluationBudgetTests.suite());
 		suite.addTest(FunctionTemplateTests.NonIndexing.suite());
 		suite.addTest(FunctionTemplateTests.SingleProject.suite());
 		suite.addTest(ClassTemplateTests.NonIndexing.suite());
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2.cxx14.constexpr;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ConstexprEvaluationBudget;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for accounting the time of constexpr evaluations to a {@link ConstexprEvaluationBudget}.
+ */
+public class ConstexprEvaluationBudgetTests extends BaseTestCase {
+	public static TestSuite suite() {
+		return suite(ConstexprEvaluationBudgetTests.class);
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+		}
+	}
+
+	/**
+	 * Performs an evaluation with a few steps, fewer than the steps between the checks of the time.
+	 */
+	private static boolean evaluate(ConstexprEvaluationBudget budget, long nanos) {
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext(budget);
+		try {
+			for (int i = 0; i < 3; i++) {
+				if (context.recordStep().isBudgetExhausted())
+					return false;
+				spin(nanos / 3);
+			}
+			return true;
+		} finally {
+			context.finish();
+		}
+	}
+
+	public void testShortEvaluationsUseUpTime() throws Exception {
+		ConstexprEvaluationBudget budget = new ConstexprEvaluationBudget(1024, 2);
+		int completed = 0;
+		for (int i = 0; i < 1000 && evaluate(budget, 60000); i++) {
+			completed++;
+		}
+		assertTrue(budget.isTimeExhausted());
+		assertTrue(budget.getUsedTime() >= 2);
+		// 2 ms are used up after 34 evaluations of at least 60 us.
+		assertTrue(String.valueOf(completed), completed <= 34);
+		assertFalse(evaluate(budget, 0));
+	}
+
+	public void testNestedEvaluationIsNotCountedTwice() throws Exception {
+		ConstexprEvaluationBudget budget = new ConstexprEvaluationBudget(1024, 1000);
+		long start = System.nanoTime();
+		ConstexprEvaluationContext outer = new ConstexprEvaluationContext(budget);
+		try {
+			ConstexprEvaluationContext inner = new ConstexprEvaluationContext(budget);
+			try {
+				spin(20000000);
+			} finally {
+				inner.finish();
+			}
+		} finally {
+			outer.finish();
+		}
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		assertTrue(budget.getUsedTime() >= 20);
+		assertTrue(budget.getUsedTime() <= elapsed);
+	}
+
+	public void testFinishIsIdempotent() throws Exception {
+		ConstexprEvaluationBudget budget = new ConstexprEvaluationBudget(1024, 1000);
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext(budget);
+		spin(5000000);
+		context.finish();
+		long used = budget.getUsedTime();
+		spin(5000000);
+		context.finish();
+		assertEquals(used, budget.getUsedTime());
+	}
+}
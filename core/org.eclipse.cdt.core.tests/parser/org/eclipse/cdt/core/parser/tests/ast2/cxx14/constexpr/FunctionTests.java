@@ -11,11 +11,17 @@
 *******************************************************************************/
 package org.eclipse.cdt.core.parser.tests.ast2.cxx14.constexpr;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.cdt.core.dom.ast.IASTFunctionCallExpression;
 import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
 import org.eclipse.cdt.core.dom.ast.IASTInitializerClause;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ConstexprEvaluationBudget;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 
 import junit.framework.TestSuite;
@@ -274,4 +280,36 @@ public class FunctionTests extends TestBase {
 	//	    .m(21).m(22).m(23).m(24).m(25).m(26).m(27).m(28).m(29).m(30);
 	public void testLongCallChain_505606() throws Exception {
 	}
+
+	//	constexpr int fib(int n) {
+	//	  return n < 2 ? n : fib(n - 1) + fib(n - 2);
+	//	}
+
+	//	constexpr int x = fib(30);
+	public void testCallsWithSameArgumentsAreMemoized() throws Exception {
+		assertEvaluationEquals(832040);
+	}
+
+	//	constexpr int sum(int n) {
+	//	  int s = 0;
+	//	  for (int i = 0; i < n; i++)
+	//	    s += i;
+	//	  return s;
+	//	}
+
+	//	constexpr int x = sum(100);
+	public void testStepBudgetAndProfiler() throws Exception {
+		final List<String> exhausted = new ArrayList<>();
+		ConstexprEvaluationBudget budget = new ConstexprEvaluationBudget(50, 0);
+		budget.setProfiler(new ConstexprEvaluationBudget.IProfiler() {
+			@Override
+			public void functionEvaluated(ICPPFunction function, int steps, long nanos, boolean budgetExhausted) {
+				if (budgetExhausted)
+					exhausted.add(function.getName());
+			}
+		});
+		((CPPASTTranslationUnit) strategy.getAst(0)).setConstexprEvaluationBudget(budget);
+		assertNull(getValue().numberValue());
+		assertEquals(Arrays.asList("sum"), exhausted);
+	}
 }
\ No newline at end of file
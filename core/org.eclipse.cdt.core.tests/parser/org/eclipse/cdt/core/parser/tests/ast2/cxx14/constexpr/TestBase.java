@@ -103,7 +103,7 @@ public class TestBase extends IndexBindingResolutionTestBase {
 		assertEquals(expectedValue, floatingPointValue.numberValue().doubleValue(), 0.001);
 	}
 
-	private IValue getValue() throws Exception {
+	protected IValue getValue() throws Exception {
 		ICPPASTInitializerClause point = getLastDeclarationInitializer();
 		ICPPEvaluation evaluation = point.getEvaluation();
 		try {
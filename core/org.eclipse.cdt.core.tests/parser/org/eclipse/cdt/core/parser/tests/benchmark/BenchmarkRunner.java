@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Measures the throughput and the allocation rate of a benchmark. Each benchmark is run for a
+ * number of warm-up iterations followed by the measured iterations. The input of an iteration
+ * is prepared outside of the measurement.
+ * <p>
+ * The number of iterations can be configured with the system properties
+ * {@code cdt.benchmark.warmup} and {@code cdt.benchmark.iterations}.
+ */
+public final class BenchmarkRunner {
+	/**
+	 * A piece of code to measure.
+	 */
+	public interface Benchmark<T> {
+		/**
+		 * Creates the input for one iteration, not included in the measurement.
+		 */
+		T prepare() throws Exception;
+
+		/**
+		 * Runs one iteration and returns the number of processed items, e.g. tokens or names.
+		 */
+		int run(T input) throws Exception;
+	}
+
+	/**
+	 * The result of measuring a benchmark.
+	 */
+	public static final class Result {
+		public final String fName;
+		public final int fIterations;
+		public final long fItems;
+		public final long fNanos;
+		public final long fAllocatedBytes; // -1 if allocations cannot be measured
+
+		Result(String name, int iterations, long items, long nanos, long allocatedBytes) {
+			fName = name;
+			fIterations = iterations;
+			fItems = items;
+			fNanos = nanos;
+			fAllocatedBytes = allocatedBytes;
+		}
+
+		public double getMillisPerIteration() {
+			return fNanos / 1e6 / fIterations;
+		}
+
+		public double getItemsPerSecond() {
+			return fNanos == 0 ? 0 : fItems * 1e9 / fNanos;
+		}
+
+		public double getBytesPerItem() {
+			return fItems == 0 || fAllocatedBytes < 0 ? 0 : (double) fAllocatedBytes / fItems;
+		}
+
+		public double getAllocationRate() {
+			return fNanos == 0 || fAllocatedBytes < 0 ? 0 : fAllocatedBytes * 1e9 / fNanos / (1024 * 1024);
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%-32s %10.2f ms/op %14.0f items/s %10.1f B/item %10.1f MB/s",
+					fName, getMillisPerIteration(), getItemsPerSecond(), getBytesPerItem(), getAllocationRate());
+		}
+	}
+
+	private static final int WARMUP_ITERATIONS = Integer.getInteger("cdt.benchmark.warmup", 5);
+	private static final int MEASURED_ITERATIONS = Integer.getInteger("cdt.benchmark.iterations", 10);
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	private static final Method GET_ALLOCATED_BYTES = findAllocatedBytesMethod();
+
+	// Prevents the JIT from eliminating the measured code.
+	private static volatile long sink;
+
+	private BenchmarkRunner() {
+	}
+
+	private static Method findAllocatedBytesMethod() {
+		try {
+			// The interface is specific to HotSpot based VMs.
+			Class<?> beanClass = ClassLoader.getSystemClassLoader().loadClass("com.sun.management.ThreadMXBean");
+			if (beanClass.isInstance(THREAD_BEAN)) {
+				Method method = beanClass.getMethod("getThreadAllocatedBytes", long.class);
+				if (((Long) method.invoke(THREAD_BEAN, Thread.currentThread().getId())) >= 0)
+					return method;
+			}
+		} catch (Exception e) {
+			// Allocations are not measured.
+		}
+		return null;
+	}
+
+	private static long getAllocatedBytes() {
+		if (GET_ALLOCATED_BYTES == null)
+			return 0;
+		try {
+			return (Long) GET_ALLOCATED_BYTES.invoke(THREAD_BEAN, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the number of bytes used on the heap after garbage collection.
+	 */
+	public static long usedMemory() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		long mem = runtime.totalMemory() - runtime.freeMemory();
+		long newMem = mem;
+		int i = 0;
+		do {
+			Thread.sleep(50);
+			System.gc();
+			mem = newMem;
+			newMem = runtime.totalMemory() - runtime.freeMemory();
+		} while (newMem < mem && ++i < 5);
+		return mem;
+	}
+
+	/**
+	 * Measures the given benchmark and prints the result to {@code System.out}.
+	 */
+	public static <T> Result measure(String name, Benchmark<T> benchmark) throws Exception {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sink += benchmark.run(benchmark.prepare());
+		}
+		long items = 0;
+		long nanos = 0;
+		long bytes = 0;
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			T input = benchmark.prepare();
+			final long bytesBefore = getAllocatedBytes();
+			final long start = System.nanoTime();
+			final int count = benchmark.run(input);
+			nanos += System.nanoTime() - start;
+			bytes += getAllocatedBytes() - bytesBefore;
+			items += count;
+			sink += count;
+		}
+		Result result = new Result(name, MEASURED_ITERATIONS, items, nanos,
+				GET_ALLOCATED_BYTES == null ? -1 : bytes);
+		System.out.println(result);
+		return result;
+	}
+}
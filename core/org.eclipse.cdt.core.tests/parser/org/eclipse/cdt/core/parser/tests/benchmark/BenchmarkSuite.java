@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Benchmarks for the parser and the index. The suite is not part of the automated tests, run it
+ * with {@code mvn verify -Pbenchmarks} in this project.
+ */
+public class BenchmarkSuite extends TestSuite {
+
+	public static Test suite() {
+		TestSuite suite = new BenchmarkSuite();
+		suite.addTest(ParserBenchmarks.suite());
+		suite.addTest(PDOMBenchmarks.suite());
+		return suite;
+	}
+}
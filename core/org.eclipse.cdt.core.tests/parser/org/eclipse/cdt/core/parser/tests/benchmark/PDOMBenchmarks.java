@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import java.io.File;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+import junit.framework.Test;
+
+/**
+ * Benchmarks for the database of the index: allocation of records and searches in a b-tree.
+ */
+public class PDOMBenchmarks extends BaseTestCase {
+	private static final int RECORD_COUNT = 100000;
+	private static final int SEARCH_COUNT = 10000;
+	private static final int MALLOC_COUNT = 20000;
+
+	private File fFile;
+	private Database fDatabase;
+
+	public static Test suite() {
+		return suite(PDOMBenchmarks.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fFile = File.createTempFile("pdombenchmark", ".dat");
+		fDatabase = new Database(fFile, new ChunkCache(), 0, false);
+		fDatabase.setExclusiveLock();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fDatabase.close();
+		if (!fFile.delete()) {
+			fFile.deleteOnExit();
+		}
+		super.tearDown();
+	}
+
+	public void testDatabaseMalloc() throws Exception {
+		BenchmarkRunner.measure("Database.malloc", new BenchmarkRunner.Benchmark<long[]>() {
+			@Override
+			public long[] prepare() {
+				return new long[MALLOC_COUNT];
+			}
+
+			@Override
+			public int run(long[] records) throws Exception {
+				for (int i = 0; i < records.length; i++) {
+					records[i] = fDatabase.malloc(8 + (i % 64) * 8);
+				}
+				for (long record : records) {
+					fDatabase.free(record);
+				}
+				return records.length;
+			}
+		});
+	}
+
+	public void testBTreeAccept() throws Exception {
+		final long root = fDatabase.malloc(Database.PTR_SIZE);
+		final IBTreeComparator comparator = new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return Integer.compare(fDatabase.getInt(record1), fDatabase.getInt(record2));
+			}
+		};
+		final BTree btree = new BTree(fDatabase, root, comparator);
+		long[] records = new long[RECORD_COUNT];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = fDatabase.malloc(Database.INT_SIZE);
+			fDatabase.putInt(records[i], i);
+		}
+		btree.insertAll(records);
+
+		final Random random = new Random(42);
+		BenchmarkRunner.measure("BTree.accept", new BenchmarkRunner.Benchmark<int[]>() {
+			@Override
+			public int[] prepare() {
+				int[] keys = new int[SEARCH_COUNT];
+				for (int i = 0; i < keys.length; i++) {
+					keys[i] = random.nextInt(RECORD_COUNT);
+				}
+				return keys;
+			}
+
+			@Override
+			public int run(int[] keys) throws Exception {
+				final int[] found = new int[1];
+				for (final int key : keys) {
+					btree.accept(new IBTreeVisitor() {
+						@Override
+						public int compare(long record) throws CoreException {
+							return Integer.compare(fDatabase.getInt(record), key);
+						}
+
+						@Override
+						public boolean visit(long record) throws CoreException {
+							found[0]++;
+							return false;
+						}
+					});
+				}
+				return found[0];
+			}
+		});
+	}
+}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IParserLogService;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+
+import junit.framework.Test;
+
+/**
+ * Benchmarks for the stages of the C++ parser: lexing, preprocessing, macro expansion, parsing,
+ * name resolution and template instantiation. The benchmarks run on generated code. In addition
+ * the files of a directory given by the system property {@code cdt.benchmark.corpus} are parsed,
+ * with the directory as include path.
+ */
+public class ParserBenchmarks extends BaseTestCase {
+	private static final int CORPUS_SIZE = Integer.getInteger("cdt.benchmark.size", 500);
+	private static final IParserLogService NULL_LOG = new NullLogService();
+	private static final IScannerInfo SCANNER_INFO = new ScannerInfo();
+
+	private static String sDeclarations;
+	private static String sMacros;
+	private static String sTemplates;
+
+	public static Test suite() {
+		return suite(ParserBenchmarks.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		if (sDeclarations == null) {
+			sDeclarations = SyntheticCorpus.declarations(CORPUS_SIZE);
+			sMacros = SyntheticCorpus.macros(CORPUS_SIZE);
+			sTemplates = SyntheticCorpus.templates(CORPUS_SIZE);
+		}
+	}
+
+	private static CPreprocessor createPreprocessor(FileContent content, IScannerInfo info,
+			IncludeFileContentProvider contentProvider) {
+		return new CPreprocessor(content, info, ParserLanguage.CPP, NULL_LOG,
+				GPPScannerExtensionConfiguration.getInstance(info), contentProvider);
+	}
+
+	private static CPreprocessor createPreprocessor(String code) {
+		return createPreprocessor(FileContent.create("<benchmark>", code.toCharArray()), SCANNER_INFO,
+				IncludeFileContentProvider.getEmptyFilesProvider());
+	}
+
+	private static IASTTranslationUnit parse(CPreprocessor preprocessor) {
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(preprocessor, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		return parser.parse();
+	}
+
+	private static int preprocess(CPreprocessor preprocessor) throws Exception {
+		preprocessor.getLocationMap().setRootNode(new CPPASTTranslationUnit());
+		int count = 0;
+		try {
+			while (true) {
+				preprocessor.nextToken();
+				count++;
+			}
+		} catch (EndOfFileException e) {
+		}
+		return count;
+	}
+
+	private static int resolveAllNames(IASTTranslationUnit tu) {
+		final int[] count = new int[1];
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				name.resolveBinding();
+				count[0]++;
+				return PROCESS_CONTINUE;
+			}
+		});
+		return count[0];
+	}
+
+	public void testLexer() throws Exception {
+		final char[] input = sDeclarations.toCharArray();
+		BenchmarkRunner.measure("Lexer", new BenchmarkRunner.Benchmark<Lexer>() {
+			@Override
+			public Lexer prepare() {
+				return new Lexer(input, new LexerOptions(), ILexerLog.NULL, null);
+			}
+
+			@Override
+			public int run(Lexer lexer) throws Exception {
+				int count = 0;
+				for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+					count++;
+				}
+				return count;
+			}
+		});
+	}
+
+	public void testPreprocessor() throws Exception {
+		BenchmarkRunner.measure("CPreprocessor", new BenchmarkRunner.Benchmark<CPreprocessor>() {
+			@Override
+			public CPreprocessor prepare() {
+				return createPreprocessor(sDeclarations);
+			}
+
+			@Override
+			public int run(CPreprocessor preprocessor) throws Exception {
+				return preprocess(preprocessor);
+			}
+		});
+	}
+
+	public void testMacroExpander() throws Exception {
+		BenchmarkRunner.measure("MacroExpander", new BenchmarkRunner.Benchmark<CPreprocessor>() {
+			@Override
+			public CPreprocessor prepare() {
+				return createPreprocessor(sMacros);
+			}
+
+			@Override
+			public int run(CPreprocessor preprocessor) throws Exception {
+				return preprocess(preprocessor);
+			}
+		});
+	}
+
+	public void testParser() throws Exception {
+		BenchmarkRunner.measure("GNUCPPSourceParser", new BenchmarkRunner.Benchmark<CPreprocessor>() {
+			@Override
+			public CPreprocessor prepare() {
+				return createPreprocessor(sDeclarations);
+			}
+
+			@Override
+			public int run(CPreprocessor preprocessor) throws Exception {
+				return parse(preprocessor).getDeclarations().length;
+			}
+		});
+	}
+
+	public void testResolveBinding() throws Exception {
+		BenchmarkRunner.measure("CPPSemantics.resolveBinding", new BenchmarkRunner.Benchmark<IASTTranslationUnit>() {
+			@Override
+			public IASTTranslationUnit prepare() {
+				return parse(createPreprocessor(sDeclarations));
+			}
+
+			@Override
+			public int run(IASTTranslationUnit tu) throws Exception {
+				return resolveAllNames(tu);
+			}
+		});
+	}
+
+	public void testInstantiate() throws Exception {
+		BenchmarkRunner.measure("CPPTemplates.instantiate", new BenchmarkRunner.Benchmark<IASTTranslationUnit>() {
+			@Override
+			public IASTTranslationUnit prepare() {
+				return parse(createPreprocessor(sTemplates));
+			}
+
+			@Override
+			public int run(IASTTranslationUnit tu) throws Exception {
+				return resolveAllNames(tu);
+			}
+		});
+	}
+
+	/**
+	 * Compares the memory of an ast before and after it is compacted by {@link IASTTranslationUnit#freeze()}.
+	 */
+	public void testASTMemory() throws Exception {
+		IASTTranslationUnit tu = parse(createPreprocessor(sDeclarations));
+		final int[] nodes = new int[1];
+		tu.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				nodes[0]++;
+				return PROCESS_CONTINUE;
+			}
+		});
+
+		long before = BenchmarkRunner.usedMemory();
+		IASTTranslationUnit copy = tu.copy(CopyStyle.withoutLocations);
+		long copied = BenchmarkRunner.usedMemory();
+		copy.freeze();
+		long compacted = BenchmarkRunner.usedMemory();
+		System.out.println(String.format(Locale.ROOT, "%-32s %10.1f B/node %10.1f B/node compacted", "AST memory",
+				(double) (copied - before) / nodes[0], (double) (compacted - before) / nodes[0]));
+		assertTrue(copy.isFrozen());
+	}
+
+	public void testCorpus() throws Exception {
+		String corpus = System.getProperty("cdt.benchmark.corpus");
+		if (corpus == null)
+			return;
+
+		final File dir = new File(corpus);
+		final List<File> files = new ArrayList<>();
+		collectSources(dir, files);
+		final IScannerInfo info = new ScannerInfo(null, new String[] { dir.getAbsolutePath() });
+		BenchmarkRunner.measure("Corpus " + dir.getName(), new BenchmarkRunner.Benchmark<List<File>>() {
+			@Override
+			public List<File> prepare() {
+				return files;
+			}
+
+			@Override
+			public int run(List<File> input) throws Exception {
+				int count = 0;
+				for (File file : input) {
+					FileContent content = FileContent.createForExternalFileLocation(file.getAbsolutePath());
+					IASTTranslationUnit tu = parse(
+							createPreprocessor(content, info, IncludeFileContentProvider.getSavedFilesProvider()));
+					count += resolveAllNames(tu);
+				}
+				return count;
+			}
+		});
+	}
+
+	private static void collectSources(File dir, List<File> result) {
+		File[] children = dir.listFiles();
+		if (children == null)
+			return;
+		for (File child : children) {
+			if (child.isDirectory()) {
+				collectSources(child, result);
+			} else {
+				String name = child.getName();
+				if (name.endsWith(".cpp") || name.endsWith(".cc") || name.endsWith(".cxx")) {
+					result.add(child);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+/**
+ * Generates C++ code for benchmarks. The generated code is free of syntax and semantic
+ * problems, such that all stages of the parser do their full work.
+ */
+public final class SyntheticCorpus {
+	private SyntheticCorpus() {
+	}
+
+	/**
+	 * Returns code with namespaces, classes, member functions and calls between them.
+	 */
+	public static String declarations(int count) {
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			buf.append("namespace ns").append(i).append(" {\n");
+			buf.append("struct S").append(i).append(" {\n");
+			buf.append("	int f;\n");
+			buf.append("	int m(int a) const { return f + a; }\n");
+			buf.append("	static S").append(i).append(" create() { S").append(i)
+					.append(" s; s.f = ").append(i).append("; return s; }\n");
+			buf.append("};\n");
+			buf.append("int func(const S").append(i).append("& s, int x) {\n");
+			buf.append("	S").append(i).append(" t = S").append(i).append("::create();\n");
+			buf.append("	int r = s.m(x) + t.m(x);\n");
+			if (i > 0) {
+				buf.append("	r += ns").append(i - 1).append("::func(ns").append(i - 1).append("::S").append(i - 1)
+						.append("::create(), x);\n");
+			}
+			buf.append("	for (int k = 0; k < x; k++) {\n");
+			buf.append("		r = r * 31 + k;\n");
+			buf.append("	}\n");
+			buf.append("	return r;\n");
+			buf.append("}\n");
+			buf.append("}\n");
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Returns code that makes heavy use of nested function-style macros.
+	 */
+	public static String macros(int count) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("#define CAT_(a, b) a##b\n");
+		buf.append("#define CAT(a, b) CAT_(a, b)\n");
+		buf.append("#define STR_(a) #a\n");
+		buf.append("#define STR(a) STR_(a)\n");
+		buf.append("#define MAX(a, b) ((a) > (b) ? (a) : (b))\n");
+		buf.append("#define DECLARE(type, name) type name = MAX(sizeof(type), 4);\n");
+		buf.append("#define DECLARE_ALL(n) DECLARE(int, CAT(i, n)) DECLARE(long, CAT(l, n)) "
+				+ "const char* CAT(s, n) = STR(n);\n");
+		for (int i = 0; i < count; i++) {
+			buf.append("#define VALUE").append(i).append(' ').append(i).append('\n');
+			buf.append("#if defined(VALUE").append(i).append(") && VALUE").append(i).append(" % 2 == 0\n");
+			buf.append("DECLARE_ALL(").append(i).append(")\n");
+			buf.append("#else\n");
+			buf.append("DECLARE(short, CAT(odd, ").append(i).append("))\n");
+			buf.append("#endif\n");
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Returns code with class templates, partial specializations, function templates and
+	 * recursive instantiations.
+	 */
+	public static String templates(int count) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("template<typename T, int N> struct Array {\n");
+		buf.append("	T data[N];\n");
+		buf.append("	T& operator[](int i) { return data[i]; }\n");
+		buf.append("	static const int size = N;\n");
+		buf.append("};\n");
+		buf.append("template<typename T> struct Traits { typedef T value_type; static const bool is_pointer = false; };\n");
+		buf.append("template<typename T> struct Traits<T*> { typedef T value_type; static const bool is_pointer = true; };\n");
+		buf.append("template<int N> struct Fact { static const int value = N * Fact<N - 1>::value; };\n");
+		buf.append("template<> struct Fact<0> { static const int value = 1; };\n");
+		buf.append("template<typename T> T maximum(T a, T b) { return a > b ? a : b; }\n");
+		for (int i = 0; i < count; i++) {
+			buf.append("struct E").append(i).append(" {\n");
+			buf.append("	int v;\n");
+			buf.append("	bool operator>(const E").append(i).append("& o) const { return v > o.v; }\n");
+			buf.append("};\n");
+			buf.append("typedef Array<E").append(i).append(", ").append(i % 16 + 1).append("> A").append(i)
+					.append(";\n");
+			buf.append("typedef Traits<E").append(i).append("*>::value_type V").append(i).append(";\n");
+			buf.append("int use").append(i).append("() {\n");
+			buf.append("	A").append(i).append(" a;\n");
+			buf.append("	V").append(i).append(" v = maximum(a[0], a[1]);\n");
+			buf.append("	return v.v + Fact<").append(i % 10).append(">::value + A").append(i).append("::size;\n");
+			buf.append("}\n");
+		}
+		return buf.toString();
+	}
+}
@@ -24,6 +24,7 @@ import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.MappedCharArray;
 
 import junit.framework.TestSuite;
 
@@ -66,6 +67,39 @@ public class FileCharArrayTests extends BaseTestCase {
 		testFile(false, LazyCharArray.CHUNK_SIZE * 3 + 1);
 	}
 
+	public void testMappedASCIIContent() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 3 + 1;
+		createFile(true, charSize);
+
+		AbstractCharArray mapped = createCharArray(true);
+		assertTrue(mapped instanceof MappedCharArray);
+		assertEquals(charSize, mapped.getLength());
+		assertTrue(mapped.isValidOffset(charSize - 1));
+		assertFalse(mapped.isValidOffset(charSize));
+		checkContent(mapped, 0, charSize);
+
+		AbstractCharArray decoded = createCharArray(false);
+		assertTrue(decoded instanceof LazyCharArray);
+		assertEquals(decoded.getContentsHash(), mapped.getContentsHash());
+	}
+
+	public void testMappedNonASCIIContent() throws IOException {
+		createFile(false, LazyCharArray.CHUNK_SIZE * 3);
+
+		AbstractCharArray charArray = createCharArray(true);
+		assertTrue(charArray instanceof LazyCharArray);
+		checkContent(charArray, LazyCharArray.CHUNK_SIZE, LazyCharArray.CHUNK_SIZE * 3);
+	}
+
+	private AbstractCharArray createCharArray(boolean mapASCIIContent) throws IOException {
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			return FileCharArray.create(fFile.getPath(), "utf-8", inputStream, mapASCIIContent);
+		} finally {
+			inputStream.close();
+		}
+	}
+
 	private void testFile(boolean aligned, int charSize) throws IOException {
 		createFile(aligned, charSize);
 
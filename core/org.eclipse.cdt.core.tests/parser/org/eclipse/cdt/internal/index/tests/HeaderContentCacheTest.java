@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
+import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.pdom.HeaderContentCache;
+import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerInputAdapter;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for sharing the contents of headers between translation units with the
+ * {@link HeaderContentCache}.
+ */
+public class HeaderContentCacheTest extends IndexTestBase {
+	private static final String HEADER1 = "int header1();\n";
+	private static final String HEADER2 = "int header2(int);\n";
+
+	private ICProject fCProject;
+	private ProjectIndexerInputAdapter fResolver;
+	private IFile fHeader1;
+	private IFile fHeader2;
+
+	public HeaderContentCacheTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(HeaderContentCacheTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__headerCacheTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+		IProject project = fCProject.getProject();
+		fHeader1 = TestSourceReader.createFile(project, "header1.h", HEADER1);
+		fHeader2 = TestSourceReader.createFile(project, "header2.h", HEADER2);
+		fResolver = new ProjectIndexerInputAdapter(fCProject, false);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private static IIndexFileLocation ifl(IFile file) {
+		return IndexLocationFactory.getWorkspaceIFL(file);
+	}
+
+	private static InternalFileContent read(IFile file) {
+		InternalFileContent content = InternalParserUtil.createFileContent(ifl(file));
+		assertNotNull(file.getName(), content);
+		return content;
+	}
+
+	private static String path(IFile file) {
+		return file.getLocation().toOSString();
+	}
+
+	private static String text(InternalFileContent content) {
+		AbstractCharArray source = content.getSource();
+		char[] chars = new char[source.getLength()];
+		source.arraycopy(0, chars, 0, chars.length);
+		return new String(chars);
+	}
+
+	public void testCachedContentIsShared() throws Exception {
+		HeaderContentCache cache = new HeaderContentCache(fResolver, 1024);
+		assertNull(cache.get(ifl(fHeader1), path(fHeader1)));
+		InternalFileContent content = read(fHeader1);
+		cache.put(ifl(fHeader1), content);
+
+		InternalFileContent cached = cache.get(ifl(fHeader1), path(fHeader1));
+		assertNotNull(cached);
+		assertNotSame(content, cached);
+		assertSame(content.getSource(), cached.getSource());
+		assertEquals(content.getTimestamp(), cached.getTimestamp());
+		assertEquals(path(fHeader1), cached.getFileLocation());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	public void testModifiedFileIsReadAgain() throws Exception {
+		HeaderContentCache cache = new HeaderContentCache(fResolver, 1024);
+		cache.put(ifl(fHeader1), read(fHeader1));
+
+		// Make sure the timestamp differs from the one of the cached content.
+		Thread.sleep(10);
+		fHeader1.setContents(new ByteArrayInputStream("int header1(int);\n".getBytes()), true, false, npm());
+		assertNull(cache.get(ifl(fHeader1), path(fHeader1)));
+		assertEquals(0, cache.getHitCount());
+
+		cache.put(ifl(fHeader1), read(fHeader1));
+		InternalFileContent cached = cache.get(ifl(fHeader1), path(fHeader1));
+		assertNotNull(cached);
+		assertEquals("int header1(int);\n", text(cached));
+	}
+
+	public void testLeastRecentlyUsedContentIsEvicted() throws Exception {
+		// Room for both headers, but not for a third one.
+		HeaderContentCache cache = new HeaderContentCache(fResolver, HEADER1.length() + HEADER2.length() + 4);
+		IFile header3 = TestSourceReader.createFile(fCProject.getProject(), "header3.h", "int h3();\n");
+		cache.put(ifl(fHeader1), read(fHeader1));
+		cache.put(ifl(fHeader2), read(fHeader2));
+		assertNotNull(cache.get(ifl(fHeader1), path(fHeader1)));
+
+		cache.put(ifl(header3), read(header3));
+		assertNotNull(cache.get(ifl(fHeader1), path(fHeader1)));
+		assertNull(cache.get(ifl(fHeader2), path(fHeader2)));
+		assertNotNull(cache.get(ifl(header3), path(header3)));
+	}
+
+	public void testContentProviderUsesCache() throws Exception {
+		HeaderContentCache cache = new HeaderContentCache(fResolver, 1024);
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			IndexBasedFileContentProvider provider = new IndexBasedFileContentProvider(index, fResolver,
+					ILinkage.CPP_LINKAGE_ID, IncludeFileContentProvider.getSavedFilesProvider());
+			provider.setHeaderContentCache(cache);
+			InternalFileContent first = provider.getContentForInclusion(path(fHeader1), null);
+			assertNotNull(first);
+			assertEquals(0, cache.getHitCount());
+			// The header is included again by the next translation unit.
+			provider.resetForTranslationUnit();
+			InternalFileContent second = provider.getContentForInclusion(path(fHeader1), null);
+			assertNotNull(second);
+			assertEquals(1, cache.getHitCount());
+			assertSame(first.getSource(), second.getSource());
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+}
@@ -30,15 +30,21 @@ import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IName;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.DOMException;
+import org.eclipse.cdt.core.dom.ast.IASTCompositeTypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTFieldReference;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionCallExpression;
 import org.eclipse.cdt.core.dom.ast.IASTImplicitName;
 import org.eclipse.cdt.core.dom.ast.IASTImplicitNameOwner;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNodeSelector;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIfdefStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTReturnStatement;
 import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBasicType;
@@ -88,6 +94,7 @@ import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTFunctionDefinition;
 import org.eclipse.cdt.internal.core.pdom.CModelListener;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IContainer;
@@ -2637,4 +2644,60 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	// struct S {
+	//   int f() { int x = 1; return x; }
+	// };
+	// inline int g(S s) { return s.f(); }
+
+	// #include "lazy.h"
+	// int test() { return g(S()); }
+	public void testLazyFunctionBodiesInHeaders() throws Exception {
+		String[] contents = getContentsForTest(2);
+		TestSourceReader.createFile(fCProject.getProject(), "lazy.h", contents[0]);
+		IFile source = TestSourceReader.createFile(fCProject.getProject(), "source.cpp", contents[1]);
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer();
+		ITranslationUnit tu = (ITranslationUnit) CoreModel.getDefault().create(source);
+		IASTTranslationUnit ast = tu.getAST(null, ITranslationUnit.AST_LAZY_FUNCTION_BODIES_IN_HEADERS);
+		IASTDeclaration[] decls = ast.getDeclarations();
+		assertEquals(3, decls.length);
+		IASTCompositeTypeSpecifier s = (IASTCompositeTypeSpecifier) ((IASTSimpleDeclaration) decls[0])
+				.getDeclSpecifier();
+		CPPASTFunctionDefinition f = (CPPASTFunctionDefinition) s.getMembers()[0];
+		CPPASTFunctionDefinition g = (CPPASTFunctionDefinition) decls[1];
+		CPPASTFunctionDefinition test = (CPPASTFunctionDefinition) decls[2];
+
+		// Only the bodies in the header are deferred.
+		assertTrue(f.hasDeferredBody());
+		assertTrue(g.hasDeferredBody());
+		assertFalse(test.hasDeferredBody());
+
+		// The body is parsed on request and is part of the frozen ast.
+		IASTCompoundStatement body = (IASTCompoundStatement) g.getBody();
+		assertFalse(g.hasDeferredBody());
+		assertTrue(((ASTNode) body).isFrozen());
+		assertEquals("{ return s.f(); }", body.getRawSignature());
+		IASTReturnStatement ret = (IASTReturnStatement) body.getStatements()[0];
+		IASTFunctionCallExpression call = (IASTFunctionCallExpression) ret.getReturnValue();
+		IBinding method = ((IASTFieldReference) call.getFunctionNameExpression()).getFieldName().resolveBinding();
+		assertInstance(method, ICPPMethod.class);
+		assertEquals("f", method.getName());
+
+		// Visitors request the remaining bodies.
+		final int[] count = new int[1];
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				if (name.toString().equals("x"))
+					count[0]++;
+				return PROCESS_CONTINUE;
+			}
+		});
+		assertEquals(2, count[0]);
+		assertFalse(f.hasDeferredBody());
+	}
 }
@@ -2552,4 +2552,31 @@ public class IndexCPPBindingResolutionTest extends IndexBindingResolutionTestBas
 	public void testOOM_529646() throws Exception {
 		checkBindings();
 	}
+
+	//	namespace ns {
+	//		int f(int);
+	//		struct S {
+	//			static int g(int);
+	//			static int g(double);
+	//		};
+	//	}
+
+	//	void test() {
+	//		ns::f(1);
+	//		ns::f(2);
+	//		ns::S::g(1);
+	//		ns::S::g(1.0);
+	//		ns::S::g(2);
+	//	}
+	public void testRepeatedLookupsInIndexScopes() throws Exception {
+		ICPPFunction f1 = getBindingFromFirstIdentifier("f(1)", ICPPFunction.class);
+		ICPPFunction f2 = getBindingFromFirstIdentifier("f(2)", ICPPFunction.class);
+		assertSame(f1, f2);
+		ICPPFunction g1 = getBindingFromFirstIdentifier("g(1)", ICPPFunction.class);
+		ICPPFunction g2 = getBindingFromFirstIdentifier("g(1.0)", ICPPFunction.class);
+		ICPPFunction g3 = getBindingFromFirstIdentifier("g(2)", ICPPFunction.class);
+		assertNotSame(g1, g2);
+		assertSame(g1, g3);
+		assertEquals("double", ASTTypeUtil.getType(g2.getType().getParameterTypes()[0]));
+	}
 }
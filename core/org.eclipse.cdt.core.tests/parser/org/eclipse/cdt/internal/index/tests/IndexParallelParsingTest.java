@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for parsing the sources of a project with several parser threads.
+ */
+public class IndexParallelParsingTest extends IndexTestBase {
+	private static final int COPIES = 8;
+
+	private ICProject fCProject;
+
+	public IndexParallelParsingTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexParallelParsingTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__parallelParsingTest__", "bin", IPDOMManager.ID_FAST_INDEXER);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS,
+					String.valueOf(IndexerPreferences.DEFAULT_PARSER_THREADS));
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private List<String> indexWithThreads(int threads) throws Exception {
+		IProject project = fCProject.getProject();
+		IndexerPreferences.set(project, IndexerPreferences.KEY_PARSER_THREADS, String.valueOf(threads));
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer(fCProject);
+		return dumpIndex();
+	}
+
+	/**
+	 * Describes the files of the index with their includes, macros and names, in a canonical order.
+	 */
+	private List<String> dumpIndex() throws Exception {
+		List<String> result = new ArrayList<>();
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			for (IIndexFile file : index.getAllFiles()) {
+				String prefix = file.getLocation().getFullPath() + '[' + file.getLinkageID() + "] ";
+				result.add(prefix + "hash " + file.getContentsHash());
+				for (IIndexInclude include : file.getIncludes()) {
+					result.add(prefix + "include " + include.getFullName() + " at " + include.getNameOffset()
+							+ " resolved " + include.isResolved());
+				}
+				for (IIndexMacro macro : file.getMacros()) {
+					result.add(prefix + "macro " + new String(macro.getName()) + " at "
+							+ macro.getDefinition().getNodeOffset());
+				}
+				for (IIndexName name : file.findNames(0, Integer.MAX_VALUE)) {
+					IIndexBinding binding = index.findBinding(name);
+					result.add(prefix + "name " + name + " at " + name.getNodeOffset() + " def "
+							+ name.isDefinition() + " decl " + name.isDeclaration() + " ref " + name.isReference()
+							+ " binding " + (binding == null ? null : Arrays.toString(binding.getQualifiedName())));
+				}
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	// #define SQUARE(x) ((x) * (x))
+	// namespace ns {
+	// template<typename T> struct Box {
+	//   T value;
+	//   T get() const { return value; }
+	// };
+	// int shared(int a);
+	// }
+
+	// #include "header.h"
+	// namespace ns {
+	// int shared(int a) { return SQUARE(a); }
+	// }
+
+	// #include "header.h"
+	// struct Point { int x, y; };
+	// int useBox() {
+	//   ns::Box<Point> box;
+	//   return box.get().x + ns::shared(2);
+	// }
+	public void testParallelIndexMatchesSerialIndex() throws Exception {
+		String[] contents = getSources(3);
+		IProject project = fCProject.getProject();
+		TestSourceReader.createFile(project, "header.h", contents[0]);
+		TestSourceReader.createFile(project, "shared.cpp", contents[1]);
+		for (int i = 0; i < COPIES; i++) {
+			TestSourceReader.createFile(project, "use" + i + ".cpp",
+					contents[2].replace("useBox", "useBox" + i).replace("Point", "Point" + i));
+		}
+		waitForIndexer(fCProject);
+
+		List<String> serial = indexWithThreads(1);
+		assertFalse(serial.isEmpty());
+		List<String> parallel = indexWithThreads(4);
+		assertEquals(serial, parallel);
+	}
+
+	private String[] getSources(int blocks) throws Exception {
+		StringBuilder[] help = getContentsForTest(blocks);
+		String[] result = new String[help.length];
+		for (int i = 0; i < help.length; i++) {
+			result[i] = help[i].toString();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for resolving function bodies in parallel, with names that are found in the index.
+ */
+public class IndexParallelResolutionTest extends IndexTestBase {
+	private static final int BODIES = 32;
+
+	private ICProject fCProject;
+	private IFile fSource;
+
+	public IndexParallelResolutionTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexParallelResolutionTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__parallelResolutionTest__", "bin",
+				IPDOMManager.ID_FAST_INDEXER);
+		IProject project = fCProject.getProject();
+		TestSourceReader.createFile(project, "header.h", "namespace ns1 {\n" //
+				+ "  struct A { int a; };\n" //
+				+ "  int f(int);\n" //
+				+ "  namespace inner {\n" //
+				+ "    struct B { A a; };\n" //
+				+ "    int g();\n" //
+				+ "  }\n" //
+				+ "}\n" //
+				+ "namespace ns2 { int h(double); }\n");
+		StringBuilder source = new StringBuilder("#include \"header.h\"\n");
+		for (int i = 0; i < BODIES; i++) {
+			source.append("void body").append(i).append("() {\n") //
+					.append("  ns1::A a; ns1::f(a.a);\n") //
+					.append("  ns1::inner::B b; ns1::inner::g(); b.a.a;\n") //
+					.append("  ns2::h(").append(i).append(".0);\n") //
+					.append("}\n");
+		}
+		fSource = TestSourceReader.createFile(project, "source.cpp", source.toString());
+		waitForIndexer(fCProject);
+		ParallelResolution.setParallelism(4);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ParallelResolution.setParallelism(1);
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Resolves the names in function bodies, checks that each name resolves to the same binding
+	 * in all bodies.
+	 */
+	private static final class BindingChecker extends ASTVisitor {
+		final Map<String, IBinding> fBindings = new HashMap<>();
+		int fBodies;
+
+		BindingChecker() {
+			shouldVisitDeclarations = true;
+			shouldVisitNames = true;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (declaration instanceof IASTFunctionDefinition) {
+				fBodies++;
+				((IASTFunctionDefinition) declaration).getBody().accept(this);
+			}
+			return PROCESS_SKIP;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			if (name.getLookupKey().length == 0)
+				return PROCESS_CONTINUE;
+			IBinding binding = name.resolveBinding();
+			String key = name.getRawSignature();
+			assertFalse(key, binding instanceof IProblemBinding);
+			// The local variables are different in each body, the fields have the same name.
+			if (!key.equals("a") && !key.equals("b")) {
+				IBinding first = fBindings.putIfAbsent(key, binding);
+				if (first != null)
+					assertEquals(key, first, binding);
+			}
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	public void testQualifiedIndexNamesInParallelBodies() throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			ITranslationUnit tu = (ITranslationUnit) CoreModel.getDefault().create(fSource);
+			// Threads race for the first mapping of a scope, repeat to make a failure likely.
+			for (int i = 0; i < 10; i++) {
+				IASTTranslationUnit ast = tu.getAST(index, ITranslationUnit.AST_SKIP_INDEXED_HEADERS);
+				BindingChecker checker = new BindingChecker();
+				ast.accept(checker);
+				assertEquals(BODIES, checker.fBodies);
+				assertTrue(checker.fBindings.containsKey("ns1::inner::g"));
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+}
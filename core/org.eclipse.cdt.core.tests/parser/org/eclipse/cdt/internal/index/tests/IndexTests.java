@@ -35,12 +35,19 @@ public class IndexTests extends TestSuite {
 		suite.addTest(IndexIncludeTest.suite());
 		suite.addTest(IndexUpdateTests.suite());
 		suite.addTest(IndexUpdateMultiFileTest.suite());
+		suite.addTest(IndexUpdateEstimateTest.suite());
 		suite.addTest(IndexBugsTests.suite());
 		suite.addTest(IndexNamesTests.suite());
 		suite.addTest(TeamSharedIndexTest.suite());
 		suite.addTest(IndexProviderManagerTest.suite());
 		suite.addTest(IndexMultiVariantHeaderTest.suite());
 		suite.addTest(IndexMultiFileTest.suite());
+		suite.addTest(IndexParallelParsingTest.suite());
+		suite.addTest(IndexParallelResolutionTest.suite());
+		suite.addTest(IndexWriteBatchTest.suite());
+		suite.addTest(IndexerMetricsTest.suite());
+		suite.addTest(SharedConstexprResultTest.suite());
+		suite.addTest(HeaderContentCacheTest.suite());
 
 		// C++14 index test suites
 		suite.addTestSuite(ReturnTypeDeductionIndexTests.class);
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
+import org.eclipse.cdt.internal.core.pdom.IndexUpdateEstimate;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.cdt.internal.core.pdom.indexer.PDOMFastIndexer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for estimating the work of an index update with
+ * {@link AbstractIndexerTask#estimateUpdate(org.eclipse.core.runtime.IProgressMonitor)}.
+ */
+public class IndexUpdateEstimateTest extends IndexTestBase {
+	private ICProject fCProject;
+	private IFile fHeader;
+	private IFile fSource1;
+	private IFile fSource2;
+	private IFile fSource3;
+
+	public IndexUpdateEstimateTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexUpdateEstimateTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__estimateTest__", "bin", IPDOMManager.ID_FAST_INDEXER);
+		IProject project = fCProject.getProject();
+		fHeader = TestSourceReader.createFile(project, "header.h", "int header();\n");
+		fSource1 = TestSourceReader.createFile(project, "source1.cpp",
+				"#include \"header.h\"\nint source1() { return header(); }\n");
+		fSource2 = TestSourceReader.createFile(project, "source2.cpp",
+				"#include \"header.h\"\nint source2() { return header(); }\n");
+		fSource3 = TestSourceReader.createFile(project, "source3.cpp", "int source3() { return 3; }\n");
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer(fCProject);
+		// The estimates are computed for modifications the indexer has not seen yet.
+		IndexerPreferences.setUpdatePolicy(project, IndexerPreferences.UPDATE_POLICY_MANUAL);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			IndexerPreferences.setUpdatePolicy(fCProject.getProject(), IndexerPreferences.getDefaultUpdatePolicy());
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private IndexUpdateEstimate estimate(IFile... changed) throws Exception {
+		ITranslationUnit[] tus = new ITranslationUnit[changed.length];
+		for (int i = 0; i < changed.length; i++) {
+			tus[i] = (ITranslationUnit) CoreModel.getDefault().create(changed[i]);
+			assertNotNull(changed[i].getName(), tus[i]);
+		}
+		PDOMFastIndexer indexer = new PDOMFastIndexer();
+		indexer.setProject(fCProject);
+		AbstractIndexerTask task = (AbstractIndexerTask) indexer.createTask(new ITranslationUnit[0], tus,
+				new ITranslationUnit[0]);
+		return task.estimateUpdate(npm());
+	}
+
+	private static void modify(IFile file, String contents) throws Exception {
+		// Make sure the timestamp differs from the one stored in the index.
+		Thread.sleep(10);
+		file.setContents(new ByteArrayInputStream(contents.getBytes()), true, false, npm());
+	}
+
+	public void testUnchangedFiles() throws Exception {
+		IndexUpdateEstimate estimate = estimate(fHeader, fSource1, fSource2, fSource3);
+		assertEquals(0, estimate.getEstimatedParseCount());
+		assertEquals(4, estimate.fUnchangedFiles);
+		assertEquals(0, estimate.fDependentFiles);
+	}
+
+	public void testModifiedSource() throws Exception {
+		modify(fSource3, "int source3() { return 4; }\n");
+		IndexUpdateEstimate estimate = estimate(fSource1, fSource3);
+		assertEquals(1, estimate.fSourcesToParse);
+		assertEquals(0, estimate.fHeaderVersionsToParse);
+		assertEquals(1, estimate.fUnchangedFiles);
+		assertEquals(0, estimate.fDependentFiles);
+	}
+
+	public void testModifiedHeader() throws Exception {
+		modify(fHeader, "int header();\nint header2();\n");
+		IndexUpdateEstimate estimate = estimate(fHeader);
+		assertEquals(0, estimate.fSourcesToParse);
+		assertEquals(1, estimate.fHeaderVersionsToParse);
+		// Both sources include the header, they are not parsed again.
+		assertEquals(2, estimate.fDependentFiles);
+		assertEquals(1, estimate.getEstimatedParseCount());
+	}
+
+	public void testTouchedHeaderWithSameContents() throws Exception {
+		modify(fHeader, "int header();\n");
+		IndexUpdateEstimate estimate = estimate(fHeader);
+		assertEquals(0, estimate.getEstimatedParseCount());
+		assertEquals(1, estimate.fUnchangedFiles);
+	}
+
+	public void testNewSource() throws Exception {
+		IFile source4 = TestSourceReader.createFile(fCProject.getProject(), "source4.cpp",
+				"#include \"header.h\"\nint source4() { return header(); }\n");
+		IndexUpdateEstimate estimate = estimate(source4);
+		assertEquals(1, estimate.fSourcesToParse);
+		assertEquals(0, estimate.fUnchangedFiles);
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the bindings stored while the write lock is held for several files or translation
+ * units. Nested bindings are added to the nested bindings index of the linkage in sorted batches.
+ */
+public class IndexWriteBatchTest extends IndexTestBase {
+	private static final int SOURCES = 6;
+
+	private ICProject fCProject;
+
+	public IndexWriteBatchTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexWriteBatchTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__writeBatchTest__", "bin", IPDOMManager.ID_FAST_INDEXER);
+		IProject project = fCProject.getProject();
+		for (int i = 0; i < SOURCES; i++) {
+			TestSourceReader.createFile(project, "source" + i + ".cpp", source(i, "Inner"));
+		}
+		waitForIndexer(fCProject);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS,
+					String.valueOf(IndexerPreferences.DEFAULT_PARSER_THREADS));
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private static String source(int i, String inner) {
+		return "namespace ns" + i + " {\n" //
+				+ "  struct Outer {\n" //
+				+ "    struct " + inner + " { int field" + i + "; };\n" //
+				+ "    void method" + i + "();\n" //
+				+ "  };\n" //
+				+ "}\n";
+	}
+
+	private void reindex(int threads) throws Exception {
+		IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS, String.valueOf(threads));
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer(fCProject);
+	}
+
+	/**
+	 * Returns the qualified names of the bindings with the given name, nested bindings are found
+	 * through the nested bindings index.
+	 */
+	private Set<String> findNested(String name) throws Exception {
+		Set<String> result = new TreeSet<>();
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			for (IBinding binding : index.findBindings(Pattern.compile(name), false, IndexFilter.ALL_DECLARED, npm())) {
+				result.add(String.join("::", ((IIndexBinding) binding).getQualifiedName()));
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		return result;
+	}
+
+	private Set<String> expected(String format) {
+		Set<String> result = new TreeSet<>();
+		for (int i = 0; i < SOURCES; i++) {
+			result.add(String.format(format, i));
+		}
+		return result;
+	}
+
+	private void checkNestedBindings() throws Exception {
+		assertEquals(expected("ns%d::Outer"), findNested("Outer"));
+		assertEquals(expected("ns%d::Outer::Inner"), findNested("Inner"));
+		assertEquals(expected("ns%d::Outer::Inner::field%<d"), findNested("field\\d"));
+		assertEquals(expected("ns%d::Outer::method%<d"), findNested("method\\d"));
+	}
+
+	public void testNestedBindingsOfSerialIndexer() throws Exception {
+		reindex(1);
+		checkNestedBindings();
+	}
+
+	public void testNestedBindingsOfParallelIndexer() throws Exception {
+		reindex(4);
+		checkNestedBindings();
+	}
+
+	public void testNestedBindingsOfUpdatedFile() throws Exception {
+		reindex(1);
+		IFile file = fCProject.getProject().getFile("source0.cpp");
+		file.setContents(new ByteArrayInputStream(source(0, "Renamed").getBytes()), true, false, npm());
+		waitForIndexer(fCProject);
+		assertEquals(Collections.singleton("ns0::Outer::Renamed"), findNested("Renamed"));
+		Set<String> inner = expected("ns%d::Outer::Inner");
+		inner.remove("ns0::Outer::Inner");
+		assertEquals(inner, findNested("Inner"));
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.IndexerFileMetrics;
+import org.eclipse.cdt.internal.core.pdom.IndexerMetricsWriter;
+import org.eclipse.cdt.internal.core.pdom.PDOMManager;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for writing the metrics of the indexer with {@link IndexerMetricsWriter}.
+ */
+public class IndexerMetricsTest extends IndexTestBase {
+	private static final Pattern JSON_FIELD = Pattern.compile("\"(\\w+)\":(\"((?:[^\"\\\\]|\\\\.)*)\"|-?\\d+)");
+
+	private ICProject fCProject;
+	private File fMetricsFile;
+
+	public IndexerMetricsTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexerMetricsTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__metricsTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		if (fMetricsFile != null) {
+			fMetricsFile.delete();
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Indexes the files of the test and returns the lines written to a metrics file with
+	 * the given suffix.
+	 */
+	private List<String> indexWithMetrics(String suffix) throws Exception {
+		StringBuilder[] contents = getContentsForTest(3);
+		IProject project = fCProject.getProject();
+		TestSourceReader.createFile(project, "answer.h", contents[0].toString());
+		TestSourceReader.createFile(project, "answer.cpp", contents[1].toString());
+		TestSourceReader.createFile(project, "question.cpp", contents[2].toString());
+
+		fMetricsFile = File.createTempFile("indexerMetrics", suffix);
+		PDOMManager manager = (PDOMManager) CCorePlugin.getIndexManager();
+		IndexerMetricsWriter writer = new IndexerMetricsWriter(fMetricsFile);
+		manager.addIndexerMetricsListener(writer);
+		try {
+			manager.setIndexerId(fCProject, IPDOMManager.ID_FAST_INDEXER);
+			waitForIndexer(fCProject);
+		} finally {
+			manager.removeIndexerMetricsListener(writer);
+			writer.close();
+		}
+		return Files.readAllLines(fMetricsFile.toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses a line written by {@link IndexerFileMetrics#toCSV()}. Only the first value, the path,
+	 * is quoted.
+	 */
+	private static List<String> parseCSV(String line) {
+		List<String> values = new ArrayList<>();
+		assertTrue(line, line.startsWith("\""));
+		int end = 1;
+		StringBuilder path = new StringBuilder();
+		while (true) {
+			int quote = line.indexOf('"', end);
+			assertTrue(line, quote >= 0);
+			path.append(line, end, quote);
+			if (quote + 1 < line.length() && line.charAt(quote + 1) == '"') {
+				path.append('"');
+				end = quote + 2;
+			} else {
+				end = quote + 1;
+				break;
+			}
+		}
+		values.add(path.toString());
+		if (end < line.length()) {
+			assertEquals(',', line.charAt(end));
+			for (String value : line.substring(end + 1).split(",", -1)) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	private static Map<String, String> parseJSON(String line) {
+		assertTrue(line, line.startsWith("{") && line.endsWith("}"));
+		Map<String, String> fields = new HashMap<>();
+		Matcher matcher = JSON_FIELD.matcher(line);
+		while (matcher.find()) {
+			fields.put(matcher.group(1), matcher.group(3) != null ? matcher.group(3) : matcher.group(2));
+		}
+		return fields;
+	}
+
+	private static Map<String, String> findByPath(List<Map<String, String>> rows, String fileName) {
+		for (Map<String, String> row : rows) {
+			if (new File(row.get("path")).getName().equals(fileName))
+				return row;
+		}
+		fail("No metrics for " + fileName);
+		return null;
+	}
+
+	private static void checkMetrics(List<Map<String, String>> rows) {
+		assertEquals(2, rows.size());
+		Map<String, String> answer = findByPath(rows, "answer.cpp");
+		Map<String, String> question = findByPath(rows, "question.cpp");
+		for (Map<String, String> row : rows) {
+			assertTrue(Integer.parseInt(row.get("files")) >= 1);
+			assertTrue(Long.parseLong(row.get("bytes")) > 0);
+			for (String time : new String[] { "parsing", "resolution", "write", "lockWait" }) {
+				assertTrue(time, Long.parseLong(row.get(time)) >= 0);
+			}
+			assertTrue(Integer.parseInt(row.get("declarations")) > 0);
+		}
+		assertEquals(0, Integer.parseInt(answer.get("problemBindings")));
+		assertTrue(Integer.parseInt(question.get("problemBindings")) > 0);
+		assertTrue(Integer.parseInt(question.get("references")) > 0);
+	}
+
+	// #define ANSWER 42
+	// struct Answer {
+	//   int value();
+	// };
+
+	// #include "answer.h"
+	// int Answer::value() { return ANSWER; }
+
+	// #include "answer.h"
+	// int question() {
+	//   Answer a;
+	//   return a.value() + unknown();
+	// }
+	public void testCSV() throws Exception {
+		List<String> lines = indexWithMetrics(".csv");
+		assertEquals(IndexerFileMetrics.getCSVHeader(), lines.get(0));
+		String[] columns = lines.get(0).split(",");
+		List<Map<String, String>> rows = new ArrayList<>();
+		for (String line : lines.subList(1, lines.size())) {
+			List<String> values = parseCSV(line);
+			assertEquals(line, columns.length, values.size());
+			Map<String, String> row = new HashMap<>();
+			for (int i = 0; i < columns.length; i++) {
+				row.put(columns[i], values.get(i));
+			}
+			rows.add(row);
+		}
+		checkMetrics(rows);
+	}
+
+	// #define ANSWER 42
+	// struct Answer {
+	//   int value();
+	// };
+
+	// #include "answer.h"
+	// int Answer::value() { return ANSWER; }
+
+	// #include "answer.h"
+	// int question() {
+	//   Answer a;
+	//   return a.value() + unknown();
+	// }
+	public void testJSON() throws Exception {
+		List<String> lines = indexWithMetrics(".json");
+		List<Map<String, String>> rows = new ArrayList<>();
+		for (String line : lines) {
+			Map<String, String> row = parseJSON(line);
+			assertEquals(line, IndexerFileMetrics.getCSVHeader().split(",").length, row.size());
+			rows.add(row);
+		}
+		checkMetrics(rows);
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.SharedResultCache;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for sharing the values of calls to constexpr functions from the index between translation
+ * units with the {@link SharedResultCache}.
+ */
+public class SharedConstexprResultTest extends IndexTestBase {
+	private ICProject fCProject;
+	private IFile fBase;
+	private IFile fSource;
+
+	public SharedConstexprResultTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(SharedConstexprResultTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__sharedResultTest__", "bin", IPDOMManager.ID_FAST_INDEXER);
+		IProject project = fCProject.getProject();
+		fBase = TestSourceReader.createFile(project, "base.h", "constexpr int base = 1;\n");
+		TestSourceReader.createFile(project, "function.h",
+				"#include \"base.h\"\nconstexpr int plusBase(int x) { return x + base; }\n");
+		fSource = TestSourceReader.createFile(project, "source.cpp",
+				"#include \"function.h\"\nconstexpr int value = plusBase(1);\n");
+		waitForIndexer(fCProject);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private SharedResultCache getCache() throws Exception {
+		return ((PDOM) CCoreInternals.getPDOMManager().getPDOM(fCProject)).getSharedResultCache();
+	}
+
+	/**
+	 * Computes the value of the variable in the source file, with the function from the index.
+	 */
+	private long computeValue() throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			ITranslationUnit tu = (ITranslationUnit) CoreModel.getDefault().create(fSource);
+			IASTTranslationUnit ast = tu.getAST(index, ITranslationUnit.AST_SKIP_INDEXED_HEADERS);
+			IASTDeclaration[] declarations = ast.getDeclarations();
+			assertEquals(1, declarations.length);
+			IVariable variable = (IVariable) ((IASTSimpleDeclaration) declarations[0]).getDeclarators()[0].getName()
+					.resolveBinding();
+			return variable.getInitialValue().numberValue().longValue();
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	public void testResultIsShared() throws Exception {
+		getCache().clear();
+		assertEquals(2, computeValue());
+		assertEquals(1, getCache().size());
+		getCache().resetCounters();
+		assertEquals(2, computeValue());
+		assertTrue(getCache().getHitCount() > 0);
+	}
+
+	public void testChangeOfIncludedHeaderInvalidatesResult() throws Exception {
+		assertEquals(2, computeValue());
+		assertEquals(1, getCache().size());
+
+		// The file defining the function is not changed in the index.
+		Thread.sleep(10);
+		fBase.setContents(new ByteArrayInputStream("constexpr int base = 2;\n".getBytes()), true, false, npm());
+		waitForIndexer(fCProject);
+		assertEquals(3, computeValue());
+	}
+}
@@ -119,6 +119,177 @@ public class BTreeTests extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * Test building a B-tree from unsorted records with duplicates, then inserting into
+	 * and deleting from the result.
+	 */
+	public void testInsertAll() throws Exception {
+		Random random = new Random(4711);
+		for (int degree = 2; degree <= 12; degree++) {
+			for (int n : new int[] { 1, 2 * degree - 1, 2 * degree, 500, 20000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					long[] records = new long[n];
+					for (int i = 0; i < n; i++) {
+						int value = random.nextInt(n * 2);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					btree.insertAll(records);
+					assertBTreeMatchesSortedSet("[bulk insert] ", btree, expected);
+					assertBTreeInvariantsHold("[bulk insert]");
+
+					for (int i = 0; i < 100; i++) {
+						int value = random.nextInt(n * 2);
+						if (expected.add(value)) {
+							btree.insert(new BTMockRecord(db, value).getRecord());
+						}
+					}
+					assertBTreeMatchesSortedSet("[insert] ", btree, expected);
+					assertBTreeInvariantsHold("[insert]");
+
+					final List<Long> inTree = new ArrayList<>();
+					btree.accept(new IBTreeVisitor() {
+						@Override
+						public int compare(long record) throws CoreException {
+							return 0;
+						}
+
+						@Override
+						public boolean visit(long record) throws CoreException {
+							inTree.add(record);
+							return true;
+						}
+					});
+					for (int i = 0; i < inTree.size(); i += 2) {
+						long record = inTree.get(i);
+						expected.remove(new BTMockRecord(record, db).intValue());
+						btree.delete(record);
+					}
+					assertBTreeMatchesSortedSet("[delete] ", btree, expected);
+					assertBTreeInvariantsHold("[delete]");
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test adding records with duplicates to a B-tree that already contains records.
+	 */
+	public void testInsertAllIntoNonEmptyTree() throws Exception {
+		Random random = new Random(1801);
+		for (int degree = 2; degree <= 12; degree++) {
+			for (int n : new int[] { 1, 2 * degree, 500, 5000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					for (int i = 0; i < n; i++) {
+						int value = random.nextInt(n * 2);
+						if (expected.add(value)) {
+							btree.insert(new BTMockRecord(db, value).getRecord());
+						}
+					}
+					long[] records = new long[n];
+					for (int i = 0; i < n; i++) {
+						int value = random.nextInt(n * 4);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					btree.insertAll(records);
+					assertBTreeMatchesSortedSet("[bulk insert] ", btree, expected);
+					assertBTreeInvariantsHold("[bulk insert]");
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test that a record with the key of a record in the B-tree is not added, and that the
+	 * first of several equal records in the array is kept.
+	 */
+	public void testInsertAllDuplicates() throws Exception {
+		for (boolean empty : new boolean[] { true, false }) {
+			init(2);
+			try {
+				long existing = 0;
+				if (!empty) {
+					existing = new BTMockRecord(db, 1).getRecord();
+					btree.insert(existing);
+				}
+				long first1 = new BTMockRecord(db, 1).getRecord();
+				long first2 = new BTMockRecord(db, 2).getRecord();
+				long[] records = { new BTMockRecord(db, 3).getRecord(), first2, first1,
+						new BTMockRecord(db, 2).getRecord(), new BTMockRecord(db, 1).getRecord(),
+						new BTMockRecord(db, 2).getRecord() };
+				btree.insertAll(records);
+
+				SortedSet<Integer> expected = new TreeSet<>();
+				expected.add(1);
+				expected.add(2);
+				expected.add(3);
+				assertBTreeMatchesSortedSet("[duplicates] ", btree, expected);
+				assertBTreeInvariantsHold("[duplicates]");
+				assertEquals(empty ? first1 : existing, findRecord(1));
+				assertEquals(first2, findRecord(2));
+			} finally {
+				finish();
+			}
+		}
+	}
+
+	/**
+	 * Test adding many sorted records to a small B-tree, which splits the nodes along the right
+	 * edge of the tree over and over and increases its height.
+	 */
+	public void testInsertAllSplitsNodes() throws Exception {
+		for (int degree = 2; degree <= 4; degree++) {
+			init(degree);
+			try {
+				SortedSet<Integer> expected = new TreeSet<>();
+				expected.add(-1);
+				btree.insert(new BTMockRecord(db, -1).getRecord());
+				for (int round = 0; round < 3; round++) {
+					long[] records = new long[1000];
+					for (int i = 0; i < records.length; i++) {
+						int value = round * records.length + i;
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					btree.insertAll(records);
+					assertBTreeMatchesSortedSet("[round " + round + "] ", btree, expected);
+					assertBTreeInvariantsHold("[round " + round + "]");
+				}
+			} finally {
+				finish();
+			}
+		}
+	}
+
+	/**
+	 * Returns the record in the B-tree with the given value, or 0.
+	 */
+	private long findRecord(final int value) throws CoreException {
+		final long[] result = new long[1];
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Integer.compare(db.getInt(record), value);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
@@ -27,6 +27,7 @@ import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.cdt.internal.core.pdom.db.ShortString;
+import org.eclipse.cdt.internal.core.pdom.db.StringCache;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 
@@ -147,6 +148,146 @@ public class DatabaseTest extends BaseTestCase {
 		assertEquals(mem2, mem1);
 	}
 
+	public void testMemoryMappedStorage() throws Exception {
+		long mem = db.malloc(42);
+		db.putInt(mem, 4711);
+		long str = db.newString("memory-mapped").getRecord();
+		db.setVersion(7);
+		db.close();
+
+		Database mapped = new Database(db.getLocation(), new ChunkCache(), 0, false, true);
+		// Mapped files cannot be truncated or deleted on Windows, the mode is not used there.
+		assertEquals(!isWindows(), mapped.isMemoryMapped());
+		assertEquals(7, mapped.getVersion());
+		mapped.setLocked(true);
+		assertEquals(4711, mapped.getInt(mem));
+		assertEquals("memory-mapped", mapped.getString(str).getString());
+
+		mapped.setExclusiveLock();
+		mapped.putInt(mem, 42);
+		long mem2 = mapped.malloc(42);
+		mapped.putInt(mem2, 43);
+		mapped.giveUpExclusiveLock(true);
+		assertEquals(42, mapped.getInt(mem));
+		assertEquals(43, mapped.getInt(mem2));
+		mapped.setExclusiveLock();
+		mapped.close();
+
+		db = new Database(db.getLocation(), new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		assertEquals(42, db.getInt(mem));
+		assertEquals(43, db.getInt(mem2));
+		assertEquals("memory-mapped", db.getString(str).getString());
+	}
+
+	public void testMemoryMappedReadsOfManyChunks() throws Exception {
+		// More chunks than views of the mapping are kept.
+		long[] records = new long[1500];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+		}
+		db.close();
+
+		ChunkCache cache = new ChunkCache();
+		Database mapped = new Database(db.getLocation(), cache, 0, false, true);
+		mapped.setLocked(true);
+		for (int j = 0; j < 2; j++) {
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i, mapped.getInt(records[i]));
+			}
+		}
+		if (mapped.isMemoryMapped()) {
+			// Chunks that are only read are not copied to the cache.
+			assertEquals(0, cache.getSize());
+		}
+
+		mapped.setExclusiveLock();
+		mapped.putInt(records[0], -1);
+		mapped.giveUpExclusiveLock(true);
+		assertEquals(-1, mapped.getInt(records[0]));
+		assertEquals(records.length - 1, mapped.getInt(records[records.length - 1]));
+		mapped.setExclusiveLock();
+		mapped.close();
+		db = new Database(db.getLocation(), new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+	}
+
+	private static boolean isWindows() {
+		return System.getProperty("os.name", "").startsWith("Windows");
+	}
+
+	public void testChunkCacheEviction() throws Exception {
+		final int chunks = 64;
+		ChunkCache cache = new ChunkCache(chunks * Database.CHUNK_SIZE);
+		Database db2 = new Database(getTestDir().append(getName() + "2.dat").toFile(), cache, 0, false);
+		try {
+			db2.setExclusiveLock();
+			long[] records = new long[chunks * 4];
+			for (int i = 0; i < records.length; i++) {
+				records[i] = db2.malloc(Database.MAX_MALLOC_SIZE);
+				db2.putInt(records[i], i);
+			}
+			db2.giveUpExclusiveLock(true);
+			db2.setLocked(true);
+
+			cache.resetCounters();
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i, db2.getInt(records[i]));
+			}
+			assertTrue(cache.getMissCount() > 0);
+			assertTrue(cache.getEvictionCount() > 0);
+			assertTrue(cache.getSize() <= cache.getMaxSize());
+
+			// Chunks used repeatedly survive a scan.
+			for (int j = 0; j < 3; j++) {
+				db2.getInt(records[0]);
+			}
+			for (int i = 1; i < records.length; i++) {
+				db2.getInt(records[i]);
+			}
+			long misses = cache.getMissCount();
+			db2.getInt(records[0]);
+			assertEquals(misses, cache.getMissCount());
+		} finally {
+			db2.setExclusiveLock();
+			db2.close();
+			db2.getLocation().delete();
+		}
+	}
+
+	/**
+	 * The capacities of the stripes of the cache add up to the maximum size, also when it is not
+	 * a multiple of the number of stripes or smaller than it.
+	 */
+	public void testChunkCacheDoesNotExceedMaxSize() throws Exception {
+		for (int chunks : new int[] { 20, 8 }) {
+			ChunkCache cache = new ChunkCache(chunks * Database.CHUNK_SIZE + 100);
+			assertEquals(chunks * Database.CHUNK_SIZE, cache.getMaxSize());
+			Database db2 = new Database(getTestDir().append(getName() + chunks + ".dat").toFile(), cache, 0,
+					false);
+			try {
+				db2.setExclusiveLock();
+				long[] records = new long[chunks * 8];
+				for (int i = 0; i < records.length; i++) {
+					records[i] = db2.malloc(Database.MAX_MALLOC_SIZE);
+					db2.putInt(records[i], i);
+				}
+				db2.giveUpExclusiveLock(true);
+				db2.setLocked(true);
+
+				for (int i = 0; i < records.length; i++) {
+					assertEquals(i, db2.getInt(records[i]));
+					assertTrue(cache.getSize() <= cache.getMaxSize());
+				}
+			} finally {
+				db2.setExclusiveLock();
+				db2.close();
+				db2.getLocation().delete();
+			}
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -240,6 +381,36 @@ public class DatabaseTest extends BaseTestCase {
 		doTrials(100, ShortString.MAX_BYTE_LENGTH + 1, ShortString.MAX_BYTE_LENGTH * 2, r, false);
 	}
 
+	public void testStringCache() throws CoreException {
+		StringCache cache = db.getStringCache();
+		IString string = db.newString("firstName");
+		cache.resetCounters();
+		assertSame(string, db.getString(string.getRecord()));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+
+		assertTrue(string.startsWith("first".toCharArray(), true));
+		assertTrue(string.startsWith("FIRST".toCharArray(), false));
+		assertFalse(string.startsWith("FIRST".toCharArray(), true));
+		assertFalse(string.startsWith("firstNameX".toCharArray(), true));
+
+		// The cache is bounded.
+		for (int i = 0; i < cache.getMaxSize(); i++) {
+			db.newString("name" + i);
+		}
+		assertTrue(cache.size() <= cache.getMaxSize());
+		assertTrue(cache.getEvictionCount() > 0);
+		IString reread = db.getString(string.getRecord());
+		assertNotSame(string, reread);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(string, reread);
+
+		// Freed records are removed from the cache.
+		assertSame(reread, cache.get(reread.getRecord()));
+		reread.delete();
+		assertNull(cache.get(reread.getRecord()));
+	}
+
 	private void doTrials(int n, int min, int max, Random r, boolean caseSensitive) throws CoreException {
 		long start = System.currentTimeMillis();
 		for (int i = 0; i < n; i++) {
@@ -43,6 +43,7 @@ public class PDOMTests extends TestSuite {
 		suite.addTest(OverloadsWithinCommonHeaderTests.suite());
 		suite.addTest(BTreeTests.suite());
 		suite.addTest(PDOMStringSetTests.suite());
+		suite.addTest(SharedResultCacheTests.suite());
 		suite.addTest(PDOMTagIndexTests.suite());
 		suite.addTest(FilesOnReindexTests.suite());
 		suite.addTest(GeneratePDOMApplicationTest.suite());
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.SharedResultCache;
+
+import junit.framework.Test;
+
+public class SharedResultCacheTests extends BaseTestCase {
+	private final IIndexFileLocation fHeader1 = IndexLocationFactory.getExternalIFL("/usr/include/a.h");
+	private final IIndexFileLocation fHeader2 = IndexLocationFactory.getExternalIFL("/usr/include/b.h");
+	private final Set<IIndexFileLocation> fFiles1 = Collections.singleton(fHeader1);
+	private final Set<IIndexFileLocation> fFiles2 = Collections.singleton(fHeader2);
+
+	public static Test suite() {
+		return suite(SharedResultCacheTests.class);
+	}
+
+	public void testHitsAndMisses() {
+		SharedResultCache cache = new SharedResultCache(10);
+		assertNull(cache.get("f(1)"));
+		cache.put("f(1)", 1L, fFiles1);
+		assertEquals(1L, cache.get("f(1)"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.resetCounters();
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	public void testLeastRecentlyUsedIsEvicted() {
+		SharedResultCache cache = new SharedResultCache(2);
+		cache.put("f(1)", 1L, fFiles1);
+		cache.put("f(2)", 2L, fFiles1);
+		assertEquals(1L, cache.get("f(1)"));
+		cache.put("f(3)", 3L, fFiles1);
+		assertEquals(2, cache.size());
+		assertEquals(1L, cache.get("f(1)"));
+		assertNull(cache.get("f(2)"));
+		assertEquals(3L, cache.get("f(3)"));
+	}
+
+	public void testInvalidate() {
+		SharedResultCache cache = new SharedResultCache(10);
+		cache.put("f(1)", 1L, fFiles1);
+		cache.put("g(1)", 2L, fFiles2);
+		cache.invalidate(Collections.singleton(IndexLocationFactory.getExternalIFL("/usr/include/a.h")));
+		assertNull(cache.get("f(1)"));
+		assertEquals(2L, cache.get("g(1)"));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	public void testInvalidateIncludedFile() {
+		SharedResultCache cache = new SharedResultCache(10);
+		Set<IIndexFileLocation> both = new HashSet<>();
+		both.add(fHeader1);
+		both.add(fHeader2);
+		cache.put("f(1)", 1L, both);
+		cache.put("f(2)", 2L, both);
+		cache.put("g(1)", 3L, fFiles1);
+		cache.invalidate(Collections.singleton(IndexLocationFactory.getExternalIFL("/usr/include/b.h")));
+		assertNull(cache.get("f(1)"));
+		assertNull(cache.get("f(2)"));
+		assertEquals(3L, cache.get("g(1)"));
+	}
+}
@@ -0,0 +1,11 @@
+#include "util.h"
+
+struct point {
+	int x;
+	int y;
+};
+
+int main(void) {
+	struct point p = { 2, 3 };
+	return square(p.x) + square(p.y);
+}
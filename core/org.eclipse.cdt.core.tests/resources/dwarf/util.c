@@ -0,0 +1,5 @@
+#include "util.h"
+
+int square(int x) {
+	return x * x;
+}
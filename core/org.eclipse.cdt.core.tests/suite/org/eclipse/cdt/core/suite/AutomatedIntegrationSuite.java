@@ -38,9 +38,11 @@ import org.eclipse.cdt.utils.ByteUtilsTest;
 import org.eclipse.cdt.utils.CdtVariableResolverTest;
 import org.eclipse.cdt.utils.CommandLineUtilTest;
 import org.eclipse.cdt.utils.FindProgramLocationTest;
+import org.eclipse.cdt.utils.SourceFileCacheTest;
 import org.eclipse.cdt.utils.StorableCdtVariablesTest;
 import org.eclipse.cdt.utils.UNCPathConverterTest;
 import org.eclipse.cdt.utils.WeakHashSetTest;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfReaderTest;
 import org.eclipse.cdt.utils.elf.ElfParserTest;
 
 import junit.framework.Test;
@@ -97,6 +99,8 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTest(UNCPathConverterTest.suite());
 		suite.addTest(TestScopeOfBuildConfigResourceChangesPreference.suite());
 		suite.addTest(ElfParserTest.suite());
+		suite.addTest(SourceFileCacheTest.suite());
+		suite.addTest(DwarfReaderTest.suite());
 
 		// Add in PDOM tests
 		suite.addTest(PDOMTests.suite());
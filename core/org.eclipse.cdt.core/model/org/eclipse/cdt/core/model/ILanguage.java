@@ -19,6 +19,7 @@ import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarationListOwner;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -84,6 +85,17 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Instructs the parser to defer the parsing of function bodies in header files. The tokens of
+	 * such a body are kept and parsed when the body is first requested, e.g. via
+	 * {@link IASTFunctionDefinition#getBody()} or by a visitor. Has no effect in combination with
+	 * {@link #OPTION_SKIP_FUNCTION_BODIES}, supported by the C++ parser.
+	 *
+	 * @since 6.8
+	 */
+	public final static int OPTION_LAZY_FUNCTION_BODIES = 0x40;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
@@ -117,6 +117,27 @@ public interface ITranslationUnit extends ICElement, IParent, IOpenable, ISource
 	 */
 	public final static int AST_PARSE_INACTIVE_CODE = 0x80;
 
+	/**
+	 * Style constant for {@link #getAST(IIndex, int)}.
+	 * Instructs the parser to parse the function bodies in header files only when they are
+	 * requested by a client of the ast.
+	 *
+	 * @since 6.8
+	 */
+	public final static int AST_LAZY_FUNCTION_BODIES_IN_HEADERS = 0x100;
+
+	/**
+	 * Style constant for {@link #getAST(IIndex, int)}.
+	 * Instructs the parser to reuse the function bodies of the ast created for the previous
+	 * version of a working copy with the same style, when the edit between the two versions
+	 * lies within a single function body. The function bodies outside of the edit are copied
+	 * instead of being parsed again. Without a suitable previous ast, or when the preprocessor
+	 * state of the file has changed, the file is parsed entirely.
+	 *
+	 * @since 6.8
+	 */
+	public final static int AST_INCREMENTAL_REPARSE = 0x200;
+
 	/**
 	 * Creates and returns an include declaration in this translation unit
 	 * with the given name.
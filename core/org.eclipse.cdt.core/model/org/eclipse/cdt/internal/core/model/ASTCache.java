@@ -15,12 +15,22 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.BufferChangedEvent;
+import org.eclipse.cdt.core.model.CModelException;
+import org.eclipse.cdt.core.model.IBuffer;
+import org.eclipse.cdt.core.model.IBufferChangedListener;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.core.runtime.CoreException;
@@ -33,7 +43,14 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of the active translation unit. In addition, the ASTs of a few recently
+ * used translation units are kept, such that switching between editors or using an AST of a file
+ * other than the active one does not require parsing it again.
+ * <p>
+ * The number of recently used ASTs and their total size in bytes are limited by the system
+ * properties {@code org.eclipse.cdt.core.astCache.maxEntries} and
+ * {@code org.eclipse.cdt.core.astCache.maxSize}. The size of an AST is estimated from the length
+ * of the parsed code. The least recently used ASTs are evicted first.
  *
  * @since 4.0
  */
@@ -51,6 +68,12 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	private static final int MAX_RECENT_ASTS = Integer.getInteger("org.eclipse.cdt.core.astCache.maxEntries", 4); //$NON-NLS-1$
+	private static final long MAX_RECENT_SIZE = Long.getLong("org.eclipse.cdt.core.astCache.maxSize", //$NON-NLS-1$
+			Runtime.getRuntime().maxMemory() / 16);
+	/** Rough estimate of the memory used by an AST, including its bindings, per character of code */
+	private static final int AST_BYTES_PER_CHAR = 32;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -67,7 +90,105 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * Statistics about the use of the cache.
+	 */
+	public static final class Statistics {
+		/** The number of requests answered with a cached AST */
+		public final long fHits;
+		/** The number of requests for which an AST had to be created */
+		public final long fMisses;
+		/** The number of recently used ASTs evicted from the cache */
+		public final long fEvictions;
+		/** The number of recently used ASTs in the cache, not counting the one of the active element */
+		public final int fRecentASTs;
+		/** The estimated total size of the recently used ASTs, in bytes */
+		public final long fRecentSize;
+
+		Statistics(long hits, long misses, long evictions, int recentASTs, long recentSize) {
+			fHits = hits;
+			fMisses = misses;
+			fEvictions = evictions;
+			fRecentASTs = recentASTs;
+			fRecentSize = recentSize;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "hits=%d, misses=%d, evictions=%d, recent ASTs=%d, size=%d", //$NON-NLS-1$
+					fHits, fMisses, fEvictions, fRecentASTs, fRecentSize);
+		}
+	}
+
+	/**
+	 * An AST of a translation unit other than the active element. The AST is removed from
+	 * the cache when the contents of the translation unit change.
+	 */
+	private final class RecentAST implements IBufferChangedListener {
+		final ITranslationUnit fTU;
+		final IASTTranslationUnit fAST;
+		final long fLastWriteOnIndex;
+		final long fSize;
+		private IBuffer fBuffer;
+
+		RecentAST(ITranslationUnit tUnit, IASTTranslationUnit ast, long lastWriteOnIndex) {
+			fTU = tUnit;
+			fAST = ast;
+			fLastWriteOnIndex = lastWriteOnIndex;
+			fSize = Math.max(1, ((ASTNode) ast).getLength()) * (long) AST_BYTES_PER_CHAR;
+		}
+
+		/**
+		 * Starts listening to changes of the contents. Must not be called while holding
+		 * the cache mutex, since the buffer may need to be obtained from the C model.
+		 */
+		void connect() {
+			assert !Thread.holdsLock(fCacheMutex);
+			IBuffer buffer = null;
+			try {
+				if (fTU.isOpen())
+					buffer = fTU.getBuffer();
+			} catch (CModelException e) {
+				// Changes are detected by the reconciler only.
+			}
+			if (buffer == null)
+				return;
+			buffer.addBufferChangedListener(this);
+			synchronized (fCacheMutex) {
+				fBuffer = buffer;
+				if (!fRecentASTs.containsValue(this)) {
+					// Removed in the meantime.
+					disconnect();
+				}
+			}
+		}
+
+		void disconnect() {
+			assert Thread.holdsLock(fCacheMutex);
+			if (fBuffer != null) {
+				fBuffer.removeBufferChangedListener(this);
+				fBuffer = null;
+			}
+		}
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			synchronized (fCacheMutex) {
+				if (fRecentASTs.containsValue(this)) {
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "contents changed, removing AST for: " //$NON-NLS-1$
+								+ ASTCache.toString(fTU));
+					removeRecentAST(fTU);
+				} else {
+					disconnect();
+				}
+			}
+		}
+	}
+
 	private final int fParseMode;
+	private final int fMaxRecentASTs;
+	private final long fMaxRecentSize;
 	private final Object fCacheMutex = new Object();
 
 	/** The active translation unit for which to cache the AST */
@@ -82,12 +203,32 @@ public class ASTCache {
 	private long fLastWriteOnIndex;
 	/** Indicates whether the AST is currently being computed */
 	private boolean fIsReconciling;
+	/** The ASTs of recently used translation units other than the active one, in access order */
+	private final Map<ITranslationUnit, RecentAST> fRecentASTs = new LinkedHashMap<>(16, 0.75f, true);
+	/** The estimated total size of the recently used ASTs, in bytes */
+	private long fRecentSize;
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
 
 	/**
 	 * Create a new AST cache.
 	 */
 	public ASTCache() {
+		this(MAX_RECENT_ASTS, MAX_RECENT_SIZE);
+	}
+
+	/**
+	 * Create a new AST cache with the given limits for the recently used ASTs.
+	 *
+	 * @param maxRecentASTs  the maximum number of ASTs kept in addition to the one of the active element
+	 * @param maxRecentSize  the maximum estimated total size of these ASTs, in bytes
+	 * @since 6.8
+	 */
+	public ASTCache(int maxRecentASTs, long maxRecentSize) {
 		fParseMode = PARSE_MODE;
+		fMaxRecentASTs = maxRecentASTs;
+		fMaxRecentSize = maxRecentSize;
 	}
 
 	/**
@@ -124,6 +265,7 @@ public class ASTCache {
 							disposeAST();
 						} else {
 							// cached AST is valid
+							fHits++;
 							if (DEBUG)
 								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
 										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
@@ -139,6 +281,21 @@ public class ASTCache {
 						return null;
 					}
 				}
+				if (!isActiveElement) {
+					RecentAST recent = fRecentASTs.get(tUnit);
+					if (recent != null) {
+						if (recent.fLastWriteOnIndex < index.getLastWriteAccess()) {
+							// AST has been invalidated by index write access
+							removeRecentAST(tUnit);
+						} else {
+							fHits++;
+							if (DEBUG)
+								System.out.println(DEBUG_PREFIX + getThreadName() + "returning recent AST:" //$NON-NLS-1$
+										+ toString(recent.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+							return recent.fAST;
+						}
+					}
+				}
 				// no cached AST, but wait
 				if (isActiveElement && isReconciling(tUnit)) {
 					try {
@@ -170,6 +327,10 @@ public class ASTCache {
 			if (DEBUG)
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
 
+			synchronized (fCacheMutex) {
+				fMisses++;
+			}
+			final long lastWriteOnIndex = index.getLastWriteAccess();
 			IASTTranslationUnit ast = null;
 			try {
 				ast = createAST(tUnit, index, progressMonitor);
@@ -187,6 +348,13 @@ public class ASTCache {
 						reconciled(fAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null) {
+					RecentAST recent;
+					synchronized (fCacheMutex) {
+						recent = tUnit.equals(fActiveTU) ? null : addRecentAST(tUnit, ast, lastWriteOnIndex);
+					}
+					if (recent != null)
+						recent.connect();
 				}
 			}
 			return ast;
@@ -336,6 +504,74 @@ public class ASTCache {
 		}
 	}
 
+	/**
+	 * Disposes the cached AST of the active element and the recently used ASTs.
+	 *
+	 * @since 6.8
+	 */
+	public void disposeAll() {
+		synchronized (fCacheMutex) {
+			disposeAST();
+			for (RecentAST recent : fRecentASTs.values()) {
+				recent.disconnect();
+			}
+			fRecentASTs.clear();
+			fRecentSize = 0;
+		}
+	}
+
+	/**
+	 * Returns statistics about the use of this cache.
+	 *
+	 * @since 6.8
+	 */
+	public Statistics getStatistics() {
+		synchronized (fCacheMutex) {
+			return new Statistics(fHits, fMisses, fEvictions, fRecentASTs.size(), fRecentSize);
+		}
+	}
+
+	/**
+	 * Adds an AST to the recently used ASTs and evicts the least recently used ones if
+	 * the limits of the cache are exceeded.
+	 *
+	 * @return the new entry, to be connected after releasing the cache mutex, or {@code null}
+	 *     if the AST is not cached
+	 */
+	private RecentAST addRecentAST(ITranslationUnit tUnit, IASTTranslationUnit ast, long lastWriteOnIndex) {
+		assert Thread.holdsLock(fCacheMutex);
+		removeRecentAST(tUnit);
+		RecentAST recent = new RecentAST(tUnit, ast, lastWriteOnIndex);
+		if (fMaxRecentASTs <= 0 || recent.fSize > fMaxRecentSize)
+			return null;
+
+		fRecentASTs.put(tUnit, recent);
+		fRecentSize += recent.fSize;
+		for (Iterator<RecentAST> iter = fRecentASTs.values().iterator(); iter.hasNext();) {
+			if (fRecentASTs.size() <= fMaxRecentASTs && fRecentSize <= fMaxRecentSize)
+				break;
+			RecentAST eldest = iter.next();
+			iter.remove();
+			fRecentSize -= eldest.fSize;
+			eldest.disconnect();
+			fEvictions++;
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST for: " + toString(eldest.fTU) //$NON-NLS-1$
+						+ ", " + getStatistics()); //$NON-NLS-1$
+		}
+		return recent;
+	}
+
+	private RecentAST removeRecentAST(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		RecentAST recent = fRecentASTs.remove(tUnit);
+		if (recent != null) {
+			fRecentSize -= recent.fSize;
+			recent.disconnect();
+		}
+		return recent;
+	}
+
 	/**
 	 * Creates a new translation unit AST.
 	 *
@@ -385,11 +621,21 @@ public class ASTCache {
 		if (tUnit == fActiveTU) {
 			return;
 		}
+		RecentAST previous = null;
 		synchronized (fCacheMutex) {
+			RecentAST recent = tUnit == null ? null : removeRecentAST(tUnit);
+			if (fActiveTU != null && fAST != null && !fIsReconciling)
+				previous = addRecentAST(fActiveTU, fAST, fLastWriteOnIndex);
 			fIsReconciling = false;
 			fActiveTU = tUnit;
 			cache(null, tUnit);
+			if (recent != null) {
+				fAST = recent.fAST;
+				fLastWriteOnIndex = recent.fLastWriteOnIndex;
+			}
 		}
+		if (previous != null)
+			previous.connect();
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
 	}
@@ -418,6 +664,8 @@ public class ASTCache {
 
 		synchronized (fCacheMutex) {
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
+				// The contents of the translation unit have changed.
+				removeRecentAST(tUnit);
 				return;
 			}
 
@@ -436,19 +684,25 @@ public class ASTCache {
 	 * @param tUnit  the translation unit
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		RecentAST recent = null;
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
 				if (DEBUG)
-					System.out.println(DEBUG_PREFIX + getThreadName() + "ignoring AST of out-dated element"); //$NON-NLS-1$
-				return;
-			}
-			if (DEBUG)
-				System.out.println(
-						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
+					System.out.println(DEBUG_PREFIX + getThreadName() + "keeping AST of inactive element: " //$NON-NLS-1$
+							+ toString(tUnit));
+				if (tUnit != null && ast != null)
+					recent = addRecentAST(tUnit, ast, ast.getIndex().getLastWriteAccess());
+			} else {
+				if (DEBUG)
+					System.out.println(DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " //$NON-NLS-1$ //$NON-NLS-2$
+							+ toString(ast));
 
-			fIsReconciling = false;
-			cache(ast, tUnit);
+				fIsReconciling = false;
+				cache(ast, tUnit);
+			}
 		}
+		if (recent != null)
+			recent.connect();
 	}
 
 	/**
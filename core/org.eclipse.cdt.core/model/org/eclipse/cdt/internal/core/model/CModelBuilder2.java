@@ -144,6 +144,7 @@ public class CModelBuilder2 implements IContributedModelBuilder {
 				parseFlags |= ITranslationUnit.AST_SKIP_FUNCTION_BODIES;
 			} else {
 				parseFlags |= ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT;
+				parseFlags |= ITranslationUnit.AST_INCREMENTAL_REPARSE;
 			}
 			parseFlags |= ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS;
 			parseFlags |= ITranslationUnit.AST_PARSE_INACTIVE_CODE;
@@ -23,6 +23,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -34,6 +35,7 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.AbstractCLikeLanguage;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
@@ -116,8 +118,38 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	 */
 	protected IProblemRequestor problemRequestor;
 
+	/**
+	 * An ast created with {@link ITranslationUnit#AST_INCREMENTAL_REPARSE} together with the file
+	 * content it was created for.
+	 */
+	private static final class PreviousAST {
+		final IASTTranslationUnit fAST;
+		final FileContent fContent;
+		final int fStyle;
+		final ILanguage fLanguage;
+		final long fLastWriteOnIndex;
+
+		PreviousAST(IASTTranslationUnit ast, FileContent content, int style, ILanguage language,
+				long lastWriteOnIndex) {
+			fAST = ast;
+			fContent = content;
+			fStyle = style;
+			fLanguage = language;
+			fLastWriteOnIndex = lastWriteOnIndex;
+		}
+	}
+
+	/**
+	 * Maximum number of working copies keeping an ast for incremental reparsing. Each ast uses
+	 * a lot of memory, typically only the files being edited benefit from keeping it.
+	 */
+	private static final int MAX_PREVIOUS_ASTS = 4;
+	/** The translation units with a previous ast, the one parsed least recently first. */
+	private static final ArrayDeque<TranslationUnit> sOwnersOfPreviousAST = new ArrayDeque<>();
+
 	SourceManipulationInfo sourceManipulationInfo;
 	private ILanguage fLanguageOfContext;
+	private volatile PreviousAST fPreviousAST;
 
 	public TranslationUnit(ICElement parent, IFile file, String idType) {
 		super(parent, file, ICElement.C_UNIT);
@@ -815,6 +847,7 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		if (cType != null) {
 			setContentTypeID(cType.getId());
 		}
+		setPreviousAST(null);
 		super.closing(info);
 	}
 
@@ -877,21 +910,69 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		if ((style & AST_PARSE_INACTIVE_CODE) != 0) {
 			options |= ILanguage.OPTION_PARSE_INACTIVE_CODE;
 		}
+		if ((style & AST_LAZY_FUNCTION_BODIES_IN_HEADERS) != 0) {
+			options |= ILanguage.OPTION_LAZY_FUNCTION_BODIES;
+		}
 		final IParserLogService log;
 		if (monitor instanceof ICanceler) {
 			log = new ParserLogService(DebugLogConstants.PARSER, (ICanceler) monitor);
 		} else {
 			log = ParserUtil.getParserLogService();
 		}
-		ASTTranslationUnit ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent,
-				scanInfo, crf, index, options, log);
+		final boolean incremental = (style & AST_INCREMENTAL_REPARSE) != 0 && isWorkingCopy() && index != null
+				&& language instanceof AbstractCLikeLanguage;
+		PreviousAST previous = incremental ? fPreviousAST : null;
+		if (previous != null && (previous.fStyle != style || previous.fLanguage != language
+				|| previous.fLastWriteOnIndex != index.getLastWriteAccess())) {
+			previous = null;
+		}
+		if (incremental) {
+			// The previous ast is used at most once, it is replaced by the new one.
+			setPreviousAST(null);
+		}
+		ASTTranslationUnit ast;
+		if (previous != null) {
+			ast = (ASTTranslationUnit) ((AbstractCLikeLanguage) language).getASTTranslationUnit(fileContent, scanInfo,
+					crf, index, options, log, previous.fAST, previous.fContent);
+		} else {
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo, crf,
+					index, options, log);
+		}
 		if (ast == null)
 			return null;
 		ast.setOriginatingTranslationUnit(this);
 		ast.setBasedOnIncompleteIndex(incompleteIndex);
+		if (incremental) {
+			setPreviousAST(new PreviousAST(ast, fileContent, style, language, index.getLastWriteAccess()));
+		}
 		return ast;
 	}
 
+	/**
+	 * Keeps the given ast for the next incremental reparse, or releases the current one. Only the
+	 * {@link #MAX_PREVIOUS_ASTS} translation units parsed most recently keep their asts.
+	 */
+	private void setPreviousAST(PreviousAST previous) {
+		synchronized (sOwnersOfPreviousAST) {
+			if (fPreviousAST != null) {
+				// Working copies are equal to their originals, the owners are compared by identity.
+				for (Iterator<TranslationUnit> it = sOwnersOfPreviousAST.iterator(); it.hasNext();) {
+					if (it.next() == this) {
+						it.remove();
+						break;
+					}
+				}
+			}
+			fPreviousAST = previous;
+			if (previous != null) {
+				sOwnersOfPreviousAST.addLast(this);
+				while (sOwnersOfPreviousAST.size() > MAX_PREVIOUS_ASTS) {
+					sOwnersOfPreviousAST.removeFirst().fPreviousAST = null;
+				}
+			}
+		}
+	}
+
 	private IncludeFileContentProvider getIncludeFileContentProvider(int style, IIndex index, int linkageID,
 			IIndexFile[] contextToHeader) {
 		final ICProject cprj = getCProject();
@@ -129,6 +129,9 @@ public class GPPLanguage extends AbstractCLikeLanguage {
 				parser.setMaximumTrivialExpressionsInAggregateInitializers(maximumTrivialExpressions);
 			}
 		}
+		if ((options & OPTION_LAZY_FUNCTION_BODIES) != 0) {
+			parser.setLazyFunctionBodies(true);
+		}
 		return parser;
 	}
 
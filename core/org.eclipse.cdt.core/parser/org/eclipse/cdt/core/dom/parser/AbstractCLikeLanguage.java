@@ -42,7 +42,9 @@ import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParseError.ParseErrorKind;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.dom.parser.IIncrementalParser;
 import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.util.ICancelable;
 import org.eclipse.cdt.internal.core.util.ICanceler;
 import org.eclipse.core.runtime.CoreException;
@@ -142,6 +144,23 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 	public IASTTranslationUnit getASTTranslationUnit(FileContent reader, IScannerInfo scanInfo,
 			IncludeFileContentProvider fileCreator, IIndex index, int options, IParserLogService log)
 			throws CoreException {
+		return getASTTranslationUnit(reader, scanInfo, fileCreator, index, options, log, null, null);
+	}
+
+	/**
+	 * Same as
+	 * {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)},
+	 * but allows the parser to reuse parts of an ast that was created for a previous version of
+	 * the same file. If the preprocessor state of the file has changed, the file is parsed
+	 * without the previous ast.
+	 *
+	 * @param previousAST  the ast of the previous version of the file, or {@code null}
+	 * @param previousReader  the contents of the previous version of the file, or {@code null}
+	 * @since 6.8
+	 */
+	public IASTTranslationUnit getASTTranslationUnit(FileContent reader, IScannerInfo scanInfo,
+			IncludeFileContentProvider fileCreator, IIndex index, int options, IParserLogService log,
+			IASTTranslationUnit previousAST, FileContent previousReader) throws CoreException {
 		final IScanner scanner = createScanner(reader, scanInfo, fileCreator, log);
 		scanner.setComputeImageLocations((options & OPTION_NO_IMAGE_LOCATIONS) == 0);
 		scanner.setProcessInactiveCode((options & OPTION_PARSE_INACTIVE_CODE) != 0);
@@ -152,6 +171,12 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 			parserSettings = extendedScannerInfo.getParserSettings();
 		}
 		final ISourceCodeParser parser = createParser(scanner, log, index, false, options, parserSettings);
+		final boolean incremental = previousAST != null && parser instanceof IIncrementalParser
+				&& reader instanceof InternalFileContent && previousReader instanceof InternalFileContent;
+		if (incremental) {
+			((IIncrementalParser) parser).setPreviousVersion(previousAST,
+					((InternalFileContent) previousReader).getSource(), ((InternalFileContent) reader).getSource());
+		}
 
 		// Make it possible to cancel parser by reconciler - http://bugs.eclipse.org/226682
 		ICanceler canceler = null;
@@ -168,7 +193,9 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 
 		try {
 			// Parse
-			return parser.parse();
+			IASTTranslationUnit ast = parser.parse();
+			if (!incremental || !((IIncrementalParser) parser).needsFullParse())
+				return ast;
 		} catch (ParseError e) {
 			// Only the TOO_MANY_TOKENS error can be handled here.
 			if (e.getErrorKind() != ParseErrorKind.TOO_MANY_TOKENS)
@@ -188,6 +215,8 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 				canceler.setCancelable(null);
 			}
 		}
+		// The parts reused from the previous ast may be out of date.
+		return getASTTranslationUnit(reader, scanInfo, fileCreator, index, options, log, null, null);
 	}
 
 	@Deprecated
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+
+/**
+ * Shared state for reducing the memory of an ast before it is frozen, see
+ * {@link ASTNode#compact(ASTCompactor)}.
+ */
+public final class ASTCompactor {
+	private final CharArrayObjectMap<char[]> fImages = new CharArrayObjectMap<>(1024);
+
+	/**
+	 * Returns an array with the same characters as the given one. Within the ast, the names
+	 * with the same identifier share a single array.
+	 */
+	public char[] intern(char[] image) {
+		if (image == null || image.length == 0)
+			return image;
+		char[] result = fImages.get(image);
+		if (result == null) {
+			fImages.put(image, image);
+			result = image;
+		}
+		return result;
+	}
+}
@@ -76,6 +76,13 @@ public abstract class ASTNode implements IASTNode {
 		frozen = true;
 	}
 
+	/**
+	 * Called before the node is frozen. Allows the node to release memory that was needed only
+	 * while the ast was built, e.g. the spare capacity of arrays that children were added to.
+	 */
+	protected void compact(ASTCompactor compactor) {
+	}
+
 	public void setInactive() {
 		assertNotFrozen();
 		active = false;
@@ -189,6 +189,18 @@ public class ASTQueries {
 		return active;
 	}
 
+	/**
+	 * Same as {@link #extractActiveDeclarations(IASTDeclaration[], int)} for an array without
+	 * spare capacity. The array itself is returned if all declarations are active.
+	 */
+	public static IASTDeclaration[] extractActiveDeclarations(IASTDeclaration[] allDeclarations) {
+		for (IASTDeclaration d : allDeclarations) {
+			if (!d.isActive())
+				return extractActiveDeclarations(allDeclarations, allDeclarations.length);
+		}
+		return allDeclarations;
+	}
+
 	public static boolean isSameType(IType type1, IType type2) {
 		if (type1 == type2)
 			return true;
@@ -95,8 +95,10 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 	private IBuiltinBindingsProvider fBuiltinBindingsProvider;
 
 	// Caches
-	private final WeakHashMap<IType, String> fUnnormalizedTypeStringCache = new WeakHashMap<>();
-	private final WeakHashMap<IType, String> fNormalizedTypeStringCache = new WeakHashMap<>();
+	private final Map<IType, String> fUnnormalizedTypeStringCache = ParallelResolution
+			.createCache(new WeakHashMap<IType, String>());
+	private final Map<IType, String> fNormalizedTypeStringCache = ParallelResolution
+			.createCache(new WeakHashMap<IType, String>());
 
 	@Override
 	public final IASTTranslationUnit getTranslationUnit() {
@@ -132,6 +134,15 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		return getDeclarations();
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (fAllDeclarations != null) {
+			fAllDeclarations = ArrayUtil.trimAt(IASTDeclaration.class, fAllDeclarations, fLastDeclaration);
+			fActiveDeclarations = ASTQueries.extractActiveDeclarations(fAllDeclarations);
+		}
+	}
+
 	public final void replace(IASTNode child, IASTNode other) {
 		assert child.isActive() == other.isActive();
 		for (int i = 0; i <= fLastDeclaration; ++i) {
@@ -464,15 +475,27 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		return super.copy(copy, style);
 	}
 
+	private static final class FreezingVisitor extends ASTGenericVisitor implements IDeferredBodyVisitor {
+		private final ASTCompactor fCompactor = new ASTCompactor();
+
+		FreezingVisitor() {
+			super(true);
+		}
+
+		@Override
+		protected int genericVisit(IASTNode node) {
+			ASTNode astNode = (ASTNode) node;
+			if (!astNode.isFrozen()) {
+				astNode.compact(fCompactor);
+				astNode.setIsFrozen();
+			}
+			return PROCESS_CONTINUE;
+		}
+	}
+
 	@Override
 	public final void freeze() {
-		accept(new ASTGenericVisitor(true) {
-			@Override
-			protected int genericVisit(IASTNode node) {
-				((ASTNode) node).setIsFrozen();
-				return PROCESS_CONTINUE;
-			}
-		});
+		accept(new FreezingVisitor());
 
 		if (IndexFileSet.sDEBUG && fIndexFileSet != null && fASTFileSet != null) {
 			long t = ((IndexFileSet) fIndexFileSet).getTimingContainsDeclarationNanos()
@@ -483,6 +506,14 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		}
 	}
 
+	/**
+	 * Freezes a subtree that is added to a frozen translation unit, e.g. a function body that is
+	 * parsed on demand.
+	 */
+	public static void freeze(IASTNode node) {
+		node.accept(new FreezingVisitor());
+	}
+
 	@Override
 	public ITranslationUnit getOriginatingTranslationUnit() {
 		return fOriginatingTranslationUnit;
@@ -0,0 +1,20 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+/**
+ * Marker for visitors that do not cause deferred function bodies to be parsed. Function
+ * definitions whose body has not yet been parsed are visited without the body.
+ *
+ * @see org.eclipse.cdt.core.model.ILanguage#OPTION_LAZY_FUNCTION_BODIES
+ */
+public interface IDeferredBodyVisitor {
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+
+/**
+ * A parser that can reuse parts of an ast created for a previous version of the same file.
+ */
+public interface IIncrementalParser {
+	/**
+	 * Provides the ast of a previous version of the file, must be called before parsing.
+	 *
+	 * @param previousAST the ast of the previous version of the file
+	 * @param previousSource the contents of the file the previous ast was created for
+	 * @param source the contents of the file to be parsed
+	 */
+	void setPreviousVersion(IASTTranslationUnit previousAST, AbstractCharArray previousSource,
+			AbstractCharArray source);
+
+	/**
+	 * Returns whether parts of the previous ast were reused although the preprocessor state of
+	 * the file has changed. The ast created by the parser must not be used in that case, the file
+	 * needs to be parsed again without the previous ast.
+	 */
+	boolean needsFullParse();
+
+	/**
+	 * Returns the number of function bodies that were copied from the previous ast instead of
+	 * being parsed.
+	 */
+	int getReusedFunctionBodyCount();
+}
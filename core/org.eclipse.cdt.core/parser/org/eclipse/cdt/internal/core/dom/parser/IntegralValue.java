@@ -64,14 +64,21 @@ public class IntegralValue implements IValue {
 	private static int sUnique = 0;
 
 	private final char[] fFixedValue;
+	// The numeric value is kept to avoid parsing the fixed value on each access.
+	private final Long fNumber;
 
 	private IntegralValue(char[] fixedValue) {
+		this(fixedValue, parseLong(fixedValue));
+	}
+
+	private IntegralValue(char[] fixedValue, Long number) {
 		fFixedValue = fixedValue;
+		fNumber = number;
 	}
 
 	@Override
 	public final Number numberValue() {
-		return parseLong(fFixedValue);
+		return fNumber;
 	}
 
 	@Override
@@ -159,7 +166,7 @@ public class IntegralValue implements IValue {
 	public static IntegralValue create(long value) {
 		if (value >= -1 && value < TYPICAL.length - 1)
 			return TYPICAL[(int) value + 1];
-		return new IntegralValue(toCharArray(value));
+		return new IntegralValue(toCharArray(value), value);
 	}
 
 	/**
@@ -288,7 +295,7 @@ public class IntegralValue implements IValue {
 
 	@Override
 	public IValue clone() {
-		return new IntegralValue(Arrays.copyOf(fFixedValue, fFixedValue.length));
+		return new IntegralValue(Arrays.copyOf(fFixedValue, fFixedValue.length), fNumber);
 	}
 
 	@Override
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolves independent parts of a translation unit, e.g. function bodies, on a fork-join pool.
+ * The number of threads is configured with the system property
+ * {@code org.eclipse.cdt.core.parser.parallelism}, the default of {@code 1} disables parallel
+ * resolution.
+ * <p>
+ * While parallel resolution is enabled, the caches of translation units need to be thread-safe,
+ * they are created via {@link #createCache(Map)}.
+ */
+public final class ParallelResolution {
+	private static volatile int sParallelism = Math.max(1,
+			Integer.getInteger("org.eclipse.cdt.core.parser.parallelism", 1)); //$NON-NLS-1$
+
+	/**
+	 * Performs an action on an element of a list.
+	 */
+	public interface IAction<T> {
+		void run(T element);
+	}
+
+	private static final class ForEach<T> extends RecursiveAction {
+		private final List<T> fElements;
+		private final int fFrom;
+		private final int fTo;
+		private final IAction<T> fAction;
+
+		ForEach(List<T> elements, int from, int to, IAction<T> action) {
+			fElements = elements;
+			fFrom = from;
+			fTo = to;
+			fAction = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (fTo - fFrom == 1) {
+				fAction.run(fElements.get(fFrom));
+			} else {
+				int mid = (fFrom + fTo) >>> 1;
+				invokeAll(new ForEach<>(fElements, fFrom, mid, fAction), new ForEach<>(fElements, mid, fTo, fAction));
+			}
+		}
+	}
+
+	private static ForkJoinPool sPool;
+
+	private ParallelResolution() {
+	}
+
+	public static boolean isEnabled() {
+		return sParallelism > 1;
+	}
+
+	public static int getParallelism() {
+		return sParallelism;
+	}
+
+	/**
+	 * Changes the number of threads, for testing purposes. Affects translation units created
+	 * afterwards.
+	 */
+	public static synchronized void setParallelism(int parallelism) {
+		sParallelism = Math.max(1, parallelism);
+		if (sPool != null && sPool.getParallelism() != sParallelism) {
+			sPool.shutdown();
+			sPool = null;
+		}
+	}
+
+	/**
+	 * Returns the given map, wrapped such that it is thread-safe if parallel resolution is enabled.
+	 */
+	public static <K, V> Map<K, V> createCache(Map<K, V> map) {
+		return isEnabled() ? Collections.synchronizedMap(map) : map;
+	}
+
+	/**
+	 * Performs the action on all elements of the list in parallel and waits for the completion.
+	 * Runtime exceptions and errors thrown by the action are rethrown.
+	 */
+	public static <T> void forEach(List<T> elements, IAction<T> action) {
+		if (elements.isEmpty())
+			return;
+		getPool().invoke(new ForEach<>(elements, 0, elements.size(), action));
+	}
+
+	private static synchronized ForkJoinPool getPool() {
+		if (sPool == null) {
+			sPool = new ForkJoinPool(sParallelism, new ForkJoinWorkerThreadFactory() {
+				@Override
+				public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+					ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					thread.setName("C/C++ Name Resolution " + thread.getPoolIndex()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			}, null, false);
+		}
+		return sPool;
+	}
+}
@@ -17,6 +17,7 @@ package org.eclipse.cdt.internal.core.dom.parser.cpp;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Stack;
 
 import org.eclipse.cdt.core.dom.ast.ASTNodeProperty;
@@ -36,6 +37,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
 import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTElaboratedTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTFunctionDeclarator;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateDeclaration;
@@ -43,13 +45,14 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateSpecialization;
 import org.eclipse.cdt.internal.core.dom.parser.ASTAmbiguousNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 
 /**
  * Visitor to resolve AST ambiguities in the right order
  */
-final class CPPASTAmbiguityResolver extends ASTVisitor {
+final class CPPASTAmbiguityResolver extends ASTVisitor implements IDeferredBodyVisitor {
 	private int fSkipInitializers = 0;
 	/*
 	 * The current nesting level of class definitions.
@@ -72,8 +75,24 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 	 */
 	private Stack<IASTFunctionDefinition> fProcessNow = new Stack<>();
 
+	/*
+	 * Collects the functions with bodies that are resolved later, in parallel with
+	 * each other. Is null if all bodies are resolved by this visitor.
+	 */
+	private final List<IASTFunctionDefinition> fIndependentFunctions;
+
 	public CPPASTAmbiguityResolver() {
+		this(null);
+	}
+
+	/**
+	 * @param independentFunctions if not {@code null}, the bodies of functions that do not affect
+	 *     the resolution of other parts of the translation unit are not visited but collected in
+	 *     the list.
+	 */
+	public CPPASTAmbiguityResolver(List<IASTFunctionDefinition> independentFunctions) {
 		super(false);
+		fIndependentFunctions = independentFunctions;
 		includeInactiveNodes = true;
 		shouldVisitAmbiguousNodes = true;
 		shouldVisitDeclarations = true;
@@ -173,6 +192,14 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 				// the remaining parts of the method (notably the body) until the end of the
 				// class declaration has been reached.
 				fDeferredNodes.add(decl);
+			} else if (fIndependentFunctions != null && fProcessNow.isEmpty() && isIndependent(fdef)) {
+				// Only the body is processed later by resolveFunction(), the initializers of
+				// the parameters are needed for calls of the function.
+				fdecl.accept(this);
+				if (fRepopulate.remove(decl)) {
+					repopulateScope(decl);
+				}
+				fIndependentFunctions.add(fdef);
 			} else {
 				// Otherwise, visit the remaining parts of the method now. To avoid duplicating
 				// code in CPPASTFunctionDefinition.accept(), call accept() on the entire
@@ -186,6 +213,37 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 		return PROCESS_CONTINUE;
 	}
 
+	/**
+	 * Returns whether the body of the function can be resolved independently of the rest of the
+	 * translation unit.
+	 */
+	static boolean isIndependent(IASTFunctionDefinition fdef) {
+		// Bodies of constexpr functions may be evaluated and bodies of functions with deduced
+		// return types determine the types of the functions, both while other parts of the
+		// translation unit are resolved.
+		IASTDeclSpecifier declSpec = fdef.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return false;
+		if (CPPVisitor.usesAuto(declSpec) != null)
+			return false;
+		// Bodies of templates are needed for instantiations.
+		for (IASTNode node = fdef.getParent(); node != null; node = node.getParent()) {
+			if (node instanceof ICPPASTTemplateDeclaration)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Resolves the ambiguities in the parts of a function that were skipped because the function
+	 * was collected as an independent function.
+	 */
+	public void resolveFunction(IASTFunctionDefinition fdef) {
+		fProcessNow.push(fdef);
+		fdef.accept(this);
+		fProcessNow.pop();
+	}
+
 	@Override
 	public int leave(IASTDeclaration declaration) {
 		if (fRepopulate.remove(declaration)) {
@@ -24,6 +24,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVisibilityLabel;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassScope;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 
 /**
@@ -136,6 +137,18 @@ public class CPPASTCompositeTypeSpecifier extends CPPASTBaseDeclSpecifier implem
 		return getMembers();
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (fAllDeclarations != null) {
+			fAllDeclarations = ArrayUtil.trimAt(IASTDeclaration.class, fAllDeclarations, fDeclarationsPos);
+			fActiveDeclarations = ASTQueries.extractActiveDeclarations(fAllDeclarations);
+		}
+		if (baseSpecs != null) {
+			baseSpecs = ArrayUtil.trimAt(ICPPASTBaseSpecifier.class, baseSpecs, baseSpecsPos);
+		}
+	}
+
 	@Override
 	public void addMemberDeclaration(IASTDeclaration decl) {
 		if (decl == null)
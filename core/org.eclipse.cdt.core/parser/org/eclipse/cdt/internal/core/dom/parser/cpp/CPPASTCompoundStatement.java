@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPScope;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.DestructorCallCollector;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecCompoundStatement;
 
@@ -66,6 +67,12 @@ public class CPPASTCompoundStatement extends CPPASTAttributeOwner
 		}
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		statements = ArrayUtil.trim(statements);
+	}
+
 	@Override
 	public IScope getScope() {
 		if (scope == null)
@@ -38,6 +38,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTQualifiedName;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBinding;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassScope;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
@@ -140,6 +141,14 @@ public class CPPASTDeclarator extends CPPASTAttributeOwner
 		}
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (pointerOps != null) {
+			pointerOps = ArrayUtil.trim(IASTPointerOperator.class, pointerOps);
+		}
+	}
+
 	/**
 	 * Remove a pointer operator from the pointer operators
 	 * @param operator Pointer operator to be removed
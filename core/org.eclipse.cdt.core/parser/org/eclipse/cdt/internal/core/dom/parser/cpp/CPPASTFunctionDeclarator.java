@@ -30,6 +30,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier.SpecifierKind;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionScope;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 
 /**
@@ -111,6 +112,14 @@ public class CPPASTFunctionDeclarator extends CPPASTDeclarator implements ICPPAS
 		}
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (parameters != null) {
+			parameters = ArrayUtil.trim(parameters);
+		}
+	}
+
 	@Override
 	public boolean takesVarArgs() {
 		return varArgs;
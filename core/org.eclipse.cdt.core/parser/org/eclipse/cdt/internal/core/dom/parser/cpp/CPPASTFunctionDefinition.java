@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.dom.ast.IASTImplicitNameOwner;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.IType;
@@ -39,6 +40,8 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 
 /**
@@ -50,6 +53,7 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 	private IASTDeclSpecifier declSpecifier;
 	private IASTFunctionDeclarator declarator;
 	private IASTStatement bodyStatement;
+	private volatile DeferredFunctionBody fDeferredBody;
 	private ICPPASTConstructorChainInitializer[] memInits;
 	private IASTImplicitName[] implicitNames; // for constructors: base constructors called implicitly
 	private int memInitPos = -1;
@@ -82,7 +86,8 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 			copy.setDeclarator((IASTFunctionDeclarator) ASTQueries.findTypeRelevantDeclarator(outer));
 		}
 
-		copy.setBody(bodyStatement == null ? null : bodyStatement.copy(style));
+		IASTStatement body = getBody();
+		copy.setBody(body == null ? null : body.copy(style));
 
 		for (ICPPASTConstructorChainInitializer initializer : getMemberInitializers()) {
 			copy.addMemberInitializer(initializer == null ? null : initializer.copy(style));
@@ -126,9 +131,51 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 
 	@Override
 	public IASTStatement getBody() {
+		if (fDeferredBody != null) {
+			parseDeferredBody();
+		}
 		return bodyStatement;
 	}
 
+	/**
+	 * Returns whether the body of this function has not yet been parsed, see
+	 * {@link org.eclipse.cdt.core.model.ILanguage#OPTION_LAZY_FUNCTION_BODIES}.
+	 */
+	public boolean hasDeferredBody() {
+		return fDeferredBody != null;
+	}
+
+	void setDeferredBody(DeferredFunctionBody body) {
+		assertNotFrozen();
+		fDeferredBody = body;
+	}
+
+	void detachDeferredBody() {
+		DeferredFunctionBody body = fDeferredBody;
+		if (body != null) {
+			body.detachFromTokenStream();
+		}
+	}
+
+	private synchronized void parseDeferredBody() {
+		final DeferredFunctionBody deferredBody = fDeferredBody;
+		if (deferredBody == null)
+			return;
+
+		IASTTranslationUnit tu = getTranslationUnit();
+		if (tu instanceof CPPASTTranslationUnit) {
+			IASTStatement body = deferredBody.parse((CPPASTTranslationUnit) tu);
+			body.setParent(this);
+			body.setPropertyInParent(FUNCTION_BODY);
+			((CPPASTTranslationUnit) tu).resolveAmbiguities(body);
+			if (isFrozen()) {
+				ASTTranslationUnit.freeze(body);
+			}
+			bodyStatement = body;
+		}
+		fDeferredBody = null;
+	}
+
 	@Override
 	public void setBody(IASTStatement statement) {
 		assertNotFrozen();
@@ -222,6 +269,9 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 			}
 		}
 
+		if (fDeferredBody != null && !(action instanceof IDeferredBodyVisitor)) {
+			parseDeferredBody();
+		}
 		if (bodyStatement != null && !bodyStatement.accept(action))
 			return false;
 
@@ -23,6 +23,7 @@ import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespace;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 
 /**
@@ -112,6 +113,15 @@ public class CPPASTNamespaceDefinition extends CPPASTAttributeOwner implements I
 		return getDeclarations();
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (fAllDeclarations != null) {
+			fAllDeclarations = ArrayUtil.trimAt(IASTDeclaration.class, fAllDeclarations, fLastDeclaration);
+			fActiveDeclarations = ASTQueries.extractActiveDeclarations(fAllDeclarations);
+		}
+	}
+
 	@Override
 	public IScope getScope() {
 		return ((ICPPNamespace) fName.resolveBinding()).getNamespaceScope();
@@ -21,6 +21,7 @@ import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
+import org.eclipse.cdt.internal.core.dom.parser.ASTCompactor;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecSimpleDeclaration;
 
 /**
@@ -90,6 +91,14 @@ public class CPPASTSimpleDeclaration extends CPPASTAttributeOwner implements IAS
 		}
 	}
 
+	@Override
+	protected void compact(ASTCompactor compactor) {
+		super.compact(compactor);
+		if (declarators != null) {
+			declarators = ArrayUtil.trimAt(IASTDeclarator.class, declarators, declaratorsPos);
+		}
+	}
+
 	@Override
 	public boolean accept(ASTVisitor action) {
 		if (action.shouldVisitDeclarations) {
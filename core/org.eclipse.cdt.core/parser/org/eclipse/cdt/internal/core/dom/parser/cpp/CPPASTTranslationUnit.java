@@ -15,13 +15,17 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
 import org.eclipse.cdt.core.dom.ast.IBasicType;
 import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
@@ -30,6 +34,7 @@ import org.eclipse.cdt.core.dom.ast.IMacroBinding;
 import org.eclipse.cdt.core.dom.ast.IProblemBinding;
 import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassTemplatePartialSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
@@ -42,8 +47,11 @@ import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ScopeLookupCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
@@ -58,13 +66,20 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	private CPPASTAmbiguityResolver fAmbiguityResolver;
 
 	// Caches.
-	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = new HashMap<>();
+	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = ParallelResolution
+			.createCache(new HashMap<ICPPClassType, FinalOverriderMap>());
 	// Cache for type instantiations. This is currently only used for instantiations of
 	// alias template instances, but its use could potentially be expanded to cover other
 	// instantiations. Note that class template instances are already cached by the
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
 	// cache instantiations of function types if we found it worthwhile.)
-	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = ParallelResolution
+			.createCache(new HashMap<TypeInstantiationRequest, IType>());
+	// Cache for the values of constexpr function calls with constant arguments.
+	private final Map<Object, IValue> fConstexprCallCache = ParallelResolution
+			.createCache(new HashMap<Object, IValue>());
+	private ConstexprEvaluationBudget fConstexprEvaluationBudget;
+	private final ScopeLookupCache fScopeLookupCache = new ScopeLookupCache();
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -197,6 +212,8 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	public void skippedFile(int offset, InternalFileContent fileContent) {
 		super.skippedFile(offset, fileContent);
 		fScopeMapper.registerAdditionalDirectives(offset, fileContent.getUsingDirectives());
+		// Lookups in the index depend on the files included from the index.
+		fScopeLookupCache.clear();
 	}
 
 	@Override
@@ -225,7 +242,7 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		fScopeMapper.handleAdditionalDirectives(scope);
 	}
 
-	private class ProblemBindingClearer extends ASTVisitor {
+	private class ProblemBindingClearer extends ASTVisitor implements IDeferredBodyVisitor {
 		public ProblemBindingClearer() {
 			shouldVisitNames = true;
 		}
@@ -241,8 +258,18 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 
 	@Override
 	public void resolveAmbiguities() {
-		fAmbiguityResolver = new CPPASTAmbiguityResolver();
+		List<IASTFunctionDefinition> independentFunctions = ParallelResolution.isEnabled() ? new ArrayList<>() : null;
+		fAmbiguityResolver = new CPPASTAmbiguityResolver(independentFunctions);
 		accept(fAmbiguityResolver);
+		if (independentFunctions != null) {
+			if (independentFunctions.size() > 1) {
+				new ParallelFunctionResolver(this, independentFunctions).run();
+			} else {
+				for (IASTFunctionDefinition fdef : independentFunctions) {
+					fAmbiguityResolver.resolveFunction(fdef);
+				}
+			}
+		}
 		// During ambiguity resolution, names can incorrectly get stuck with ProblemBindings.
 		// To prevent this, clear all ProblemBindings here, allowing name resolution for
 		// the affected names to be attempted again with a fully ambiguity-resolved AST.
@@ -250,6 +277,15 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		fAmbiguityResolver = null;
 	}
 
+	/**
+	 * Resolves the ambiguities in a function body that is parsed after the rest of the
+	 * translation unit.
+	 */
+	void resolveAmbiguities(IASTStatement body) {
+		body.accept(new CPPASTAmbiguityResolver());
+		body.accept(new ProblemBindingClearer());
+	}
+
 	@Override
 	protected IType createType(IASTTypeId typeid) {
 		return CPPVisitor.createType(typeid);
@@ -257,8 +293,11 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 
 	@Override
 	public void resolvePendingAmbiguities(IASTNode node) {
-		if (fAmbiguityResolver != null) {
-			fAmbiguityResolver.resolvePendingAmbiguities(node);
+		CPPASTAmbiguityResolver resolver = ParallelFunctionResolver.getFunctionResolver();
+		if (resolver == null)
+			resolver = fAmbiguityResolver;
+		if (resolver != null) {
+			resolver.resolvePendingAmbiguities(node);
 		}
 	}
 
@@ -270,6 +309,31 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fInstantiationCache;
 	}
 
+	/**
+	 * Returns the cache for lookups in scopes of the index.
+	 */
+	public ScopeLookupCache getScopeLookupCache() {
+		return fScopeLookupCache;
+	}
+
+	public Map<Object, IValue> getConstexprCallCache() {
+		return fConstexprCallCache;
+	}
+
+	/**
+	 * Returns the budget for the constexpr evaluations in this translation unit.
+	 */
+	public ConstexprEvaluationBudget getConstexprEvaluationBudget() {
+		if (fConstexprEvaluationBudget == null) {
+			fConstexprEvaluationBudget = ConstexprEvaluationBudget.create();
+		}
+		return fConstexprEvaluationBudget;
+	}
+
+	public void setConstexprEvaluationBudget(ConstexprEvaluationBudget budget) {
+		fConstexprEvaluationBudget = budget;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
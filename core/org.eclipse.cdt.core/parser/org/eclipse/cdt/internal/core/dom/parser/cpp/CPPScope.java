@@ -319,7 +319,7 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 	}
 
 	@Override
-	public final void populateCache() {
+	public final synchronized void populateCache() {
 		if (!isCached) {
 			isCached = true; // set to true before doing the work, to avoid recursion
 			CPPSemantics.populateCache(this);
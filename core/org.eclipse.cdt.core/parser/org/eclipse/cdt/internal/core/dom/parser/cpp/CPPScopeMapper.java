@@ -46,6 +46,7 @@ import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 
@@ -279,13 +280,18 @@ public class CPPScopeMapper {
 		}
 	}
 
-	private final HashMap<IIndexScope, IScope> fMappedScopes = new HashMap<>();
-	private final HashMap<String, NamespaceScopeWrapper> fNamespaceWrappers = new HashMap<>();
-	private final Map<String, List<UsingDirectiveWrapper>> fPerName = new HashMap<>();
+	// The maps are accessed by the threads resolving function bodies in parallel.
+	private final Map<IIndexScope, IScope> fMappedScopes = ParallelResolution
+			.createCache(new HashMap<IIndexScope, IScope>());
+	private final Map<String, NamespaceScopeWrapper> fNamespaceWrappers = ParallelResolution
+			.createCache(new HashMap<String, NamespaceScopeWrapper>());
+	private final Map<String, List<UsingDirectiveWrapper>> fPerName = ParallelResolution
+			.createCache(new HashMap<String, List<UsingDirectiveWrapper>>());
 	private final CPPASTTranslationUnit fTu;
 	protected CharArrayMap<IASTName[]> fClasses;
 
-	private final Map<ICPPClassTemplatePartialSpecialization, ICPPClassTemplatePartialSpecialization> fPartialSpecs = new HashMap<>();
+	private final Map<ICPPClassTemplatePartialSpecialization, ICPPClassTemplatePartialSpecialization> fPartialSpecs = ParallelResolution
+			.createCache(new HashMap<ICPPClassTemplatePartialSpecialization, ICPPClassTemplatePartialSpecialization>());
 
 	public CPPScopeMapper(CPPASTTranslationUnit tu) {
 		fTu = tu;
@@ -370,7 +376,10 @@ public class CPPScopeMapper {
 				if (result == null) {
 					result = wrapNamespaceScope((ICPPNamespaceScope) scope);
 				}
-				fMappedScopes.put(scope, result);
+				// Another thread may have mapped the scope in the meantime, its result is used.
+				IScope other = fMappedScopes.putIfAbsent(scope, result);
+				if (other != null)
+					result = other;
 			}
 			return result;
 		}
@@ -383,7 +392,9 @@ public class CPPScopeMapper {
 			NamespaceScopeWrapper result = fNamespaceWrappers.get(rqname);
 			if (result == null) {
 				result = new NamespaceScopeWrapper(getCompositeNamespaceScope(scope));
-				fNamespaceWrappers.put(rqname, result);
+				NamespaceScopeWrapper other = fNamespaceWrappers.putIfAbsent(rqname, result);
+				if (other != null)
+					result = other;
 			}
 			return result;
 		} catch (DOMException e) {
@@ -417,11 +428,7 @@ public class CPPScopeMapper {
 			return type;
 		}
 
-		if (fClasses == null) {
-			fClasses = new CharArrayMap<>();
-			fTu.accept(new Visitor());
-		}
-		IASTName[] names = fClasses.get(type.getNameCharArray());
+		IASTName[] names = getClasses().get(type.getNameCharArray());
 		if (names != null) {
 			for (IASTName name : names) {
 				if (name == null)
@@ -438,6 +445,17 @@ public class CPPScopeMapper {
 		return type;
 	}
 
+	/**
+	 * Returns the class definitions of the translation unit by name, they are collected on first use.
+	 */
+	synchronized CharArrayMap<IASTName[]> getClasses() {
+		if (fClasses == null) {
+			fClasses = new CharArrayMap<>();
+			fTu.accept(new Visitor());
+		}
+		return fClasses;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fPartialSpecs.put(indexSpec, astSpec);
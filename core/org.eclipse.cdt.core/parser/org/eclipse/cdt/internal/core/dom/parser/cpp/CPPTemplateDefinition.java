@@ -94,7 +94,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
+	public synchronized final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
 		if (instances == null)
 			instances = new ObjectMap(2);
 		String key = ASTTypeUtil.getArgumentListString(arguments, true);
@@ -103,11 +103,13 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 
 	@Override
 	public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
-		if (instances != null) {
-			String key = ASTTypeUtil.getArgumentListString(arguments, true);
-			ICPPTemplateInstance cand = (ICPPTemplateInstance) instances.get(key);
-			if (cand != null)
-				return cand;
+		synchronized (this) {
+			if (instances != null) {
+				String key = ASTTypeUtil.getArgumentListString(arguments, true);
+				ICPPTemplateInstance cand = (ICPPTemplateInstance) instances.get(key);
+				if (cand != null)
+					return cand;
+			}
 		}
 
 		final ICPPClassTemplate ib = getIndexBinding();
@@ -145,7 +147,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public ICPPTemplateInstance[] getAllInstances() {
+	public synchronized ICPPTemplateInstance[] getAllInstances() {
 		if (instances != null) {
 			ICPPTemplateInstance[] result = new ICPPTemplateInstance[instances.size()];
 			for (int i = 0; i < instances.size(); i++) {
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+
+/**
+ * Limits the work spent on constexpr evaluations for a translation unit. The number of steps
+ * is limited per evaluation, the time is limited for all evaluations of the translation unit
+ * together. Once the time is used up, further evaluations are not attempted and yield an
+ * unknown value.
+ * <p>
+ * The defaults can be configured with the system properties
+ * {@code org.eclipse.cdt.core.parser.constexpr.maxSteps} and
+ * {@code org.eclipse.cdt.core.parser.constexpr.maxTime}, the latter in milliseconds with
+ * {@code 0} meaning no limit.
+ */
+public final class ConstexprEvaluationBudget {
+	/**
+	 * Receives the work spent on evaluating calls of constexpr functions, e.g. to find out which
+	 * functions use up the budget.
+	 */
+	public interface IProfiler {
+		/**
+		 * Called after a call of a constexpr function was evaluated. The steps and the time
+		 * include the evaluation of nested calls.
+		 *
+		 * @param function the called function
+		 * @param steps the number of steps performed for the call
+		 * @param nanos the time spent on the call
+		 * @param exhausted whether the budget was used up during the call
+		 */
+		void functionEvaluated(ICPPFunction function, int steps, long nanos, boolean exhausted);
+	}
+
+	public static final int DEFAULT_MAX_STEPS = Integer
+			.getInteger("org.eclipse.cdt.core.parser.constexpr.maxSteps", 1024); //$NON-NLS-1$
+	public static final long DEFAULT_MAX_TIME = Long.getLong("org.eclipse.cdt.core.parser.constexpr.maxTime", 0); //$NON-NLS-1$
+
+	private static final ConstexprEvaluationBudget DEFAULT = new ConstexprEvaluationBudget(DEFAULT_MAX_STEPS, 0);
+
+	private final int fMaxSteps;
+	private final long fMaxNanos;
+	private final AtomicLong fUsedNanos = new AtomicLong();
+	private volatile IProfiler fProfiler;
+
+	/**
+	 * @param maxSteps the maximum number of steps of a single evaluation.
+	 * @param maxTime the maximum time in milliseconds for all evaluations, or {@code 0} for no limit.
+	 */
+	public ConstexprEvaluationBudget(int maxSteps, long maxTime) {
+		fMaxSteps = maxSteps;
+		fMaxNanos = maxTime * 1000000;
+	}
+
+	/**
+	 * Returns the budget for evaluations outside of a translation unit. Its time is not limited,
+	 * because it is shared by all such evaluations.
+	 */
+	public static ConstexprEvaluationBudget getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Creates a budget for a translation unit with the default limits.
+	 */
+	public static ConstexprEvaluationBudget create() {
+		return new ConstexprEvaluationBudget(DEFAULT_MAX_STEPS, DEFAULT_MAX_TIME);
+	}
+
+	public int getMaxSteps() {
+		return fMaxSteps;
+	}
+
+	public boolean isTimeLimited() {
+		return fMaxNanos > 0;
+	}
+
+	/**
+	 * Adds the given time to the time used by the evaluations.
+	 */
+	public void recordTime(long nanos) {
+		fUsedNanos.addAndGet(nanos);
+	}
+
+	public long getUsedTime() {
+		return fUsedNanos.get() / 1000000;
+	}
+
+	public boolean isTimeExhausted() {
+		return fMaxNanos > 0 && fUsedNanos.get() >= fMaxNanos;
+	}
+
+	public IProfiler getProfiler() {
+		return fProfiler;
+	}
+
+	public void setProfiler(IProfiler profiler) {
+		fProfiler = profiler;
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.ICPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.IParserLogService;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * The tokens of a function body that is parsed when it is first requested, see
+ * {@link org.eclipse.cdt.core.model.ILanguage#OPTION_LAZY_FUNCTION_BODIES}.
+ * <p>
+ * The tokens are the ones produced by the preprocessor for the original parse, the body
+ * is parsed by replaying them to a new parser.
+ */
+final class DeferredFunctionBody {
+	/**
+	 * The settings of the original parser, shared by the deferred bodies of a translation unit.
+	 */
+	static final class ParserSettings {
+		final IParserLogService fLog;
+		final ICPPParserExtensionConfiguration fConfig;
+		final IIndex fIndex;
+		final char[] fAdditionalNumericLiteralSuffixes;
+		final int fMaximumTrivialExpressionsInAggregateInitializers;
+
+		ParserSettings(IParserLogService log, ICPPParserExtensionConfiguration config, IIndex index,
+				char[] additionalNumericLiteralSuffixes, int maximumTrivialExpressionsInAggregateInitializers) {
+			fLog = log;
+			fConfig = config;
+			fIndex = index;
+			fAdditionalNumericLiteralSuffixes = additionalNumericLiteralSuffixes;
+			fMaximumTrivialExpressionsInAggregateInitializers = maximumTrivialExpressionsInAggregateInitializers;
+		}
+	}
+
+	/**
+	 * Provides the first token of the body, the parser follows the links between the tokens
+	 * and requests a further token only after the end of the body.
+	 */
+	private static final class ReplayScanner implements IScanner {
+		private final IToken fFirst;
+		private final char[] fAdditionalNumericLiteralSuffixes;
+		private boolean fReplayed;
+
+		ReplayScanner(IToken first, char[] additionalNumericLiteralSuffixes) {
+			fFirst = first;
+			fAdditionalNumericLiteralSuffixes = additionalNumericLiteralSuffixes;
+		}
+
+		@Override
+		public IToken nextToken() throws EndOfFileException {
+			if (fReplayed)
+				throw new EndOfFileException(fFirst.getOffset());
+			fReplayed = true;
+			return fFirst;
+		}
+
+		@Override
+		public Map<String, IMacroBinding> getMacroDefinitions() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public boolean isOnTopContext() {
+			return false;
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public ILocationResolver getLocationResolver() {
+			return null;
+		}
+
+		@Override
+		public void setContentAssistMode(int offset) {
+		}
+
+		@Override
+		public void setSplitShiftROperator(boolean val) {
+		}
+
+		@Override
+		public void setComputeImageLocations(boolean val) {
+		}
+
+		@Override
+		public void setTrackIncludeExport(IncludeExportPatterns patterns) {
+		}
+
+		@Override
+		public void setProcessInactiveCode(boolean val) {
+		}
+
+		@Override
+		public void skipInactiveCode() {
+		}
+
+		@Override
+		public int getCodeBranchNesting() {
+			return 0;
+		}
+
+		@Override
+		public char[] getAdditionalNumericLiteralSuffixes() {
+			return fAdditionalNumericLiteralSuffixes;
+		}
+	}
+
+	private final IToken fFirst;
+	private final IToken fLast;
+	private final ParserSettings fSettings;
+
+	DeferredFunctionBody(IToken first, IToken last, ParserSettings settings) {
+		fFirst = first;
+		fLast = last;
+		fSettings = settings;
+	}
+
+	int getEndOffset() {
+		return fLast.getEndOffset();
+	}
+
+	/**
+	 * Stops the tokens of the body from referencing the tokens that follow it.
+	 */
+	void detachFromTokenStream() {
+		fLast.setNext(null);
+	}
+
+	/**
+	 * Parses the body, the resulting statement is not yet added to the translation unit.
+	 */
+	IASTStatement parse(ICPPASTTranslationUnit tu) {
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(
+				new ReplayScanner(fFirst, fSettings.fAdditionalNumericLiteralSuffixes), ParserMode.COMPLETE_PARSE,
+				fSettings.fLog, fSettings.fConfig, fSettings.fIndex);
+		parser.setMaximumTrivialExpressionsInAggregateInitializers(
+				fSettings.fMaximumTrivialExpressionsInAggregateInitializers);
+		return parser.parseDeferredFunctionBody(tu, fFirst, fLast);
+	}
+}
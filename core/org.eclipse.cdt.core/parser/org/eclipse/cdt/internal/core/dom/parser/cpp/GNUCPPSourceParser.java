@@ -180,16 +180,19 @@ import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousDeclarator;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousExpression;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousStatement;
+import org.eclipse.cdt.internal.core.dom.parser.IIncrementalParser;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.BranchPoint;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.Variant;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
 
 /**
  * This is our implementation of the IParser interface, serving as a parser for
  * GNU C and C++. From time to time we will make reference to the ANSI ISO
  * specifications.
  */
-public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
+public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser implements IIncrementalParser {
 	private static final int DEFAULT_PARM_LIST_SIZE = 4;
 	private static final int DEFAULT_CATCH_HANDLER_LIST_SIZE = 4;
 	private static final int TEMPLATE_ARGUMENT_NESTING_DEPTH_LIMIT = 192;
@@ -207,9 +210,16 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 	private final boolean supportGCCStyleDesignators;
 
 	private final IIndex index;
+	private final ICPPParserExtensionConfiguration config;
 	protected ICPPASTTranslationUnit translationUnit;
 
 	private int functionBodyCount;
+	private boolean fLazyFunctionBodies;
+	private DeferredFunctionBody.ParserSettings fDeferredBodySettings;
+	private List<CPPASTFunctionDefinition> fDeferredFunctions;
+	private ReusableFunctionBodies fReusableBodies;
+	private boolean fNeedsFullParse;
+	private int fReusedFunctionBodies;
 	private int templateArgumentNestingDepth = 0;
 	private char[] currentClassName;
 	private char[] additionalNumericalSuffixes;
@@ -239,11 +249,36 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		supportAutoTypeSpecifier = true;
 		supportUserDefinedLiterals = config.supportUserDefinedLiterals();
 		this.index = index;
+		this.config = config;
 		scanner.setSplitShiftROperator(true);
 		fContextSensitiveTokens = createContextSensitiveTokenMap(config);
 		additionalNumericalSuffixes = scanner.getAdditionalNumericLiteralSuffixes();
 	}
 
+	/**
+	 * Instructs the parser to defer the parsing of function bodies in header files, see
+	 * {@link org.eclipse.cdt.core.model.ILanguage#OPTION_LAZY_FUNCTION_BODIES}.
+	 */
+	public void setLazyFunctionBodies(boolean value) {
+		fLazyFunctionBodies = value;
+	}
+
+	@Override
+	public void setPreviousVersion(IASTTranslationUnit previousAST, AbstractCharArray previousSource,
+			AbstractCharArray source) {
+		fReusableBodies = ReusableFunctionBodies.create(previousAST, previousSource, source);
+	}
+
+	@Override
+	public boolean needsFullParse() {
+		return fNeedsFullParse;
+	}
+
+	@Override
+	public int getReusedFunctionBodyCount() {
+		return fReusedFunctionBodies;
+	}
+
 	@Override
 	protected ICPPNodeFactory getNodeFactory() {
 		return (ICPPNodeFactory) super.getNodeFactory();
@@ -3062,6 +3097,23 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 			ctorInitializer(fdef);
 		}
 
+		if (fdef.getClass() == CPPASTFunctionDefinition.class && canReuseFunctionBody()) {
+			IASTCompoundStatement body = reuseFunctionBody();
+			if (body != null) {
+				fdef.setBody(body);
+				return setRange(fdef, firstOffset, calculateEndOffset(body));
+			}
+		}
+
+		if (fdef.getClass() == CPPASTFunctionDefinition.class && canDeferFunctionBody()) {
+			DeferredFunctionBody body = deferFunctionBody();
+			if (body != null) {
+				((CPPASTFunctionDefinition) fdef).setDeferredBody(body);
+				fDeferredFunctions.add((CPPASTFunctionDefinition) fdef);
+				return setRange(fdef, firstOffset, body.getEndOffset());
+			}
+		}
+
 		try {
 			IASTStatement body = handleFunctionBody();
 			fdef.setBody(body);
@@ -5499,6 +5551,120 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		return result;
 	}
 
+	private boolean canDeferFunctionBody() throws EndOfFileException {
+		// Only bodies in headers are deferred, the bodies in the source file are typically needed
+		// by the clients of the ast.
+		return fLazyFunctionBodies && mode == ParserMode.COMPLETE_PARSE && functionBodyCount == 0
+				&& isActiveCode() && !scanner.isOnTopContext() && LT(1) == IToken.tLBRACE;
+	}
+
+	/**
+	 * Skips over a function body and returns its tokens, or {@code null} if the body has to be
+	 * parsed right away.
+	 */
+	private DeferredFunctionBody deferFunctionBody() throws EndOfFileException {
+		declarationMark = null;
+		final IToken first = mark();
+		final IToken last;
+		try {
+			last = skipOverCompoundStatement(false);
+		} catch (BacktrackException | EndOfFileException e) {
+			backup(first);
+			return null;
+		}
+		for (IToken t = first; t != last; t = t.getNext()) {
+			switch (t.getType()) {
+			case IToken.tINACTIVE_CODE_START:
+			case IToken.tINACTIVE_CODE_SEPARATOR:
+			case IToken.tINACTIVE_CODE_END:
+				// The boundaries of inactive code cannot be replayed.
+				backup(first);
+				return null;
+			}
+		}
+		if (fDeferredBodySettings == null) {
+			fDeferredBodySettings = new DeferredFunctionBody.ParserSettings(log, config, index,
+					additionalNumericalSuffixes, maximumTrivialExpressionsInAggregateInitializers);
+			fDeferredFunctions = new ArrayList<>();
+		}
+		return new DeferredFunctionBody(first, last, fDeferredBodySettings);
+	}
+
+	private boolean canReuseFunctionBody() throws EndOfFileException {
+		return fReusableBodies != null && mode == ParserMode.COMPLETE_PARSE && functionBodyCount == 0
+				&& isActiveCode() && LT(1) == IToken.tLBRACE;
+	}
+
+	/**
+	 * Skips over a function body and returns a copy of the same body from the ast of the previous
+	 * version of the file, or {@code null} if the body has to be parsed.
+	 */
+	private IASTCompoundStatement reuseFunctionBody() throws EndOfFileException {
+		final IToken first = mark();
+		final ILocationResolver resolver = translationUnit.getAdapter(ILocationResolver.class);
+		if (resolver == null || !fReusableBodies.hasCandidate(first.getOffset(), resolver))
+			return null;
+
+		declarationMark = null;
+		final IToken last;
+		try {
+			last = skipOverCompoundStatement(false);
+		} catch (BacktrackException | EndOfFileException e) {
+			backup(first);
+			return null;
+		}
+		for (IToken t = first; t != last; t = t.getNext()) {
+			switch (t.getType()) {
+			case IToken.tINACTIVE_CODE_START:
+			case IToken.tINACTIVE_CODE_SEPARATOR:
+			case IToken.tINACTIVE_CODE_END:
+				backup(first);
+				return null;
+			}
+		}
+		IASTCompoundStatement body = fReusableBodies.reuse(first.getOffset(), last.getEndOffset(), resolver);
+		if (body == null)
+			backup(first);
+		return body;
+	}
+
+	@Override
+	protected void parseTranslationUnit() {
+		super.parseTranslationUnit();
+		if (fReusableBodies != null) {
+			fNeedsFullParse = !fReusableBodies.isValidFor(translationUnit);
+			fReusedFunctionBodies = fReusableBodies.getReusedCount();
+			// The previous ast is no longer referenced by the parser.
+			fReusableBodies = null;
+		}
+		if (fDeferredFunctions != null) {
+			// Deferred bodies that are part of the ast keep their tokens, the rest of the token
+			// stream is released.
+			for (CPPASTFunctionDefinition fdef : fDeferredFunctions) {
+				if (fdef.getTranslationUnit() == translationUnit) {
+					fdef.detachDeferredBody();
+				}
+			}
+			fDeferredFunctions = null;
+		}
+	}
+
+	/**
+	 * Parses a function body that was deferred while parsing the given translation unit.
+	 */
+	IASTStatement parseDeferredFunctionBody(ICPPASTTranslationUnit tu, IToken first, IToken last) {
+		translationUnit = tu;
+		try {
+			return functionBody();
+		} catch (BacktrackException | EndOfFileException e) {
+			IASTCompoundStatement cs = getNodeFactory().newCompoundStatement();
+			setRange(cs, first.getOffset(), last.getEndOffset());
+			return cs;
+		} finally {
+			translationUnit = null;
+		}
+	}
+
 	@Override
 	protected IASTCompoundStatement functionBody() throws EndOfFileException, BacktrackException {
 		++functionBodyCount;
@@ -16,12 +16,15 @@
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.IValue;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ActivationRecord;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -94,19 +97,67 @@ public interface ICPPEvaluation {
 	 */
 	public final class ConstexprEvaluationContext {
 		/**
-		 * The maximum number of steps allowed in a single constexpr evaluation.
-		 * This is used to prevent a buggy constexpr function from causing the
-		 * IDE to hang.
+		 * The default for the maximum number of steps allowed in a single constexpr evaluation.
+		 * This is used to prevent a buggy constexpr function from causing the IDE to hang.
+		 *
+		 * @see ConstexprEvaluationBudget
 		 */
-		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
+		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = ConstexprEvaluationBudget.DEFAULT_MAX_STEPS;
+
+		// Number of steps between checks of the time budget.
+		private static final int TIME_CHECK_INTERVAL = 64;
+
+		// The outermost unfinished evaluation of the thread that records the time of its budget.
+		private static final ThreadLocal<ConstexprEvaluationContext> sTimedContext = new ThreadLocal<>();
 
+		private final ConstexprEvaluationBudget fBudget;
 		private int fStepsPerformed;
+		// The context recording the time for this one, nested evaluations use the outer context,
+		// such that the time is not counted twice.
+		private final ConstexprEvaluationContext fTimer;
+		private ConstexprEvaluationContext fOuterTimer;
+		private long fLastTimeCheck;
+		private boolean fFinished;
 
 		/**
-		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
+		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation, limited by the
+		 * budget of the translation unit of the current lookup point.
 		 */
 		public ConstexprEvaluationContext() {
+			this(getBudgetForLookupPoint());
+		}
+
+		/**
+		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation. The evaluation
+		 * has to be completed with a call to {@link #finish()}.
+		 */
+		public ConstexprEvaluationContext(ConstexprEvaluationBudget budget) {
+			fBudget = budget;
 			fStepsPerformed = 0;
+			if (budget.isTimeLimited()) {
+				ConstexprEvaluationContext outer = sTimedContext.get();
+				if (outer != null && outer.fBudget == budget) {
+					fTimer = outer;
+				} else {
+					fTimer = this;
+					fOuterTimer = outer;
+					fLastTimeCheck = System.nanoTime();
+					sTimedContext.set(this);
+				}
+			} else {
+				fTimer = null;
+			}
+		}
+
+		private static ConstexprEvaluationBudget getBudgetForLookupPoint() {
+			IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+			if (lookupPoint != null) {
+				IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+				if (tu instanceof CPPASTTranslationUnit) {
+					return ((CPPASTTranslationUnit) tu).getConstexprEvaluationBudget();
+				}
+			}
+			return ConstexprEvaluationBudget.getDefault();
 		}
 
 		/**
@@ -125,6 +176,51 @@ public interface ICPPEvaluation {
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns whether the evaluation has to be given up, because it exceeded the maximum
+		 * number of steps or the time available for the translation unit is used up.
+		 */
+		public boolean isBudgetExhausted() {
+			if (fStepsPerformed >= fBudget.getMaxSteps())
+				return true;
+			if (fTimer != null && fStepsPerformed % TIME_CHECK_INTERVAL == 0) {
+				fTimer.recordTime();
+			}
+			return fBudget.isTimeExhausted();
+		}
+
+		/**
+		 * Completes the evaluation. The time spent since the last check of the budget is added
+		 * to the time used, such that evaluations with fewer steps than the interval between
+		 * the checks are accounted for.
+		 */
+		public void finish() {
+			if (fTimer != this || fFinished)
+				return;
+			recordTime();
+			fFinished = true;
+			if (fOuterTimer != null) {
+				sTimedContext.set(fOuterTimer);
+			} else {
+				sTimedContext.remove();
+			}
+		}
+
+		private void recordTime() {
+			if (fFinished)
+				return;
+			long now = System.nanoTime();
+			fBudget.recordTime(now - fLastTimeCheck);
+			fLastTimeCheck = now;
+		}
+
+		/**
+		 * Returns the profiler for the evaluation, or {@code null}.
+		 */
+		public ConstexprEvaluationBudget.IProfiler getProfiler() {
+			return fBudget.getProfiler();
+		}
 	}
 
 	/**
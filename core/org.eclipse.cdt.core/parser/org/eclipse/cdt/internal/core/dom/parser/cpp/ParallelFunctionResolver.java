@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
+
+/**
+ * Resolves the ambiguities and the names in the bodies of independent functions in parallel.
+ * <p>
+ * Before the bodies are resolved, all names outside of them are resolved, such that the threads
+ * share only resolved parts of the AST. Each body is then processed by a single thread, the
+ * parts of the AST created during the resolution of a body, e.g. its local scopes, are confined
+ * to that thread.
+ */
+final class ParallelFunctionResolver {
+	private static final ThreadLocal<CPPASTAmbiguityResolver> fFunctionResolver = new ThreadLocal<>();
+
+	/**
+	 * Visits names outside of the bodies of the given functions.
+	 */
+	private static final class OuterNameVisitor extends ASTVisitor implements IDeferredBodyVisitor {
+		private final Set<IASTFunctionDefinition> fFunctions;
+		boolean fResolve;
+
+		OuterNameVisitor(Set<IASTFunctionDefinition> functions) {
+			shouldVisitNames = true;
+			shouldVisitDeclarations = true;
+			fFunctions = functions;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (declaration instanceof IASTFunctionDefinition && fFunctions.contains(declaration)) {
+				IASTFunctionDefinition fdef = (IASTFunctionDefinition) declaration;
+				fdef.getDeclSpecifier().accept(this);
+				ASTQueries.findOutermostDeclarator(fdef.getDeclarator()).accept(this);
+				return PROCESS_SKIP;
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			processName(name, fResolve);
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	/**
+	 * Visits the names of a function definition, except the ones in its declaration specifier
+	 * and declarator.
+	 */
+	private static final class BodyNameVisitor extends ASTVisitor implements IDeferredBodyVisitor {
+		private final IASTDeclSpecifier fDeclSpec;
+		private final IASTDeclarator fDeclarator;
+		boolean fResolve;
+
+		BodyNameVisitor(IASTFunctionDefinition fdef) {
+			shouldVisitNames = true;
+			shouldVisitDeclSpecifiers = true;
+			shouldVisitDeclarators = true;
+			fDeclSpec = fdef.getDeclSpecifier();
+			fDeclarator = ASTQueries.findOutermostDeclarator(fdef.getDeclarator());
+		}
+
+		@Override
+		public int visit(IASTDeclSpecifier declSpec) {
+			return declSpec == fDeclSpec ? PROCESS_SKIP : PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTDeclarator declarator) {
+			return declarator == fDeclarator ? PROCESS_SKIP : PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			processName(name, fResolve);
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	private final CPPASTTranslationUnit fTranslationUnit;
+	private final List<IASTFunctionDefinition> fFunctions;
+
+	ParallelFunctionResolver(CPPASTTranslationUnit tu, List<IASTFunctionDefinition> functions) {
+		fTranslationUnit = tu;
+		fFunctions = functions;
+	}
+
+	/**
+	 * Returns the ambiguity resolver for the function body processed by the current thread,
+	 * or {@code null}.
+	 */
+	static CPPASTAmbiguityResolver getFunctionResolver() {
+		return fFunctionResolver.get();
+	}
+
+	void run() {
+		// During ambiguity resolution, names can incorrectly get stuck with ProblemBindings.
+		// Clear them before the names are resolved, like it is done for the entire AST after
+		// ambiguity resolution.
+		OuterNameVisitor outerNames = new OuterNameVisitor(new HashSet<>(fFunctions));
+		fTranslationUnit.accept(outerNames);
+		outerNames.fResolve = true;
+		fTranslationUnit.accept(outerNames);
+
+		// Lazily initialized state of the translation unit must not be created by the threads.
+		fTranslationUnit.getConstexprEvaluationBudget();
+
+		ParallelResolution.forEach(fFunctions, new ParallelResolution.IAction<IASTFunctionDefinition>() {
+			@Override
+			public void run(IASTFunctionDefinition fdef) {
+				resolveFunction(fdef);
+			}
+		});
+	}
+
+	private static void resolveFunction(IASTFunctionDefinition fdef) {
+		CPPASTAmbiguityResolver resolver = new CPPASTAmbiguityResolver();
+		fFunctionResolver.set(resolver);
+		try {
+			resolver.resolveFunction(fdef);
+		} finally {
+			fFunctionResolver.remove();
+		}
+		if (!fdef.isActive())
+			return;
+		BodyNameVisitor bodyNames = new BodyNameVisitor(fdef);
+		fdef.accept(bodyNames);
+		bodyNames.fResolve = true;
+		fdef.accept(bodyNames);
+	}
+
+	private static void processName(IASTName name, boolean resolve) {
+		if (!resolve) {
+			if (name.getBinding() instanceof IProblemBinding) {
+				name.setBinding(null);
+			}
+			return;
+		}
+		try {
+			name.resolveBinding();
+		} catch (RuntimeException | StackOverflowError e) {
+			// The error is reported when the name is resolved again by the client of the AST.
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.IDeferredBodyVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * The function bodies of an ast created for a previous version of a file, see
+ * {@link org.eclipse.cdt.internal.core.dom.parser.IIncrementalParser}.
+ * <p>
+ * The bodies are reused only if the edit between the two versions of the file lies within
+ * a single function body and does not touch braces, comments, literals or preprocessing
+ * directives. The other bodies are then parsed the same way as before, the parser copies
+ * them from the previous ast instead of parsing them again. The edited function must not
+ * influence the resolution of other parts of the file, see
+ * {@link CPPASTAmbiguityResolver#isIndependent(IASTFunctionDefinition)}.
+ */
+final class ReusableFunctionBodies {
+	private static final char[] LINE = "__LINE__".toCharArray(); //$NON-NLS-1$
+	private static final char[] COUNTER = "__COUNTER__".toCharArray(); //$NON-NLS-1$
+
+	private final IASTTranslationUnit fPreviousAST;
+	private final String fFilePath;
+	/** The bodies of the previous ast by their offsets in the previous version of the file */
+	private final Map<Integer, IASTCompoundStatement> fBodies;
+	/** The offset of the edit, the same in both versions of the file */
+	private final int fEditOffset;
+	/** The end of the edit in the previous version of the file */
+	private final int fPreviousEditEnd;
+	/** The end of the edit in the current version of the file */
+	private final int fEditEnd;
+	private final boolean fReuseAfterEdit;
+	private int fReusedCount;
+
+	private ReusableFunctionBodies(IASTTranslationUnit previousAST, Map<Integer, IASTCompoundStatement> bodies,
+			int editOffset, int previousEditEnd, int editEnd, boolean reuseAfterEdit) {
+		fPreviousAST = previousAST;
+		fFilePath = previousAST.getFilePath();
+		fBodies = bodies;
+		fEditOffset = editOffset;
+		fPreviousEditEnd = previousEditEnd;
+		fEditEnd = editEnd;
+		fReuseAfterEdit = reuseAfterEdit;
+	}
+
+	/**
+	 * Returns the reusable bodies of the previous ast, or {@code null} if the edit does not allow
+	 * for reusing them.
+	 */
+	static ReusableFunctionBodies create(IASTTranslationUnit previousAST, AbstractCharArray previousSource,
+			AbstractCharArray source) {
+		final int previousLength = previousSource.getLength();
+		final int length = source.getLength();
+		final int maxCommon = Math.min(previousLength, length);
+		int prefix = 0;
+		while (prefix < maxCommon && previousSource.get(prefix) == source.get(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxCommon - prefix
+				&& previousSource.get(previousLength - 1 - suffix) == source.get(length - 1 - suffix)) {
+			suffix++;
+		}
+		final int previousEditEnd = previousLength - suffix;
+		final int editEnd = length - suffix;
+		if (!isLocalEdit(previousSource, prefix, previousEditEnd) || !isLocalEdit(source, prefix, editEnd))
+			return null;
+
+		Map<Integer, IASTCompoundStatement> bodies = collectBodies(previousAST);
+		if (prefix < previousEditEnd || prefix < editEnd) {
+			// The edit must not change declarations outside of function bodies, these may
+			// influence the ambiguity resolution in the bodies. Neither must it change a body
+			// that is used while other parts of the file are resolved.
+			IASTCompoundStatement editedBody = null;
+			for (IASTCompoundStatement body : bodies.values()) {
+				IASTFileLocation loc = body.getFileLocation();
+				if (loc.getNodeOffset() < prefix && previousEditEnd < loc.getNodeOffset() + loc.getNodeLength()) {
+					editedBody = body;
+					break;
+				}
+			}
+			if (editedBody == null
+					|| !CPPASTAmbiguityResolver.isIndependent((IASTFunctionDefinition) editedBody.getParent()))
+				return null;
+		}
+		boolean reuseAfterEdit = !usesPositionDependentMacros(previousAST,
+				countNewlines(previousSource, prefix, previousEditEnd) != countNewlines(source, prefix, editEnd));
+		return new ReusableFunctionBodies(previousAST, bodies, prefix, previousEditEnd, editEnd, reuseAfterEdit);
+	}
+
+	/**
+	 * Checks whether the edited range, including the adjacent characters, contains characters
+	 * that may change the tokenization or the structure of the code outside of the range.
+	 */
+	private static boolean isLocalEdit(AbstractCharArray source, int from, int to) {
+		from = Math.max(0, from - 1);
+		to = Math.min(source.getLength(), to + 1);
+		char prev = 0;
+		for (int i = from; i < to; i++) {
+			final char c = source.get(i);
+			switch (c) {
+			case '{':
+			case '}':
+			case '#':
+			case '"':
+			case '\'':
+			case '\\':
+				return false;
+			case '*':
+				if (prev == '/')
+					return false;
+				break;
+			case '/':
+				if (prev == '*' || prev == '/')
+					return false;
+				break;
+			}
+			prev = c;
+		}
+		return true;
+	}
+
+	private static int countNewlines(AbstractCharArray source, int from, int to) {
+		int count = 0;
+		for (int i = from; i < to; i++) {
+			if (source.get(i) == '\n')
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Checks whether the expansion of macros in the unchanged part of the file may depend on
+	 * the position of the edit.
+	 */
+	private static boolean usesPositionDependentMacros(IASTTranslationUnit ast, boolean linesChanged) {
+		for (IASTPreprocessorMacroExpansion expansion : ast.getMacroExpansions()) {
+			if (isPositionDependent(expansion.getMacroReference(), linesChanged))
+				return true;
+			for (IASTName name : expansion.getNestedMacroReferences()) {
+				if (isPositionDependent(name, linesChanged))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isPositionDependent(IASTName name, boolean linesChanged) {
+		final char[] image = name.getSimpleID();
+		return CharArrayUtils.equals(image, COUNTER) || (linesChanged && CharArrayUtils.equals(image, LINE));
+	}
+
+	private static Map<Integer, IASTCompoundStatement> collectBodies(IASTTranslationUnit ast) {
+		final String filePath = ast.getFilePath();
+		final Map<Integer, IASTCompoundStatement> bodies = new HashMap<>();
+		ast.accept(new BodyCollector(filePath, bodies));
+		return bodies;
+	}
+
+	private static final class BodyCollector extends ASTVisitor implements IDeferredBodyVisitor {
+		private final String fFilePath;
+		private final Map<Integer, IASTCompoundStatement> fBodies;
+
+		BodyCollector(String filePath, Map<Integer, IASTCompoundStatement> bodies) {
+			shouldVisitDeclarations = true;
+			fFilePath = filePath;
+			fBodies = bodies;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (!(declaration instanceof IASTFunctionDefinition))
+				return PROCESS_CONTINUE;
+
+			// Same kind of function definitions the parser can reuse the bodies for.
+			if (declaration.getClass() == CPPASTFunctionDefinition.class
+					&& !((CPPASTFunctionDefinition) declaration).hasDeferredBody()) {
+				IASTStatement body = ((IASTFunctionDefinition) declaration).getBody();
+				if (body instanceof IASTCompoundStatement) {
+					IASTFileLocation loc = body.getFileLocation();
+					if (loc != null && fFilePath.equals(loc.getFileName())) {
+						fBodies.put(loc.getNodeOffset(), (IASTCompoundStatement) body);
+					}
+				}
+			}
+			return PROCESS_SKIP;
+		}
+	}
+
+	/**
+	 * Returns the offset the code at the given offset in the current version of the file had
+	 * in the previous version, or -1.
+	 */
+	private int getPreviousOffset(int fileOffset, int length) {
+		if (fileOffset + length <= fEditOffset)
+			return fileOffset;
+		if (fileOffset >= fEditEnd && fReuseAfterEdit)
+			return fileOffset - fEditEnd + fPreviousEditEnd;
+		return -1;
+	}
+
+	/**
+	 * Checks whether a function body starting at the given offset may be reused.
+	 */
+	boolean hasCandidate(int offset, ILocationResolver resolver) {
+		IASTFileLocation loc = resolver.getMappedFileLocation(offset, 1);
+		if (loc == null || !fFilePath.equals(loc.getFileName()))
+			return false;
+		int previousOffset = getPreviousOffset(loc.getNodeOffset(), 1);
+		return previousOffset >= 0 && fBodies.containsKey(previousOffset);
+	}
+
+	/**
+	 * Returns a copy of the body of the previous ast that corresponds to the given range of
+	 * the current version of the file, or {@code null}.
+	 */
+	IASTCompoundStatement reuse(int offset, int endOffset, ILocationResolver resolver) {
+		IASTFileLocation loc = resolver.getMappedFileLocation(offset, endOffset - offset);
+		if (loc == null || !fFilePath.equals(loc.getFileName()))
+			return null;
+		int previousOffset = getPreviousOffset(loc.getNodeOffset(), loc.getNodeLength());
+		IASTCompoundStatement previous = previousOffset < 0 ? null : fBodies.get(previousOffset);
+		if (previous == null || previous.getFileLocation().getNodeLength() != loc.getNodeLength()
+				|| ((ASTNode) previous).getLength() != endOffset - offset) {
+			return null;
+		}
+
+		final IASTCompoundStatement body;
+		try {
+			body = previous.copy(CopyStyle.withoutLocations);
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+		final int shift = offset - ((ASTNode) previous).getOffset();
+		if (shift != 0) {
+			body.accept(new ASTGenericVisitor(true) {
+				{
+					includeInactiveNodes = true;
+				}
+
+				@Override
+				protected int genericVisit(IASTNode node) {
+					ASTNode astNode = (ASTNode) node;
+					astNode.setOffset(astNode.getOffset() + shift);
+					return PROCESS_CONTINUE;
+				}
+			});
+		}
+		fReusedCount++;
+		return body;
+	}
+
+	/**
+	 * Returns the number of bodies copied from the previous ast.
+	 */
+	int getReusedCount() {
+		return fReusedCount;
+	}
+
+	/**
+	 * Checks whether the preprocessor produced the same includes and macros for the given ast
+	 * as for the previous one. Without that, the reused bodies may differ from the ones the
+	 * parser would have created.
+	 */
+	boolean isValidFor(IASTTranslationUnit ast) {
+		if (fReusedCount == 0)
+			return true;
+
+		IASTPreprocessorIncludeStatement[] includes = ast.getIncludeDirectives();
+		IASTPreprocessorIncludeStatement[] previousIncludes = fPreviousAST.getIncludeDirectives();
+		if (includes.length != previousIncludes.length)
+			return false;
+		for (int i = 0; i < includes.length; i++) {
+			IASTPreprocessorIncludeStatement include = includes[i];
+			IASTPreprocessorIncludeStatement previous = previousIncludes[i];
+			if (include.isActive() != previous.isActive() || include.isResolved() != previous.isResolved()
+					|| !include.getPath().equals(previous.getPath())
+					|| include.getIncludedFileTimestamp() != previous.getIncludedFileTimestamp()
+					|| include.getIncludedFileSize() != previous.getIncludedFileSize()
+					|| include.getIncludedFileContentsHash() != previous.getIncludedFileContentsHash()) {
+				return false;
+			}
+		}
+
+		return haveSameMacros(ast.getBuiltinMacroDefinitions(), fPreviousAST.getBuiltinMacroDefinitions())
+				&& haveSameMacros(ast.getMacroDefinitions(), fPreviousAST.getMacroDefinitions());
+	}
+
+	private static boolean haveSameMacros(IASTPreprocessorMacroDefinition[] macros,
+			IASTPreprocessorMacroDefinition[] previousMacros) {
+		if (macros.length != previousMacros.length)
+			return false;
+		for (int i = 0; i < macros.length; i++) {
+			if (!CharArrayUtils.equals(macros[i].getName().getSimpleID(), previousMacros[i].getName().getSimpleID())
+					|| !macros[i].getExpansion().equals(previousMacros[i].getExpansion())) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1387,7 +1387,8 @@ public class CPPSemantics {
 	}
 
 	static IBinding[] getBindingsFromScope(ICPPScope scope, LookupData data) throws DOMException {
-		IBinding[] bindings = scope.getBindings(data);
+		CPPASTTranslationUnit tu = data.getTranslationUnit();
+		IBinding[] bindings = tu != null ? tu.getScopeLookupCache().getBindings(scope, data) : scope.getBindings(data);
 
 		if (scope instanceof ICPPASTInternalScope && scope instanceof ICPPClassScope) {
 			final IASTName lookupName = data.getLookupName();
@@ -141,7 +141,13 @@ public final class EvalConstructor extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation computed = computeForFunctionCall(new ActivationRecord(), new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation computed;
+		try {
+			computed = computeForFunctionCall(new ActivationRecord(), context);
+		} finally {
+			context.finish();
+		}
 		if (computed == this)
 			return IntegralValue.ERROR;
 
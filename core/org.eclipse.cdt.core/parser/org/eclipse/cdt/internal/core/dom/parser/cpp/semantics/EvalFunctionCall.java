@@ -22,9 +22,13 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IFunctionType;
 import org.eclipse.cdt.core.dom.ast.IPointerType;
@@ -39,15 +43,23 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
 import org.eclipse.cdt.internal.core.dom.parser.DependentValue;
+import org.eclipse.cdt.internal.core.dom.parser.FloatingPointValue;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ConstexprEvaluationBudget;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.InstantiationContext;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.OverloadableOperator;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics.LookupMode;
+import org.eclipse.cdt.internal.core.pdom.SharedResultCache;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 
@@ -182,7 +194,13 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation eval = evaluateFunctionBody(new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation eval;
+		try {
+			eval = evaluateFunctionBody(context);
+		} finally {
+			context.finish();
+		}
 		if (eval == this) {
 			return DependentValue.create(eval);
 		}
@@ -262,7 +280,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isBudgetExhausted()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -331,6 +349,67 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		// Calls with numeric arguments are memoized. For functions from the index the results
+		// are shared across translation units. This is not done for specializations, their
+		// bodies may use bindings found at the point of instantiation.
+		final String argumentsKey = createArgumentsKey(function);
+		if (argumentsKey == null)
+			return executeFunctionBody(function, context);
+
+		final PDOMBinding indexFunction = function instanceof ICPPSpecialization ? null
+				: function.getAdapter(PDOMBinding.class);
+		final SharedResultCache sharedCache;
+		final Map<Object, IValue> callCache;
+		final Object cacheKey;
+		IValue cached = null;
+		if (indexFunction != null) {
+			sharedCache = indexFunction.getPDOM().getSharedResultCache();
+			callCache = null;
+			cacheKey = "constexpr:" + indexFunction.getRecord() + argumentsKey; //$NON-NLS-1$
+			cached = (IValue) sharedCache.get(cacheKey);
+		} else {
+			sharedCache = null;
+			callCache = getConstexprCallCache();
+			cacheKey = new FunctionCallKey(function, argumentsKey);
+			if (callCache != null)
+				cached = callCache.get(cacheKey);
+		}
+		if (cached != null)
+			return new EvalFixed(getType(), ValueCategory.PRVALUE, cached.clone());
+
+		ICPPEvaluation result = executeFunctionBody(function, context);
+		if (result != this) {
+			IValue value = result.getValue();
+			if (isNumericValue(value)) {
+				if (sharedCache != null) {
+					Set<IIndexFileLocation> files = getDependencies(indexFunction, sharedCache);
+					if (files != null)
+						sharedCache.put(cacheKey, value.clone(), files);
+				} else if (callCache != null) {
+					callCache.put(cacheKey, value.clone());
+				}
+			}
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
+		if (context.isBudgetExhausted())
+			return EvalFixed.INCOMPLETE;
+
+		ConstexprEvaluationBudget.IProfiler profiler = context.getProfiler();
+		if (profiler == null)
+			return doExecuteFunctionBody(function, context);
+
+		final int steps = context.getStepsPerformed();
+		final long start = System.nanoTime();
+		ICPPEvaluation result = doExecuteFunctionBody(function, context);
+		profiler.functionEvaluated(function, context.getStepsPerformed() - steps, System.nanoTime() - start,
+				context.isBudgetExhausted());
+		return result;
+	}
+
+	private ICPPEvaluation doExecuteFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
@@ -370,6 +449,91 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		return EvalFixed.INCOMPLETE;
 	}
 
+	private static boolean isNumericValue(IValue value) {
+		return (value instanceof IntegralValue || value instanceof FloatingPointValue) && value.numberValue() != null;
+	}
+
+	private static Map<Object, IValue> getConstexprCallCache() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the part of the key for memoizing the result of this call that represents the
+	 * arguments, or {@code null} if the result cannot be memoized. This is the case when the
+	 * arguments are not all numeric, or when the call may have side effects on its arguments
+	 * or on an object.
+	 */
+	private String createArgumentsKey(ICPPFunction function) {
+		if (getImplicitThis() != null || function instanceof ICPPMethod && !((ICPPMethod) function).isStatic())
+			return null;
+		IType returnType = SemanticUtil.getNestedType(function.getType().getReturnType(), TDEF);
+		if (returnType instanceof ICPPReferenceType)
+			return null;
+		for (ICPPParameter param : function.getParameters()) {
+			if (isReference(param))
+				return null;
+		}
+		StringBuilder key = new StringBuilder();
+		for (int i = 1; i < fArguments.length; i++) {
+			IValue value = fArguments[i].getValue();
+			if (!isNumericValue(value))
+				return null;
+			if (value instanceof FloatingPointValue) {
+				key.append(",f").append(Double.doubleToLongBits(value.numberValue().doubleValue())); //$NON-NLS-1$
+			} else {
+				key.append(",i").append(value.numberValue().longValue()); //$NON-NLS-1$
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Returns the files the result of a call to the given function from the index may depend on,
+	 * or {@code null} if they are unknown. These are the file defining the function and all files
+	 * it includes, because the body of the function can only use bindings declared there.
+	 */
+	private static Set<IIndexFileLocation> getDependencies(PDOMBinding indexFunction, SharedResultCache cache) {
+		try {
+			PDOMName definition = indexFunction.getFirstDefinition();
+			if (definition == null)
+				return null;
+			return cache.getIncludedFiles(definition.getFile());
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	private static final class FunctionCallKey {
+		final ICPPFunction fFunction;
+		final String fArguments;
+
+		FunctionCallKey(ICPPFunction function, String arguments) {
+			fFunction = function;
+			fArguments = arguments;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * fFunction.hashCode() + fArguments.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FunctionCallKey))
+				return false;
+			FunctionCallKey other = (FunctionCallKey) obj;
+			return fFunction.equals(other.fFunction) && fArguments.equals(other.fArguments);
+		}
+	}
+
 	private ICPPFunction resolveFunctionBinding() {
 		ICPPFunction function = getOverload();
 		if (function == null) {
@@ -161,9 +161,12 @@ public class EvalTypeId extends CPPDependentEvaluation {
 			} else if (ctor != null) {
 				EvalConstructor evalCtor = new EvalConstructor(classType, (ICPPConstructor) ctor, fArguments,
 						getTemplateDefinition());
-				ICPPEvaluation computedEvalCtor = evalCtor.computeForFunctionCall(new ActivationRecord(),
-						new ConstexprEvaluationContext());
-				return computedEvalCtor.getValue();
+				ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+				try {
+					return evalCtor.computeForFunctionCall(new ActivationRecord(), context).getValue();
+				} finally {
+					context.finish();
+				}
 			} else {
 				return IntegralValue.ERROR;
 			}
@@ -183,8 +183,12 @@ public class EvalUtil {
 				ExecDeclarator declaratorExec = new ExecDeclarator(variable, initializerEval);
 
 				ConstexprEvaluationContext context = new ConstexprEvaluationContext();
-				if (declaratorExec.executeForFunctionCall(record, context) != ExecIncomplete.INSTANCE) {
-					valueEval = record.getVariable(declaratorExec.getDeclaredBinding());
+				try {
+					if (declaratorExec.executeForFunctionCall(record, context) != ExecIncomplete.INSTANCE) {
+						valueEval = record.getVariable(declaratorExec.getDeclaredBinding());
+					}
+				} finally {
+					context.finish();
 				}
 			} else if (initialValue != null) {
 				valueEval = new EvalFixed(type, ValueCategory.LVALUE, initialValue);
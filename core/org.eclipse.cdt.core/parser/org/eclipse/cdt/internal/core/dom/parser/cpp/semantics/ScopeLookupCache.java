@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTConversionName;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassScope;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPScope;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.ParallelResolution;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPClassSpecializationScope;
+import org.eclipse.cdt.internal.core.index.IIndexScope;
+
+/**
+ * Memoizes the results of name lookups in scopes of the index for a translation unit. Such
+ * results depend on the set of files included from the index, but not on the AST. Therefore
+ * the cache is not affected by ambiguity resolution, it is cleared whenever the set of files
+ * included from the index changes.
+ * <p>
+ * Lookups in scopes of the AST are not cached, since these scopes maintain their own caches.
+ */
+public class ScopeLookupCache {
+	private static final class Key {
+		final ICPPScope fScope;
+		final char[] fName;
+		final boolean fArgumentDependent;
+		final int fHashCode;
+
+		Key(ICPPScope scope, char[] name, boolean argumentDependent) {
+			fScope = scope;
+			fName = name;
+			fArgumentDependent = argumentDependent;
+			fHashCode = 31 * scope.hashCode() + CharArrayUtils.hash(name) + (argumentDependent ? 1 : 0);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fArgumentDependent == other.fArgumentDependent && CharArrayUtils.equals(fName, other.fName)
+					&& fScope.equals(other.fScope);
+		}
+	}
+
+	private final Map<Key, IBinding[]> fResults = ParallelResolution.createCache(new HashMap<Key, IBinding[]>());
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * Returns the bindings found by the given lookup in the given scope.
+	 */
+	public IBinding[] getBindings(ICPPScope scope, LookupData data) {
+		if (!isCacheable(scope, data))
+			return scope.getBindings(data);
+
+		Key key = new Key(scope, data.getLookupKey(), data.isArgumentDependent());
+		IBinding[] result = fResults.get(key);
+		if (result == null) {
+			fMisses.increment();
+			result = scope.getBindings(data);
+			if (result == null)
+				return null;
+			fResults.put(key, result);
+		} else {
+			fHits.increment();
+		}
+		// Callers may modify the returned array.
+		return result.clone();
+	}
+
+	private static boolean isCacheable(ICPPScope scope, LookupData data) {
+		if (!(scope instanceof IIndexScope) || scope instanceof ICPPClassSpecializationScope)
+			return false;
+		if (data.isPrefixLookup() || data.getLookupName() instanceof ICPPASTConversionName)
+			return false;
+		// Whether constructors are returned depends on the name being looked up.
+		if (scope instanceof ICPPClassScope
+				&& CharArrayUtils.equals(((ICPPClassScope) scope).getClassType().getNameCharArray(), data.getLookupKey()))
+			return false;
+		return true;
+	}
+
+	public void clear() {
+		fResults.clear();
+	}
+
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+}
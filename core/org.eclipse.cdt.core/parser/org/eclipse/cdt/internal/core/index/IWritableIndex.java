@@ -177,6 +177,12 @@ public interface IWritableIndex extends IIndex {
 	 */
 	void clearResultCache();
 
+	/**
+	 * Inserts the bindings that are buffered for the indexes of the writable fragment, caller
+	 * needs to hold a write-lock.
+	 */
+	void flushPendingBindings() throws CoreException;
+
 	/**
 	 * Changes the inclusions pointing to 'source' to point to 'target', instead.
 	 * Both files must belong to the writable fragment.
@@ -113,6 +113,11 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	 */
 	void flush() throws CoreException;
 
+	/**
+	 * Inserts the bindings that are buffered for the indexes of this fragment.
+	 */
+	void flushPendingBindings() throws CoreException;
+
 	/**
 	 * @return the size of the database in bytes
 	 */
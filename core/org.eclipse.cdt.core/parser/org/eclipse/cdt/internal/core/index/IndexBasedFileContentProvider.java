@@ -46,6 +46,7 @@ import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.pdom.ASTFilePathResolver;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask.IndexFileContent;
+import org.eclipse.cdt.internal.core.pdom.HeaderContentCache;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
 
@@ -67,6 +68,7 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 
 	private boolean fIndexAllHeaderVersions;
+	private HeaderContentCache fHeaderContentCache;
 
 	public IndexBasedFileContentProvider(IIndex index, ASTFilePathResolver pathResolver, int linkage,
 			IncludeFileContentProvider fallbackFactory) {
@@ -94,6 +96,13 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 		fLinkage = linkageID;
 	}
 
+	/**
+	 * Sets a cache for the contents of headers that are read from disk, may be {@code null}.
+	 */
+	public void setHeaderContentCache(HeaderContentCache cache) {
+		fHeaderContentCache = cache;
+	}
+
 	@Override
 	public void resetForTranslationUnit() {
 		super.resetForTranslationUnit();
@@ -155,7 +164,16 @@ public final class IndexBasedFileContentProvider extends InternalFileContentProv
 		}
 
 		if (fFallBackFactory != null) {
-			InternalFileContent ifc = getContentForInclusion(ifl, path);
+			InternalFileContent ifc = null;
+			if (fHeaderContentCache != null) {
+				ifc = fHeaderContentCache.get(ifl, path);
+			}
+			if (ifc == null) {
+				ifc = getContentForInclusion(ifl, path);
+				if (ifc != null && fHeaderContentCache != null) {
+					fHeaderContentCache.put(ifl, ifc);
+				}
+			}
 			if (ifc != null)
 				ifc.setIsSource(fPathResolver.isSource(path));
 			return ifc;
@@ -162,6 +162,12 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		super.clearResultCache();
 	}
 
+	@Override
+	public void flushPendingBindings() throws CoreException {
+		assert fIsWriteLocked : "Need to hold a write lock to flush pending bindings"; //$NON-NLS-1$
+		getWritableFragment().flushPendingBindings();
+	}
+
 	@Override
 	public void flush() throws CoreException {
 		assert !fIsWriteLocked;
@@ -135,7 +135,8 @@ public abstract class StandaloneIndexerTask extends AbstractIndexerTask {
 					+ (System.currentTimeMillis() - start) + " total, " //$NON-NLS-1$
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
 					+ fStatistics.fResolutionTime + " resolution, " //$NON-NLS-1$
-					+ fStatistics.fAddToIndexTime + " index update."); //$NON-NLS-1$
+					+ fStatistics.fAddToIndexTime + " storing symbols, " //$NON-NLS-1$
+					+ fStatistics.fLockWaitTime + " waiting for index lock."); //$NON-NLS-1$
 			int sum = fStatistics.fDeclarationCount + fStatistics.fReferenceCount + fStatistics.fProblemBindingCount;
 			double problemPct = sum == 0 ? 0.0 : (double) fStatistics.fProblemBindingCount / (double) sum;
 			NumberFormat nf = NumberFormat.getPercentInstance();
@@ -166,7 +166,7 @@ public class InternalParserUtil extends ParserFactory {
 			if (input instanceof FileInputStream) {
 				try {
 					return createFileContent(path, null, file.getCharset(), input, fileInfo.getLastModified(),
-							fileInfo.getLength(), fileReadTime);
+							fileInfo.getLength(), fileReadTime, false);
 				} finally {
 					try {
 						input.close();
@@ -225,7 +225,8 @@ public class InternalParserUtil extends ParserFactory {
 				return null;
 			}
 			try {
-				return createFileContent(path, localPath, encoding, in, timestamp, fileSize, fileReadTime);
+				// Files outside of the workspace are typically not edited and can be mapped into memory.
+				return createFileContent(path, localPath, encoding, in, timestamp, fileSize, fileReadTime, true);
 			} finally {
 				try {
 					in.close();
@@ -237,12 +238,12 @@ public class InternalParserUtil extends ParserFactory {
 	}
 
 	private static InternalFileContent createFileContent(String path, String localPath, String charset, InputStream in,
-			long fileTimestamp, long fileSize, long fileReadTime) {
+			long fileTimestamp, long fileSize, long fileReadTime, boolean mapASCIIContent) {
 		if (localPath == null) {
 			localPath = path;
 		}
 		try {
-			AbstractCharArray chars = FileCharArray.create(localPath, charset, in);
+			AbstractCharArray chars = FileCharArray.create(localPath, charset, in, mapASCIIContent);
 			if (chars == null)
 				return null;
 
@@ -32,8 +32,20 @@ import org.eclipse.cdt.core.CCorePlugin;
  */
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	// Smaller files are cheaper to read than to map.
+	private static final long MIN_MAPPED_FILE_SIZE = 16 * 1024;
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
+		return create(fileName, charSet, in, false);
+	}
+
+	/**
+	 * Creates a char array for the content of a file.
+	 * @param mapASCIIContent whether to map the file into memory when its content is ASCII,
+	 *     see {@link MappedCharArray}.
+	 */
+	public static AbstractCharArray create(String fileName, String charSet, InputStream in, boolean mapASCIIContent)
+			throws IOException {
 		// No support for non-local files.
 		if (!(in instanceof FileInputStream)) {
 			return null;
@@ -44,6 +56,11 @@ public class FileCharArray extends LazyCharArray {
 		}
 		FileChannel channel = fis.getChannel();
 		final long lsize = channel.size();
+		if (mapASCIIContent && lsize >= MIN_MAPPED_FILE_SIZE) {
+			AbstractCharArray mapped = MappedCharArray.create(channel, charSet);
+			if (mapped != null)
+				return mapped;
+		}
 		if (lsize < CHUNK_SIZE) {
 			return decodeSmallFile(channel, (int) lsize, charSet);
 		}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation of char array for a file with ASCII content, that is memory-mapped. The
+ * characters are taken from the mapped bytes without decoding, such that the content does
+ * not occupy the heap. Instances are immutable and can be shared between threads.
+ * <p>
+ * While the file is mapped, it may not be possible to modify or delete it on some platforms.
+ * Therefore only files that are typically not edited, e.g. system headers, should be mapped.
+ */
+public final class MappedCharArray extends AbstractCharArray {
+	private static final int HASH_CHUNK_SIZE = 1 << 16;
+
+	private final ByteBuffer fBuffer;
+	private final int fStart;
+	private final int fLength;
+	private long fHash64;
+
+	/**
+	 * Maps the file of the given channel, provided that its content is ASCII and the charset
+	 * decodes ASCII characters to themselves.
+	 *
+	 * @return the char array or {@code null} if the content cannot be mapped.
+	 */
+	public static AbstractCharArray create(FileChannel channel, String charSet) throws IOException {
+		if (charSet == null || !Charset.isSupported(charSet))
+			return null;
+		final Charset charset = Charset.forName(charSet);
+		if (!isASCIICompatible(charset))
+			return null;
+		final long size = channel.size();
+		if (size == 0 || size > Integer.MAX_VALUE)
+			return null;
+
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		int start = 0;
+		if (charset.equals(StandardCharsets.UTF_8) && size >= 3 && buffer.get(0) == (byte) 0xEF
+				&& buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+			// UTF-8 byte order mark.
+			start = 3;
+		}
+		for (int i = start; i < size; i++) {
+			if (buffer.get(i) < 0)
+				return null;
+		}
+		return new MappedCharArray(buffer, start, (int) size - start);
+	}
+
+	private static boolean isASCIICompatible(Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1) || charset.name().equals("windows-1252"); //$NON-NLS-1$
+	}
+
+	private MappedCharArray(ByteBuffer buffer, int start, int length) {
+		fBuffer = buffer;
+		fStart = start;
+		fLength = length;
+	}
+
+	@Override
+	public int tryGetLength() {
+		return fLength;
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		return offset >= 0 && offset < fLength;
+	}
+
+	@Override
+	public char get(int offset) {
+		// Absolute reads do not modify the buffer and are safe to be performed concurrently.
+		return (char) fBuffer.get(fStart + offset);
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		final int start = fStart + offset;
+		for (int i = 0; i < length; i++) {
+			destination[destinationPos + i] = (char) fBuffer.get(start + i);
+		}
+	}
+
+	@Override
+	public boolean hasError() {
+		return false;
+	}
+
+	@Override
+	public synchronized long getContentsHash() {
+		if (fHash64 == 0 && fLength != 0) {
+			// The hash is the same as for the decoded characters.
+			StreamHasher hasher = new StreamHasher();
+			char[] chunk = new char[Math.min(fLength, HASH_CHUNK_SIZE)];
+			for (int offset = 0; offset < fLength; offset += chunk.length) {
+				if (fLength - offset < chunk.length) {
+					chunk = new char[fLength - offset];
+				}
+				arraycopy(offset, chunk, 0, chunk.length);
+				hasher.addChunk(chunk);
+			}
+			fHash64 = hasher.computeHash();
+		}
+		return fHash64;
+	}
+}
@@ -33,6 +33,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +52,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit.IDependencyTree;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit.IDependencyTree.IASTInclusionNode;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDirective;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
@@ -73,6 +80,7 @@ import org.eclipse.cdt.internal.core.model.DebugLogConstants;
 import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
 import org.eclipse.cdt.internal.core.parser.ParserLogService;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider.DependsOnOutdatedFileException;
 import org.eclipse.cdt.internal.core.parser.util.LRUCache;
@@ -81,6 +89,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -97,6 +106,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private static final int MAX_ERRORS = 500;
+	// Number of translation units parsed per parser thread before the results are written to the index.
+	private static final int PARSE_BATCH_SIZE_PER_THREAD = 2;
+	// Maximum number of characters of headers kept in memory for parsing further translation units.
+	private static final long HEADER_CONTENT_CACHE_CHARS = 8 * 1024 * 1024;
 
 	// Order of constants is important. Stronger update types have to precede the weaker ones.
 	private static enum UpdateKind {
@@ -251,6 +264,30 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A source file parsed by one of the parser threads, waiting to be written to the index.
+	 */
+	private static class ParseRequest {
+		final Object fTu;
+		final IIndexFileLocation fLocation;
+		final LocationTask fLocationTask;
+		final AbstractLanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		Throwable fError;
+		long fParsingTime;
+
+		ParseRequest(Object tu, IIndexFileLocation ifl, LocationTask locTask, AbstractLanguage language,
+				IScannerInfo scannerInfo) {
+			fTu = tu;
+			fLocation = ifl;
+			fLocationTask = locTask;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	public static class IndexFileContent {
 		private Object[] fPreprocessingDirectives;
 		private ICPPUsingDirective[] fDirectives;
@@ -338,6 +375,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
+	private int fParserThreads = 1;
+	private ExecutorService fParserExecutor;
+	private final ThreadLocal<InternalFileContentProvider> fParserThreadCodeReaderFactory = new ThreadLocal<>();
+	private final HeaderContentCache fHeaderContentCache;
+	private IIndexerMetricsListener[] fMetricsListeners = {};
 	private int fSwallowOutOfMemoryError = 5;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
@@ -355,6 +397,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		Collections.addAll(fFilesToRemove, filesToRemove);
 		incrementRequestedFilesCount(fFilesToUpdate.length + fFilesToRemove.size());
 		fUrgentTasks = new ArrayDeque<>();
+		fHeaderContentCache = new HeaderContentCache(resolver, HEADER_CONTENT_CACHE_CHARS);
 	}
 
 	public final void setIndexHeadersWithoutContext(UnusedHeaderStrategy mode) {
@@ -398,6 +441,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing source files. With more than one thread source
+	 * files are parsed concurrently in batches and written to the index in the original order.
+	 */
+	public void setParserThreads(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
+	/**
+	 * Sets the listeners that are notified with the metrics of each translation unit written
+	 * to the index.
+	 */
+	public void setMetricsListeners(IIndexerMetricsListener[] listeners) {
+		fMetricsListeners = listeners;
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -436,6 +495,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	protected abstract IWritableIndex createIndex();
 
+	protected final HeaderContentCache getHeaderContentCache() {
+		return fHeaderContentCache;
+	}
+
 	protected abstract IIncludeFileResolutionHeuristics createIncludeHeuristics();
 
 	protected abstract IncludeFileContentProvider createReaderFactory();
@@ -527,6 +590,75 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Estimates the work of this task without modifying the index. The files to update are checked
+	 * for modifications the same way as when the task runs. Modified headers are parsed once for
+	 * each of their versions, i.e. for each set of significant macros they have been indexed with.
+	 * The files depending on modified headers are determined from the include graph stored in
+	 * the index. They are not parsed by the task, unless they are modified themselves.
+	 * <p>
+	 * Must be called before the task is run.
+	 */
+	public final IndexUpdateEstimate estimateUpdate(IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		final IndexUpdateEstimate estimate = new IndexUpdateEstimate();
+		final Object[] filesToUpdate = fFilesToUpdate;
+		if (filesToUpdate == null)
+			return estimate;
+		final IWritableIndex index = createIndex();
+		if (index == null)
+			return estimate;
+
+		final boolean forceAll = (fUpdateFlags & IIndexManager.UPDATE_ALL) != 0;
+		final boolean checkTimestamps = (fUpdateFlags & IIndexManager.UPDATE_CHECK_TIMESTAMPS) != 0;
+		final boolean checkFileContentsHash = (fUpdateFlags & IIndexManager.UPDATE_CHECK_CONTENTS_HASH) != 0;
+		final Set<IIndexFileLocation> requested = new HashSet<>();
+		final Set<IIndexFileLocation> dependents = new HashSet<>();
+		int forceFirst = fForceNumberFiles;
+		SubMonitor progress = SubMonitor.convert(monitor, filesToUpdate.length);
+		index.acquireReadLock();
+		try {
+			for (Object tu : filesToUpdate) {
+				progress.split(1);
+				final boolean force = forceAll || --forceFirst >= 0;
+				final IIndexFileLocation ifl = fResolver.resolveFile(tu);
+				if (ifl == null)
+					continue;
+				requested.add(ifl);
+				final boolean isSourceUnit = fResolver.isSourceUnit(tu);
+				boolean found = false;
+				for (IIndexFragmentFile ifile : index.getWritableFiles(ifl)) {
+					if (!ifile.hasContent())
+						continue;
+					found = true;
+					if (!force && !isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile)) {
+						estimate.fUnchangedFiles++;
+					} else if (isSourceUnit) {
+						estimate.fSourcesToParse++;
+					} else {
+						estimate.fHeaderVersionsToParse++;
+						for (IIndexInclude include : index.findIncludedBy(ifile, IIndex.DEPTH_INFINITE)) {
+							dependents.add(include.getIncludedByLocation());
+						}
+					}
+				}
+				if (!found && isRequiredInIndex(tu, ifl, isSourceUnit)) {
+					if (isSourceUnit) {
+						estimate.fSourcesToParse++;
+					} else {
+						estimate.fHeadersToParse++;
+					}
+				}
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		dependents.removeAll(requested);
+		estimate.fDependentFiles = dependents.size();
+		estimate.fFilesToRemove = fFilesToRemove.size();
+		return estimate;
+	}
+
 	public final void runTask(IProgressMonitor monitor) throws InterruptedException {
 		try {
 			if (!fIndexFilesWithoutConfiguration) {
@@ -544,6 +676,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 			if (getSkipReferences() == SKIP_ALL_REFERENCES) {
 				fASTOptions |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
+			} else {
+				fASTOptions |= ILanguage.OPTION_LAZY_FUNCTION_BODIES;
 			}
 
 			fIndex.resetCacheCounters();
@@ -628,6 +762,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				fIndex.releaseReadLock();
 			}
 		} finally {
+			if (fParserExecutor != null) {
+				fParserExecutor.shutdownNow();
+				fParserExecutor = null;
+			}
+			fHeaderContentCache.clear();
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
@@ -897,17 +1036,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserThreads > 1) {
+				if (!parseRequiredSourcesInParallel(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -979,6 +1123,164 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Parses the required sources among the given files using multiple threads. The sources are
+	 * parsed in batches against the same state of the index. The results of a batch are written
+	 * to the index in the order of the files, before the next batch is parsed, such that the
+	 * content of the index does not depend on the timing of the parser threads.
+	 *
+	 * @return {@code false} if parsing was interrupted because of an urgent task.
+	 */
+	private boolean parseRequiredSourcesInParallel(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		final int batchSize = fParserThreads * PARSE_BATCH_SIZE_PER_THREAD;
+		List<ParseRequest> batch = new ArrayList<>(batchSize);
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				batch.add(new ParseRequest(tu, ifl, locTask, getLanguage(tu, linkageID),
+						getScannerInfo(linkageID, tu)));
+				if (batch.size() == batchSize) {
+					if (hasUrgentTasks())
+						return false;
+					parseBatch(linkageID, batch, progress.split(batch.size()));
+					batch.clear();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			if (hasUrgentTasks())
+				return false;
+			parseBatch(linkageID, batch, progress.split(batch.size()));
+		}
+		return true;
+	}
+
+	private void parseBatch(int linkageID, List<ParseRequest> batch, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		final SubMonitor progress = SubMonitor.convert(monitor, batch.size());
+		if (fParserExecutor == null) {
+			fParserExecutor = Executors.newFixedThreadPool(fParserThreads, new ThreadFactory() {
+				private final AtomicInteger fCount = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "C/C++ Indexer Parser " + fCount.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+
+		// The parser threads must not report progress, they only check whether the task was
+		// canceled.
+		final IProgressMonitor parserMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return progress.isCanceled();
+			}
+		};
+		// The index is not modified while the batch is parsed, the read lock of the task protects
+		// the parser threads.
+		List<Future<?>> futures = new ArrayList<>(batch.size());
+		for (final ParseRequest request : batch) {
+			futures.add(fParserExecutor.submit(new Runnable() {
+				@Override
+				public void run() {
+					parseInParserThread(request, parserMonitor);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				// parseInParserThread does not throw.
+				CCorePlugin.log(e);
+			}
+		}
+		if (progress.isCanceled())
+			throw new OperationCanceledException();
+
+		// Write the results in the order of the batch. The write lock is held for the entire batch,
+		// readers are let in between the files.
+		beginWriteBatch(fIndex, progress);
+		try {
+			for (ParseRequest request : batch) {
+				writeParsedFile(linkageID, request, progress.split(1));
+			}
+		} finally {
+			endWriteBatch();
+		}
+	}
+
+	private void parseInParserThread(ParseRequest request, IProgressMonitor monitor) {
+		if (monitor.isCanceled())
+			return;
+		try {
+			InternalFileContentProvider codeReaderFactory = fParserThreadCodeReaderFactory.get();
+			if (codeReaderFactory == null) {
+				codeReaderFactory = createFileContentProvider(request.fLanguage);
+				fParserThreadCodeReaderFactory.set(codeReaderFactory);
+			}
+			request.fCodeReader = fResolver.getCodeReader(request.fTu);
+			long start = System.currentTimeMillis();
+			request.fAST = createAST(request.fLanguage, request.fCodeReader, request.fScannerInfo, fASTOptions,
+					null, codeReaderFactory, monitor);
+			request.fParsingTime = System.currentTimeMillis() - start;
+		} catch (Throwable e) {
+			request.fError = e;
+		}
+	}
+
+	/**
+	 * Writes a file parsed by one of the parser threads to the index, handles errors the same way
+	 * as {@link #parseFile}.
+	 */
+	private void writeParsedFile(int linkageID, ParseRequest request, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 10);
+		if (request.fLocationTask.isCompleted())
+			return; // Indexed together with a file preceding it in the batch.
+
+		IPath path = getLabel(request.fLocation);
+		if (fShowActivity) {
+			trace("Indexer: parsing " + path.toOSString()); //$NON-NLS-1$
+		}
+		progress.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+		boolean resultCacheCleared = false;
+		Throwable th = request.fError;
+		if (th == null) {
+			fStatistics.fParsingTime += request.fParsingTime;
+			try {
+				if (request.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					writeToIndex(linkageID, request.fAST, request.fCodeReader, null, request.fParsingTime,
+							progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			} finally {
+				request.fAST = null;
+			}
+		}
+		if (th != null) {
+			handleParseException(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			assert isInWriteBatch();
+			fIndex.clearResultCache();
+		}
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1100,32 +1402,25 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 			long start = System.currentTimeMillis();
 			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
-			fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			final long parsingTime = System.currentTimeMillis() - start;
+			fStatistics.fParsingTime += parsingTime;
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
-				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, progress.split(10));
+				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, parsingTime, progress.split(10));
 				resultCacheCleared = true; // The cache was cleared while writing to the index.
 			}
 			if (fShowActivity) {
 				long time = System.currentTimeMillis() - start;
 				trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
-		} catch (OperationCanceledException e) {
-		} catch (RuntimeException e) {
-			final Throwable cause = e.getCause();
-			if (cause instanceof DependsOnOutdatedFileException)
-				return (DependsOnOutdatedFileException) cause;
-			th = e;
-		} catch (StackOverflowError | CoreException | AssertionError e) {
-			th = e;
-		} catch (OutOfMemoryError e) {
-			if (--fSwallowOutOfMemoryError < 0)
-				throw e;
+		} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
 			th = e;
 		}
 		if (th != null) {
-			swallowError(path, th);
+			DependsOnOutdatedFileException d = handleParseException(path, th);
+			if (d != null)
+				return d;
 		}
 
 		if (!resultCacheCleared) {
@@ -1141,6 +1436,28 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return null;
 	}
 
+	/**
+	 * Handles an exception thrown while parsing a file or writing it to the index.
+	 *
+	 * @return the exception indicating that the file depends on an outdated file, or {@code null}.
+	 */
+	private DependsOnOutdatedFileException handleParseException(IPath path, Throwable e) throws CoreException {
+		if (e instanceof OperationCanceledException)
+			return null;
+		if (e instanceof RuntimeException) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof DependsOnOutdatedFileException)
+				return (DependsOnOutdatedFileException) cause;
+		} else if (e instanceof OutOfMemoryError) {
+			if (--fSwallowOutOfMemoryError < 0)
+				throw (OutOfMemoryError) e;
+		} else if (e instanceof Error && !(e instanceof StackOverflowError || e instanceof AssertionError)) {
+			throw (Error) e;
+		}
+		swallowError(path, e);
+		return null;
+	}
+
 	private AbstractLanguage getLanguage(Object tu, int linkageID) {
 		for (AbstractLanguage language : fResolver.getLanguages(tu, UnusedHeaderStrategy.useBoth)) {
 			if (language.getLinkageID() == linkageID) {
@@ -1210,6 +1527,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
 			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+		if (fCodeReaderFactory == null) {
+			fCodeReaderFactory = createFileContentProvider(language);
+		}
+		return createAST(language, codeReader, scanInfo, options, ctx, fCodeReaderFactory, monitor);
+	}
+
+	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
+			IScannerInfo scanInfo, int options, FileContext ctx, InternalFileContentProvider codeReaderFactory,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1546,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
+		if (fIsFastIndexer) {
+			final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) codeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, codeReaderFactory, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1561,21 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private InternalFileContentProvider createFileContentProvider(AbstractLanguage language) {
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
+					language.getLinkageID(), fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			ibfcp.setHeaderContentCache(fHeaderContentCache);
+			fileContentProvider = ibfcp;
+		}
+		fileContentProvider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return fileContentProvider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1258,7 +1585,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private void writeToIndex(final int linkageID, IASTTranslationUnit ast, FileContent codeReader, FileContext ctx,
-			IProgressMonitor monitor) throws CoreException, InterruptedException {
+			long parsingTime, IProgressMonitor monitor) throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 3);
 		HashSet<FileContentKey> enteredFiles = new HashSet<>();
 		ArrayList<FileInAST> orderedFileKeys = new ArrayList<>();
@@ -1284,6 +1611,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 
 		FileInAST[] fileKeys = orderedFileKeys.toArray(new FileInAST[orderedFileKeys.size()]);
+		final IndexerFileMetrics metrics = fMetricsListeners.length == 0 ? null
+				: createMetrics(linkageID, ast, codeReader, parsingTime);
 		try {
 			// The default processing is handled by the indexer task.
 			PDOMWriter.Data data = new PDOMWriter.Data(ast, fileKeys, fIndex);
@@ -1293,6 +1622,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				data.fReplacementHeaders = extractReplacementHeaders(comments, progress.split(1));
 
 				addSymbols(data, storageLinkageID, ctx, progress.split(1));
+				addMetrics(metrics, data);
 
 				// Update task markers.
 				if (fTodoTaskUpdater != null) {
@@ -1310,14 +1640,60 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			for (IPDOMASTProcessor processor : processors) {
 				data = new PDOMWriter.Data(ast, fileKeys, fIndex);
 				storageLinkageID = processor.process(ast, data);
-				if (storageLinkageID != ILinkage.NO_LINKAGE_ID)
+				if (storageLinkageID != ILinkage.NO_LINKAGE_ID) {
 					addSymbols(data, storageLinkageID, ctx, progress.split(1));
+					addMetrics(metrics, data);
+				}
 			}
 		} catch (CoreException | RuntimeException | Error e) {
 			// Avoid parsing files again, that caused an exception to be thrown.
 			withdrawRequests(linkageID, fileKeys);
 			throw e;
 		}
+		if (metrics != null) {
+			metrics.fDeclarationCount += fStatistics.fDeclarationCount;
+			metrics.fReferenceCount += fStatistics.fReferenceCount;
+			metrics.fProblemBindingCount += fStatistics.fProblemBindingCount;
+			for (IIndexerMetricsListener listener : fMetricsListeners) {
+				try {
+					listener.translationUnitIndexed(metrics);
+				} catch (RuntimeException e) {
+					CCorePlugin.log(e);
+				}
+			}
+		}
+	}
+
+	private IndexerFileMetrics createMetrics(int linkageID, IASTTranslationUnit ast, FileContent codeReader,
+			long parsingTime) {
+		IndexerFileMetrics metrics = new IndexerFileMetrics();
+		metrics.fPath = ast.getFilePath();
+		metrics.fLinkageID = linkageID;
+		metrics.fParsingTime = parsingTime;
+		metrics.fParsedFileCount = 1;
+		if (codeReader instanceof InternalFileContent) {
+			metrics.fBytesRead = Math.max(0, ((InternalFileContent) codeReader).getFileSize());
+		}
+		for (IASTPreprocessorIncludeStatement include : ast.getIncludeDirectives()) {
+			if (include.createsAST()) {
+				metrics.fParsedFileCount++;
+				metrics.fBytesRead += Math.max(0, include.getIncludedFileSize());
+			}
+		}
+		// The counts are cumulative, the values before writing the translation unit are subtracted.
+		metrics.fDeclarationCount = -fStatistics.fDeclarationCount;
+		metrics.fReferenceCount = -fStatistics.fReferenceCount;
+		metrics.fProblemBindingCount = -fStatistics.fProblemBindingCount;
+		return metrics;
+	}
+
+	private static void addMetrics(IndexerFileMetrics metrics, PDOMWriter.Data data) {
+		if (metrics != null) {
+			metrics.fResolutionTime += data.fResolutionTime;
+			metrics.fWriteTime += data.fWriteTime;
+			metrics.fLockWaitTime += data.fLockWaitTime;
+			metrics.fChunkAccesses += data.fChunkAccesses;
+		}
 	}
 
 	private void collectOrderedFileKeys(final int linkageID, IASTInclusionNode inclusion,
@@ -1444,10 +1820,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
+		// The caches are shared by the parser threads.
+		IndexFileContent fc;
+		synchronized (fIndexContentCache) {
+			fc = fIndexContentCache.get(file);
+		}
 		if (fc == null) {
 			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+			synchronized (fIndexContentCache) {
+				fIndexContentCache.put(file, fc);
+			}
 		}
 		return fc;
 	}
@@ -1499,7 +1881,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
-		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
+		IIndexFragmentFile[] files;
+		synchronized (fIndexFilesCache) {
+			files = fIndexFilesCache.get(ifl);
+		}
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
 			int j = 0;
@@ -1516,7 +1901,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				files = new IIndexFragmentFile[j];
 				System.arraycopy(fragFiles, 0, files, 0, j);
 			}
-			fIndexFilesCache.put(ifl, files);
+			synchronized (fIndexFilesCache) {
+				fIndexFilesCache.put(ifl, files);
+			}
 		}
 		return files;
 	}
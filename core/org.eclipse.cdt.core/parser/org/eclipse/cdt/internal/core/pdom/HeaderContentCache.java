@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
+import org.eclipse.cdt.internal.core.parser.scanner.MappedCharArray;
+
+/**
+ * Cache for the decoded contents of headers that have to be parsed, because they cannot be
+ * taken from the index. Such headers are typically parsed for many translation units, e.g.
+ * because they are included with different significant macros. The cache is shared by the
+ * translation units of an indexer task and avoids reading and decoding the headers for each
+ * of them.
+ * <p>
+ * A cached content is used only as long as the timestamp and the size of the file are
+ * unchanged. Only immutable contents are cached, i.e. contents held in memory as a whole or
+ * mapped into memory. The cache is bounded by the total number of characters and is thread-safe.
+ */
+public final class HeaderContentCache {
+	private static final class Entry {
+		final AbstractCharArray fContent;
+		final long fTimestamp;
+		final long fFileSize;
+		final long fReadTime;
+
+		Entry(AbstractCharArray content, long timestamp, long fileSize, long readTime) {
+			fContent = content;
+			fTimestamp = timestamp;
+			fFileSize = fileSize;
+			fReadTime = readTime;
+		}
+	}
+
+	private final IndexerInputAdapter fResolver;
+	private final long fMaxChars;
+	private final LinkedHashMap<IIndexFileLocation, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	private long fChars;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * @param resolver used to check whether a cached content is up to date.
+	 * @param maxChars the maximum number of characters held by the cache.
+	 */
+	public HeaderContentCache(IndexerInputAdapter resolver, long maxChars) {
+		fResolver = resolver;
+		fMaxChars = maxChars;
+	}
+
+	/**
+	 * Returns a new file content for the cached content of the given file, or {@code null}
+	 * if the file is not cached or has been modified since it was cached.
+	 */
+	public InternalFileContent get(IIndexFileLocation ifl, String astPath) {
+		Entry entry;
+		synchronized (this) {
+			entry = fEntries.get(ifl);
+		}
+		if (entry == null) {
+			fMisses.increment();
+			return null;
+		}
+		if (fResolver.getLastModified(ifl) != entry.fTimestamp || fResolver.getFileSize(ifl) != entry.fFileSize) {
+			synchronized (this) {
+				if (fEntries.get(ifl) == entry)
+					removeEntry(ifl);
+			}
+			fMisses.increment();
+			return null;
+		}
+		fHits.increment();
+		return new InternalFileContent(astPath, entry.fContent, entry.fTimestamp, entry.fFileSize,
+				entry.fReadTime);
+	}
+
+	/**
+	 * Adds the content of a file that was read from disk. Contents that are read lazily, or that
+	 * are larger than the cache, are ignored.
+	 */
+	public void put(IIndexFileLocation ifl, InternalFileContent content) {
+		if (content.getKind() != InclusionKind.USE_SOURCE || content.getTimestamp() == FileContent.NULL_TIMESTAMP)
+			return;
+		AbstractCharArray source = content.getSource();
+		if (!(source instanceof CharArray || source instanceof MappedCharArray) || source.hasError())
+			return;
+		final int length = source.getLength();
+		if (length > fMaxChars)
+			return;
+
+		final Entry entry = new Entry(source, content.getTimestamp(), content.getFileSize(),
+				content.getReadTime());
+		synchronized (this) {
+			removeEntry(ifl);
+			fEntries.put(ifl, entry);
+			fChars += length;
+			// Evict the least recently used contents.
+			Iterator<Map.Entry<IIndexFileLocation, Entry>> it = fEntries.entrySet().iterator();
+			while (fChars > fMaxChars && it.hasNext()) {
+				fChars -= it.next().getValue().fContent.getLength();
+				it.remove();
+			}
+		}
+	}
+
+	private void removeEntry(IIndexFileLocation ifl) {
+		Entry old = fEntries.remove(ifl);
+		if (old != null)
+			fChars -= old.fContent.getLength();
+	}
+
+	public synchronized void clear() {
+		fEntries.clear();
+		fChars = 0;
+	}
+
+	/**
+	 * Returns the number of requests for contents that were found in the cache.
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of requests for contents that were not found in the cache.
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	public long getMaxChars() {
+		return fMaxChars;
+	}
+}
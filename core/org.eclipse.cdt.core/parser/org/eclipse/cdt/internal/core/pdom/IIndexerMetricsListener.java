@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Listener for measurements of the indexer, see {@link PDOMManager#addIndexerMetricsListener}.
+ */
+public interface IIndexerMetricsListener {
+	/**
+	 * Called after a translation unit has been written to the index. The method is called from
+	 * the indexer thread and must return quickly.
+	 */
+	void translationUnitIndexed(IndexerFileMetrics metrics);
+}
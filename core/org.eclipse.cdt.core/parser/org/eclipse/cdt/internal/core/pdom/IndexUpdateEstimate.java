@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Estimate of the work of an indexer task, computed before the task runs.
+ * @see AbstractIndexerTask#estimateUpdate(org.eclipse.core.runtime.IProgressMonitor)
+ */
+public class IndexUpdateEstimate {
+	public int fSourcesToParse; // Source files that are new or modified
+	public int fHeadersToParse; // Headers that are new and are indexed without context
+	public int fHeaderVersionsToParse; // Versions of modified headers, each parsed in one context
+	public int fUnchangedFiles; // Indexed files that are up to date
+	public int fFilesToRemove;
+	public int fDependentFiles; // Files including modified headers, directly or indirectly
+
+	/**
+	 * Returns the number of translation units that are expected to be parsed.
+	 */
+	public int getEstimatedParseCount() {
+		return fSourcesToParse + fHeadersToParse + fHeaderVersionsToParse;
+	}
+
+	@Override
+	public String toString() {
+		return "sources: " + fSourcesToParse + ", headers: " + fHeadersToParse //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", header versions: " + fHeaderVersionsToParse + ", unchanged: " + fUnchangedFiles //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", removed: " + fFilesToRemove + ", dependent files: " + fDependentFiles; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
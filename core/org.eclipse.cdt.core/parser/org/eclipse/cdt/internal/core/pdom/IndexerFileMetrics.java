@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Measurements for the indexing of a single translation unit. Times are in milliseconds.
+ * <p>
+ * The preprocessor runs interleaved with the parser, such that the time for preprocessing is
+ * included in the parsing time.
+ *
+ * @see IIndexerMetricsListener
+ */
+public class IndexerFileMetrics {
+	public String fPath;
+	public int fLinkageID;
+	public int fParsedFileCount; // The translation unit and the headers parsed with it
+	public long fBytesRead; // Size of the parsed files
+	public long fParsingTime;
+	public long fResolutionTime;
+	public long fWriteTime;
+	public long fLockWaitTime; // Time spent waiting for the write lock on the index
+	public long fChunkAccesses; // Accesses to database chunks while writing to the index
+	public int fDeclarationCount;
+	public int fReferenceCount;
+	public int fProblemBindingCount;
+
+	public long getTotalTime() {
+		return fParsingTime + fResolutionTime + fWriteTime;
+	}
+
+	/**
+	 * Returns the header line for {@link #toCSV()}.
+	 */
+	public static String getCSVHeader() {
+		return "path,linkage,files,bytes,parsing,resolution,write,lockWait,chunkAccesses," //$NON-NLS-1$
+				+ "declarations,references,problemBindings"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the metrics as a line of comma separated values, without line terminator.
+	 */
+	public String toCSV() {
+		StringBuilder buf = new StringBuilder();
+		buf.append('"').append(fPath.replace("\"", "\"\"")).append('"'); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(',').append(fLinkageID);
+		buf.append(',').append(fParsedFileCount);
+		buf.append(',').append(fBytesRead);
+		buf.append(',').append(fParsingTime);
+		buf.append(',').append(fResolutionTime);
+		buf.append(',').append(fWriteTime);
+		buf.append(',').append(fLockWaitTime);
+		buf.append(',').append(fChunkAccesses);
+		buf.append(',').append(fDeclarationCount);
+		buf.append(',').append(fReferenceCount);
+		buf.append(',').append(fProblemBindingCount);
+		return buf.toString();
+	}
+
+	/**
+	 * Returns the metrics as a JSON object on a single line.
+	 */
+	public String toJSON() {
+		StringBuilder buf = new StringBuilder();
+		buf.append("{\"path\":\""); //$NON-NLS-1$
+		for (int i = 0; i < fPath.length(); i++) {
+			char c = fPath.charAt(i);
+			if (c == '"' || c == '\\') {
+				buf.append('\\').append(c);
+			} else if (c < 0x20) {
+				buf.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+			} else {
+				buf.append(c);
+			}
+		}
+		buf.append("\",\"linkage\":").append(fLinkageID); //$NON-NLS-1$
+		buf.append(",\"files\":").append(fParsedFileCount); //$NON-NLS-1$
+		buf.append(",\"bytes\":").append(fBytesRead); //$NON-NLS-1$
+		buf.append(",\"parsing\":").append(fParsingTime); //$NON-NLS-1$
+		buf.append(",\"resolution\":").append(fResolutionTime); //$NON-NLS-1$
+		buf.append(",\"write\":").append(fWriteTime); //$NON-NLS-1$
+		buf.append(",\"lockWait\":").append(fLockWaitTime); //$NON-NLS-1$
+		buf.append(",\"chunkAccesses\":").append(fChunkAccesses); //$NON-NLS-1$
+		buf.append(",\"declarations\":").append(fDeclarationCount); //$NON-NLS-1$
+		buf.append(",\"references\":").append(fReferenceCount); //$NON-NLS-1$
+		buf.append(",\"problemBindings\":").append(fProblemBindingCount); //$NON-NLS-1$
+		buf.append('}');
+		return buf.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toCSV();
+	}
+}
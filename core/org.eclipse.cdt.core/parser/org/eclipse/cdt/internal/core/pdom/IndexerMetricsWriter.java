@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Appends the metrics of the indexer to a file. Files ending with {@code .csv} are written as
+ * comma separated values, other files get one JSON object per line.
+ */
+public class IndexerMetricsWriter implements IIndexerMetricsListener {
+	private final File fFile;
+	private final boolean fCSV;
+	private PrintWriter fWriter;
+	private boolean fFailed;
+
+	public IndexerMetricsWriter(File file) {
+		fFile = file;
+		fCSV = file.getName().toLowerCase().endsWith(".csv"); //$NON-NLS-1$
+	}
+
+	@Override
+	public synchronized void translationUnitIndexed(IndexerFileMetrics metrics) {
+		if (fWriter == null) {
+			if (fFailed)
+				return;
+			try {
+				boolean writeHeader = fCSV && fFile.length() == 0;
+				fWriter = new PrintWriter(
+						new OutputStreamWriter(new FileOutputStream(fFile, true), StandardCharsets.UTF_8));
+				if (writeHeader) {
+					fWriter.println(IndexerFileMetrics.getCSVHeader());
+				}
+			} catch (IOException e) {
+				fFailed = true;
+				CCorePlugin.log(e);
+				return;
+			}
+		}
+		fWriter.println(fCSV ? metrics.toCSV() : metrics.toJSON());
+		fWriter.flush();
+	}
+
+	public synchronized void close() {
+		if (fWriter != null) {
+			fWriter.close();
+			fWriter = null;
+		}
+	}
+}
@@ -17,7 +17,8 @@ package org.eclipse.cdt.internal.core.pdom;
 public class IndexerStatistics {
 	public int fResolutionTime;
 	public int fParsingTime;
-	public int fAddToIndexTime;
+	public int fAddToIndexTime; // Time spent storing symbols while holding the write lock
+	public int fLockWaitTime; // Time spent waiting for the write lock, not part of fAddToIndexTime
 	public int fErrorCount;
 	public int fReferenceCount = 0;
 	public int fDeclarationCount = 0;
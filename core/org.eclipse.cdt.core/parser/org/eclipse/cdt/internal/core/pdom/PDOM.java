@@ -81,6 +81,7 @@ import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.StringCache;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
@@ -117,6 +118,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private static final int LONG_READ_LOCK_WAIT_REPORT_THRESHOLD = 1000;
 	static boolean sDEBUG_LOCKS; // Initialized in the PDOMManager, because IBM needs PDOM independent of runtime plugin.
 
+	/**
+	 * System property selecting the memory-mapped storage of the database for PDOMs that do not
+	 * specify the storage mode explicitly. The storage is not memory-mapped on Windows.
+	 */
+	public static final String MEMORY_MAPPED_PROPERTY = "org.eclipse.cdt.core.parser.pdom.mmap"; //$NON-NLS-1$
+
 	/**
 	 * Identifier for PDOM format
 	 * @see IIndexFragment#PROPERTY_FRAGMENT_FORMAT_ID
@@ -330,6 +337,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return "" + major + '.' + minor; //$NON-NLS-1$
 	}
 
+	/** Maximum number of entries in the cache of results shared between translation units. */
+	private static final int SHARED_RESULT_CACHE_SIZE = 20000;
+
 	public static final int LINKAGES = Database.DATA_AREA;
 	public static final int FILE_INDEX = Database.DATA_AREA + 4;
 	public static final int INDEX_OF_DEFECTIVE_FILES = Database.DATA_AREA + 8;
@@ -402,10 +412,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private BTree indexOfFiledWithUnresolvedIncludes;
 	private final Map<Integer, PDOMLinkage> fLinkageIDCache = new HashMap<>();
 	private File fPath;
+	private final boolean fMemoryMapped;
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
 	private final HashMap<Object, Object> fResultCache = new HashMap<>();
 	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
+	private final SharedResultCache fSharedResultCache = new SharedResultCache(SHARED_RESULT_CACHE_SIZE);
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
 
@@ -416,7 +428,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	public PDOM(File dbPath, IIndexLocationConverter locationConverter, ChunkCache cache,
 			Map<String, IPDOMLinkageFactory> linkageFactoryMappings) throws CoreException {
+		this(dbPath, locationConverter, cache, linkageFactoryMappings, Boolean.getBoolean(MEMORY_MAPPED_PROPERTY));
+	}
+
+	/**
+	 * @param memoryMapped whether the database is read through a memory mapping of the file
+	 *     instead of copying its chunks to the cache.
+	 */
+	public PDOM(File dbPath, IIndexLocationConverter locationConverter, ChunkCache cache,
+			Map<String, IPDOMLinkageFactory> linkageFactoryMappings, boolean memoryMapped) throws CoreException {
 		fPDOMLinkageFactoryCache = linkageFactoryMappings;
+		fMemoryMapped = memoryMapped;
 		loadDatabase(dbPath, cache);
 		this.locationConverter = locationConverter;
 		if (sDEBUG_LOCKS) {
@@ -437,7 +459,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		final boolean lockDB = db == null || lockCount != 0;
 
 		clearCaches();
-		db = new Database(fPath, cache, getDefaultVersion(), isPermanentlyReadOnly());
+		db = new Database(fPath, cache, getDefaultVersion(), isPermanentlyReadOnly(), fMemoryMapped);
 
 		db.setLocked(lockDB);
 		try {
@@ -1104,6 +1126,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@SuppressWarnings("nls")
 	public void releaseWriteLock(int establishReadLocks, boolean flush) {
+		// The indexer flushes the pending bindings for each file, this is for other writers.
+		try {
+			flushPendingBindings();
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		}
 		// When all locks are released we can clear the result cache.
 		if (establishReadLocks == 0) {
 			clearResultCache();
@@ -1118,6 +1146,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastWriteAccess = System.currentTimeMillis();
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
+		if (event.isCleared() || event.isReloaded()) {
+			fSharedResultCache.clear();
+		} else {
+			fSharedResultCache.invalidate(event.fClearedFiles);
+			fSharedResultCache.invalidate(event.fFilesWritten);
+		}
 		synchronized (mutex) {
 			if (sDEBUG_LOCKS) {
 				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
@@ -1501,8 +1535,22 @@ public class PDOM extends PlatformObject implements IPDOM {
 		tagIndex = null;
 		indexOfDefectiveFiles = null;
 		indexOfFiledWithUnresolvedIncludes = null;
+		for (PDOMLinkage linkage : getLinkageList()) {
+			linkage.discardPendingNestedBindings();
+		}
 		fLinkageIDCache.clear();
 		clearResultCache();
+		fSharedResultCache.clear();
+	}
+
+	/**
+	 * Inserts the nested bindings that are buffered by the linkages into their indexes.
+	 * Must be called before the write lock is released.
+	 */
+	protected void flushPendingBindings() throws CoreException {
+		for (PDOMLinkage linkage : getLinkageList()) {
+			linkage.flushNestedBindingsIndex();
+		}
 	}
 
 	@Override
@@ -1525,9 +1573,25 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return db.getCacheMisses();
 	}
 
+	/**
+	 * Returns the cache for the strings of the database, e.g. to obtain its metrics.
+	 */
+	public StringCache getStringCache() {
+		return db.getStringCache();
+	}
+
+	/**
+	 * Returns the cache for results that are shared between translation units, see
+	 * {@link SharedResultCache}.
+	 */
+	public SharedResultCache getSharedResultCache() {
+		return fSharedResultCache;
+	}
+
 	@Override
 	public void resetCacheCounters() {
 		db.resetCacheCounters();
+		fSharedResultCache.resetCounters();
 	}
 
 	protected void flush() throws CoreException {
@@ -125,6 +125,8 @@ import com.ibm.icu.text.SimpleDateFormat;
  */
 public class PDOMManager implements IWritableIndexManager, IListener {
 	private static final String TRACE_INDEXER_SETUP = CCorePlugin.PLUGIN_ID + "/debug/indexer/setup"; //$NON-NLS-1$
+	// File the metrics of the indexer are appended to, as CSV for files ending with .csv, as JSON otherwise.
+	private static final String TRACE_INDEXER_METRICS = CCorePlugin.PLUGIN_ID + "/debug/indexer/metrics"; //$NON-NLS-1$
 
 	private final class PCL implements IPreferenceChangeListener {
 		private ICProject fProject;
@@ -170,6 +172,8 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	private Map<File, ICProject> fFileToProject = new HashMap<>();
 	private ListenerList<IIndexChangeListener> fChangeListeners = new ListenerList<>();
 	private ListenerList<IIndexerStateListener> fStateListeners = new ListenerList<>();
+	private ListenerList<IIndexerMetricsListener> fMetricsListeners = new ListenerList<>();
+	private IndexerMetricsWriter fMetricsWriter;
 
 	private IndexChangeEvent fIndexChangeEvent = new IndexChangeEvent();
 	private IndexerStateEvent fIndexerStateEvent = new IndexerStateEvent();
@@ -251,6 +255,11 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		fIndexProviderManager.startup();
 
 		fTraceIndexerSetup = String.valueOf(true).equals(Platform.getDebugOption(TRACE_INDEXER_SETUP));
+		String metricsFile = Platform.getDebugOption(TRACE_INDEXER_METRICS);
+		if (metricsFile != null && !metricsFile.isEmpty()) {
+			fMetricsWriter = new IndexerMetricsWriter(new File(metricsFile));
+			addIndexerMetricsListener(fMetricsWriter);
+		}
 		final CoreModel model = CoreModel.getDefault();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(fCModelListener, IResourceChangeEvent.POST_BUILD);
 		model.addElementChangedListener(fCModelListener);
@@ -291,6 +300,10 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
+		if (fMetricsWriter != null) {
+			removeIndexerMetricsListener(fMetricsWriter);
+			fMetricsWriter.close();
+		}
 	}
 
 	protected void onPreferenceChange(PreferenceChangeEvent event) {
@@ -1050,6 +1063,23 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		fStateListeners.remove(listener);
 	}
 
+	/**
+	 * Adds a listener that is notified with the metrics of every translation unit indexed
+	 * by subsequent indexer tasks.
+	 */
+	public void addIndexerMetricsListener(IIndexerMetricsListener listener) {
+		fMetricsListeners.add(listener);
+	}
+
+	public void removeIndexerMetricsListener(IIndexerMetricsListener listener) {
+		fMetricsListeners.remove(listener);
+	}
+
+	public IIndexerMetricsListener[] getIndexerMetricsListeners() {
+		Object[] listeners = fMetricsListeners.getListeners();
+		return Arrays.copyOf(listeners, listeners.length, IIndexerMetricsListener[].class);
+	}
+
 	private Job createNotifyJob() {
 		Job notify = new Job(Messages.PDOMManager_notifyJob_label) {
 			@Override
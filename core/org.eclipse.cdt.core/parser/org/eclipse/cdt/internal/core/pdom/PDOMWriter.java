@@ -28,6 +28,7 @@ import java.util.Set;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
@@ -65,6 +66,7 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTFunctionDefinition;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalDeclaredVariable;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
@@ -161,6 +163,10 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		final Set<IASTPreprocessorIncludeStatement> fContextIncludes = new HashSet<>();
 		final List<IStatus> fStatuses = new ArrayList<>();
 		Map<String, String> fReplacementHeaders; // Replacement headers keyed by file paths.
+		long fResolutionTime;
+		long fWriteTime;
+		long fLockWaitTime;
+		long fChunkAccesses;
 
 		public Data(IASTTranslationUnit ast, FileInAST[] selectedFiles, IWritableIndex index) {
 			fAST = ast;
@@ -218,6 +224,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 	protected final ICanceler fCancelState = new Canceler();
 
 	private int fSkipReferences = SKIP_NO_REFERENCES;
+	private YieldableIndexLock fBatchLock;
 
 	public PDOMWriter(IndexerInputAdapter resolver) {
 		fStatistics = new IndexerStatistics();
@@ -261,6 +268,36 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return fSkipReferences;
 	}
 
+	/**
+	 * Starts a batch of writes to the index. Until {@link #endWriteBatch()} is called, the write
+	 * lock on the index is held across translation units. It is yielded between files to threads
+	 * waiting for a read lock. The caller must not acquire the write lock while the batch is open.
+	 */
+	protected final void beginWriteBatch(IWritableIndex index, IProgressMonitor monitor) throws InterruptedException {
+		assert fBatchLock == null : "Nested write batches are not allowed"; //$NON-NLS-1$
+		YieldableIndexLock lock = new YieldableIndexLock(index, false, monitor);
+		lock.acquire();
+		fStatistics.fLockWaitTime += lock.getCumulativeWaitTime();
+		fBatchLock = lock;
+	}
+
+	/**
+	 * Ends the current batch of writes and releases the write lock on the index.
+	 */
+	protected final void endWriteBatch() {
+		if (fBatchLock != null) {
+			fBatchLock.release();
+			fBatchLock = null;
+		}
+	}
+
+	/**
+	 * Returns whether a batch of writes is open, i.e. whether the write lock on the index is held.
+	 */
+	protected final boolean isInWriteBatch() {
+		return fBatchLock != null;
+	}
+
 	/**
 	 * Extracts symbols from the given AST and adds them to the index.  Ignores Data maps that are
 	 * empty and ones where storageLinkageID == {@link ILinkage#NO_LINKAGE_ID}.
@@ -313,53 +350,80 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			throws InterruptedException, CoreException {
 		final IIndexFragmentFile newFile = ctx == null ? null : ctx.fNewFile;
 		SubMonitor progress = SubMonitor.convert(monitor, data.fSelectedFiles.length * 10);
-		for (int i = 0; i < data.fSelectedFiles.length; i++) {
-			final FileInAST fileInAST = data.fSelectedFiles[i];
-			if (fileInAST != null) {
-				if (fShowActivity) {
-					trace("Indexer: adding " + fileInAST.fileContentKey.getLocation().getURI()); //$NON-NLS-1$
-				}
-				Throwable th = null;
-				YieldableIndexLock lock = new YieldableIndexLock(data.fIndex, false, progress.split(1));
-				lock.acquire();
-				try {
-					final boolean isReplacement = ctx != null && fileInAST.includeStatement == null;
-					IIndexFragmentFile ifile = null;
-					if (!isReplacement || newFile == null) {
-						ifile = storeFileInIndex(data, fileInAST, storageLinkageID, lock, progress.split(9));
-						reportFileWrittenToIndex(fileInAST, ifile);
+		// The write lock is acquired once for all files of the AST, unless it is held by the current
+		// write batch. Between the files it is yielded to threads waiting for a read lock.
+		final boolean ownsLock = fBatchLock == null;
+		YieldableIndexLock lock = fBatchLock;
+		final long start = System.currentTimeMillis();
+		final long waitTimeBefore = lock == null ? 0 : lock.getCumulativeWaitTime();
+		final long chunkAccessesBefore = data.fIndex.getCacheHits() + data.fIndex.getCacheMisses();
+		try {
+			for (int i = 0; i < data.fSelectedFiles.length; i++) {
+				final FileInAST fileInAST = data.fSelectedFiles[i];
+				if (fileInAST != null) {
+					if (fShowActivity) {
+						trace("Indexer: adding " + fileInAST.fileContentKey.getLocation().getURI()); //$NON-NLS-1$
 					}
+					if (lock == null) {
+						lock = new YieldableIndexLock(data.fIndex, false, progress.split(1));
+						lock.acquire();
+					} else {
+						progress.split(1);
+						lock.yield();
+					}
+					Throwable th = null;
+					try {
+						final boolean isReplacement = ctx != null && fileInAST.includeStatement == null;
+						IIndexFragmentFile ifile = null;
+						if (!isReplacement || newFile == null) {
+							ifile = storeFileInIndex(data, fileInAST, storageLinkageID, lock, progress.split(9));
+							// A failure to insert the nested bindings fails the file, rather than being
+							// logged when the lock is released.
+							data.fIndex.flushPendingBindings();
+							reportFileWrittenToIndex(fileInAST, ifile);
+						}
 
-					if (isReplacement) {
-						if (ifile == null)
-							ifile = newFile;
-						if (ctx != null && !ctx.fOldFile.equals(ifile) && ifile != null) {
-							if (ctx.fOldFile.hasPragmaOnceSemantics() && !ifile.hasPragmaOnceSemantics()) {
-								data.fIndex.transferContext(ctx.fOldFile, ifile);
-								ctx.fLostPragmaOnceSemantics = true;
-							} else {
-								data.fIndex.transferIncluders(ctx.fOldFile, ifile);
+						if (isReplacement) {
+							if (ifile == null)
+								ifile = newFile;
+							if (ctx != null && !ctx.fOldFile.equals(ifile) && ifile != null) {
+								if (ctx.fOldFile.hasPragmaOnceSemantics() && !ifile.hasPragmaOnceSemantics()) {
+									data.fIndex.transferContext(ctx.fOldFile, ifile);
+									ctx.fLostPragmaOnceSemantics = true;
+								} else {
+									data.fIndex.transferIncluders(ctx.fOldFile, ifile);
+								}
 							}
 						}
+					} catch (OperationCanceledException e) {
+						throw e;
+					} catch (RuntimeException | StackOverflowError | AssertionError e) {
+						th = e;
 					}
-				} catch (OperationCanceledException e) {
-					throw e;
-				} catch (RuntimeException | StackOverflowError | AssertionError e) {
-					th = e;
-				} finally {
-					// Because the caller holds a read-lock, the result cache of the index is never cleared.
-					// Before releasing the lock for the last time in this AST, we clear the result cache.
-					if (i == data.fSelectedFiles.length - 1) {
-						data.fIndex.clearResultCache();
+					if (th != null) {
+						data.fStatuses.add(createStatus(NLS.bind(Messages.PDOMWriter_errorWhileParsing,
+								fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
 					}
-					lock.release();
 				}
-				if (th != null) {
-					data.fStatuses.add(createStatus(NLS.bind(Messages.PDOMWriter_errorWhileParsing,
-							fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
+			}
+		} finally {
+			if (lock != null && lock.isHeld()) {
+				// Because the caller holds a read-lock, the result cache of the index is never cleared.
+				// Before releasing the lock for the last time in this AST, we clear the result cache.
+				data.fIndex.clearResultCache();
+				if (ownsLock) {
+					lock.release();
 				}
-				fStatistics.fAddToIndexTime += lock.getCumulativeLockTime();
 			}
+			// The time spent waiting for the lock, including the waits after yielding it, is not
+			// part of the time spent storing the symbols.
+			final long waitTime = lock == null ? 0 : lock.getCumulativeWaitTime() - waitTimeBefore;
+			final long time = System.currentTimeMillis() - start - waitTime;
+			fStatistics.fAddToIndexTime += time;
+			fStatistics.fLockWaitTime += waitTime;
+			data.fWriteTime += time;
+			data.fLockWaitTime += waitTime;
+			data.fChunkAccesses += data.fIndex.getCacheHits() + data.fIndex.getCacheMisses() - chunkAccessesBefore;
 		}
 	}
 
@@ -445,7 +509,9 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			}
 		}
 
-		fStatistics.fResolutionTime += System.currentTimeMillis() - start;
+		final long time = System.currentTimeMillis() - start;
+		fStatistics.fResolutionTime += time;
+		data.fResolutionTime += time;
 	}
 
 	private boolean isVariableIndexed(ICPPVariable variable) {
@@ -506,6 +572,18 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		final IndexerASTVisitor visitor = new IndexerASTVisitor((fSkipReferences & SKIP_IMPLICIT_REFERENCES) == 0) {
 			private int cancelationCheckThrottler;
 
+			@Override
+			public int visit(IASTDeclaration decl) {
+				// The names of files that are not updated are not stored, don't parse the deferred
+				// function bodies of these files.
+				if (decl instanceof CPPASTFunctionDefinition && ((CPPASTFunctionDefinition) decl).hasDeferredBody()) {
+					IASTFileLocation loc = decl.getFileLocation();
+					if (loc != null && !symbolMap.containsKey(loc.getContextInclusionStatement()))
+						return PROCESS_SKIP;
+				}
+				return super.visit(decl);
+			}
+
 			@Override
 			public void visit(IASTName name, IASTName caller) {
 				checkForCancellation();
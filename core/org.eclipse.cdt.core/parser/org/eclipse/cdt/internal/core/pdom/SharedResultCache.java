@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Memoizes results of semantic computations that depend only on bindings stored in the index,
+ * e.g. the values of constexpr function calls. Unlike the result cache of {@link PDOM} the
+ * content survives the release of the locks, such that it is shared between translation units
+ * and threads. Therefore the cached values must not reference any objects of an AST.
+ * <p>
+ * Each result is associated with the files it may depend on, and is removed when any of these
+ * files is changed in the index. The cache is bounded by the number of entries and is thread-safe.
+ */
+public final class SharedResultCache {
+	private static final class CachedResult {
+		final Object fValue;
+		final Set<IIndexFileLocation> fFiles;
+
+		CachedResult(Object value, Set<IIndexFileLocation> files) {
+			fValue = value;
+			fFiles = files;
+		}
+	}
+
+	private final int fMaxEntries;
+	private final LinkedHashMap<Object, CachedResult> fEntries;
+	// The files included by a file, directly or indirectly, with the file itself, by file record.
+	private final Map<Long, Set<IIndexFileLocation>> fIncludedFiles = new HashMap<>();
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	public SharedResultCache(final int maxEntries) {
+		fMaxEntries = maxEntries;
+		fEntries = new LinkedHashMap<Object, CachedResult>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, CachedResult> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the result cached for the given key, or {@code null}.
+	 */
+	public Object get(Object key) {
+		CachedResult entry;
+		synchronized (this) {
+			entry = fEntries.get(key);
+		}
+		if (entry == null) {
+			fMisses.increment();
+			return null;
+		}
+		fHits.increment();
+		return entry.fValue;
+	}
+
+	/**
+	 * Caches a result.
+	 *
+	 * @param key the key for the computation, must not depend on an AST.
+	 * @param value the result, must not reference any objects of an AST.
+	 * @param files the files the result may depend on, the set must not be modified afterwards.
+	 */
+	public void put(Object key, Object value, Set<IIndexFileLocation> files) {
+		final CachedResult entry = new CachedResult(value, files);
+		synchronized (this) {
+			fEntries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Returns the locations of the given file and of all the files it includes, directly or
+	 * indirectly. The result is computed from the include directives stored in the index and
+	 * is cached until a file is changed in the index. The caller must hold a read lock on the
+	 * index and must not modify the result.
+	 */
+	public Set<IIndexFileLocation> getIncludedFiles(PDOMFile file) throws CoreException {
+		final Long key = file.getRecord();
+		synchronized (this) {
+			Set<IIndexFileLocation> result = fIncludedFiles.get(key);
+			if (result != null)
+				return result;
+		}
+		Set<IIndexFileLocation> result = new HashSet<>();
+		Set<Long> visited = new HashSet<>();
+		ArrayDeque<PDOMFile> queue = new ArrayDeque<>();
+		visited.add(key);
+		queue.add(file);
+		while (!queue.isEmpty()) {
+			PDOMFile current = queue.remove();
+			result.add(current.getLocation());
+			for (IIndexInclude include : current.getIncludes()) {
+				PDOMFile included = (PDOMFile) ((PDOMInclude) include).getIncludes();
+				if (included != null && visited.add(included.getRecord())) {
+					queue.add(included);
+				}
+			}
+		}
+		result = Collections.unmodifiableSet(result);
+		synchronized (this) {
+			fIncludedFiles.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the results associated with any of the given files.
+	 */
+	public synchronized void invalidate(Collection<IIndexFileLocation> files) {
+		if (files.isEmpty())
+			return;
+		fIncludedFiles.clear();
+		if (fEntries.isEmpty())
+			return;
+		// Many results share the same set of files, each set is checked only once.
+		Map<Set<IIndexFileLocation>, Boolean> affected = new IdentityHashMap<>();
+		for (Iterator<CachedResult> it = fEntries.values().iterator(); it.hasNext();) {
+			Set<IIndexFileLocation> dependencies = it.next().fFiles;
+			Boolean remove = affected.get(dependencies);
+			if (remove == null) {
+				remove = !Collections.disjoint(dependencies, files);
+				affected.put(dependencies, remove);
+			}
+			if (remove) {
+				it.remove();
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		fEntries.clear();
+		fIncludedFiles.clear();
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	/**
+	 * Returns the number of requests for results that were found in the cache.
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of requests for results that were not found in the cache.
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	public void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+	}
+
+	public int getMaxEntries() {
+		return fMaxEntries;
+	}
+}
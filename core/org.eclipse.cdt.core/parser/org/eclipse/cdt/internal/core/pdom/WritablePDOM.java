@@ -17,6 +17,7 @@ package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -67,6 +68,11 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		super(dbPath, locationConverter, cache, linkageFactoryMappings);
 	}
 
+	public WritablePDOM(File dbPath, IIndexLocationConverter locationConverter, ChunkCache cache,
+			Map<String, IPDOMLinkageFactory> linkageFactoryMappings, boolean memoryMapped) throws CoreException {
+		super(dbPath, locationConverter, cache, linkageFactoryMappings, memoryMapped);
+	}
+
 	public void setASTFilePathResolver(ASTFilePathResolver resolver) {
 		fPathResolver = resolver;
 	}
@@ -195,6 +201,11 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		super.flush();
 	}
 
+	@Override
+	public void flushPendingBindings() throws CoreException {
+		super.flushPendingBindings();
+	}
+
 	@Override
 	public void setProperty(String propertyName, String value) throws CoreException {
 		if (IIndexFragment.PROPERTY_FRAGMENT_FORMAT_ID.equals(propertyName)
@@ -232,15 +243,18 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 
 		clearFileIndex();
 		final List<PDOMFile> notConverted = new ArrayList<>();
+		long[] converted = new long[pdomfiles.size()];
+		int count = 0;
 		for (PDOMFile file : pdomfiles) {
 			String internalFormat = newConverter.toInternalFormat(file.getLocation());
 			if (internalFormat != null) {
 				file.setInternalLocation(internalFormat);
-				getFileIndex().insert(file.getRecord());
+				converted[count++] = file.getRecord();
 			} else {
 				notConverted.add(file);
 			}
 		}
+		getFileIndex().insertAll(Arrays.copyOf(converted, count));
 
 		// remove content where converter returns null
 		for (PDOMFile file : notConverted) {
@@ -27,6 +27,7 @@ public class YieldableIndexLock {
 	private final IProgressMonitor progressMonitor;
 	private long lastLockTime;
 	private long cumulativeLockTime;
+	private long cumulativeWaitTime;
 
 	public YieldableIndexLock(IWritableIndex index, boolean flushIndex, IProgressMonitor monitor) {
 		this.index = index;
@@ -40,8 +41,10 @@ public class YieldableIndexLock {
 	 * @throws InterruptedException
 	 */
 	public void acquire() throws InterruptedException {
+		final long start = System.currentTimeMillis();
 		index.acquireWriteLock(progressMonitor);
 		lastLockTime = System.currentTimeMillis();
+		cumulativeWaitTime += lastLockTime - start;
 	}
 
 	/**
@@ -55,6 +58,13 @@ public class YieldableIndexLock {
 		}
 	}
 
+	/**
+	 * Returns whether the lock is held, it is not when acquiring it was interrupted.
+	 */
+	public boolean isHeld() {
+		return lastLockTime != 0;
+	}
+
 	/**
 	 * Yields the lock temporarily if it was held for YIELD_INTERVAL or more, and somebody is waiting
 	 * for a read lock.
@@ -75,4 +85,11 @@ public class YieldableIndexLock {
 	public long getCumulativeLockTime() {
 		return cumulativeLockTime;
 	}
+
+	/**
+	 * @return Total time spent waiting for the lock in milliseconds.
+	 */
+	public long getCumulativeWaitTime() {
+		return cumulativeWaitTime;
+	}
 }
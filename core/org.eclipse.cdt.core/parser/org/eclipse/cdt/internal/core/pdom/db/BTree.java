@@ -214,6 +214,110 @@ public class BTree {
 		return db.malloc((2 * MAX_RECORDS + 1) * Database.INT_SIZE);
 	}
 
+	/**
+	 * Inserts all the given records into the b-tree. A record is not inserted if the b-tree or
+	 * the array already contains a record with the same key. If the b-tree is empty, it is built
+	 * bottom-up from the sorted records, which is a lot faster than inserting the records one
+	 * by one and results in completely filled nodes.
+	 *
+	 * @param records offsets of the records, the array is sorted in place
+	 */
+	public void insertAll(long[] records) throws CoreException {
+		if (records.length == 0)
+			return;
+
+		sort(records, new long[records.length], 0, records.length);
+		if (getRoot() != 0) {
+			// Inserting in sorted order still visits the nodes in sequence.
+			for (long record : records) {
+				insert(record);
+			}
+			return;
+		}
+
+		// Remove duplicates, the first of the equal records is kept.
+		int count = 1;
+		for (int i = 1; i < records.length; i++) {
+			if (cmp.compare(records[count - 1], records[i]) != 0) {
+				records[count++] = records[i];
+			}
+		}
+		int height = 0;
+		while (getCapacity(height) < count) {
+			height++;
+		}
+		long root = buildSubtree(records, 0, count, height, 2);
+		db.putRecPtr(rootPointer, root);
+	}
+
+	/**
+	 * Returns the maximum number of records in a subtree of the given height.
+	 */
+	private long getCapacity(int height) {
+		long capacity = MAX_RECORDS;
+		for (int i = 0; i < height; i++) {
+			capacity = capacity * MAX_CHILDREN + MAX_RECORDS;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Creates a subtree of the given height for a range of sorted records. The records are
+	 * distributed evenly among the children, such that each node, except the root, holds at
+	 * least {@link #MIN_RECORDS} records.
+	 */
+	private long buildSubtree(long[] records, int from, int count, int height, int minChildren)
+			throws CoreException {
+		final long node = allocateNode();
+		if (height == 0) {
+			Chunk chunk = db.getChunk(node);
+			for (int i = 0; i < count; i++) {
+				putRecord(chunk, node, i, records[from + i]);
+			}
+			return node;
+		}
+
+		final long childCapacity = getCapacity(height - 1);
+		final int children = Math.max(minChildren, (int) ((count + childCapacity + 1) / (childCapacity + 1)));
+		final int childRecords = count - (children - 1);
+		int pos = from;
+		for (int i = 0; i < children; i++) {
+			int size = childRecords / children + (i < childRecords % children ? 1 : 0);
+			long child = buildSubtree(records, pos, size, height - 1, DEGREE);
+			pos += size;
+			Chunk chunk = db.getChunk(node);
+			putChild(chunk, node, i, child);
+			if (i < children - 1) {
+				putRecord(chunk, node, i, records[pos++]);
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Merge sort of records using the comparator of the b-tree. The sort is stable.
+	 */
+	private void sort(long[] records, long[] buffer, int from, int to) throws CoreException {
+		if (to - from < 2)
+			return;
+		final int middle = (from + to) >>> 1;
+		sort(records, buffer, from, middle);
+		sort(records, buffer, middle, to);
+		if (cmp.compare(records[middle - 1], records[middle]) <= 0)
+			return;
+
+		System.arraycopy(records, from, buffer, from, to - from);
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < middle && cmp.compare(buffer[i], buffer[j]) <= 0)) {
+				records[k] = buffer[i++];
+			} else {
+				records[k] = buffer[j++];
+			}
+		}
+	}
+
 	/**
 	 * Deletes the specified record from the B-tree.
 	 * <p>
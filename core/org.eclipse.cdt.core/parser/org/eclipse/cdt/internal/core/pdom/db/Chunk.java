@@ -23,26 +23,48 @@ import org.eclipse.core.runtime.CoreException;
 
 /**
  * Caches the content of a piece of the database.
+ * <p>
+ * The content is either held in a private heap buffer, or, for databases using memory-mapped
+ * storage, in a read-only view of the mapped file. A mapped chunk is copied to the heap the first
+ * time it is written to, such that modifications reach the file only when the chunk is flushed.
  */
 final class Chunk {
-	final private byte[] fBuffer = new byte[Database.CHUNK_SIZE];
+	private ByteBuffer fBuffer;
 
 	final Database fDatabase;
 	final int fSequenceNumber;
 
-	boolean fCacheHitFlag;
 	boolean fDirty;
 	boolean fLocked; // locked chunks must not be released from cache.
-	int fCacheIndex = -1;
+	boolean fMapped; // the buffer is a read-only view of the memory-mapped file.
+
+	// Maintained by the ChunkCache.
+	volatile int fCacheQueue = ChunkCache.NOT_CACHED;
+	int fCacheFrequency; // updated without synchronization, it is only a hint for eviction.
+	Chunk fCachePrev;
+	Chunk fCacheNext;
 
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
 		fSequenceNumber = sequenceNumber;
+		fBuffer = ByteBuffer.allocate(Database.CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a chunk backed by a view of a memory-mapped region of the database file.
+	 * The content does not need to be read.
+	 */
+	Chunk(Database db, int sequenceNumber, ByteBuffer mappedView) {
+		fDatabase = db;
+		fSequenceNumber = sequenceNumber;
+		fBuffer = mappedView;
+		fMapped = true;
 	}
 
 	void read() throws CoreException {
+		assert !fMapped;
 		try {
-			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
+			final ByteBuffer buf = ByteBuffer.wrap(fBuffer.array());
 			fDatabase.read(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -50,8 +72,9 @@ final class Chunk {
 	}
 
 	void flush() throws CoreException {
+		assert !fMapped;
 		try {
-			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
+			final ByteBuffer buf = ByteBuffer.wrap(fBuffer.array());
 			fDatabase.write(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -59,37 +82,51 @@ final class Chunk {
 		fDirty = false;
 	}
 
+	/**
+	 * Must be called before any modification of the buffer. Copies a memory-mapped chunk
+	 * to the heap, the file is modified only when the chunk is flushed.
+	 */
+	private void makeDirty() {
+		assert fLocked;
+		if (fMapped) {
+			ByteBuffer copy = ByteBuffer.allocate(Database.CHUNK_SIZE);
+			copy.put(fBuffer.duplicate());
+			fBuffer = copy;
+			fMapped = false;
+		}
+		fDirty = true;
+	}
+
+	boolean isCached() {
+		return fCacheQueue != ChunkCache.NOT_CACHED;
+	}
+
 	private static int recPtrToIndex(final long offset) {
 		return (int) (offset & Database.OFFSET_IN_CHUNK_MASK);
 	}
 
 	public void putByte(final long offset, final byte value) {
-		assert fLocked;
-		fDirty = true;
-		fBuffer[recPtrToIndex(offset)] = value;
+		makeDirty();
+		fBuffer.put(recPtrToIndex(offset), value);
 	}
 
 	public byte getByte(final long offset) {
-		return fBuffer[recPtrToIndex(offset)];
+		return fBuffer.get(recPtrToIndex(offset));
 	}
 
 	public byte[] getBytes(final long offset, final int length) {
 		final byte[] bytes = new byte[length];
-		System.arraycopy(fBuffer, recPtrToIndex(offset), bytes, 0, length);
+		get(offset, bytes, 0, length);
 		return bytes;
 	}
 
 	public void putBytes(final long offset, final byte[] bytes) {
-		assert fLocked;
-		fDirty = true;
-		System.arraycopy(bytes, 0, fBuffer, recPtrToIndex(offset), bytes.length);
+		put(offset, bytes, 0, bytes.length);
 	}
 
 	public void putInt(final long offset, final int value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		putInt(value, fBuffer, idx);
+		makeDirty();
+		fBuffer.putInt(recPtrToIndex(offset), value);
 	}
 
 	static final void putInt(final int value, final byte[] buffer, int idx) {
@@ -100,7 +137,7 @@ final class Chunk {
 	}
 
 	public int getInt(final long offset) {
-		return getInt(fBuffer, recPtrToIndex(offset));
+		return fBuffer.getInt(recPtrToIndex(offset));
 	}
 
 	static final int getInt(final byte[] buffer, int idx) {
@@ -140,10 +177,9 @@ final class Chunk {
 	 * This is a pointer to a block + BLOCK_HEADER_SIZE.
 	 */
 	public void putRecPtr(final long offset, final long value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		Database.putRecPtr(value, fBuffer, idx);
+		makeDirty();
+		final int denseValue = value == 0 ? 0 : compressFreeRecPtr(value - Database.BLOCK_HEADER_SIZE);
+		fBuffer.putInt(recPtrToIndex(offset), denseValue);
 	}
 
 	/**
@@ -151,129 +187,99 @@ final class Chunk {
 	 * i.e. the pointer is not moved past the BLOCK_HEADER_SIZE.
 	 */
 	public void putFreeRecPtr(final long offset, final long value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		putInt(compressFreeRecPtr(value), fBuffer, idx);
+		makeDirty();
+		fBuffer.putInt(recPtrToIndex(offset), compressFreeRecPtr(value));
 	}
 
 	public long getRecPtr(final long offset) {
-		final int idx = recPtrToIndex(offset);
-		return Database.getRecPtr(fBuffer, idx);
+		long address = expandToFreeRecPtr(fBuffer.getInt(recPtrToIndex(offset)));
+		return address != 0 ? (address + Database.BLOCK_HEADER_SIZE) : address;
 	}
 
 	public long getFreeRecPtr(final long offset) {
-		final int idx = recPtrToIndex(offset);
-		int value = getInt(fBuffer, idx);
-		return expandToFreeRecPtr(value);
+		return expandToFreeRecPtr(fBuffer.getInt(recPtrToIndex(offset)));
 	}
 
 	public void put3ByteUnsignedInt(final long offset, final int value) {
-		assert fLocked;
-		fDirty = true;
+		makeDirty();
 		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 16);
-		fBuffer[++idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		fBuffer.put(idx, (byte) (value >> 16));
+		fBuffer.put(++idx, (byte) (value >> 8));
+		fBuffer.put(++idx, (byte) (value));
 	}
 
 	public int get3ByteUnsignedInt(final long offset) {
 		int idx = recPtrToIndex(offset);
-		return ((fBuffer[idx] & 0xff) << 16) | ((fBuffer[++idx] & 0xff) << 8) | ((fBuffer[++idx] & 0xff) << 0);
+		return ((fBuffer.get(idx) & 0xff) << 16) | ((fBuffer.get(++idx) & 0xff) << 8)
+				| ((fBuffer.get(++idx) & 0xff) << 0);
 	}
 
 	public void putShort(final long offset, final short value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		makeDirty();
+		fBuffer.putShort(recPtrToIndex(offset), value);
 	}
 
 	public short getShort(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return (short) (((fBuffer[idx] << 8) | (fBuffer[++idx] & 0xff)));
+		return fBuffer.getShort(recPtrToIndex(offset));
 	}
 
 	public long getLong(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return ((((long) fBuffer[idx] & 0xff) << 56) | (((long) fBuffer[++idx] & 0xff) << 48)
-				| (((long) fBuffer[++idx] & 0xff) << 40) | (((long) fBuffer[++idx] & 0xff) << 32)
-				| (((long) fBuffer[++idx] & 0xff) << 24) | (((long) fBuffer[++idx] & 0xff) << 16)
-				| (((long) fBuffer[++idx] & 0xff) << 8) | (((long) fBuffer[++idx] & 0xff) << 0));
+		return fBuffer.getLong(recPtrToIndex(offset));
 	}
 
 	public void putLong(final long offset, final long value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-
-		fBuffer[idx] = (byte) (value >> 56);
-		fBuffer[++idx] = (byte) (value >> 48);
-		fBuffer[++idx] = (byte) (value >> 40);
-		fBuffer[++idx] = (byte) (value >> 32);
-		fBuffer[++idx] = (byte) (value >> 24);
-		fBuffer[++idx] = (byte) (value >> 16);
-		fBuffer[++idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		makeDirty();
+		fBuffer.putLong(recPtrToIndex(offset), value);
 	}
 
 	public void putChar(final long offset, final char value) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		fBuffer[idx] = (byte) (value >> 8);
-		fBuffer[++idx] = (byte) (value);
+		makeDirty();
+		fBuffer.putChar(recPtrToIndex(offset), value);
 	}
 
 	public void putChars(final long offset, char[] chars, int start, int len) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset) - 1;
+		makeDirty();
+		int idx = recPtrToIndex(offset);
 		final int end = start + len;
-		for (int i = start; i < end; i++) {
-			char value = chars[i];
-			fBuffer[++idx] = (byte) (value >> 8);
-			fBuffer[++idx] = (byte) (value);
+		for (int i = start; i < end; i++, idx += 2) {
+			fBuffer.putChar(idx, chars[i]);
 		}
 	}
 
 	public void putCharsAsBytes(final long offset, char[] chars, int start, int len) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset) - 1;
+		makeDirty();
+		int idx = recPtrToIndex(offset);
 		final int end = start + len;
 		for (int i = start; i < end; i++) {
-			char value = chars[i];
-			fBuffer[++idx] = (byte) (value);
+			fBuffer.put(idx++, (byte) chars[i]);
 		}
 	}
 
 	public char getChar(final long offset) {
-		int idx = recPtrToIndex(offset);
-		return (char) (((fBuffer[idx] << 8) | (fBuffer[++idx] & 0xff)));
+		return fBuffer.getChar(recPtrToIndex(offset));
 	}
 
 	public void getChars(final long offset, final char[] result, int start, int len) {
-		final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
-		buf.position(recPtrToIndex(offset));
-		buf.asCharBuffer().get(result, start, len);
+		int idx = recPtrToIndex(offset);
+		final int end = start + len;
+		for (int i = start; i < end; i++, idx += 2) {
+			result[i] = fBuffer.getChar(idx);
+		}
 	}
 
 	public void getCharsFromBytes(final long offset, final char[] result, int start, int len) {
 		final int pos = recPtrToIndex(offset);
 		for (int i = 0; i < len; i++) {
-			result[start + i] = (char) (fBuffer[pos + i] & 0xff);
+			result[start + i] = (char) (fBuffer.get(pos + i) & 0xff);
 		}
 	}
 
 	void clear(final long offset, final int length) {
-		assert fLocked;
-		fDirty = true;
+		makeDirty();
 		int idx = recPtrToIndex(offset);
 		final int end = idx + length;
 		for (; idx < end; idx++) {
-			fBuffer[idx] = 0;
+			fBuffer.put(idx, (byte) 0);
 		}
 	}
 
@@ -282,10 +288,10 @@ final class Chunk {
 	}
 
 	void put(final long offset, final byte[] data, int dataPos, final int len) {
-		assert fLocked;
-		fDirty = true;
-		int idx = recPtrToIndex(offset);
-		System.arraycopy(data, dataPos, fBuffer, idx, len);
+		makeDirty();
+		ByteBuffer buf = fBuffer.duplicate();
+		buf.position(recPtrToIndex(offset));
+		buf.put(data, dataPos, len);
 	}
 
 	public void get(final long offset, byte[] data) {
@@ -293,7 +299,8 @@ final class Chunk {
 	}
 
 	public void get(final long offset, byte[] data, int dataPos, int len) {
-		int idx = recPtrToIndex(offset);
-		System.arraycopy(fBuffer, idx, data, dataPos, len);
+		ByteBuffer buf = fBuffer.duplicate();
+		buf.position(recPtrToIndex(offset));
+		buf.get(data, dataPos, len);
 	}
 }
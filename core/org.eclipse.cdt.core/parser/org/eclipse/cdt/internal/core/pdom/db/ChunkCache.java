@@ -13,12 +13,165 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of chunks that are kept in memory by the databases sharing the cache.
+ * <p>
+ * The cache is divided into stripes, each of them guarded by its own lock. A chunk that is
+ * already cached is recorded as being used without any locking. Within a stripe chunks are
+ * managed by two FIFO queues: newly admitted chunks enter a small probationary queue and are
+ * promoted to the main queue only if they are used again before they reach its head. Chunks
+ * touched only once, as it happens when the entire index is scanned, are therefore evicted
+ * before they can displace the working set.
+ */
 public final class ChunkCache {
+	static final int NOT_CACHED = 0;
+	private static final int IN_PROBATION = 1;
+	private static final int IN_MAIN = 2;
+
+	private static final int STRIPE_COUNT = 16;
+	private static final int MAX_FREQUENCY = 3;
+	private static final int PROBATION_PERCENTAGE = 10;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Stripe[] fStripes;
+	private long fMaxSize;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+
+	/**
+	 * Doubly linked list of chunks, linked through the chunk's cache fields.
+	 */
+	private static final class ChunkQueue {
+		private Chunk fHead;
+		private Chunk fTail;
+		int fSize;
+
+		void addLast(Chunk chunk) {
+			chunk.fCacheNext = null;
+			chunk.fCachePrev = fTail;
+			if (fTail == null) {
+				fHead = chunk;
+			} else {
+				fTail.fCacheNext = chunk;
+			}
+			fTail = chunk;
+			fSize++;
+		}
+
+		Chunk removeFirst() {
+			final Chunk chunk = fHead;
+			if (chunk != null) {
+				remove(chunk);
+			}
+			return chunk;
+		}
+
+		void remove(Chunk chunk) {
+			final Chunk prev = chunk.fCachePrev;
+			final Chunk next = chunk.fCacheNext;
+			if (prev == null) {
+				fHead = next;
+			} else {
+				prev.fCacheNext = next;
+			}
+			if (next == null) {
+				fTail = prev;
+			} else {
+				next.fCachePrev = prev;
+			}
+			chunk.fCachePrev = chunk.fCacheNext = null;
+			fSize--;
+		}
+	}
+
+	private final class Stripe {
+		private final ChunkQueue fProbation = new ChunkQueue();
+		private final ChunkQueue fMain = new ChunkQueue();
+		private int fCapacity;
+		private int fProbationCapacity;
+
+		synchronized void add(Chunk chunk) {
+			if (chunk.isCached())
+				return; // Added by another thread in the meantime.
+			if (fCapacity == 0) {
+				// The cache holds fewer chunks than there are stripes, this stripe keeps none.
+				chunk.fDatabase.chunkEvicted(chunk);
+				return;
+			}
+
+			while (size() >= fCapacity) {
+				evictChunk();
+			}
+			chunk.fCacheFrequency = 0;
+			chunk.fCacheQueue = IN_PROBATION;
+			fProbation.addLast(chunk);
+		}
+
+		synchronized void remove(Chunk chunk) {
+			switch (chunk.fCacheQueue) {
+			case IN_PROBATION:
+				fProbation.remove(chunk);
+				break;
+			case IN_MAIN:
+				fMain.remove(chunk);
+				break;
+			default:
+				return;
+			}
+			chunk.fCacheQueue = NOT_CACHED;
+		}
+
+		synchronized void setCapacity(int capacity) {
+			fCapacity = capacity;
+			fProbationCapacity = Math.max(1, capacity * PROBATION_PERCENTAGE / 100);
+			while (size() > fCapacity) {
+				evictChunk();
+			}
+		}
+
+		synchronized int size() {
+			return fProbation.fSize + fMain.fSize;
+		}
+
+		/**
+		 * Evicts one chunk. Chunks in probation that have been used are promoted to the
+		 * main queue, chunks in the main queue that have been used get another round.
+		 */
+		private void evictChunk() {
+			while (true) {
+				if (fProbation.fSize >= fProbationCapacity || fMain.fSize == 0) {
+					final Chunk chunk = fProbation.removeFirst();
+					if (chunk.fCacheFrequency > 0) {
+						chunk.fCacheFrequency--;
+						chunk.fCacheQueue = IN_MAIN;
+						fMain.addLast(chunk);
+						continue;
+					}
+					release(chunk);
+					return;
+				}
+				final Chunk chunk = fMain.removeFirst();
+				if (chunk.fCacheFrequency > 0) {
+					chunk.fCacheFrequency--;
+					fMain.addLast(chunk);
+					continue;
+				}
+				release(chunk);
+				return;
+			}
+		}
+
+		private void release(Chunk chunk) {
+			chunk.fCacheQueue = NOT_CACHED;
+			fEvictions.increment();
+			chunk.fDatabase.chunkEvicted(chunk);
+		}
+	}
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,114 +182,104 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		fStripes = new Stripe[STRIPE_COUNT];
+		for (int i = 0; i < fStripes.length; i++) {
+			fStripes[i] = new Stripe();
+		}
+		setMaxSize(maxSize);
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
+	public void add(Chunk chunk, boolean locked) {
 		if (locked) {
 			chunk.fLocked = true;
 		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
-		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
+		if (chunk.isCached()) {
+			if (chunk.fCacheFrequency < MAX_FREQUENCY) {
+				chunk.fCacheFrequency++;
 			}
+			fHits.increment();
+			return;
 		}
+		fMisses.increment();
+		getStripe(chunk).add(chunk);
 	}
 
-	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
-	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
+	public void remove(Chunk chunk) {
+		if (chunk.isCached()) {
+			getStripe(chunk).remove(chunk);
 		}
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
-		}
+	private Stripe getStripe(Chunk chunk) {
+		int h = System.identityHashCode(chunk.fDatabase) * 31 + chunk.fSequenceNumber;
+		h ^= h >>> 16;
+		return fStripes[h & (STRIPE_COUNT - 1)];
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
 	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+		return fMaxSize;
 	}
 
 	/**
-	 * Clears the page table and changes it to hold chunks with
-	 * maximum total memory of <code>maxSize</code>.
+	 * Changes the cache to hold chunks with maximum total memory of <code>maxSize</code>.
+	 * Chunks exceeding the new size are evicted. The size is rounded down to a multiple of
+	 * the chunk size.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
 	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+		final int length = computeLength(maxSize);
+		fMaxSize = (long) length * Database.CHUNK_SIZE;
+		// The remainder is spread over the first stripes, such that the capacities add up to length.
+		final int stripeCapacity = length / STRIPE_COUNT;
+		final int remainder = length % STRIPE_COUNT;
+		for (int i = 0; i < fStripes.length; i++) {
+			fStripes[i].setCapacity(i < remainder ? stripeCapacity + 1 : stripeCapacity);
 		}
 	}
 
+	/**
+	 * Returns the total size of the chunks currently held by the cache in bytes.
+	 */
+	public long getSize() {
+		long chunks = 0;
+		for (Stripe stripe : fStripes) {
+			chunks += stripe.size();
+		}
+		return chunks * Database.CHUNK_SIZE;
+	}
+
+	/**
+	 * Returns the number of requests for chunks that were already held by the cache.
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of chunks that were added to the cache.
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks that were evicted because the cache was full.
+	 */
+	public long getEvictionCount() {
+		return fEvictions.sum();
+	}
+
+	public void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+		fEvictions.reset();
+	}
+
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
-		return Math.max(1, (int) maxLength);
+		return Math.max(0, (int) maxLength);
 	}
 }
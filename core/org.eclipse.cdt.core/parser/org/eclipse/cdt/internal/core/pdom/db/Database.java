@@ -21,16 +21,18 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +73,20 @@ import com.ibm.icu.text.MessageFormat;
  * PREV_OFFSET      | pointer to previous block (of same size) (only in free blocks)
  * NEXT_OFFSET      | pointer to next block (of same size) (only in free blocks)
  *
+ * ===== memory-mapped storage
+ *
+ * When the database is opened with memory-mapping enabled, the file is mapped read-only in
+ * segments of MAPPED_SEGMENT_SIZE bytes. Chunks that are only read are views of the mapped
+ * segments and bypass the chunk cache. A chunk is copied to the heap when it is modified and
+ * written back to the file when it is flushed, therefore the file format and the crash
+ * consistency of flush() are the same for both storage modes.
+ *
+ * ===== chunk table
+ *
+ * The table of chunks is guarded by a StampedLock rather than by the shared chunk cache. Readers
+ * look up chunks that are already loaded with an optimistic read that does not block. Chunks
+ * evicted by the cache are queued and removed from the table by the next thread that holds the
+ * write lock of the database, the cache never waits for the lock of a database.
  */
 public class Database {
 	// Public for tests only, you shouldn't need these.
@@ -92,6 +108,10 @@ public class Database {
 	public static final int EXECUTION_SIZE = TYPE_SIZE; // size of an execution in the database in bytes
 	public static final int ARGUMENT_SIZE = TYPE_SIZE; // size of a template argument in the database in bytes
 	public static final long MAX_DB_SIZE = ((long) 1 << (Integer.SIZE + BLOCK_SIZE_DELTA_BITS));
+	public static final int MAPPED_SEGMENT_SIZE = 1024 * 1024 * 64;
+	private static final int CHUNKS_PER_SEGMENT = MAPPED_SEGMENT_SIZE / CHUNK_SIZE;
+	private static final int MAPPED_CHUNK_TABLE_SIZE = 1024; // number of views kept, a power of 2
+	private static final int STRING_CACHE_SIZE = 32 * 1024; // maximum number of cached strings
 
 	public static final int VERSION_OFFSET = 0;
 	public static final int DATA_AREA = (CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 2) * INT_SIZE;
@@ -101,7 +121,12 @@ public class Database {
 
 	private final File fLocation;
 	private final boolean fReadOnly;
+	private final boolean fMemoryMapped;
 	private RandomAccessFile fFile;
+	private MappedByteBuffer[] fMappedSegments = new MappedByteBuffer[0];
+	// Views of the mapped segments for chunks that are only read, at the slot given by the low bits
+	// of the chunk index. Unlike the table of chunks, the views are not kept for the entire file.
+	private Chunk[] fMappedChunks;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -112,42 +137,49 @@ public class Database {
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	private final StampedLock fChunksLock = new StampedLock();
+	private final Queue<Chunk> fEvictedChunks = new ConcurrentLinkedQueue<>();
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	// Counted by readers on the optimistic path without holding a lock.
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 
-	/** Soft reference wrapper to keep track of the record for disposed strings. */
-	private static class SoftStringRef extends SoftReference<IString> {
-		private final long record;
+	// A bounded cache for strings which is used for btree lookups. The strings are strongly referenced,
+	// such that the names used most are not lost on garbage collection.
+	private final StringCache stringCache = new StringCache(STRING_CACHE_SIZE);
 
-		public SoftStringRef(IString referent, ReferenceQueue<? super IString> q) {
-			super(referent, q);
-			record = referent.getRecord();
-		}
-
-		public long getRecord() {
-			return record;
-		}
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, false);
 	}
 
-	// a cache for strings which is used for btree lookups; soft refs ensure garbage collection
-	private final Map<Long, Reference<IString>> stringCache = new ConcurrentHashMap<>();
-	private final ReferenceQueue<IString> stringDisposal = new ReferenceQueue<>();
-
 	/**
 	 * Construct a new Database object, creating a backing file if necessary.
 	 * @param location the local file path for the database
 	 * @param cache the cache to be used optimization
 	 * @param version the version number to store in the database (only applicable for new databases)
 	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether chunks are read through a memory mapping of the file rather
+	 *     than being copied to the chunk cache. Ignored on Windows, where a mapped file cannot
+	 *     be truncated or deleted until the mapping is garbage collected.
 	 * @throws CoreException
 	 */
-	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
+			fMemoryMapped = memoryMapped && !isWindows();
+			fMappedChunks = fMemoryMapped ? new Chunk[MAPPED_CHUNK_TABLE_SIZE] : null;
 			fCache = cache;
 			openFile();
 
@@ -169,6 +201,10 @@ public class Database {
 		}
 	}
 
+	private static boolean isWindows() {
+		return System.getProperty("os.name", "").startsWith("Windows"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
 	private void openFile() throws FileNotFoundException {
 		fFile = new RandomAccessFile(fLocation, fReadOnly ? "r" : "rw"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
@@ -240,6 +276,7 @@ public class Database {
 	public void clear(int version) throws CoreException {
 		assert fExclusiveLock;
 		removeChunksFromCache();
+		fMappedSegments = new MappedByteBuffer[0]; // The file is truncated below.
 
 		fVersion = version;
 		// Clear the first chunk.
@@ -274,7 +311,8 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
+		final long stamp = fChunksLock.writeLock();
+		try {
 			for (int i = 1; i < fChunks.length; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
@@ -282,6 +320,12 @@ public class Database {
 					fChunks[i] = null;
 				}
 			}
+			if (fMappedChunks != null) {
+				Arrays.fill(fMappedChunks, null);
+			}
+			fEvictedChunks.clear();
+		} finally {
+			fChunksLock.unlockWrite(stamp);
 		}
 	}
 
@@ -295,26 +339,140 @@ public class Database {
 		}
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
+		assert fLocked;
+		final int index = (int) long_index;
+
+		if (!fExclusiveLock) {
+			// Readers find chunks that are already loaded without blocking.
+			final long stamp = fChunksLock.tryOptimisticRead();
+			final Chunk[] chunks = fChunks;
+			Chunk chunk = index >= 0 && index < chunks.length ? chunks[index] : null;
+			if (chunk == null && fMappedChunks != null) {
+				chunk = fMappedChunks[index & (MAPPED_CHUNK_TABLE_SIZE - 1)];
+				if (chunk != null && chunk.fSequenceNumber != index)
+					chunk = null;
+			}
+			if (chunk != null && fChunksLock.validate(stamp)) {
+				cacheHits.increment();
+				if (!chunk.fMapped) {
+					fCache.add(chunk, false);
+				}
+				return chunk;
+			}
+		}
 
-		synchronized (fCache) {
-			assert fLocked;
-			final int index = (int) long_index;
+		final long stamp = fChunksLock.writeLock();
+		try {
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
+			if (chunk == null && fMemoryMapped && !fExclusiveLock) {
+				// Chunks that are only read are views of the mapping, they are neither cached nor
+				// kept in the table of chunks.
+				chunk = getMappedChunk(index);
+				if (chunk != null) {
+					releaseEvictedChunks();
+					return chunk;
+				}
+			}
 			if (chunk == null) {
-				cacheMisses++;
-				chunk = new Chunk(this, index);
-				chunk.read();
+				cacheMisses.increment();
+				if (fMemoryMapped) {
+					// The writer may modify the chunk, it does not share it with the readers.
+					chunk = createMappedChunk(index);
+				}
+				if (chunk == null) {
+					chunk = new Chunk(this, index);
+					chunk.read();
+				}
 				// Put the chunk in fChunks after it was read successfully.
 				fChunks[index] = chunk;
 			} else {
-				cacheHits++;
+				cacheHits.increment();
+			}
+			// Mapped chunks in the table of chunks have been read by the writer, they are cached
+			// such that they are released like the other chunks.
+			if (!chunk.fMapped || fExclusiveLock) {
+				fCache.add(chunk, fExclusiveLock);
 			}
-			fCache.add(chunk, fExclusiveLock);
+			releaseEvictedChunks();
+			return chunk;
+		} finally {
+			fChunksLock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Returns the view of the mapped file for a chunk that is only read, or {@code null} if the
+	 * chunk is not yet part of the file.
+	 */
+	private Chunk getMappedChunk(int index) throws CoreException {
+		assert fChunksLock.isWriteLocked();
+		final int slot = index & (MAPPED_CHUNK_TABLE_SIZE - 1);
+		Chunk chunk = fMappedChunks[slot];
+		if (chunk != null && chunk.fSequenceNumber == index) {
+			cacheHits.increment();
 			return chunk;
 		}
+		chunk = createMappedChunk(index);
+		if (chunk != null) {
+			cacheMisses.increment();
+			fMappedChunks[slot] = chunk;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Creates a chunk that is a view of the mapped segment containing it, or returns
+	 * {@code null} if the chunk is not yet part of the file.
+	 */
+	private Chunk createMappedChunk(int index) throws CoreException {
+		assert fChunksLock.isWriteLocked();
+		final int segmentIndex = index / CHUNKS_PER_SEGMENT;
+		final int offsetInSegment = (index % CHUNKS_PER_SEGMENT) * CHUNK_SIZE;
+		MappedByteBuffer segment = segmentIndex < fMappedSegments.length ? fMappedSegments[segmentIndex] : null;
+		if (segment == null || segment.capacity() < offsetInSegment + CHUNK_SIZE) {
+			segment = mapSegment(segmentIndex);
+			if (segment == null || segment.capacity() < offsetInSegment + CHUNK_SIZE) {
+				return null;
+			}
+		}
+		ByteBuffer view = segment.duplicate();
+		view.position(offsetInSegment);
+		view.limit(offsetInSegment + CHUNK_SIZE);
+		return new Chunk(this, index, view.slice());
+	}
+
+	/**
+	 * Maps the segment with the given index as far as it is backed by the file.
+	 */
+	private MappedByteBuffer mapSegment(int segmentIndex) throws CoreException {
+		final long segmentStart = (long) segmentIndex * MAPPED_SEGMENT_SIZE;
+		try {
+			final long fileSize = fFile.getChannel().size();
+			if (fileSize <= segmentStart) {
+				return null;
+			}
+			final long length = Math.min(MAPPED_SEGMENT_SIZE, fileSize - segmentStart);
+			MappedByteBuffer segment = fFile.getChannel().map(MapMode.READ_ONLY, segmentStart, length);
+			if (segmentIndex >= fMappedSegments.length) {
+				MappedByteBuffer[] newSegments = new MappedByteBuffer[segmentIndex + 1];
+				System.arraycopy(fMappedSegments, 0, newSegments, 0, fMappedSegments.length);
+				fMappedSegments = newSegments;
+			}
+			fMappedSegments[segmentIndex] = segment;
+			return segment;
+		} catch (IOException e) {
+			throw new CoreException(new DBStatus(e));
+		}
+	}
+
+	/**
+	 * Returns whether chunks of this database are read through a memory mapping of the file.
+	 */
+	public boolean isMemoryMapped() {
+		return fMemoryMapped;
 	}
 
 	private void databaseCorruptionDetected() throws CoreException {
@@ -376,7 +534,8 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		final long stamp = fChunksLock.writeLock();
+		try {
 			final int newChunkIndex = fChunksUsed; // fChunks.length;
 
 			final Chunk chunk = new Chunk(this, newChunkIndex);
@@ -408,7 +567,10 @@ public class Database {
 						new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
 								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
 			}
+			releaseEvictedChunks();
 			return address;
+		} finally {
+			fChunksLock.unlockWrite(stamp);
 		}
 	}
 
@@ -417,7 +579,8 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		final long stamp = fChunksLock.writeLock();
+		try {
 			final int oldLen = fChunks.length;
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
@@ -432,6 +595,8 @@ public class Database {
 			fChunksAllocated = oldLen + numChunks;
 			fChunksUsed = oldLen + numChunks;
 			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
+		} finally {
+			fChunksLock.unlockWrite(stamp);
 		}
 	}
 
@@ -608,12 +773,9 @@ public class Database {
 	}
 
 	public IString getString(long offset) throws CoreException {
-		final Reference<IString> cachedStringReference = stringCache.get(offset);
-		if (cachedStringReference != null) {
-			final IString cachedString = cachedStringReference.get();
-			if (cachedString != null) {
-				return cachedString; // string already cached, no need to re-retrieve it :-)
-			}
+		final IString cachedString = stringCache.get(offset);
+		if (cachedString != null) {
+			return cachedString; // string already cached, no need to re-retrieve it :-)
 		}
 		final int l = getInt(offset);
 		int bytelen = l < 0 ? -l : 2 * l;
@@ -624,19 +786,17 @@ public class Database {
 	}
 
 	private IString addStringToCache(IString string) {
-		// add string to cache
-		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
-		// also remove keys from cache list upon garbage collection
-		if (stringDisposal != null) {
-			Reference<? extends IString> disposedRef = stringDisposal.poll();
-			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
-				disposedRef = stringDisposal.poll();
-			}
-		}
+		stringCache.put(string);
 		return string;
 	}
 
+	/**
+	 * Returns the cache for the strings of this database.
+	 */
+	public StringCache getStringCache() {
+		return stringCache;
+	}
+
 	/**
 	 * For debugging purposes, only.
 	 */
@@ -674,6 +834,7 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		fMappedSegments = new MappedByteBuffer[0];
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,11 +851,34 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache after the chunk has been evicted. The chunk is removed
+	 * from the table of chunks right away if the database is not locked, otherwise by the thread
+	 * holding the lock.
+	 */
+	void chunkEvicted(final Chunk chunk) {
+		fEvictedChunks.add(chunk);
+		final long stamp = fChunksLock.tryWriteLock();
+		if (stamp != 0) {
+			try {
+				releaseEvictedChunks();
+			} finally {
+				fChunksLock.unlockWrite(stamp);
+			}
+		}
+	}
+
+	/**
+	 * Removes the chunks evicted from the cache from the table of chunks, unless they are locked
+	 * or have been added to the cache again. Must be called with the write lock held.
 	 */
-	void releaseChunk(final Chunk chunk) {
-		if (!chunk.fLocked) {
-			fChunks[chunk.fSequenceNumber] = null;
+	private void releaseEvictedChunks() {
+		Chunk chunk;
+		while ((chunk = fEvictedChunks.poll()) != null) {
+			final int index = chunk.fSequenceNumber;
+			if (!chunk.fLocked && !chunk.isCached() && index < fChunks.length
+					&& fChunks[index] == chunk) {
+				fChunks[index] = null;
+			}
 		}
 	}
 
@@ -723,11 +907,12 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
+				final long stamp = fChunksLock.writeLock();
+				try {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
-							if (chunk.fCacheIndex < 0) {
+							if (!chunk.isCached()) {
 								// Locked chunk that has been removed from cache.
 								if (chunk.fDirty) {
 									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
@@ -749,6 +934,9 @@ public class Database {
 							}
 						}
 					}
+					releaseEvictedChunks();
+				} finally {
+					fChunksLock.unlockWrite(stamp);
 				}
 				// Also handles header chunk.
 				flushAndUnlockChunks(dirtyChunks, flush);
@@ -771,13 +959,16 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		final long stamp = fChunksLock.writeLock();
+		try {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
 					dirtyChunks.add(chunk);
 				}
 			}
+		} finally {
+			fChunksLock.unlockWrite(stamp);
 		}
 
 		// Also handles header chunk.
@@ -789,12 +980,9 @@ public class Database {
 
 	private void clearStringCache() {
 		stringCache.clear();
-		while (stringDisposal.poll() != null) {
-		}
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,13 +996,16 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
+				final long stamp = fChunksLock.writeLock();
+				try {
 					for (Chunk chunk : dirtyChunks) {
 						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
+						if (!chunk.isCached()) {
 							fChunks[chunk.fSequenceNumber] = null;
 						}
 					}
+				} finally {
+					fChunksLock.unlockWrite(stamp);
 				}
 			}
 
@@ -841,15 +1032,17 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		stringCache.resetCounters();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
 	}
 
 	public long getSizeBytes() {
@@ -102,6 +102,17 @@ public interface IString {
 	 */
 	public int comparePrefix(char[] name, boolean caseSensitive) throws CoreException;
 
+	/**
+	 * Checks whether this IString record starts with the specified character array
+	 * @param prefix the prefix to look for
+	 * @param caseSensitive whether to compare in a case-sensitive way
+	 * @return whether this IString record starts with the prefix
+	 * @throws CoreException
+	 */
+	public default boolean startsWith(char[] prefix, boolean caseSensitive) throws CoreException {
+		return comparePrefix(prefix, caseSensitive) == 0;
+	}
+
 	/**
 	 * Get an equivalent character array to this IString record<p>
 	 * <b>N.B. This method can be expensive: compare and equals can be used for
@@ -121,7 +121,7 @@ public class ShortString implements IString {
 				if (getLength() != chars.length)
 					return false;
 
-				return CharArrayUtils.equals(getChars(), chars);
+				return compare(chars, true) == 0;
 			} else if (obj instanceof String) {
 				String string = (String) obj;
 				if (getLength() != string.length())
@@ -142,12 +142,19 @@ public class ShortString implements IString {
 	public int hashCode() {
 		int h = hash;
 		if (h == 0) {
-			char chars[];
 			try {
-				chars = getChars();
-				final int len = chars.length;
-				for (int i = 0; i < len; i++) {
-					h = 31 * h + chars[i];
+				final char[] chars = cachedChars;
+				if (chars != null) {
+					for (char c : chars) {
+						h = 31 * h + c;
+					}
+				} else {
+					final Chunk chunk = db.getChunk(record);
+					final int l = chunk.getInt(record + LENGTH);
+					final int length = Math.abs(l);
+					for (int i = 0; i < length; i++) {
+						h = 31 * h + charAt(chunk, l < 0, i);
+					}
 				}
 			} catch (CoreException e) {
 			}
@@ -156,6 +163,15 @@ public class ShortString implements IString {
 		return h;
 	}
 
+	/**
+	 * Returns the character at the given index, read directly from the chunk.
+	 */
+	private char charAt(Chunk chunk, boolean useBytes, int i) {
+		if (useBytes)
+			return (char) (chunk.getByte(record + CHARS + i) & 0xff);
+		return chunk.getChar(record + CHARS + 2 * i);
+	}
+
 	public static int compare(final char[] chars, char[] other, boolean caseSensitive) {
 		final int n = Math.min(chars.length, other.length);
 		for (int i = 0; i < n; i++) {
@@ -166,9 +182,26 @@ public class ShortString implements IString {
 		return chars.length - other.length;
 	}
 
+	/**
+	 * Unless the characters of the string have already been retrieved, the comparison is done
+	 * directly on the chunk, without creating a character array.
+	 */
 	@Override
 	public int compare(char[] other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return compare(chars, other, caseSensitive);
+
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, l < 0, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		return length - other.length;
 	}
 
 	@Override
@@ -188,7 +221,33 @@ public class ShortString implements IString {
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(char[] other) throws CoreException {
-		return compareCompatibleWithIgnoreCase(getChars(), other);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return compareCompatibleWithIgnoreCase(chars, other);
+
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		int sensitiveCmp = 0;
+		for (int i = 0; i < n; i++) {
+			final char c1 = charAt(chunk, l < 0, i);
+			final char c2 = other[i];
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, false); // insensitive
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		int cmp = length - other.length;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
 	}
 
 	public static int compareCompatibleWithIgnoreCase(final char[] chars, char[] other) {
@@ -221,7 +280,23 @@ public class ShortString implements IString {
 
 	@Override
 	public int comparePrefix(char[] other, boolean caseSensitive) throws CoreException {
-		return comparePrefix(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return comparePrefix(chars, other, caseSensitive);
+
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(charAt(chunk, l < 0, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		if (length < other.length)
+			return -1;
+
+		return 0;
 	}
 
 	public static int comparePrefix(final char[] chars, char[] other, boolean caseSensitive) {
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the strings of a database, keyed by their record. The strings are strongly
+ * referenced, such that frequently used names survive garbage collections.
+ * <p>
+ * The cache keeps two generations of strings. New strings are added to the young generation.
+ * When it is full, it becomes the old generation and the previous old generation is dropped.
+ * Strings that are found in the old generation are moved back to the young one. The cache
+ * therefore never holds more than twice the size of a generation and approximates a LRU
+ * cache without maintaining an access order.
+ */
+public final class StringCache {
+	private final int fGenerationSize;
+	private volatile Map<Long, IString> fYoung;
+	private volatile Map<Long, IString> fOld;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+
+	/**
+	 * @param maxSize the maximum number of strings held by the cache.
+	 */
+	public StringCache(int maxSize) {
+		fGenerationSize = Math.max(1, maxSize / 2);
+		fYoung = new ConcurrentHashMap<>();
+		fOld = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the string stored at the given record, or {@code null} if it is not cached.
+	 */
+	public IString get(long record) {
+		final Long key = record;
+		IString string = fYoung.get(key);
+		if (string == null) {
+			string = fOld.remove(key);
+			if (string == null) {
+				fMisses.increment();
+				return null;
+			}
+			add(key, string);
+		}
+		fHits.increment();
+		return string;
+	}
+
+	public void put(IString string) {
+		add(string.getRecord(), string);
+	}
+
+	private void add(Long key, IString string) {
+		Map<Long, IString> young = fYoung;
+		young.put(key, string);
+		if (young.size() >= fGenerationSize) {
+			synchronized (this) {
+				if (fYoung == young) {
+					fEvictions.add(fOld.size());
+					fOld = young;
+					fYoung = new ConcurrentHashMap<>();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the string stored at the given record, e.g. because the record is freed.
+	 */
+	public void remove(long record) {
+		final Long key = record;
+		fYoung.remove(key);
+		fOld.remove(key);
+	}
+
+	public synchronized void clear() {
+		fYoung = new ConcurrentHashMap<>();
+		fOld = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the number of strings currently held by the cache.
+	 */
+	public int size() {
+		return fYoung.size() + fOld.size();
+	}
+
+	/**
+	 * Returns the maximum number of strings held by the cache.
+	 */
+	public int getMaxSize() {
+		return 2 * fGenerationSize;
+	}
+
+	/**
+	 * Returns the number of requests for strings that were held by the cache.
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of requests for strings that were not held by the cache.
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * Returns the number of strings that were dropped because the cache was full.
+	 */
+	public long getEvictionCount() {
+		return fEvictions.sum();
+	}
+
+	public void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+		fEvictions.reset();
+	}
+}
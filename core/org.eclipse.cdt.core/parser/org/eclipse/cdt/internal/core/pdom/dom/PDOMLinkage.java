@@ -20,6 +20,7 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -82,6 +83,11 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	private BTree fMacroIndex = null; // No need for volatile, all fields of BTree are final.
 	private final PDOM fPDOM;
 	private final Database fDatabase;
+	// Nested bindings added while the write lock is held, not yet inserted into the nested bindings index.
+	// The index is not searched while writing, the records are inserted in sorted order when the lock
+	// is released or yielded, or when the index is accessed.
+	private long[] fPendingNestedBindings = {};
+	private int fPendingNestedBindingsCount;
 
 	/**
 	 * The set of types currently being loaded from the index on each thread, represented as record numbers.
@@ -158,9 +164,29 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	 * @throws CoreException
 	 */
 	public BTree getNestedBindingsIndex() throws CoreException {
+		flushNestedBindingsIndex();
 		return new BTree(fDatabase, record + NESTED_BINDINGS_INDEX, getNestedBindingsComparator());
 	}
 
+	/**
+	 * Inserts the pending nested bindings into the nested bindings index. Must be called before
+	 * the write lock on the index is released.
+	 */
+	public void flushNestedBindingsIndex() throws CoreException {
+		if (fPendingNestedBindingsCount > 0) {
+			long[] records = Arrays.copyOf(fPendingNestedBindings, fPendingNestedBindingsCount);
+			fPendingNestedBindingsCount = 0;
+			new BTree(fDatabase, record + NESTED_BINDINGS_INDEX, getNestedBindingsComparator()).insertAll(records);
+		}
+	}
+
+	/**
+	 * Drops the pending nested bindings, used when the content of the database is discarded.
+	 */
+	public void discardPendingNestedBindings() {
+		fPendingNestedBindingsCount = 0;
+	}
+
 	@Override
 	public void accept(final IPDOMVisitor visitor) throws CoreException {
 		if (visitor instanceof IBTreeVisitor) {
@@ -338,7 +364,11 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	 */
 	protected final void insertIntoNestedBindingsIndex(PDOMBinding pdomBinding) throws CoreException {
 		if (pdomBinding.getParentNodeRec() != record) {
-			getNestedBindingsIndex().insert(pdomBinding.getRecord());
+			if (fPendingNestedBindingsCount == fPendingNestedBindings.length) {
+				fPendingNestedBindings = Arrays.copyOf(fPendingNestedBindings,
+						Math.max(16, fPendingNestedBindingsCount * 2));
+			}
+			fPendingNestedBindings[fPendingNestedBindingsCount++] = pdomBinding.getRecord();
 		}
 	}
 
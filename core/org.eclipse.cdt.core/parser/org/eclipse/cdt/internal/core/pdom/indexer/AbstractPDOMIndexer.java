@@ -43,6 +43,8 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 		fProperties.put(IndexerPreferences.KEY_SKIP_MACRO_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS, ""); //$NON-NLS-1$
+		fProperties.put(IndexerPreferences.KEY_PARSER_THREADS,
+				String.valueOf(IndexerPreferences.DEFAULT_PARSER_THREADS));
 	}
 
 	@Override
@@ -64,6 +66,8 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 	public boolean needsToRebuildForProperties(Properties props) {
 		for (Map.Entry<Object, Object> entry : fProperties.entrySet()) {
 			String key = (String) entry.getKey();
+			if (IndexerPreferences.KEY_PARSER_THREADS.equals(key))
+				continue; // Does not affect the content of the index.
 			String val = (String) entry.getValue();
 
 			if (val != null) { // relevant property
@@ -32,17 +32,25 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
+import org.eclipse.cdt.internal.core.pdom.HeaderContentCache;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
+import org.eclipse.cdt.internal.core.pdom.IndexUpdateEstimate;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.SharedResultCache;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.StringCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
@@ -57,6 +65,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 
 	private AbstractPDOMIndexer fIndexer;
 	private boolean fWriteInfoToLog;
+	private IndexUpdateEstimate fUpdateEstimate;
 
 	protected PDOMIndexerTask(ITranslationUnit[] forceFiles, ITranslationUnit[] updateFiles,
 			ITranslationUnit[] removeFiles, AbstractPDOMIndexer indexer, boolean isFastIndexer) {
@@ -71,6 +80,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setParserThreads(getIntProperty(IndexerPreferences.KEY_PARSER_THREADS, 1));
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -161,6 +171,15 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 	@Override
 	public final void run(IProgressMonitor monitor) throws InterruptedException {
 		long start = System.currentTimeMillis();
+		setMetricsListeners(CCoreInternals.getPDOMManager().getIndexerMetricsListeners());
+		if (checkDebugOption(IPDOMIndexerTask.TRACE_STATISTICS, TRUE)) {
+			// Traced together with the statistics, such that the estimate can be compared with the actual work.
+			try {
+				fUpdateEstimate = estimateUpdate(new NullProgressMonitor());
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
 		runTask(monitor);
 		traceEnd(start, fIndex, monitor.isCanceled());
 	}
@@ -273,6 +292,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			System.out.println("C/C++ Indexer: Project '" + getCProject().getElementName() //$NON-NLS-1$
 					+ "' (" + info.fCompletedSources + " sources, " //$NON-NLS-1$//$NON-NLS-2$
 					+ info.fCompletedHeaders + " headers)"); //$NON-NLS-1$
+			if (fUpdateEstimate != null) {
+				System.out.println(indent + " Estimate: " + fUpdateEstimate + "."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 			boolean skipRefs = checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES);
 			boolean skipImplRefs = skipRefs || checkProperty(IndexerPreferences.KEY_SKIP_IMPLICIT_REFERENCES);
 			boolean skipTypeRefs = skipRefs || checkProperty(IndexerPreferences.KEY_SKIP_TYPE_REFERENCES);
@@ -291,7 +313,8 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ totalTime + " total, " //$NON-NLS-1$
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
 					+ fStatistics.fResolutionTime + " resolution, " //$NON-NLS-1$
-					+ fStatistics.fAddToIndexTime + " index update."); //$NON-NLS-1$
+					+ fStatistics.fAddToIndexTime + " storing symbols, " //$NON-NLS-1$
+					+ fStatistics.fLockWaitTime + " waiting for index lock."); //$NON-NLS-1$
 			System.out.println(indent + " Errors: " //$NON-NLS-1$
 					+ fStatistics.fErrorCount + " internal, " //$NON-NLS-1$
 					+ fStatistics.fUnresolvedIncludesCount + " include, " //$NON-NLS-1$
@@ -316,7 +339,36 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			System.out.println(indent + " Cache[" //$NON-NLS-1$
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " + //$NON-NLS-1$
 					+hits + " hits, " //$NON-NLS-1$
-					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+					+ misses + "(" + nfPercent.format(missPct) + ") misses, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ ChunkCache.getSharedInstance().getEvictionCount() + " evictions."); //$NON-NLS-1$
+			IWritableIndexFragment fragment = index.getWritableFragment();
+			if (fragment instanceof PDOM) {
+				StringCache strings = ((PDOM) fragment).getStringCache();
+				long stringMisses = strings.getMissCount();
+				long stringTries = stringMisses + strings.getHitCount();
+				double stringMissPct = stringTries == 0 ? 0.0 : (double) stringMisses / (double) stringTries;
+				System.out.println(indent + " String cache[" //$NON-NLS-1$
+						+ strings.getMaxSize() + " strings]: " //$NON-NLS-1$
+						+ strings.getHitCount() + " hits, " //$NON-NLS-1$
+						+ stringMisses + "(" + nfPercent.format(stringMissPct) + ") misses, " //$NON-NLS-1$ //$NON-NLS-2$
+						+ strings.getEvictionCount() + " evictions."); //$NON-NLS-1$
+				SharedResultCache shared = ((PDOM) fragment).getSharedResultCache();
+				long sharedMisses = shared.getMissCount();
+				long sharedTries = sharedMisses + shared.getHitCount();
+				double sharedMissPct = sharedTries == 0 ? 0.0 : (double) sharedMisses / (double) sharedTries;
+				System.out.println(indent + " Shared result cache[" //$NON-NLS-1$
+						+ shared.getMaxEntries() + " entries]: " //$NON-NLS-1$
+						+ shared.getHitCount() + " hits, " //$NON-NLS-1$
+						+ sharedMisses + "(" + nfPercent.format(sharedMissPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			HeaderContentCache headers = getHeaderContentCache();
+			long headerMisses = headers.getMissCount();
+			long headerTries = headerMisses + headers.getHitCount();
+			double headerMissPct = headerTries == 0 ? 0.0 : (double) headerMisses / (double) headerTries;
+			System.out.println(indent + " Header cache[" //$NON-NLS-1$
+					+ headers.getMaxChars() / 1024 / 1024 + "M chars]: " //$NON-NLS-1$
+					+ headers.getHitCount() + " hits, " //$NON-NLS-1$
+					+ headerMisses + "(" + nfPercent.format(headerMissPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
 
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Persistent cache of the source files of binaries, keyed by the GNU build-id of the binary.
+ * A binary that is linked again gets a new build-id, such that an entry never needs to be
+ * checked against the binary it was computed for.
+ * <p>
+ * Each entry is a file in the directory of the cache. The modification time of the file is
+ * updated when the entry is used, the least recently used entries are removed when there
+ * are more than the maximum number of entries.
+ */
+public class SourceFileCache {
+	private static final String DIRECTORY = "dwarfSourceFiles"; //$NON-NLS-1$
+	private static final int MAX_ENTRIES = 500;
+
+	private static SourceFileCache sDefault;
+
+	private final File fDirectory;
+	private final int fMaxEntries;
+
+	public SourceFileCache(File directory, int maxEntries) {
+		fDirectory = directory;
+		fMaxEntries = maxEntries;
+	}
+
+	/**
+	 * Returns the cache in the state location of the core plugin, or {@code null} if the plugin
+	 * is not running.
+	 */
+	public static synchronized SourceFileCache getDefault() {
+		if (sDefault == null) {
+			CCorePlugin plugin = CCorePlugin.getDefault();
+			if (plugin == null)
+				return null;
+			sDefault = new SourceFileCache(plugin.getStateLocation().append(DIRECTORY).toFile(), MAX_ENTRIES);
+		}
+		return sDefault;
+	}
+
+	/**
+	 * Returns the source files stored for the given build-id, or {@code null}.
+	 */
+	public String[] get(String buildId) {
+		File file = new File(fDirectory, buildId);
+		if (!file.isFile())
+			return null;
+		try {
+			List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+			file.setLastModified(System.currentTimeMillis());
+			return lines.toArray(new String[lines.size()]);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public void put(String buildId, String[] fileNames) {
+		File file = new File(fDirectory, buildId);
+		try {
+			fDirectory.mkdirs();
+			// Readers in other instances of the binary must not see a partially written file.
+			File tmp = File.createTempFile(buildId, null, fDirectory);
+			try {
+				Files.write(tmp.toPath(), Arrays.asList(fileNames), StandardCharsets.UTF_8);
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmp.delete();
+			}
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+			return;
+		}
+		evict();
+	}
+
+	public void remove(String buildId) {
+		new File(fDirectory, buildId).delete();
+	}
+
+	/**
+	 * Returns the number of entries in the cache.
+	 */
+	public int size() {
+		File[] files = fDirectory.listFiles(File::isFile);
+		return files == null ? 0 : files.length;
+	}
+
+	/**
+	 * Removes the least recently used entries while there are more than the maximum number.
+	 */
+	private synchronized void evict() {
+		File[] files = fDirectory.listFiles(File::isFile);
+		if (files == null || files.length <= fMaxEntries)
+			return;
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < files.length - fMaxEntries; i++) {
+			files[i].delete();
+		}
+	}
+}
@@ -566,10 +566,20 @@ public class Dwarf {
 					//break;
 				}
 				processDebugInfoEntry(requestor, entry, list);
+				if (unitEntryOnly())
+					break;
 			}
 		}
 	}
 
+	/**
+	 * Returns whether only the first entry of each unit, the unit entry itself, needs to be
+	 * decoded. The remaining entries of the unit are then skipped.
+	 */
+	boolean unitEntryOnly() {
+		return false;
+	}
+
 	int oldForm = 0;
 
 	Object readAttribute(int form, ByteBuffer in, CompilationUnitHeader header) throws IOException {
@@ -33,6 +33,7 @@ import javax.xml.bind.DatatypeConverter;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ICompileOptionsFinder;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.SourceFileCache;
 import org.eclipse.cdt.utils.coff.Coff.SectionHeader;
 import org.eclipse.cdt.utils.coff.PE;
 import org.eclipse.cdt.utils.debug.IDebugEntryRequestor;
@@ -61,8 +62,9 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	private String[] m_fileNames = null;
 	private boolean m_parsed = false;
 	private boolean m_macros_parsed = false;
-	private final ArrayList<Integer> m_parsedLineTableOffsets = new ArrayList<>();
+	private final Set<Integer> m_parsedLineTableOffsets = new HashSet<>();
 	private long m_parsedLineTableSize = 0;
+	private String m_buildId = null;
 
 	public DwarfReader(String file) throws IOException {
 		super(file);
@@ -120,6 +122,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 							// The build-id location is taken by converting the binary bytes to hex string.
 							// The first byte is used as a directory specifier (e.g. 51/a4578fe2).
 							String bName = DatatypeConverter.printHexBinary(byteArray).toLowerCase();
+							m_buildId = bName;
 							buildId = bName.substring(0, 2) + "/" + bName.substring(2) + ".debug"; //$NON-NLS-1$ //$NON-NLS-2$
 							// The build-id file should be in the special directory /usr/lib/debug/.build-id
 							IPath buildIdPath = new Path("/usr/lib/debug/.build-id").append(buildId); //$NON-NLS-1$
@@ -525,6 +528,24 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 	@Override
 	public String[] getSourceFiles() {
+		if (m_fileNames == null) {
+			// The build-id identifies the contents of the binary, the source files found for
+			// an earlier instance of the binary can be used without reading the debug info.
+			SourceFileCache cache = m_buildId != null ? SourceFileCache.getDefault() : null;
+			if (cache != null)
+				m_fileNames = cache.get(m_buildId);
+
+			if (m_fileNames == null) {
+				parseSourceFiles();
+				if (cache != null && m_fileNames.length > 0)
+					cache.put(m_buildId, m_fileNames);
+			}
+		}
+
+		return m_fileNames;
+	}
+
+	private void parseSourceFiles() {
 		if (!m_parsed) {
 			m_fileCollection.clear();
 
@@ -537,8 +558,6 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 			m_fileNames = new String[m_fileCollection.size()];
 			m_fileCollection.toArray(m_fileNames);
 		}
-
-		return m_fileNames;
 	}
 
 	/*
@@ -585,6 +604,13 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		return fullName;
 	}
 
+	// Override parent: the source files are found from the compile unit entries, the
+	// entries nested in them are not decoded.
+	@Override
+	boolean unitEntryOnly() {
+		return true;
+	}
+
 	// Override parent: only handle TAG_Compile_Unit.
 	@Override
 	void processDebugInfoEntry(IDebugEntryRequestor requestor, AbbreviationEntry entry,
@@ -1030,7 +1056,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	@Override
 	public String getCompileOptions(String fileName) {
 		if (!m_macros_parsed) {
-			getSourceFiles();
+			parseSourceFiles();
 			getCommandMacrosFromMacroSection();
 			m_macros_parsed = true;
 		}
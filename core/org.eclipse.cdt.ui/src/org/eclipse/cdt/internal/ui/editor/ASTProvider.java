@@ -244,9 +244,12 @@ public final class ASTProvider {
 				tu = provider.getTranslationUnit();
 		}
 
+		// An AST of the translation unit kept by the cache is valid for the current contents
+		// of the editor.
+		long timeStamp = getModificationStamp(editor);
 		synchronized (this) {
 			fActiveEditor = editor;
-			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			fTimeStamp = timeStamp;
 			fCache.setActiveElement(tu);
 		}
 
@@ -268,6 +271,16 @@ public final class ASTProvider {
 		updateModificationStamp();
 	}
 
+	private static long getModificationStamp(IWorkbenchPart editor) {
+		if (editor instanceof ITextEditor && ((ITextEditor) editor).getDocumentProvider() != null) {
+			ITextEditor textEditor = (ITextEditor) editor;
+			IDocument document = textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	private boolean updateModificationStamp() {
 		long timeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		ITextEditor textEditor = null;
@@ -306,6 +319,7 @@ public final class ASTProvider {
 			fActivationListener = null;
 		}
 		fCache.setActiveElement(null);
+		fCache.disposeAll();
 	}
 
 	/**